@@ -0,0 +1,110 @@
+package estudo.camunda;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A aplicação rodando em outro processo, para os benchmarks de subida: escolhe uma porta livre, manda a saída
+ * para um arquivo e fala com {@code POST /solicitar}.
+ */
+final class AplicacaoEmProcesso implements AutoCloseable {
+
+    static final String CORPO = """
+            {"idTransacaoOriginal":"TXID_VALIDA_001","motivo":"FRAUDE_COMPROVADA","cpfClienteSolicitante":"11122233396"}""";
+
+    private final Process processo;
+    private final Path log;
+    private final HttpClient cliente;
+    private final HttpRequest solicitacao;
+
+    private AplicacaoEmProcesso(Process processo, Path log, int porta) {
+        this.processo = processo;
+        this.log = log;
+        this.cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        this.solicitacao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/v1/pix/devolucoes/solicitar"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(CORPO))
+                .build();
+    }
+
+    /**
+     * Roda {@code comando} seguido de {@code --server.port} e {@code argumentos} em {@code diretorio}; a saída vai
+     * para o fim de {@code log}.
+     */
+    static AplicacaoEmProcesso iniciar(Path diretorio, List<String> comando, List<String> argumentos, Path log) throws IOException {
+        int porta;
+        try (ServerSocket livre = new ServerSocket(0)) {
+            porta = livre.getLocalPort();
+        }
+        List<String> completo = new ArrayList<>(comando);
+        completo.add("--server.port=" + porta);
+        completo.addAll(argumentos);
+        Files.createDirectories(log.getParent());
+        Process processo = new ProcessBuilder(completo)
+                .directory(diretorio.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        return new AplicacaoEmProcesso(processo, log, porta);
+    }
+
+    /** Repete a solicitação até o 202 e devolve o número de tentativas; falha se a aplicação morrer antes. */
+    long aguardarPrimeiraAceita() throws InterruptedException {
+        long tentativas = 0;
+        while (true) {
+            tentativas++;
+            try {
+                if (solicitar() == 202) {
+                    return tentativas;
+                }
+            } catch (IOException e) {
+                // Ainda subindo
+            }
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou antes de aceitar, veja " + log);
+            }
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    int solicitar() throws IOException, InterruptedException {
+        return cliente.send(solicitacao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Memória residente do processo em KB, de {@code /proc/<pid>/status} (-1 fora do Linux). */
+    long rssKb() throws IOException {
+        Path status = Path.of("/proc", Long.toString(processo.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String linha : Files.readAllLines(status)) {
+            if (linha.startsWith("VmRSS:")) {
+                return Long.parseLong(linha.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    Process processo() {
+        return processo;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        processo.destroy();
+        if (!processo.waitFor(1, TimeUnit.MINUTES)) {
+            processo.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package estudo.camunda;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Imagem nativa contra JVM, todas no perfil {@code nativo} e com H2 em memória:
+ * <ul>
+ *     <li>{@code jvm}: {@code build/extraida/app.jar} na JVM;</li>
+ *     <li>{@code jvm-aot}: o mesmo jar com as classes do AOT ({@code -Dspring.aot.enabled=true});</li>
+ *     <li>{@code nativo}: {@code build/nativa/servico-devolucao-pix}.</li>
+ * </ul>
+ * {@code subida} mede o tempo até a primeira solicitação aceita; {@code solicitar}, a vazão de
+ * {@code POST /solicitar} com 4 clientes depois do aquecimento, separando aceitas (202) e recusadas pelo
+ * controle de admissão. A memória residente (RSS) do processo sai na saída do benchmark depois da subida e de
+ * cada iteração.
+ * <p>
+ * Os modos {@code jvm-aot} e {@code nativo} pedem {@code ./gradlew aplicacaoExtraida -Pnativo} e
+ * {@code ./gradlew imagemNativa -Pnativo}: {@code ./gradlew jmh -Pnativo -PjmhIncludes=ImagemNativaBenchmark}.
+ */
+@Fork(1)
+public class ImagemNativaBenchmark {
+
+    private static final Path APLICACAO = Path.of("build", "extraida").toAbsolutePath();
+    private static final Path BINARIO = Path.of("build", "nativa", "servico-devolucao-pix").toAbsolutePath();
+    private static final Path LOGS = Path.of("build", "jmh-nativa").toAbsolutePath();
+    private static final String INICIALIZADOR_AOT = "estudo/camunda/ServicoDevolucaoPixApplication__ApplicationContextInitializer.class";
+
+    @State(Scope.Benchmark)
+    public static class Subida {
+
+        @Param({"jvm", "jvm-aot", "nativo"})
+        String modo;
+
+        AplicacaoEmProcesso aplicacao;
+
+        @TearDown(Level.Invocation)
+        public void encerrar() throws Exception {
+            if (aplicacao != null) {
+                System.out.printf("RSS %s após a subida: %d MB%n", modo, aplicacao.rssKb() / 1024);
+                aplicacao.close();
+                aplicacao = null;
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AplicacaoNoAr {
+
+        @Param({"jvm", "jvm-aot", "nativo"})
+        String modo;
+
+        AplicacaoEmProcesso aplicacao;
+
+        @Setup(Level.Trial)
+        public void iniciar() throws Exception {
+            aplicacao = ImagemNativaBenchmark.iniciar(modo);
+            aplicacao.aguardarPrimeiraAceita();
+        }
+
+        @TearDown(Level.Iteration)
+        public void medirMemoria() throws IOException {
+            System.out.printf("RSS %s: %d MB%n", modo, aplicacao.rssKb() / 1024);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() throws InterruptedException {
+            aplicacao.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Respostas {
+
+        public long aceitas;
+        public long recusadas;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            aceitas = 0;
+            recusadas = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public long subida(Subida estado) throws Exception {
+        estado.aplicacao = iniciar(estado.modo);
+        return estado.aplicacao.aguardarPrimeiraAceita();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 10)
+    @Measurement(iterations = 5, time = 10)
+    @Threads(4)
+    public int solicitar(AplicacaoNoAr estado, Respostas respostas) throws Exception {
+        int status = estado.aplicacao.solicitar();
+        if (status == 202) {
+            respostas.aceitas++;
+        } else {
+            respostas.recusadas++;
+        }
+        return status;
+    }
+
+    private static AplicacaoEmProcesso iniciar(String modo) throws IOException {
+        List<String> comando = new ArrayList<>();
+        switch (modo) {
+            case "jvm", "jvm-aot" -> {
+                exigir(Files.exists(APLICACAO.resolve("app.jar")), "./gradlew aplicacaoExtraida");
+                comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+                if (modo.equals("jvm-aot")) {
+                    exigir(temClassesAot(), "./gradlew aplicacaoExtraida -Pnativo");
+                    comando.add("-Dspring.aot.enabled=true");
+                }
+                comando.addAll(List.of("-jar", "app.jar"));
+            }
+            case "nativo" -> {
+                exigir(Files.isExecutable(BINARIO), "./gradlew imagemNativa -Pnativo");
+                comando.add(BINARIO.toString());
+            }
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + modo);
+        }
+        // Todas as solicitações usam o mesmo CPF: sem o limite por CPF, a carga chega ao motor
+        return AplicacaoEmProcesso.iniciar(APLICACAO, comando,
+                List.of("--spring.profiles.active=nativo", "--pix.limite-cpf.habilitado=false"), LOGS.resolve(modo + ".log"));
+    }
+
+    private static boolean temClassesAot() throws IOException {
+        try (JarFile jar = new JarFile(APLICACAO.resolve("app.jar").toFile())) {
+            return jar.getEntry(INICIALIZADOR_AOT) != null;
+        }
+    }
+
+    private static void exigir(boolean condicao, String tarefa) {
+        if (!condicao) {
+            throw new IllegalStateException("Rode " + tarefa + " antes");
+        }
+    }
+}
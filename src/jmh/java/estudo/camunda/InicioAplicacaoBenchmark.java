@@ -0,0 +1,133 @@
+package estudo.camunda;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tempo até a primeira solicitação aceita: cada medição sobe uma JVM com {@code build/extraida/app.jar}
+ * (gerado por {@code aplicacaoExtraida}) e repete {@code POST /solicitar} até receber 202. Todas as
+ * configurações usam um H2 em arquivo já criado, como em um reinício com banco persistente:
+ * <ul>
+ *     <li>{@code padrao}: sem perfil (atualiza o schema e aplica os scripts de {@code db/} a cada boot);</li>
+ *     <li>{@code inicio-rapido}: o perfil {@code inicio-rapido};</li>
+ *     <li>{@code inicio-rapido-cds}: o perfil com um arquivo CDS gravado no setup;</li>
+ *     <li>{@code inicio-rapido-cds-c1}: o mesmo, só com o compilador C1 ({@code -XX:TieredStopAtLevel=1}).</li>
+ * </ul>
+ * O banco e o arquivo CDS ficam em {@code build/jmh-inicio} e são apagados no fim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InicioAplicacaoBenchmark {
+
+    private static final Path APLICACAO = Path.of("build", "extraida").toAbsolutePath();
+
+    @Param({"padrao", "inicio-rapido", "inicio-rapido-cds", "inicio-rapido-cds-c1"})
+    private String configuracao;
+
+    private Path diretorio;
+    private AplicacaoEmProcesso aplicacao;
+    private int execucao;
+
+    @Setup(Level.Trial)
+    public void prepararBanco() throws Exception {
+        if (!Files.exists(APLICACAO.resolve("app.jar"))) {
+            throw new IllegalStateException("Rode ./gradlew aplicacaoExtraida antes: " + APLICACAO);
+        }
+        diretorio = Path.of("build", "jmh-inicio", configuracao).toAbsolutePath();
+        apagar(diretorio);
+        Files.createDirectories(diretorio);
+        // Primeiro boot: cria o schema e implanta o BPMN
+        iniciar(List.of(), List.of()).aguardarPrimeiraAceita();
+        encerrar();
+        if (configuracao.startsWith("inicio-rapido-cds")) {
+            Process treino = iniciar(List.of("-XX:ArchiveClassesAtExit=" + diretorio.resolve("app.jsa"), "-Xlog:cds=error",
+                    "-Dspring.context.exit=onRefresh"), List.of("--spring.profiles.active=inicio-rapido")).processo();
+            if (!treino.waitFor(5, TimeUnit.MINUTES) || !Files.exists(diretorio.resolve("app.jsa"))) {
+                throw new IllegalStateException("Treino do CDS falhou, veja " + diretorio.resolve("app.log"));
+            }
+            aplicacao = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void apagarBanco() throws IOException {
+        apagar(diretorio);
+    }
+
+    @Benchmark
+    public long primeiraSolicitacaoAceita() throws Exception {
+        List<String> jvm = new ArrayList<>();
+        List<String> argumentos = new ArrayList<>();
+        if (!configuracao.equals("padrao")) {
+            argumentos.add("--spring.profiles.active=inicio-rapido");
+        }
+        if (configuracao.startsWith("inicio-rapido-cds")) {
+            jvm.add("-XX:SharedArchiveFile=" + diretorio.resolve("app.jsa"));
+        }
+        if (configuracao.endsWith("-c1")) {
+            jvm.add("-XX:TieredStopAtLevel=1");
+        }
+        return iniciar(jvm, argumentos).aguardarPrimeiraAceita();
+    }
+
+    @TearDown(Level.Invocation)
+    public void encerrar() throws InterruptedException {
+        if (aplicacao != null) {
+            aplicacao.close();
+            aplicacao = null;
+        }
+    }
+
+    private AplicacaoEmProcesso iniciar(List<String> jvm, List<String> argumentos) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(jvm);
+        comando.addAll(List.of("-jar", "app.jar"));
+        List<String> todos = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:file:" + diretorio.resolve("camunda") + ";DB_CLOSE_ON_EXIT=FALSE",
+                "--pix.cluster.no-id=inicio-" + configuracao + "-" + execucao++));
+        todos.addAll(argumentos);
+        aplicacao = AplicacaoEmProcesso.iniciar(APLICACAO, comando, todos, diretorio.resolve("app.log"));
+        return aplicacao;
+    }
+
+    private static void apagar(Path diretorio) throws IOException {
+        if (diretorio == null || !Files.exists(diretorio)) {
+            return;
+        }
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> {
+                try {
+                    Files.delete(arquivo);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package estudo.camunda.delegates;
+
+import estudo.camunda.config.DelegatesPorExpressaoPlugin;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.Expression;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.spring.SpringArtifactFactory;
+import org.camunda.bpm.engine.spring.SpringExpressionManager;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por service task de {@code camunda:class} com field injection ({@code classe}) e do mesmo BPMN com
+ * {@code pix.delegates.por-expressao} ({@code expressao}): uma instância passa por {@value #TAREFAS} tarefas em
+ * sequência, cada uma com um {@code camunda:field}, sem histórico. O tempo sai por tarefa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DelegatesPorExpressaoBenchmark {
+
+    private static final int TAREFAS = 20;
+    private static final String PROCESSO = "delegates_benchmark";
+    private static final Map<String, Object> VARIAVEIS = Map.of("cpfPagadorOriginal", "11122233396");
+
+    @Param({"classe", "expressao"})
+    private String modo;
+
+    private GenericApplicationContext contexto;
+    private ProcessEngine processEngine;
+    private RuntimeService runtimeService;
+
+    @Setup(Level.Trial)
+    public void iniciarMotor() {
+        contexto = new GenericApplicationContext();
+        contexto.registerBean("delegateComCampo", DelegateComCampo.class, DelegateComCampo::new);
+        contexto.refresh();
+
+        StandaloneInMemProcessEngineConfiguration configuracao = new StandaloneInMemProcessEngineConfiguration();
+        configuracao.setJdbcUrl("jdbc:h2:mem:delegates-benchmark;DB_CLOSE_DELAY=-1");
+        configuracao.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+        configuracao.setJobExecutorActivate(false);
+        configuracao.setDmnEnabled(false);
+        configuracao.setCmmnEnabled(false);
+        configuracao.setArtifactFactory(new SpringArtifactFactory(contexto));
+        configuracao.setExpressionManager(new SpringExpressionManager(contexto));
+        configuracao.getProcessEnginePlugins().add(new DelegatesPorExpressaoPlugin(modo.equals("expressao"), contexto));
+        processEngine = configuracao.buildProcessEngine();
+        runtimeService = processEngine.getRuntimeService();
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance(PROCESSO + ".bpmn", tarefasEmSequencia())
+                .deploy();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        processEngine.close();
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAREFAS)
+    public boolean tarefa() {
+        return runtimeService.startProcessInstanceByKey(PROCESSO, VARIAVEIS).isEnded();
+    }
+
+    private static BpmnModelInstance tarefasEmSequencia() {
+        AbstractFlowNodeBuilder<?, ?> fluxo = Bpmn.createExecutableProcess(PROCESSO).startEvent();
+        for (int i = 0; i < TAREFAS; i++) {
+            fluxo = fluxo.serviceTask("tarefa_" + i).camundaClass(DelegateComCampo.class);
+        }
+        BpmnModelInstance modelo = fluxo.endEvent("fim").done();
+        for (int i = 0; i < TAREFAS; i++) {
+            CamundaField campo = modelo.newInstance(CamundaField.class);
+            campo.setCamundaName(NotificacaoClienteDelegate.VARIAVEL_TIPO_NOTIFICACAO);
+            campo.setCamundaStringValue(NotificacaoClienteDelegate.TIPO_RESULTADO_PROCESSAMENTO);
+            modelo.<ServiceTask>getModelElementById("tarefa_" + i).builder().addExtensionElement(campo);
+        }
+        return modelo;
+    }
+
+    /** Lê o tipo como {@link NotificacaoClienteDelegate}, sem montar nem enviar a mensagem. */
+    public static class DelegateComCampo implements JavaDelegate {
+
+        private Expression tipoNotificacao;
+
+        public void setTipoNotificacao(Expression tipoNotificacao) {
+            this.tipoNotificacao = tipoNotificacao;
+        }
+
+        @Override
+        public void execute(DelegateExecution execution) {
+            Object tipo = execution.getVariableLocal(NotificacaoClienteDelegate.VARIAVEL_TIPO_NOTIFICACAO);
+            if (tipo == null) {
+                tipo = tipoNotificacao.getValue(execution);
+            }
+            execution.setVariable("ultimoTipo", tipo);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package estudo.camunda.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparação do solicitante com o pagador original: normalizando as duas strings com
+ * {@code replaceAll} antes do {@code equals}, e com {@link CpfCnpj#parse(CharSequence)}, que também
+ * confere os dígitos verificadores. Rodar com {@code -PjmhProfilers=gc} para ver as alocações.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CpfCnpjBenchmark {
+
+    private final String[] solicitantes = {"111.222.333-96", "11122233396", "555.666.777-20", "98765432100"};
+    private final String[] pagadores = {"11122233396", "11122233396", "55566677720", "11122233396"};
+    private int indice;
+
+    @Benchmark
+    public boolean normalizacaoPorRegex() {
+        int i = indice = (indice + 1) & 3;
+        return solicitantes[i].replaceAll("[.\\-/ ]", "").equals(pagadores[i].replaceAll("[.\\-/ ]", ""));
+    }
+
+    @Benchmark
+    public boolean documentoEmpacotado() {
+        int i = indice = (indice + 1) & 3;
+        long solicitante = CpfCnpj.parse(solicitantes[i]);
+        return solicitante != CpfCnpj.INVALIDO && solicitante == CpfCnpj.parse(pagadores[i]);
+    }
+}
@@ -0,0 +1,61 @@
+package estudo.camunda.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classificação do motivo como era feita ({@code toUpperCase()} + {@code Set.contains} e a cadeia de
+ * {@code equalsIgnoreCase} da análise de risco) e com {@link MotivoDevolucao#parse(String)} + {@code switch}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MotivoDevolucaoBenchmark {
+
+    private static final Set<String> MOTIVOS_ACEITAVEIS_MED = Set.of(
+            "FRAUDE_COMPROVADA",
+            "FALHA_OPERACIONAL_BANCO",
+            "COBRANCA_INDEVIDA"
+    );
+
+    private final String[] motivos = {
+            "FRAUDE_COMPROVADA", "falha_operacional_banco", "Cobranca_Indevida", "MOTIVO_INVALIDO"
+    };
+    private int indice;
+
+    private String proximo() {
+        return motivos[indice = (indice + 1) & 3];
+    }
+
+    @Benchmark
+    public int textoEmMaiusculas() {
+        String motivo = proximo();
+        if (!MOTIVOS_ACEITAVEIS_MED.contains(motivo.toUpperCase())) {
+            return -1;
+        }
+        if ("FRAUDE_COMPROVADA".equalsIgnoreCase(motivo)) {
+            return 1;
+        }
+        return "FALHA_OPERACIONAL_BANCO".equalsIgnoreCase(motivo) ? 2 : 0;
+    }
+
+    @Benchmark
+    public int enumPorHashPerfeito() {
+        MotivoDevolucao motivo = MotivoDevolucao.parse(proximo());
+        if (motivo == null) {
+            return -1;
+        }
+        return switch (motivo) {
+            case FRAUDE_COMPROVADA -> 1;
+            case FALHA_OPERACIONAL_BANCO -> 2;
+            case COBRANCA_INDEVIDA -> 0;
+        };
+    }
+}
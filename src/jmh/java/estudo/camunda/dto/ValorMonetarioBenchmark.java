@@ -0,0 +1,122 @@
+package estudo.camunda.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operações de dinheiro dos caminhos quentes (validação, risco, razão e mensagem) com {@link BigDecimal},
+ * como eram feitas antes, e com {@link ValorMonetario}. Rodar com {@code -PjmhProfilers=gc} para ver
+ * {@code gc.alloc.rate.norm} (bytes por operação). Na razão o débito e o crédito trocam de conta a cada
+ * chamada, para o saldo não se esgotar durante a medição.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValorMonetarioBenchmark {
+
+    private static final int QUANTIDADE = 1024;
+
+    private static final BigDecimal LIMITE_ALTO_BIG_DECIMAL = new BigDecimal("1000.00");
+    private static final BigDecimal LIMITE_BAIXO_BIG_DECIMAL = new BigDecimal("50.00");
+    private static final ValorMonetario LIMITE_ALTO = ValorMonetario.deCentavos(100_000L);
+    private static final ValorMonetario LIMITE_BAIXO = ValorMonetario.deCentavos(5_000L);
+
+    private BigDecimal[] valoresBigDecimal;
+    private ValorMonetario[] valores;
+    private BigDecimal saldoDebitoBigDecimal;
+    private BigDecimal saldoCreditoBigDecimal;
+    private long saldoDebitoCentavos;
+    private long saldoCreditoCentavos;
+    private int indice;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        valoresBigDecimal = new BigDecimal[QUANTIDADE];
+        valores = new ValorMonetario[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            long centavos = 1_000L + (i * 7_919L) % 200_000L;
+            valoresBigDecimal[i] = BigDecimal.valueOf(centavos, 2);
+            valores[i] = ValorMonetario.deCentavos(centavos);
+        }
+        saldoDebitoBigDecimal = new BigDecimal("1000000000.00");
+        saldoCreditoBigDecimal = saldoDebitoBigDecimal;
+        saldoDebitoCentavos = 100_000_000_000L;
+        saldoCreditoCentavos = saldoDebitoCentavos;
+    }
+
+    private int proximo() {
+        return indice = (indice + 1) & (QUANTIDADE - 1);
+    }
+
+    @Benchmark
+    public long validacaoBigDecimal() {
+        return valoresBigDecimal[proximo()].setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    @Benchmark
+    public long validacaoValorMonetario() {
+        return valores[proximo()].centavos();
+    }
+
+    @Benchmark
+    public int riscoBigDecimal() {
+        BigDecimal valor = valoresBigDecimal[proximo()];
+        if (valor.compareTo(LIMITE_ALTO_BIG_DECIMAL) > 0) {
+            return 2;
+        }
+        return valor.compareTo(LIMITE_BAIXO_BIG_DECIMAL) <= 0 ? 0 : 1;
+    }
+
+    @Benchmark
+    public int riscoValorMonetario() {
+        ValorMonetario valor = valores[proximo()];
+        if (valor.maiorQue(LIMITE_ALTO)) {
+            return 2;
+        }
+        return valor.maiorQue(LIMITE_BAIXO) ? 1 : 0;
+    }
+
+    @Benchmark
+    public BigDecimal razaoBigDecimal() {
+        BigDecimal valor = valoresBigDecimal[proximo()];
+        if (saldoDebitoBigDecimal.compareTo(valor) < 0) {
+            return saldoDebitoBigDecimal;
+        }
+        BigDecimal novoSaldoCredito = saldoCreditoBigDecimal.add(valor);
+        saldoCreditoBigDecimal = saldoDebitoBigDecimal.subtract(valor);
+        saldoDebitoBigDecimal = novoSaldoCredito;
+        return novoSaldoCredito;
+    }
+
+    @Benchmark
+    public long razaoValorMonetario() {
+        long valor = valores[proximo()].centavos();
+        if (saldoDebitoCentavos < valor) {
+            return saldoDebitoCentavos;
+        }
+        long novoSaldoCredito = saldoCreditoCentavos + valor;
+        saldoCreditoCentavos = saldoDebitoCentavos - valor;
+        saldoDebitoCentavos = novoSaldoCredito;
+        return novoSaldoCredito;
+    }
+
+    @Benchmark
+    public String mensagemBigDecimal() {
+        return String.format("R$ %.2f", valoresBigDecimal[proximo()]);
+    }
+
+    @Benchmark
+    public String mensagemValorMonetario() {
+        return "R$ " + valores[proximo()].formatado();
+    }
+}
@@ -0,0 +1,115 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DecisaoAnalista;
+import estudo.camunda.dto.DecisaoTarefaRequest;
+import estudo.camunda.dto.ResultadoDecisoesEmLote;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.spring.SpringTransactionsProcessEngineConfiguration;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo por tarefa para concluir {@value #TAREFAS_POR_LOTE} análises manuais, variando o tamanho
+ * do bloco transacional e o paralelismo. {@code tamanhoTransacao=1, paralelismo=1} equivale a
+ * concluir as tarefas uma a uma.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+public class DecisoesEmLoteBenchmark {
+
+    private static final int TAREFAS_POR_LOTE = 2000;
+
+    @Param({"1", "25", "100"})
+    private int tamanhoTransacao;
+
+    @Param({"1", "4"})
+    private int paralelismo;
+
+    private ProcessEngine processEngine;
+    private RuntimeService runtimeService;
+    private TaskService taskService;
+    private LoteDecisaoAnaliseManualServiceImpl decisaoService;
+    private List<DecisaoTarefaRequest> decisoes;
+
+    @Setup(Level.Trial)
+    public void iniciarMotor() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:decisoes-lote-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        SpringTransactionsProcessEngineConfiguration configuracao = new SpringTransactionsProcessEngineConfiguration();
+        configuracao.setTransactionManager(transactionManager);
+        configuracao.setDataSource(dataSource);
+        configuracao.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+        configuracao.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+        configuracao.setJobExecutorActivate(false);
+        processEngine = configuracao.buildProcessEngine();
+        runtimeService = processEngine.getRuntimeService();
+        taskService = processEngine.getTaskService();
+
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance("decisoes_lote_benchmark.bpmn", Bpmn.createExecutableProcess("decisoes_lote_benchmark")
+                        .startEvent()
+                        .userTask(JdbcFilaAnaliseManualServiceImpl.TAREFA_ANALISE_MANUAL).camundaAssignee("analista_fraude")
+                        .endEvent()
+                        .done())
+                .deploy();
+
+        decisaoService = new LoteDecisaoAnaliseManualServiceImpl(taskService, transactionManager,
+                tamanhoTransacao, paralelismo, TAREFAS_POR_LOTE);
+    }
+
+    @Setup(Level.Iteration)
+    public void abrirTarefas() {
+        for (int i = 0; i < TAREFAS_POR_LOTE; i++) {
+            runtimeService.startProcessInstanceByKey("decisoes_lote_benchmark");
+        }
+        decisoes = taskService.createTaskQuery()
+                .taskDefinitionKey(JdbcFilaAnaliseManualServiceImpl.TAREFA_ANALISE_MANUAL)
+                .list().stream()
+                .map(Task::getId)
+                .map(id -> new DecisaoTarefaRequest(id, id.hashCode() % 2 == 0 ? DecisaoAnalista.APROVAR : DecisaoAnalista.REJEITAR))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        decisaoService.encerrar();
+        processEngine.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAREFAS_POR_LOTE)
+    public ResultadoDecisoesEmLote decidirEmLote() {
+        ResultadoDecisoesEmLote resultado = decisaoService.decidirEmLote(decisoes);
+        if (resultado.concluidas() != TAREFAS_POR_LOTE) {
+            throw new IllegalStateException("Lote incompleto: " + resultado.naoConcluidas() + " tarefas não concluídas.");
+        }
+        return resultado;
+    }
+
+}
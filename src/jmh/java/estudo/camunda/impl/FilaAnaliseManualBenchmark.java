@@ -0,0 +1,145 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.config.SchemaPixInicializador;
+import estudo.camunda.dto.PaginaFilaAnalise;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de montar uma página da fila de análise manual com {@code tarefasAbertas} tarefas
+ * abertas: TaskService com uma busca de variáveis por tarefa (N+1), a query keyset sem cache
+ * (primeira página e página profunda) e a mesma query servida pelo cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilaAnaliseManualBenchmark {
+
+    private static final int TAMANHO_PAGINA = 50;
+    private static final String RESPONSAVEL = "analista_fraude";
+    private static final List<String> VARIAVEIS_DECISAO = List.of(
+            "idTransacaoOriginal", "valorTransacaoCentavos", "motivoDevolucao", "nivelRisco", "justificativaAnaliseRisco");
+
+    @Param({"100000"})
+    private int tarefasAbertas;
+
+    private ProcessEngine processEngine;
+    private TaskService taskService;
+    private RuntimeService runtimeService;
+    private JdbcFilaAnaliseManualServiceImpl filaSemCache;
+    private JdbcFilaAnaliseManualServiceImpl filaComCache;
+    private String cursorMeioDaFila;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:fila-analise-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        processEngine = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+                .setDataSource(dataSource)
+                .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+                .setHistory(ProcessEngineConfiguration.HISTORY_NONE)
+                .setJobExecutorActivate(false)
+                .buildProcessEngine();
+        taskService = processEngine.getTaskService();
+        runtimeService = processEngine.getRuntimeService();
+
+        BpmnModelInstance modelo = Bpmn.createExecutableProcess("fila_analise_benchmark")
+                .startEvent()
+                .userTask(JdbcFilaAnaliseManualServiceImpl.TAREFA_ANALISE_MANUAL).camundaAssignee(RESPONSAVEL)
+                .endEvent()
+                .done();
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance("fila_analise_benchmark.bpmn", modelo)
+                .deploy();
+
+        for (int i = 0; i < tarefasAbertas; i++) {
+            Map<String, Object> variaveis = new HashMap<>();
+            variaveis.put("idTransacaoOriginal", "TXID-" + i);
+            variaveis.put("valorTransacaoCentavos", 25_075L + i);
+            variaveis.put("motivoDevolucao", "FRAUDE_COMPROVADA");
+            variaveis.put("nivelRisco", "MEDIO");
+            variaveis.put("justificativaAnaliseRisco", "Análise de risco: motivo FRAUDE_COMPROVADA.");
+            runtimeService.startProcessInstanceByKey("fila_analise_benchmark", variaveis);
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        filaSemCache = new JdbcFilaAnaliseManualServiceImpl(jdbcTemplate, RESPONSAVEL, Duration.ZERO);
+        filaComCache = new JdbcFilaAnaliseManualServiceImpl(jdbcTemplate, RESPONSAVEL, Duration.ofHours(1));
+        new SchemaPixInicializador(dataSource, false, true).aplicar();
+
+        String cursor = null;
+        for (int pagina = 0; pagina < tarefasAbertas / TAMANHO_PAGINA / 2; pagina++) {
+            cursor = filaSemCache.listarTarefas(cursor, TAMANHO_PAGINA).proximoCursor();
+        }
+        cursorMeioDaFila = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        processEngine.close();
+    }
+
+    @Benchmark
+    public void taskServiceComVariaveisPorTarefa(Blackhole blackhole) {
+        List<Task> tarefas = taskService.createTaskQuery()
+                .taskDefinitionKey(JdbcFilaAnaliseManualServiceImpl.TAREFA_ANALISE_MANUAL)
+                .taskAssignee(RESPONSAVEL)
+                .orderByTaskCreateTime().asc()
+                .listPage(0, TAMANHO_PAGINA);
+        for (Task tarefa : tarefas) {
+            blackhole.consume(runtimeService.getVariables(tarefa.getProcessInstanceId(), VARIAVEIS_DECISAO));
+        }
+    }
+
+    @Benchmark
+    public void taskServicePaginaProfundaComVariaveisPorTarefa(Blackhole blackhole) {
+        List<Task> tarefas = taskService.createTaskQuery()
+                .taskDefinitionKey(JdbcFilaAnaliseManualServiceImpl.TAREFA_ANALISE_MANUAL)
+                .taskAssignee(RESPONSAVEL)
+                .orderByTaskCreateTime().asc()
+                .listPage(tarefasAbertas / 2, TAMANHO_PAGINA);
+        for (Task tarefa : tarefas) {
+            blackhole.consume(runtimeService.getVariables(tarefa.getProcessInstanceId(), VARIAVEIS_DECISAO));
+        }
+    }
+
+    @Benchmark
+    public PaginaFilaAnalise keysetPrimeiraPagina() {
+        return filaSemCache.listarTarefas(null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public PaginaFilaAnalise keysetPaginaProfunda() {
+        return filaSemCache.listarTarefas(cursorMeioDaFila, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public PaginaFilaAnalise keysetComCache() {
+        return filaComCache.listarTarefas(null, TAMANHO_PAGINA);
+    }
+
+}
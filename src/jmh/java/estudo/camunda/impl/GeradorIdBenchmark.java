@@ -0,0 +1,47 @@
+package estudo.camunda.impl;
+
+import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de gerar um ID: o antigo ID de operação (UUID aleatório truncado, via {@code SecureRandom}),
+ * o UUID baseado em tempo do motor ({@link StrongUuidGenerator}, padrão do starter) e o
+ * {@link GeradorIdOrdenado}, em número e em texto. Rodar com {@code -PjmhProfilers=gc} para ver as
+ * alocações.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeradorIdBenchmark {
+
+    private final StrongUuidGenerator strongUuid = new StrongUuidGenerator();
+    private final GeradorIdOrdenado ordenado = new GeradorIdOrdenado(1);
+
+    @Benchmark
+    public String uuidAleatorioTruncado() {
+        return "DEV-" + UUID.randomUUID().toString().substring(0, 18).toUpperCase();
+    }
+
+    @Benchmark
+    public String strongUuidGenerator() {
+        return strongUuid.getNextId();
+    }
+
+    @Benchmark
+    public long ordenadoNumerico() {
+        return ordenado.proximoId();
+    }
+
+    @Benchmark
+    public String ordenadoTexto() {
+        return ordenado.proximoIdTexto();
+    }
+}
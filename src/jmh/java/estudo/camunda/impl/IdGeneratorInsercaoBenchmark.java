@@ -0,0 +1,166 @@
+package estudo.camunda.impl;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vazão de início de instâncias (com histórico completo e uma tarefa de usuário, que mantém as
+ * linhas em {@code ACT_RU_*}) em um H2 em arquivo que já tem {@code instancias} instâncias, com o
+ * gerador de IDs padrão do starter ({@code strong}, UUID baseado em tempo) e com o
+ * {@link GeradorIdOrdenado}. No fim, imprime o espaço em disco das tabelas com IDs (dados e índices,
+ * via {@code DISK_SPACE_USED}) e o tamanho do arquivo do banco. A carga inicial leva alguns minutos
+ * por gerador; os bancos ficam em {@code build/jmh-ids} e são apagados no fim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdGeneratorInsercaoBenchmark {
+
+    private static final String PROCESSO = "ids_benchmark";
+    private static final String[] TABELAS = {
+            "ACT_RU_EXECUTION", "ACT_RU_TASK", "ACT_RU_VARIABLE",
+            "ACT_HI_PROCINST", "ACT_HI_ACTINST", "ACT_HI_TASKINST", "ACT_HI_VARINST"};
+
+    @Param({"strong", "ordenado"})
+    private String gerador;
+
+    @Param({"1000000"})
+    private int instancias;
+
+    /**
+     * {@code desligada} grava com {@code AUTO_COMPACT_FILL_RATE=0}. O H2 em arquivo (MVStore) grava
+     * por cópia em chunks novos e compacta em segundo plano os chunks pouco ocupados; com chaves
+     * ordenadas as folhas cheias ficam vivas em chunks antigos, e essa compactação disputa a CPU com
+     * as inserções.
+     */
+    @Param({"padrao", "desligada"})
+    private String compactacaoH2;
+
+    private Path diretorio;
+    private ProcessEngine processEngine;
+    private RuntimeService runtimeService;
+    private JdbcTemplate jdbcTemplate;
+    private int sequencia;
+
+    @Setup(Level.Trial)
+    public void popular() throws IOException {
+        diretorio = Path.of("build", "jmh-ids", gerador).toAbsolutePath();
+        apagar(diretorio);
+        Files.createDirectories(diretorio);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:file:" + diretorio.resolve("camunda") + ";DB_CLOSE_DELAY=-1"
+                        + (compactacaoH2.equals("desligada") ? ";AUTO_COMPACT_FILL_RATE=0" : ""), "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        ProcessEngineConfigurationImpl configuracao = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+                .createStandaloneProcessEngineConfiguration()
+                .setDataSource(dataSource)
+                .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+                .setHistory(ProcessEngineConfiguration.HISTORY_FULL)
+                .setJobExecutorActivate(false);
+        configuracao.setIdGenerator(criarGerador());
+        configuracao.setMetricsEnabled(false);
+        processEngine = configuracao.buildProcessEngine();
+        runtimeService = processEngine.getRuntimeService();
+
+        BpmnModelInstance modelo = Bpmn.createExecutableProcess(PROCESSO)
+                .startEvent()
+                .userTask("analise_manual")
+                .endEvent()
+                .done();
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance(PROCESSO + ".bpmn", modelo)
+                .deploy();
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < instancias; i++) {
+            iniciar();
+        }
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio));
+        System.out.printf("%n[%s, compactação %s] carga de %d instâncias em %d s (%d/s)%n",
+                gerador, compactacaoH2, instancias, segundos, instancias / segundos);
+    }
+
+    @TearDown(Level.Trial)
+    public void relatar() throws IOException {
+        long total = 0;
+        StringBuilder relatorio = new StringBuilder(String.format("%n[%s, compactação %s] %d instâncias:%n",
+                gerador, compactacaoH2, sequencia));
+        for (String tabela : TABELAS) {
+            Long bytes = jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, tabela);
+            total += bytes;
+            relatorio.append(String.format("  %-16s %,14d bytes%n", tabela, bytes));
+        }
+        processEngine.close();
+        jdbcTemplate.execute("SHUTDOWN");
+        relatorio.append(String.format("  %-16s %,14d bytes%n", "total", total));
+        relatorio.append(String.format("  %-16s %,14d bytes%n", "arquivo", Files.size(diretorio.resolve("camunda.mv.db"))));
+        System.out.print(relatorio);
+        // Com um milhão de instâncias o arquivo passa de dezenas de GB
+        apagar(diretorio);
+    }
+
+    @Benchmark
+    public void iniciarInstancia() {
+        iniciar();
+    }
+
+    private void iniciar() {
+        int i = sequencia++;
+        Map<String, Object> variaveis = new HashMap<>();
+        variaveis.put("idTransacaoOriginal", "TXID-" + i);
+        variaveis.put("valorTransacaoCentavos", 25_075L + i);
+        runtimeService.startProcessInstanceByKey(PROCESSO, variaveis);
+    }
+
+    private IdGenerator criarGerador() {
+        return switch (gerador) {
+            case "strong" -> new StrongUuidGenerator();
+            case "ordenado" -> new GeradorIdOrdenado(1)::proximoIdTexto;
+            default -> throw new IllegalArgumentException("Gerador desconhecido: " + gerador);
+        };
+    }
+
+    private static void apagar(Path diretorio) throws IOException {
+        if (!Files.exists(diretorio)) {
+            return;
+        }
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> {
+                try {
+                    Files.delete(arquivo);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package estudo.camunda.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import estudo.camunda.config.ProcessoDevolucaoPix;
+import estudo.camunda.config.SchemaPixInicializador;
+import estudo.camunda.dto.ResultadoImportacao;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.spring.SpringTransactionsProcessEngineConfiguration;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo por registro para importar {@value #REGISTROS} solicitações em NDJSON, variando o tamanho
+ * do bloco transacional e o paralelismo. O processo implantado com a chave do processo de devolução
+ * vai direto do início ao fim, então a medida isola parse, validação, transação e checkpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+public class ImportacaoNdjsonBenchmark {
+
+    private static final int REGISTROS = 5000;
+
+    @Param({"1", "200"})
+    private int tamanhoTransacao;
+
+    @Param({"1", "4"})
+    private int paralelismo;
+
+    private ProcessEngine processEngine;
+    private NdjsonImportacaoSolicitacoesServiceImpl importacaoService;
+    private byte[] arquivo;
+    private int execucao;
+
+    @Setup(Level.Trial)
+    public void iniciarMotor() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:importacao-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        SpringTransactionsProcessEngineConfiguration configuracao = new SpringTransactionsProcessEngineConfiguration();
+        configuracao.setTransactionManager(transactionManager);
+        configuracao.setDataSource(dataSource);
+        configuracao.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+        configuracao.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+        configuracao.setJobExecutorActivate(false);
+        processEngine = configuracao.buildProcessEngine();
+
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance("importacao_benchmark.bpmn", Bpmn.createExecutableProcess(ProcessoDevolucaoPix.PROCESS_DEFINITION_KEY)
+                        .startEvent()
+                        .endEvent()
+                        .done())
+                .deploy();
+
+        importacaoService = new NdjsonImportacaoSolicitacoesServiceImpl(processEngine.getRuntimeService(),
+                new JdbcTemplate(dataSource), transactionManager, new ObjectMapper(), tamanhoTransacao, paralelismo,
+                2 * paralelismo, 100);
+        new SchemaPixInicializador(dataSource, true, false).aplicar();
+
+        StringBuilder ndjson = new StringBuilder(REGISTROS * 100);
+        for (int i = 0; i < REGISTROS; i++) {
+            ndjson.append("{\"idTransacaoOriginal\":\"TXID_").append(i)
+                    .append("\",\"motivo\":\"FRAUDE_COMPROVADA\",\"cpfClienteSolicitante\":\"11122233396\"}\n");
+        }
+        arquivo = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        importacaoService.encerrar();
+        processEngine.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public ResultadoImportacao importar() {
+        ResultadoImportacao resultado = importacaoService.importar("benchmark-" + execucao++, new ByteArrayInputStream(arquivo));
+        if (resultado.iniciadas() != REGISTROS) {
+            throw new IllegalStateException("Importação incompleta: " + resultado);
+        }
+        return resultado;
+    }
+
+}
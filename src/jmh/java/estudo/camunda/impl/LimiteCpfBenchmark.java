@@ -0,0 +1,100 @@
+package estudo.camunda.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite por CPF com {@link TabelaTokenBuckets} (tamanho fixo, 2^20 posições) e com o mapa de
+ * buckets por CPF que cresce com cada cliente novo, percorrendo {@code cpfsDistintos} CPFs. Ao fim
+ * de cada trial é impresso o heap retido pela estrutura; com {@code -PjmhProfilers=gc} aparecem as
+ * alocações por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LimiteCpfBenchmark {
+
+    private static final long REPOSICAO_MILLIS = 60_000;
+
+    @Param({"10000", "3000000"})
+    private int cpfsDistintos;
+
+    @Param({"TABELA", "MAPA"})
+    private String estrutura;
+
+    private String[] cpfs;
+    private int indice;
+    private long heapAntesMb;
+
+    private TokenBucketLimiteSolicitacoesPorCpfServiceImpl tabela;
+    private Map<String, BucketSincronizado> mapa;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        cpfs = new String[cpfsDistintos];
+        for (int i = 0; i < cpfsDistintos; i++) {
+            cpfs[i] = String.format("%011d", 10_000_000_000L + i * 7919L);
+        }
+        heapAntesMb = heapUsadoMb();
+        if ("TABELA".equals(estrutura)) {
+            tabela = new TokenBucketLimiteSolicitacoesPorCpfServiceImpl(true,
+                    new TabelaTokenBuckets(1 << 20, 5, REPOSICAO_MILLIS, 8), () -> System.nanoTime() / 1_000_000);
+        } else {
+            mapa = new ConcurrentHashMap<>();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void medirHeap() {
+        System.out.printf("%n%s com %d CPFs distintos: %d MB retidos%n", estrutura, cpfsDistintos,
+                heapUsadoMb() - heapAntesMb);
+    }
+
+    @Benchmark
+    public long consumir() {
+        String cpf = cpfs[indice];
+        indice = indice + 1 == cpfs.length ? 0 : indice + 1;
+        if (tabela != null) {
+            return tabela.tentarConsumir(cpf);
+        }
+        return mapa.computeIfAbsent(cpf, c -> new BucketSincronizado()).tentarConsumir(System.nanoTime() / 1_000_000);
+    }
+
+    private static long heapUsadoMb() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+    }
+
+    /** Bucket de um objeto por CPF, como costuma ser feito com um mapa. */
+    private static final class BucketSincronizado {
+
+        private double tokens = 5;
+        private long ultimaReposicao = System.nanoTime() / 1_000_000;
+
+        synchronized long tentarConsumir(long agora) {
+            tokens = Math.min(5, tokens + (agora - ultimaReposicao) / (double) REPOSICAO_MILLIS);
+            ultimaReposicao = agora;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) ((1 - tokens) * REPOSICAO_MILLIS);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DevolucaoFinanceira;
+import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.CoreBankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Devoluções por segundo com 32 execuções concorrentes passando pelo {@link MicroLoteCoreBankingServiceImpl},
+ * por tamanho máximo de lote. O core banking simulado cobra {@value #CUSTO_CHAMADA_MICROS} µs por
+ * chamada (ida e volta, commit) e {@value #CUSTO_ITEM_MICROS} µs por lançamento, com até 4 chamadas
+ * simultâneas; com lote 1 cada devolução paga o custo da chamada inteiro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class LoteCoreBankingBenchmark {
+
+    private static final long CUSTO_CHAMADA_MICROS = 500;
+    private static final long CUSTO_ITEM_MICROS = 5;
+    private static final ValorMonetario VALOR = ValorMonetario.deCentavos(1_000);
+
+    @Param({"1", "8", "32"})
+    private int tamanhoMaximo;
+
+    private MicroLoteCoreBankingServiceImpl coreBankingService;
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void criarServico() {
+        coreBankingService = new MicroLoteCoreBankingServiceImpl(new CoreBankingComCustoPorChamada(), tamanhoMaximo,
+                Duration.ofMillis(1), 4);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        coreBankingService.encerrar();
+    }
+
+    @Benchmark
+    public ResultadoOperacaoFinanceira devolver() {
+        return coreBankingService.efetuarDevolucaoFinanceira("DEV-" + sequencia.incrementAndGet(),
+                "55566677720", "11122233396", VALOR);
+    }
+
+    private static final class CoreBankingComCustoPorChamada implements CoreBankingService {
+
+        // Simula as 4 conexões do core banking
+        private final Semaphore conexoes = new Semaphore(4);
+
+        @Override
+        public ResultadoOperacaoFinanceira efetuarDevolucaoFinanceira(String idOperacaoDevolucao, String identificadorContaDebito,
+                                                                      String identificadorContaCredito, ValorMonetario valor) {
+            return efetuarDevolucoesEmLote(List.of(new DevolucaoFinanceira(idOperacaoDevolucao, identificadorContaDebito,
+                    identificadorContaCredito, valor))).get(0);
+        }
+
+        @Override
+        public List<ResultadoOperacaoFinanceira> efetuarDevolucoesEmLote(List<DevolucaoFinanceira> devolucoes) {
+            conexoes.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(CUSTO_CHAMADA_MICROS + CUSTO_ITEM_MICROS * devolucoes.size()));
+            } finally {
+                conexoes.release();
+            }
+            return devolucoes.stream()
+                    .map(devolucao -> ResultadoOperacaoFinanceira.sucesso(devolucao.idOperacaoDevolucao(), "ok"))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package estudo.camunda.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação do prazo MED de 79 dias como era feita ({@code ChronoUnit.DAYS.between} contra {@code LocalDateTime.now()})
+ * e com a {@link JanelaPrazoDevolucao} (comparação contra o limite do dia já calculado).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrazoDevolucaoBenchmark {
+
+    private static final int QUANTIDADE = 1024;
+    private static final long PRAZO_DIAS = 79;
+
+    private LocalDateTime[] datasLocais;
+    private long[] datasEpochMilli;
+    private JanelaPrazoDevolucao janela;
+    private int indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ZoneId zona = ZoneId.of("America/Sao_Paulo");
+        Clock relogio = Clock.system(zona);
+        Instant agora = relogio.instant();
+        janela = new JanelaPrazoDevolucao(relogio, (int) PRAZO_DIAS);
+        datasLocais = new LocalDateTime[QUANTIDADE];
+        datasEpochMilli = new long[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Instant dataHora = agora.minus(i % 120, ChronoUnit.DAYS).minusSeconds(i * 37L);
+            datasLocais[i] = LocalDateTime.ofInstant(dataHora, zona);
+            datasEpochMilli[i] = dataHora.toEpochMilli();
+        }
+    }
+
+    private int proximo() {
+        return indice = (indice + 1) & (QUANTIDADE - 1);
+    }
+
+    @Benchmark
+    public boolean chronoUnitContraAgora() {
+        return ChronoUnit.DAYS.between(datasLocais[proximo()], LocalDateTime.now()) <= PRAZO_DIAS;
+    }
+
+    @Benchmark
+    public boolean janelaPrazoPreCalculada() {
+        return janela.dentroDoPrazo(datasEpochMilli[proximo()]);
+    }
+}
@@ -0,0 +1,107 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.ResultadoAnaliseRisco;
+import estudo.camunda.dto.ResultadoPreVerificacao;
+import estudo.camunda.dto.ResultadoValidacao;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.AnaliseRiscoService;
+import estudo.camunda.services.ValidacaoSolicitacaoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latência da validação seguida da análise de risco (como nas duas tarefas do processo) contra a
+ * pré-verificação paralela. Busca da transação, conferência de titularidade e consulta das
+ * features de risco esperam {@code latenciaMicros} cada, simulando chamadas a outros sistemas:
+ * em sequência são três esperas, na pré-verificação a análise de risco se sobrepõe à titularidade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PreVerificacaoBenchmark {
+
+    private static final SolicitacaoDevolucaoRequest SOLICITACAO =
+            new SolicitacaoDevolucaoRequest("TXID_VALIDA_001", "FRAUDE_COMPROVADA", "11122233396");
+    private static final DetalhesTransacaoPix TRANSACAO = new DetalhesTransacaoPix(
+            "TXID_VALIDA_001", ValorMonetario.deCentavos(10_000), "11122233396", "Cliente Pagador Um",
+            "55566677720", "Comercio Recebedor A", System.currentTimeMillis(), "CONCLUIDA");
+    private static final ResultadoAnaliseRisco RISCO = new ResultadoAnaliseRisco("MEDIO", false, "Análise padrão.");
+
+    @Param({"0", "1000"})
+    private long latenciaMicros;
+
+    private ValidacaoSolicitacaoService validacaoService;
+    private AnaliseRiscoService analiseRiscoService;
+    private ParalelaPreVerificacaoServiceImpl preVerificacaoService;
+
+    @Setup(Level.Trial)
+    public void criarServicos() {
+        long latenciaNanos = TimeUnit.MICROSECONDS.toNanos(latenciaMicros);
+        validacaoService = new ValidacaoSolicitacaoService() {
+            @Override
+            public ResultadoValidacao validarSolicitacao(SolicitacaoDevolucaoRequest solicitacao, MotivoDevolucao motivo) {
+                return buscarTransacaoOriginal(solicitacao.idTransacaoOriginal())
+                        .map(transacao -> validarContraTransacao(solicitacao, motivo, transacao))
+                        .orElseGet(ResultadoValidacao::transacaoNaoEncontrada);
+            }
+
+            @Override
+            public Optional<DetalhesTransacaoPix> buscarTransacaoOriginal(String idTransacaoOriginal) {
+                esperar(latenciaNanos);
+                return Optional.of(TRANSACAO);
+            }
+
+            @Override
+            public ResultadoValidacao validarContraTransacao(SolicitacaoDevolucaoRequest solicitacao, MotivoDevolucao motivo,
+                                                             DetalhesTransacaoPix transacaoOriginal) {
+                esperar(latenciaNanos);
+                return ResultadoValidacao.sucesso(transacaoOriginal);
+            }
+        };
+        analiseRiscoService = (solicitacao, motivo, transacaoOriginal) -> {
+            esperar(latenciaNanos);
+            return RISCO;
+        };
+        preVerificacaoService = new ParalelaPreVerificacaoServiceImpl(validacaoService, analiseRiscoService,
+                true, 4, 64, Duration.ofSeconds(5));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        preVerificacaoService.encerrar();
+    }
+
+    private static void esperar(long nanos) {
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    @Benchmark
+    public ResultadoAnaliseRisco sequencial() {
+        ResultadoValidacao validacao = validacaoService.validarSolicitacao(SOLICITACAO, MotivoDevolucao.FRAUDE_COMPROVADA);
+        return analiseRiscoService.analisarRisco(SOLICITACAO, MotivoDevolucao.FRAUDE_COMPROVADA, validacao.detalhesTransacaoPix());
+    }
+
+    @Benchmark
+    public ResultadoAnaliseRisco preVerificacaoParalela() {
+        ResultadoPreVerificacao resultado = preVerificacaoService.preVerificar(SOLICITACAO, MotivoDevolucao.FRAUDE_COMPROVADA);
+        return resultado.analiseRisco();
+    }
+}
@@ -0,0 +1,62 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.dto.StatusDevolucao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de leitura do modelo de status com várias threads consultando em paralelo,
+ * enquanto o mapa contém {@code quantidadeDevolucoes} processos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class StatusDevolucaoLeituraBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int quantidadeDevolucoes;
+
+    private InMemoryStatusDevolucaoServiceImpl statusService;
+    private String[] idsProcesso;
+    private String[] idsTransacao;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        statusService = new InMemoryStatusDevolucaoServiceImpl(quantidadeDevolucoes);
+        idsProcesso = new String[quantidadeDevolucoes];
+        idsTransacao = new String[quantidadeDevolucoes];
+        for (int i = 0; i < quantidadeDevolucoes; i++) {
+            idsProcesso[i] = "PROC-" + i;
+            idsTransacao[i] = "TXID-" + i;
+            statusService.registrarTransicao(idsProcesso[i], idsTransacao[i], "11122233396",
+                    SituacaoDevolucao.RECEBIDA, "start_event_solicitacao_recebida");
+            statusService.registrarTransicao(idsProcesso[i], null, null,
+                    SituacaoDevolucao.AGUARDANDO_ANALISE_MANUAL, "user_task_analise_manual");
+        }
+    }
+
+    @Benchmark
+    public Optional<StatusDevolucao> consultarPorIdProcesso() {
+        return statusService.buscarPorIdProcesso(idsProcesso[ThreadLocalRandom.current().nextInt(quantidadeDevolucoes)]);
+    }
+
+    @Benchmark
+    public Optional<StatusDevolucao> consultarPorIdTransacaoOriginal() {
+        return statusService.buscarPorIdTransacaoOriginal(idsTransacao[ThreadLocalRandom.current().nextInt(quantidadeDevolucoes)]);
+    }
+
+}
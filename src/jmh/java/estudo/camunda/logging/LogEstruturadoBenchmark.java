@@ -0,0 +1,119 @@
+package estudo.camunda.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.MDC;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de log de uma instância de processo (as oito linhas INFO que os delegates e o core banking
+ * registram no caminho feliz), gravando em arquivo: texto síncrono (como o console atual), JSON
+ * síncrono, JSON pela fila assíncrona e JSON assíncrono com a amostragem de 1% das instâncias. A fila
+ * assíncrona aqui bloqueia quando enche, sem descartar, para medir a vazão sustentável e não a de
+ * uma fila que joga eventos fora. Os arquivos ficam em {@code build/jmh-logs}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LogEstruturadoBenchmark {
+
+    @Param({"texto", "json", "json-assincrono", "json-assincrono-amostrado"})
+    private String modo;
+
+    private LoggerContext contexto;
+    private Logger logger;
+    private long instancia;
+
+    @Setup(Level.Trial)
+    public void configurar() {
+        contexto = new LoggerContext();
+        contexto.setMDCAdapter(MDC.getMDCAdapter());
+
+        FileAppender<ILoggingEvent> arquivo = new FileAppender<>();
+        arquivo.setContext(contexto);
+        arquivo.setFile(Path.of("build", "jmh-logs", modo + ".log").toAbsolutePath().toString());
+        arquivo.setAppend(false);
+        arquivo.setEncoder(modo.equals("texto") ? encoderTexto() : encoderJson());
+        arquivo.start();
+
+        Appender<ILoggingEvent> appender = arquivo;
+        if (modo.startsWith("json-assincrono")) {
+            AsyncAppender assincrono = new AsyncAppender();
+            assincrono.setContext(contexto);
+            assincrono.setQueueSize(8192);
+            assincrono.setDiscardingThreshold(0);
+            assincrono.addAppender(arquivo);
+            assincrono.start();
+            appender = assincrono;
+        }
+        if (modo.endsWith("amostrado")) {
+            AmostragemPorInstanciaTurboFilter amostragem = new AmostragemPorInstanciaTurboFilter();
+            amostragem.setContext(contexto);
+            amostragem.setTaxa(0.01);
+            amostragem.start();
+            contexto.addTurboFilter(amostragem);
+        }
+        logger = contexto.getLogger("estudo.camunda.delegates.ProcessamentoDevolucaoDelegate");
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        MDC.clear();
+        contexto.stop();
+    }
+
+    @Benchmark
+    public void logDeUmaInstancia() {
+        String idInstancia = "0A91XWVPM" + Long.toString(instancia++, 32);
+        MDC.put("processInstanceId", idInstancia);
+        MDC.put("activityId", "Task_ProcessamentoDevolucao");
+        logger.info("Executando ValidacaoSolicitacaoDelegate para o process instance ID: {}", idInstancia);
+        logger.info("Solicitação para transação {} validada com sucesso.", "TXID_TESTE");
+        logger.info("Análise de risco para transação {}: nível {}, aprovação automática sugerida: {}", "TXID_TESTE", "BAIXO", true);
+        logger.info("Preparando para efetuar devolução financeira: ID Operação '{}', Débito Conta '{}', Crédito Conta '{}', Valor R$ {}",
+                "DEV-" + idInstancia, "55566677720", "11122233396", "100.00");
+        logger.info("Core Banking (Mock): Iniciando processamento financeiro para devolução ID {}", "DEV-" + idInstancia);
+        logger.info("Core Banking (Mock): {} de R$ {} na conta {} realizado. Novo saldo: R$ {}", "Débito", "100.00", "55566677720", "900.00");
+        logger.info("Core Banking (Mock): {} de R$ {} na conta {} realizado. Novo saldo: R$ {}", "Crédito", "100.00", "11122233396", "300.00");
+        logger.info("Devolução financeira para ID Operação {} efetuada com sucesso. ID da Transação de Devolução: {}",
+                "DEV-" + idInstancia, "DEV-" + idInstancia);
+        MDC.remove("activityId");
+        MDC.remove("processInstanceId");
+    }
+
+    private Encoder<ILoggingEvent> encoderTexto() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [no-local] --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> encoderJson() {
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(contexto);
+        encoder.setNo("no-local");
+        encoder.start();
+        return encoder;
+    }
+}
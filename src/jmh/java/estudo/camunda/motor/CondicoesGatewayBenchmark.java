@@ -0,0 +1,128 @@
+package estudo.camunda.motor;
+
+import estudo.camunda.config.CachesMotorPlugin;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.Condition;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.el.UelExpressionCondition;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.pvm.runtime.ExecutionImpl;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das condições dos gateways em JUEL e em Java ({@code pix.condicoes.java}):
+ * <ul>
+ *     <li>{@code condicao}: só a avaliação da condição de risco, {@value #AVALIACOES} vezes por comando;</li>
+ *     <li>{@code processo}: uma instância que passa por {@value #GATEWAYS} gateways em sequência, cada um
+ *     avaliando uma condição falsa e a de risco, sem estados de espera nem histórico.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CondicoesGatewayBenchmark {
+
+    private static final int AVALIACOES = 10_000;
+    private static final int GATEWAYS = 20;
+    private static final String PROCESSO = "condicoes_gateway_benchmark";
+    private static final String RISCO = "${nivelRisco == 'BAIXO' && aprovacaoAutomaticaSugerida == true}";
+    private static final String REJEICAO = "${decisaoAnalista == 'REJEITAR'}";
+    private static final Map<String, Object> VARIAVEIS = Map.of(
+            "nivelRisco", "BAIXO",
+            "aprovacaoAutomaticaSugerida", true,
+            "decisaoAnalista", "APROVAR");
+
+    @Param({"juel", "java"})
+    private String modo;
+
+    private ProcessEngine processEngine;
+    private RuntimeService runtimeService;
+    private CommandExecutor commandExecutor;
+    private Condition condicao;
+    private ExecutionImpl escopo;
+
+    @Setup(Level.Trial)
+    public void iniciarMotor() {
+        StandaloneInMemProcessEngineConfiguration configuracao = new StandaloneInMemProcessEngineConfiguration();
+        configuracao.setJdbcUrl("jdbc:h2:mem:condicoes-gateway-benchmark;DB_CLOSE_DELAY=-1");
+        configuracao.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+        configuracao.setJobExecutorActivate(false);
+        configuracao.setDmnEnabled(false);
+        configuracao.setCmmnEnabled(false);
+        configuracao.getProcessEnginePlugins().add(new CachesMotorPlugin(false, 1000, modo.equals("java")));
+        processEngine = configuracao.buildProcessEngine();
+        runtimeService = processEngine.getRuntimeService();
+        commandExecutor = configuracao.getCommandExecutorTxRequired();
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance(PROCESSO + ".bpmn", gatewaysEmSequencia())
+                .deploy();
+
+        condicao = modo.equals("java")
+                ? CondicoesPrecompiladas.para(RISCO).orElseThrow()
+                : new UelExpressionCondition(configuracao.getExpressionManager().createExpression(RISCO));
+        escopo = new ExecutionImpl();
+        escopo.setVariables(VARIAVEIS);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        processEngine.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AVALIACOES)
+    public int condicao() {
+        return commandExecutor.execute(commandContext -> {
+            int verdadeiras = 0;
+            for (int i = 0; i < AVALIACOES; i++) {
+                if (condicao.evaluate(escopo, null)) {
+                    verdadeiras++;
+                }
+            }
+            return verdadeiras;
+        });
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean processo() {
+        return runtimeService.startProcessInstanceByKey(PROCESSO, VARIAVEIS).isEnded();
+    }
+
+    private static BpmnModelInstance gatewaysEmSequencia() {
+        AbstractFlowNodeBuilder<?, ?> fluxo = Bpmn.createExecutableProcess(PROCESSO).startEvent();
+        for (int i = 0; i < GATEWAYS; i++) {
+            String gateway = "gateway_" + i;
+            fluxo = fluxo.exclusiveGateway(gateway)
+                    .condition("rejeitada", REJEICAO).endEvent("rejeitada_" + i)
+                    .moveToNode(gateway)
+                    .condition("risco baixo", RISCO);
+        }
+        return fluxo.endEvent("fim").done();
+    }
+
+}
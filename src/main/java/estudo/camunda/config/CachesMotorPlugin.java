@@ -0,0 +1,95 @@
+package estudo.camunda.config;
+
+import estudo.camunda.listeners.CondicoesJavaParseListener;
+import estudo.camunda.listeners.ContagemParseBpmnListener;
+import estudo.camunda.motor.CacheArvoresExpressao;
+import estudo.camunda.motor.CondicoesPrecompiladas;
+import estudo.camunda.motor.FabricaCachesComContagem;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
+import org.camunda.bpm.impl.juel.Builder;
+import org.camunda.bpm.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.impl.juel.TreeStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caches do motor observáveis em {@code GET /api/v1/pix/motor/caches} ({@code pix.caches.contagem=true}):
+ * <ul>
+ *     <li>os caches de implantação (definições de processo, modelos BPMN) saem de {@link FabricaCachesComContagem};</li>
+ *     <li>as árvores JUEL ficam em {@link CacheArvoresExpressao}, com os mesmos recursos do perfil JEE6 padrão;</li>
+ *     <li>os processos parseados são contados por {@link ContagemParseBpmnListener}.</li>
+ * </ul>
+ * Com {@code pix.condicoes.java=true}, as condições conhecidas por {@link CondicoesPrecompiladas} são avaliadas em
+ * Java, sem o JUEL.
+ */
+@Component
+public class CachesMotorPlugin extends AbstractProcessEnginePlugin {
+
+    private final boolean contagem;
+    private final boolean condicoesJava;
+    private final CacheArvoresExpressao arvoresExpressao;
+    private final ContagemParseBpmnListener contagemParse = new ContagemParseBpmnListener();
+    private final CondicoesJavaParseListener condicoesJavaListener = new CondicoesJavaParseListener();
+
+    @Autowired
+    public CachesMotorPlugin(@Value("${pix.caches.contagem:true}") boolean contagem,
+                             @Value("${pix.caches.capacidade-expressoes:1000}") int capacidadeExpressoes,
+                             @Value("${pix.condicoes.java:false}") boolean condicoesJava) {
+        this.contagem = contagem;
+        this.condicoesJava = condicoesJava;
+        this.arvoresExpressao = new CacheArvoresExpressao(capacidadeExpressoes);
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        List<BpmnParseListener> parseListeners = processEngineConfiguration.getCustomPostBPMNParseListeners();
+        if (parseListeners == null) {
+            parseListeners = new ArrayList<>();
+            processEngineConfiguration.setCustomPostBPMNParseListeners(parseListeners);
+        }
+        if (contagem) {
+            processEngineConfiguration.setCacheFactory(new FabricaCachesComContagem());
+            parseListeners.add(contagemParse);
+        }
+        if (condicoesJava) {
+            parseListeners.add(condicoesJavaListener);
+        }
+    }
+
+    @Override
+    public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        // O gerenciador de expressões (o do Spring, ou o padrão do motor) só existe depois do init
+        if (contagem && processEngineConfiguration.getExpressionManager() instanceof JuelExpressionManager expressionManager) {
+            Builder builder = new Builder(Builder.Feature.METHOD_INVOCATIONS, Builder.Feature.VARARGS);
+            expressionManager.setExpressionFactory(new ExpressionFactoryImpl(new TreeStore(builder, arvoresExpressao)));
+        }
+    }
+
+    public boolean isContagem() {
+        return contagem;
+    }
+
+    public boolean isCondicoesJava() {
+        return condicoesJava;
+    }
+
+    public CacheArvoresExpressao getArvoresExpressao() {
+        return arvoresExpressao;
+    }
+
+    public long getParsesBpmn() {
+        return contagemParse.getParses();
+    }
+
+    public long getCondicoesSubstituidas() {
+        return condicoesJavaListener.getSubstituidas();
+    }
+
+}
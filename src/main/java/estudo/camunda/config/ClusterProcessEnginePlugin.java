@@ -0,0 +1,220 @@
+package estudo.camunda.config;
+
+import jakarta.annotation.PreDestroy;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Modo cluster: vários nós compartilham o mesmo banco e cada um executa apenas os jobs das suas
+ * partições (ver {@link ParticaoJobPriorityProvider}). As {@code quantidadeParticoes} partições são
+ * divididas em faixas contíguas entre os {@code totalNos} nós; o nó {@code indiceNo} fica com a sua
+ * faixa. A aquisição também passa a ser deployment-aware, então um nó só pega jobs de deployments
+ * que ele conhece (útil em rolling deploy com versões diferentes do BPMN).
+ * <p>
+ * As faixas são fixas: se um nó cai, ninguém mais adquire os jobs (e timers) da faixa dele. Com
+ * {@code carenciaParticoesOrfas} positiva, o nó verifica periodicamente se há jobs executáveis de outras faixas
+ * vencidos há mais que a carência e, se houver, estende a própria faixa até cobri-los. A faixa volta ao normal
+ * depois de uma carência inteira sem jobs órfãos, então enquanto o dono não volta os jobs dele rodam com atraso de
+ * até uma carência. A faixa estendida é contígua e pode incluir partições de nós vivos; isso só gera disputa
+ * (conflitos de optimistic locking), não execução duplicada.
+ * <p>
+ * Independentemente do modo cluster, o {@code noId} identifica o nó como lock owner dos jobs e
+ * como reporter das métricas do Camunda.
+ */
+@Component
+public class ClusterProcessEnginePlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterProcessEnginePlugin.class);
+
+    private static final String PROCESS_DEFINITION_KEY = "processo_devolucao_pix_med_simplificado";
+
+    private final boolean habilitado;
+    private final String noId;
+    private final int quantidadeParticoes;
+    private final int totalNos;
+    private final int indiceNo;
+    private final Duration carenciaParticoesOrfas;
+    private ProcessEngineConfigurationImpl configuracao;
+    private ScheduledExecutorService verificadorOrfas;
+    private volatile boolean assumindoParticoesOrfas;
+    private long ultimaOrfaVista;
+
+    @Autowired
+    public ClusterProcessEnginePlugin(
+            @Value("${pix.cluster.habilitado:false}") boolean habilitado,
+            @Value("${pix.cluster.no-id:}") String noId,
+            @Value("${pix.cluster.particoes:64}") int quantidadeParticoes,
+            @Value("${pix.cluster.total-nos:1}") int totalNos,
+            @Value("${pix.cluster.indice-no:0}") int indiceNo,
+            @Value("${pix.cluster.carencia-particoes-orfas:PT2M}") Duration carenciaParticoesOrfas) {
+        if (totalNos <= 0 || indiceNo < 0 || indiceNo >= totalNos || quantidadeParticoes < totalNos) {
+            throw new IllegalArgumentException("Configuração de cluster inválida: particoes=" + quantidadeParticoes
+                    + ", total-nos=" + totalNos + ", indice-no=" + indiceNo);
+        }
+        this.habilitado = habilitado;
+        this.noId = noId == null || noId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : noId;
+        this.quantidadeParticoes = quantidadeParticoes;
+        this.totalNos = totalNos;
+        this.indiceNo = indiceNo;
+        this.carenciaParticoesOrfas = carenciaParticoesOrfas;
+    }
+
+    public String getNoId() {
+        return noId;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Primeira partição (inclusiva) atendida por este nó.
+     */
+    public int getParticaoInicial() {
+        return habilitado ? (int) ((long) quantidadeParticoes * indiceNo / totalNos) : 0;
+    }
+
+    /**
+     * Última partição (inclusiva) atendida por este nó.
+     */
+    public int getParticaoFinal() {
+        return habilitado ? (int) ((long) quantidadeParticoes * (indiceNo + 1) / totalNos) - 1 : quantidadeParticoes - 1;
+    }
+
+    /**
+     * Indica se a faixa de aquisição está estendida para cobrir partições de um nó que parou de consumir.
+     */
+    public boolean isAssumindoParticoesOrfas() {
+        return assumindoParticoesOrfas;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setHostname(noId);
+        if (!habilitado) {
+            return;
+        }
+        processEngineConfiguration.setJobPriorityProvider(new ParticaoJobPriorityProvider(quantidadeParticoes));
+        processEngineConfiguration.setProducePrioritizedJobs(true);
+        // A faixa de prioridades só é aplicada na aquisição quando ela é feita por prioridade
+        processEngineConfiguration.setJobExecutorAcquireByPriority(true);
+        processEngineConfiguration.setJobExecutorPriorityRangeMin(getParticaoInicial());
+        processEngineConfiguration.setJobExecutorPriorityRangeMax(getParticaoFinal());
+        processEngineConfiguration.setJobExecutorDeploymentAware(true);
+        if (verificaOrfas()) {
+            // Jobs assíncronos nascem sem due date; com ele dá para saber há quanto tempo esperam
+            processEngineConfiguration.setEnsureJobDueDateNotNull(true);
+        }
+        configuracao = processEngineConfiguration;
+    }
+
+    @Override
+    public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (processEngineConfiguration.getJobExecutor() != null) {
+            processEngineConfiguration.getJobExecutor().setLockOwner(noId);
+        }
+    }
+
+    @Override
+    public void postProcessEngineBuild(ProcessEngine processEngine) {
+        if (!habilitado) {
+            return;
+        }
+        // Deployments feitos por este nó já são registrados pelo motor; aqui entram as versões
+        // anteriores do processo que ainda têm instâncias (e jobs) em andamento.
+        ManagementService managementService = processEngine.getManagementService();
+        Set<String> deployments = processEngine.getRepositoryService().createProcessDefinitionQuery()
+                .processDefinitionKey(PROCESS_DEFINITION_KEY)
+                .list().stream()
+                .map(ProcessDefinition::getDeploymentId)
+                .collect(Collectors.toSet());
+        deployments.forEach(managementService::registerDeploymentForJobExecutor);
+
+        LOGGER.info("Nó {} em modo cluster: partições {}..{} de {}, {} deployment(s) registrados para o job executor.",
+                noId, getParticaoInicial(), getParticaoFinal(), quantidadeParticoes, deployments.size());
+
+        if (verificaOrfas()) {
+            long periodo = Math.max(1000, carenciaParticoesOrfas.toMillis() / 2);
+            verificadorOrfas = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("particoes-orfas").daemon().factory());
+            verificadorOrfas.scheduleWithFixedDelay(() -> {
+                try {
+                    verificarParticoesOrfas(managementService);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Falha ao verificar partições órfãs: {}", e.getMessage());
+                }
+            }, periodo, periodo, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Estende a faixa de aquisição até os jobs executáveis de outras faixas vencidos há mais que a carência, ou
+     * volta à faixa própria depois de uma carência sem encontrá-los.
+     */
+    synchronized void verificarParticoesOrfas(ManagementService managementService) {
+        long agora = ClockUtil.getCurrentTime().getTime();
+        Date limite = new Date(agora - carenciaParticoesOrfas.toMillis());
+        long minimo = getParticaoInicial();
+        long maximo = getParticaoFinal();
+        if (minimo > 0) {
+            List<Job> abaixo = managementService.createJobQuery().executable().duedateLowerThan(limite)
+                    .priorityLowerThanOrEquals(minimo - 1).orderByJobPriority().asc().listPage(0, 1);
+            minimo = abaixo.isEmpty() ? minimo : abaixo.get(0).getPriority();
+        }
+        if (maximo < quantidadeParticoes - 1) {
+            List<Job> acima = managementService.createJobQuery().executable().duedateLowerThan(limite)
+                    .priorityHigherThanOrEquals(maximo + 1).orderByJobPriority().desc().listPage(0, 1);
+            maximo = acima.isEmpty() ? maximo : acima.get(0).getPriority();
+        }
+
+        if (minimo < getParticaoInicial() || maximo > getParticaoFinal()) {
+            ultimaOrfaVista = agora;
+            if (minimo < configuracao.getJobExecutorPriorityRangeMin() || maximo > configuracao.getJobExecutorPriorityRangeMax()) {
+                minimo = Math.min(minimo, configuracao.getJobExecutorPriorityRangeMin());
+                maximo = Math.max(maximo, configuracao.getJobExecutorPriorityRangeMax());
+                LOGGER.warn("Nó {} assumindo partições órfãs: faixa de aquisição {}..{}.", noId, minimo, maximo);
+                configuracao.setJobExecutorPriorityRangeMin(minimo);
+                configuracao.setJobExecutorPriorityRangeMax(maximo);
+            }
+            assumindoParticoesOrfas = true;
+        } else if (assumindoParticoesOrfas && agora - ultimaOrfaVista >= carenciaParticoesOrfas.toMillis()) {
+            LOGGER.info("Nó {} sem partições órfãs há {}: voltando à faixa {}..{}.",
+                    noId, carenciaParticoesOrfas, getParticaoInicial(), getParticaoFinal());
+            configuracao.setJobExecutorPriorityRangeMin(getParticaoInicial());
+            configuracao.setJobExecutorPriorityRangeMax(getParticaoFinal());
+            assumindoParticoesOrfas = false;
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (verificadorOrfas != null) {
+            verificadorOrfas.shutdownNow();
+        }
+    }
+
+    private boolean verificaOrfas() {
+        return habilitado && totalNos > 1 && carenciaParticoesOrfas.isPositive();
+    }
+
+}
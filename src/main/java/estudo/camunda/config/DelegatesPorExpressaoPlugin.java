@@ -0,0 +1,79 @@
+package estudo.camunda.config;
+
+import estudo.camunda.listeners.DelegatesPorExpressaoParseListener;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Com {@code pix.delegates.por-expressao=true}, os service tasks com {@code camunda:class} de um delegate que é bean
+ * Spring passam a resolver o singleton por expressão, sem field injection: veja
+ * {@link DelegatesPorExpressaoParseListener}. O BPMN não muda.
+ * <p>
+ * No modo padrão o motor também usa o singleton (o {@code SpringArtifactFactory} busca o bean pela classe), mas
+ * aplica os {@code camunda:field} nele a cada execução, e duas instâncias concorrentes podem ver o campo uma da outra.
+ */
+@Component
+public class DelegatesPorExpressaoPlugin extends AbstractProcessEnginePlugin {
+
+    private final boolean habilitado;
+    private final ListableBeanFactory beanFactory;
+    private DelegatesPorExpressaoParseListener listener;
+
+    @Autowired
+    public DelegatesPorExpressaoPlugin(@Value("${pix.delegates.por-expressao:false}") boolean habilitado,
+                                       ListableBeanFactory beanFactory) {
+        this.habilitado = habilitado;
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (!habilitado) {
+            return;
+        }
+        List<BpmnParseListener> parseListeners = processEngineConfiguration.getCustomPostBPMNParseListeners();
+        if (parseListeners == null) {
+            parseListeners = new ArrayList<>();
+            processEngineConfiguration.setCustomPostBPMNParseListeners(parseListeners);
+        }
+        listener = new DelegatesPorExpressaoParseListener(beansPorClasse());
+        parseListeners.add(listener);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public long getTarefasSubstituidas() {
+        return listener == null ? 0 : listener.getSubstituidas();
+    }
+
+    /** Singletons {@link JavaDelegate} por classe; classes com mais de um bean ficam de fora. */
+    Map<String, String> beansPorClasse() {
+        Map<String, String> beans = new HashMap<>();
+        Set<String> ambiguas = new HashSet<>();
+        for (String nome : beanFactory.getBeanNamesForType(JavaDelegate.class, false, false)) {
+            Class<?> tipo = beanFactory.getType(nome, false);
+            if (tipo != null && beans.putIfAbsent(ClassUtils.getUserClass(tipo).getName(), nome) != null) {
+                ambiguas.add(ClassUtils.getUserClass(tipo).getName());
+            }
+        }
+        ambiguas.forEach(beans::remove);
+        return beans;
+    }
+
+}
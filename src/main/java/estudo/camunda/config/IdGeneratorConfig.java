@@ -0,0 +1,40 @@
+package estudo.camunda.config;
+
+import estudo.camunda.impl.GeradorIdOrdenado;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdGeneratorConfig.class);
+    private static final int NO_NAO_INFORMADO = -1;
+
+    /**
+     * Com {@code camunda.bpm.id-generator=ordenado}, o motor passa a usar IDs ordenados pelo tempo
+     * ({@link GeradorIdOrdenado}) no lugar dos UUIDs do starter: as inserções nos índices das tabelas
+     * {@code ACT_RU_*}/{@code ACT_HI_*} vão para o fim da árvore em vez de posições aleatórias. O ID
+     * da operação de devolução ({@code DEV-<id da instância>}) herda a mesma ordem.
+     * <p>
+     * Dois nós com o mesmo número geram o mesmo ID no mesmo milissegundo, então {@code pix.ids.no} é
+     * obrigatório e deve ser único entre as réplicas que usam o mesmo banco. O último ID não sobrevive a
+     * um reinício: se o relógio do nó voltar no tempo entre uma execução e a seguinte, IDs já emitidos
+     * podem se repetir.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "camunda.bpm", name = "id-generator", havingValue = "ordenado")
+    public IdGenerator idGeneratorOrdenado(@Value("${pix.ids.no:" + NO_NAO_INFORMADO + "}") int no) {
+        if (no == NO_NAO_INFORMADO) {
+            throw new IllegalStateException("camunda.bpm.id-generator=ordenado exige pix.ids.no (0 a "
+                    + GeradorIdOrdenado.MAXIMO_NO + "), único por réplica que usa o mesmo banco.");
+        }
+        LOGGER.info("IDs do motor ordenados pelo tempo, nó {}.", no);
+        GeradorIdOrdenado gerador = new GeradorIdOrdenado(no);
+        return gerador::proximoIdTexto;
+    }
+}
@@ -0,0 +1,113 @@
+package estudo.camunda.config;
+
+import estudo.camunda.logging.AmostragemPorInstanciaTurboFilter;
+import estudo.camunda.logging.JsonEncoder;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Metadados de reflexão, serialização e recursos para a imagem nativa, além dos que o processamento AOT
+ * do Spring já gera para os beans e controllers:
+ * <ul>
+ *     <li>o motor: mapeamentos MyBatis, scripts SQL e XSDs do BPMN como recursos, e reflexão nas classes
+ *     citadas nos mapeamentos (entidades, queries, parâmetros), lidas dos próprios XML no build;</li>
+ *     <li>os delegates, instanciados pelo motor a partir do {@code camunda:class} do BPMN;</li>
+ *     <li>os DTOs: binding JSON para todos e serialização Java para os que vão como variável do processo;</li>
+ *     <li>o encoder e o filtro de log instanciados pelo logback a partir do {@code logback-spring.xml}.</li>
+ * </ul>
+ */
+public class ImagemNativaRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String MAPEAMENTOS = "org/camunda/bpm/engine/impl/mapping/";
+    private static final Pattern TIPO_MAPEADO = Pattern.compile("(?:type|resultType|parameterType|javaType|ofType)=\"([\\w.$]+\\.[\\w$]+)\"");
+    private static final MemberCategory[] MEMBROS = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern(MAPEAMENTOS + "*.xml")
+                .registerPattern(MAPEAMENTOS + "entity/*.xml")
+                .registerPattern("org/camunda/bpm/engine/db/create/*.sql")
+                .registerPattern("org/camunda/bpm/engine/impl/bpmn/parser/*.xsd")
+                .registerPattern("org/camunda/bpm/model/bpmn/schema/*.xsd")
+                .registerPattern("processo_devolucao_pix_med_simplificado.bpmn")
+                .registerPattern("db/*.sql");
+
+        for (String tipo : tiposMapeados(classLoader)) {
+            registrarComSuperclasses(hints, ClassUtils.resolveClassName(tipo, classLoader));
+        }
+        for (Class<?> delegate : classesDoPacote("estudo.camunda.delegates", classLoader)) {
+            // NotificacaoClienteDelegate recebe tipoNotificacao por field injection
+            hints.reflection().registerType(delegate, MEMBROS);
+        }
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        for (Class<?> dto : classesDoPacote("estudo.camunda.dto", classLoader)) {
+            binding.registerReflectionHints(hints.reflection(), dto);
+            if (Serializable.class.isAssignableFrom(dto)) {
+                hints.serialization().registerType(dto.asSubclass(Serializable.class));
+            }
+        }
+        hints.reflection().registerType(JsonEncoder.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(AmostragemPorInstanciaTurboFilter.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+
+    /** Classes citadas nos mapeamentos MyBatis do motor que existem no classpath. */
+    static Set<String> tiposMapeados(ClassLoader classLoader) {
+        Set<String> tipos = new TreeSet<>();
+        try {
+            Resource[] mapeamentos = new PathMatchingResourcePatternResolver(classLoader)
+                    .getResources("classpath*:" + MAPEAMENTOS + "**/*.xml");
+            for (Resource mapeamento : mapeamentos) {
+                try (InputStream conteudo = mapeamento.getInputStream()) {
+                    Matcher tipo = TIPO_MAPEADO.matcher(new String(conteudo.readAllBytes(), StandardCharsets.UTF_8));
+                    while (tipo.find()) {
+                        if (ClassUtils.isPresent(tipo.group(1), classLoader)) {
+                            tipos.add(tipo.group(1));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler os mapeamentos do motor", e);
+        }
+        return tipos;
+    }
+
+    /** O MyBatis lê as propriedades de toda a hierarquia da classe. */
+    private static void registrarComSuperclasses(RuntimeHints hints, Class<?> tipo) {
+        for (Class<?> atual = tipo; atual != null && atual != Object.class; atual = atual.getSuperclass()) {
+            hints.reflection().registerType(atual, MEMBROS);
+        }
+    }
+
+    private static Set<Class<?>> classesDoPacote(String pacote, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new PathMatchingResourcePatternResolver(classLoader));
+        scanner.addIncludeFilter((leitor, fabrica) -> true);
+        Set<Class<?>> classes = new TreeSet<>((a, b) -> a.getName().compareTo(b.getName()));
+        for (BeanDefinition candidata : scanner.findCandidateComponents(pacote)) {
+            classes.add(ClassUtils.resolveClassName(candidata.getBeanClassName(), classLoader));
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,38 @@
+package estudo.camunda.config;
+
+import estudo.camunda.listeners.FilaAnaliseManualTaskListener;
+import estudo.camunda.listeners.MonitoramentoProcessoParseListener;
+import estudo.camunda.listeners.StatusDevolucaoExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class MonitoramentoProcessoPlugin extends AbstractProcessEnginePlugin {
+
+    private final StatusDevolucaoExecutionListener statusListener;
+    private final FilaAnaliseManualTaskListener filaAnaliseManualListener;
+
+    @Autowired
+    public MonitoramentoProcessoPlugin(StatusDevolucaoExecutionListener statusListener,
+                                       FilaAnaliseManualTaskListener filaAnaliseManualListener) {
+        this.statusListener = statusListener;
+        this.filaAnaliseManualListener = filaAnaliseManualListener;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        List<BpmnParseListener> parseListeners = processEngineConfiguration.getCustomPostBPMNParseListeners();
+        if (parseListeners == null) {
+            parseListeners = new ArrayList<>();
+            processEngineConfiguration.setCustomPostBPMNParseListeners(parseListeners);
+        }
+        parseListeners.add(new MonitoramentoProcessoParseListener(statusListener, filaAnaliseManualListener));
+    }
+
+}
@@ -0,0 +1,192 @@
+package estudo.camunda.config;
+
+import org.camunda.bpm.engine.impl.cfg.CompositeProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.spring.ProcessEngineFactoryBean;
+import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
+import org.camunda.bpm.engine.spring.SpringProcessEngineServicesConfiguration;
+import org.camunda.bpm.spring.boot.starter.CamundaBpmActuatorConfiguration;
+import org.camunda.bpm.spring.boot.starter.CamundaBpmPluginConfiguration;
+import org.camunda.bpm.spring.boot.starter.CamundaBpmTelemetryConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.CamundaAuthorizationConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.CamundaDatasourceConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.CamundaDeploymentConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.CamundaFailedJobConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.CamundaHistoryConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.CamundaJobConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.CamundaMetricsConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.id.IdGeneratorConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultAuthorizationConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultDatasourceConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultDeploymentConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultFailedJobConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultHistoryConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultJobConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultMetricsConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultProcessEngineConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.GenericPropertiesConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.custom.CreateAdminUserConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.custom.CreateFilterConfiguration;
+import org.camunda.bpm.spring.boot.starter.event.EventPublisherPlugin;
+import org.camunda.bpm.spring.boot.starter.event.ProcessApplicationEventPublisher;
+import org.camunda.bpm.spring.boot.starter.property.CamundaBpmProperties;
+import org.camunda.bpm.spring.boot.starter.property.ManagementProperties;
+import org.camunda.bpm.spring.boot.starter.telemetry.CamundaIntegrationDeterminator;
+import org.camunda.bpm.spring.boot.starter.util.CamundaBpmVersion;
+import org.camunda.bpm.spring.boot.starter.util.CamundaSpringBootUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.List;
+
+/**
+ * Substitui o {@code CamundaBpmAutoConfiguration} do starter no perfil {@code nativo}, com os mesmos beans, para
+ * que o contexto passe pelo processamento AOT do Spring (pré-requisito da imagem nativa). Duas diferenças em
+ * relação ao starter:
+ * <ul>
+ *     <li>os beans que dependem da configuração do motor ficam nesta classe, e não em uma classe interna não
+ *     estática, que o AOT não consegue instanciar;</li>
+ *     <li>os beans do {@code CamundaBpmConfiguration} são declarados pela implementação, e não pela interface: o
+ *     AOT gera a injeção dos campos {@code @Autowired} a partir do tipo declarado, e as implementações (filhas de
+ *     {@code AbstractCamundaConfiguration}) ficariam sem as propriedades do starter.</li>
+ * </ul>
+ * {@code camunda.bpm.history-level=auto} não é suportado neste perfil. Os metadados que o AOT não deduz dos beans
+ * estão em {@link ImagemNativaRuntimeHints}. O {@code MotorNativoConfigTest} compara os beans, as condições e os
+ * imports com os do starter, e falha quando uma atualização do Camunda muda o {@code CamundaBpmAutoConfiguration}.
+ */
+@Configuration
+@Profile("nativo")
+@EnableConfigurationProperties({CamundaBpmProperties.class, ManagementProperties.class})
+@Import({CamundaBpmActuatorConfiguration.class, CamundaBpmPluginConfiguration.class, CamundaBpmTelemetryConfiguration.class,
+        SpringProcessEngineServicesConfiguration.class, DefaultJobConfiguration.JobConfiguration.class,
+        IdGeneratorConfiguration.class})
+@ImportRuntimeHints(ImagemNativaRuntimeHints.class)
+public class MotorNativoConfig {
+
+    @Bean
+    public CamundaBpmVersion camundaBpmVersion() {
+        return new CamundaBpmVersion();
+    }
+
+    @Bean
+    public ProcessApplicationEventPublisher processApplicationEventPublisher(ApplicationEventPublisher publisher) {
+        return new ProcessApplicationEventPublisher(publisher);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ProcessEngineConfigurationImpl.class)
+    public SpringProcessEngineConfiguration processEngineConfigurationImpl(List<ProcessEnginePlugin> processEnginePlugins) {
+        SpringProcessEngineConfiguration configuracao = CamundaSpringBootUtil.springProcessEngineConfiguration();
+        configuracao.getProcessEnginePlugins().add(new CompositeProcessEnginePlugin(processEnginePlugins));
+        return configuracao;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DefaultProcessEngineConfiguration.class)
+    public static DefaultProcessEngineConfiguration camundaProcessEngineConfiguration() {
+        return new DefaultProcessEngineConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CamundaDatasourceConfiguration.class)
+    public static DefaultDatasourceConfiguration camundaDatasourceConfiguration() {
+        return new DefaultDatasourceConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CamundaJobConfiguration.class)
+    @ConditionalOnProperty(prefix = "camunda.bpm.job-execution", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static DefaultJobConfiguration camundaJobConfiguration() {
+        return new DefaultJobConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CamundaHistoryConfiguration.class)
+    public static DefaultHistoryConfiguration camundaHistoryConfiguration() {
+        return new DefaultHistoryConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CamundaMetricsConfiguration.class)
+    public static DefaultMetricsConfiguration camundaMetricsConfiguration() {
+        return new DefaultMetricsConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CamundaAuthorizationConfiguration.class)
+    public static DefaultAuthorizationConfiguration camundaAuthorizationConfiguration() {
+        return new DefaultAuthorizationConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CamundaDeploymentConfiguration.class)
+    public static DefaultDeploymentConfiguration camundaDeploymentConfiguration() {
+        return new DefaultDeploymentConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CamundaFailedJobConfiguration.class)
+    public static DefaultFailedJobConfiguration failedJobConfiguration() {
+        return new DefaultFailedJobConfiguration();
+    }
+
+    @Bean
+    public GenericPropertiesConfiguration genericPropertiesConfiguration() {
+        return new GenericPropertiesConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "camunda.bpm.admin-user", name = "id")
+    public CreateAdminUserConfiguration createAdminUserConfiguration() {
+        return new CreateAdminUserConfiguration();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "camunda.bpm.filter", name = "create")
+    public CreateFilterConfiguration createFilterConfiguration() {
+        return new CreateFilterConfiguration();
+    }
+
+    @Bean
+    public EventPublisherPlugin eventPublisherPlugin(CamundaBpmProperties properties, ApplicationEventPublisher publisher) {
+        return new EventPublisherPlugin(properties.getEventing(), publisher);
+    }
+
+    @Bean
+    public CamundaIntegrationDeterminator camundaIntegrationDeterminator() {
+        return new CamundaIntegrationDeterminator();
+    }
+
+    @Bean
+    public ProcessEngineFactoryBean processEngineFactoryBean(ProcessEngineConfigurationImpl processEngineConfigurationImpl) {
+        ProcessEngineFactoryBean factoryBean = new ProcessEngineFactoryBean();
+        factoryBean.setProcessEngineConfiguration(processEngineConfigurationImpl);
+        return factoryBean;
+    }
+
+    @Bean
+    @Primary
+    public CommandExecutor commandExecutorTxRequired(ProcessEngineConfigurationImpl processEngineConfigurationImpl) {
+        return processEngineConfigurationImpl.getCommandExecutorTxRequired();
+    }
+
+    @Bean
+    public CommandExecutor commandExecutorTxRequiresNew(ProcessEngineConfigurationImpl processEngineConfigurationImpl) {
+        return processEngineConfigurationImpl.getCommandExecutorTxRequiresNew();
+    }
+
+    @Bean
+    public CommandExecutor commandExecutorSchemaOperations(ProcessEngineConfigurationImpl processEngineConfigurationImpl) {
+        return processEngineConfigurationImpl.getCommandExecutorSchemaOperations();
+    }
+}
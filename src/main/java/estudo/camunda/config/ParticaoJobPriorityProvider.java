@@ -0,0 +1,41 @@
+package estudo.camunda.config;
+
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Grava no {@code PRIORITY_} de cada job a partição da devolução, calculada pelo hash de
+ * {@code idTransacaoOriginal}. Cada nó do cluster adquire apenas a faixa de prioridades das
+ * partições que lhe cabem. Jobs sem transação (ex.: limpeza de histórico) ficam na partição 0.
+ */
+public class ParticaoJobPriorityProvider extends DefaultJobPriorityProvider {
+
+    public static final String VARIAVEL_CHAVE_PARTICAO = "idTransacaoOriginal";
+
+    private final int quantidadeParticoes;
+
+    public ParticaoJobPriorityProvider(int quantidadeParticoes) {
+        if (quantidadeParticoes <= 0) {
+            throw new IllegalArgumentException("A quantidade de partições deve ser positiva.");
+        }
+        this.quantidadeParticoes = quantidadeParticoes;
+    }
+
+    @Override
+    public long determinePriority(ExecutionEntity execution, JobDeclaration<?, ?> jobDeclaration, String jobDefinitionId) {
+        if (execution == null) {
+            return 0;
+        }
+        Object chave = execution.getVariable(VARIAVEL_CHAVE_PARTICAO);
+        return particao(chave != null ? chave.toString() : execution.getProcessInstanceId(), quantidadeParticoes);
+    }
+
+    /**
+     * {@link String#hashCode()} é especificado pela linguagem, então todos os nós calculam a mesma partição.
+     */
+    public static int particao(String chave, int quantidadeParticoes) {
+        return Math.floorMod(chave.hashCode(), quantidadeParticoes);
+    }
+
+}
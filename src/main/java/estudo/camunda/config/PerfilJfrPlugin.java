@@ -0,0 +1,51 @@
+package estudo.camunda.config;
+
+import estudo.camunda.jfr.ExecucaoDelegateJfrInterceptor;
+import estudo.camunda.jfr.InicioProcessoJfrInterceptor;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eventos JFR do motor: início de instância ({@link InicioProcessoJfrInterceptor}) e execução de
+ * delegates ({@link ExecucaoDelegateJfrInterceptor}). Os eventos só são gravados com uma gravação
+ * JFR ativa (ver {@code PerfilController}); {@code pix.jfr.eventos-motor=false} tira os interceptors.
+ */
+@Component
+public class PerfilJfrPlugin extends AbstractProcessEnginePlugin {
+
+    private final boolean habilitado;
+
+    @Autowired
+    public PerfilJfrPlugin(@Value("${pix.jfr.eventos-motor:true}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (!habilitado) {
+            return;
+        }
+        List<CommandInterceptor> interceptors = processEngineConfiguration.getCustomPreCommandInterceptorsTxRequired();
+        if (interceptors == null) {
+            interceptors = new ArrayList<>();
+            processEngineConfiguration.setCustomPreCommandInterceptorsTxRequired(interceptors);
+        }
+        interceptors.add(new InicioProcessoJfrInterceptor());
+    }
+
+    @Override
+    public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (habilitado) {
+            processEngineConfiguration.setDelegateInterceptor(
+                    new ExecucaoDelegateJfrInterceptor(processEngineConfiguration.getDelegateInterceptor()));
+        }
+    }
+
+}
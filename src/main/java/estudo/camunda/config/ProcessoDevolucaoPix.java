@@ -0,0 +1,36 @@
+package estudo.camunda.config;
+
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.rastreio.ContextoRastreio;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chave do processo de devolução e variáveis com que ele é iniciado, compartilhadas pela API de
+ * solicitação e pela importação de solicitações históricas.
+ */
+public final class ProcessoDevolucaoPix {
+
+    public static final String PROCESS_DEFINITION_KEY = "processo_devolucao_pix_med_simplificado";
+
+    private ProcessoDevolucaoPix() {
+    }
+
+    public static Map<String, Object> variaveisIniciais(SolicitacaoDevolucaoRequest solicitacao) {
+        return Map.of(
+                "solicitacaoDevolucaoRequest", solicitacao,
+                "idTransacaoOriginal", solicitacao.idTransacaoOriginal(),
+                "cpfPagadorOriginal", solicitacao.cpfClienteSolicitante(),
+                "codigoMotivoDevolucao", MotivoDevolucao.codigoDe(MotivoDevolucao.parse(solicitacao.motivo()))
+        );
+    }
+
+    /** Variáveis iniciais mais o {@code traceparent} do span que inicia a instância. */
+    public static Map<String, Object> variaveisIniciais(SolicitacaoDevolucaoRequest solicitacao, ContextoRastreio rastreio) {
+        Map<String, Object> variaveis = new HashMap<>(variaveisIniciais(solicitacao));
+        variaveis.put(ContextoRastreio.VARIAVEL, rastreio.traceparent());
+        return variaveis;
+    }
+}
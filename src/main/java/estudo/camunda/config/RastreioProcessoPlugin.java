@@ -0,0 +1,46 @@
+package estudo.camunda.config;
+
+import estudo.camunda.listeners.RastreioExecutionListener;
+import estudo.camunda.listeners.RastreioProcessoParseListener;
+import estudo.camunda.rastreio.RastreioDelegateInterceptor;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propaga o rastreio criado na API por toda a instância: spans por atividade
+ * ({@link RastreioProcessoParseListener}) e {@code traceId}/{@code spanId} no MDC dos delegates
+ * ({@link RastreioDelegateInterceptor}).
+ */
+@Component
+public class RastreioProcessoPlugin extends AbstractProcessEnginePlugin {
+
+    private final RastreioExecutionListener rastreioListener;
+
+    @Autowired
+    public RastreioProcessoPlugin(RastreioExecutionListener rastreioListener) {
+        this.rastreioListener = rastreioListener;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        List<BpmnParseListener> parseListeners = processEngineConfiguration.getCustomPostBPMNParseListeners();
+        if (parseListeners == null) {
+            parseListeners = new ArrayList<>();
+            processEngineConfiguration.setCustomPostBPMNParseListeners(parseListeners);
+        }
+        parseListeners.add(new RastreioProcessoParseListener(rastreioListener));
+    }
+
+    @Override
+    public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setDelegateInterceptor(
+                new RastreioDelegateInterceptor(processEngineConfiguration.getDelegateInterceptor()));
+    }
+
+}
@@ -0,0 +1,33 @@
+package estudo.camunda.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+@Configuration
+public class RelogioConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelogioConfig.class);
+
+    /**
+     * Relógio das regras de negócio. Com {@code pix.relogio.instante-fixo} (ISO-8601, ex.: {@code 2026-03-15T12:00:00Z})
+     * o tempo fica parado, para testes e reprocessamentos determinísticos.
+     */
+    @Bean
+    public Clock relogio(@Value("${pix.relogio.fuso:America/Sao_Paulo}") String fuso,
+                         @Value("${pix.relogio.instante-fixo:}") String instanteFixo) {
+        ZoneId zona = ZoneId.of(fuso);
+        if (instanteFixo.isBlank()) {
+            return Clock.system(zona);
+        }
+        Instant instante = Instant.parse(instanteFixo);
+        LOGGER.warn("Relógio de negócio fixo em {} (fuso {}).", instante, zona);
+        return Clock.fixed(instante, zona);
+    }
+}
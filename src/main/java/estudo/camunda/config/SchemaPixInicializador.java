@@ -0,0 +1,63 @@
+package estudo.camunda.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Aplica os scripts de {@code db/} com a aplicação pronta, depois de o motor criar o schema do Camunda:
+ * <ul>
+ *     <li>{@code schema-pix.sql}, as tabelas da aplicação ({@code pix.schema.criar});</li>
+ *     <li>{@code schema-pix-indices-camunda.sql}, os índices da aplicação nas tabelas do Camunda
+ *     ({@code pix.analise-manual.criar-indice}).</li>
+ * </ul>
+ * Os scripts podem ser aplicados fora da aplicação; com as duas propriedades desligadas, a subida não roda DDL.
+ */
+@Component
+public class SchemaPixInicializador {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaPixInicializador.class);
+
+    static final String SCRIPT_TABELAS = "db/schema-pix.sql";
+    static final String SCRIPT_INDICES_CAMUNDA = "db/schema-pix-indices-camunda.sql";
+
+    private final DataSource dataSource;
+    private final boolean criarTabelas;
+    private final boolean criarIndicesCamunda;
+
+    @Autowired
+    public SchemaPixInicializador(DataSource dataSource,
+                                  @Value("${pix.schema.criar:true}") boolean criarTabelas,
+                                  @Value("${pix.analise-manual.criar-indice:true}") boolean criarIndicesCamunda) {
+        this.dataSource = dataSource;
+        this.criarTabelas = criarTabelas;
+        this.criarIndicesCamunda = criarIndicesCamunda;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aplicar() {
+        if (criarTabelas) {
+            executar(SCRIPT_TABELAS);
+        }
+        if (criarIndicesCamunda) {
+            executar(SCRIPT_INDICES_CAMUNDA);
+        }
+    }
+
+    private void executar(String script) {
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource(script)).execute(dataSource);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Não foi possível aplicar {}: {}", script, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.MetricasAdmissao;
+import estudo.camunda.services.ControleAdmissaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pix/admissao")
+public class AdmissaoController {
+
+    private final ControleAdmissaoService controleAdmissaoService;
+
+    @Autowired
+    public AdmissaoController(ControleAdmissaoService controleAdmissaoService) {
+        this.controleAdmissaoService = controleAdmissaoService;
+    }
+
+    @GetMapping("/metricas")
+    public ResponseEntity<MetricasAdmissao> consultarMetricas() {
+        return ResponseEntity.ok(controleAdmissaoService.metricas());
+    }
+
+}
@@ -0,0 +1,57 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.DecisoesEmLoteRequest;
+import estudo.camunda.dto.PaginaFilaAnalise;
+import estudo.camunda.dto.ResultadoDecisoesEmLote;
+import estudo.camunda.services.DecisaoAnaliseManualService;
+import estudo.camunda.services.FilaAnaliseManualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pix/analises-manuais")
+public class AnaliseManualController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnaliseManualController.class);
+
+    private final FilaAnaliseManualService filaAnaliseManualService;
+    private final DecisaoAnaliseManualService decisaoAnaliseManualService;
+
+    @Autowired
+    public AnaliseManualController(FilaAnaliseManualService filaAnaliseManualService,
+                                   DecisaoAnaliseManualService decisaoAnaliseManualService) {
+        this.filaAnaliseManualService = filaAnaliseManualService;
+        this.decisaoAnaliseManualService = decisaoAnaliseManualService;
+    }
+
+    @GetMapping("/tarefas")
+    public ResponseEntity<PaginaFilaAnalise> listarTarefas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite) {
+        try {
+            return ResponseEntity.ok(filaAnaliseManualService.listarTarefas(cursor, limite));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Parâmetros inválidos na consulta da fila de análise manual: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/decisoes")
+    public ResponseEntity<ResultadoDecisoesEmLote> decidirEmLote(@RequestBody DecisoesEmLoteRequest request) {
+        try {
+            return ResponseEntity.ok(decisaoAnaliseManualService.decidirEmLote(request.decisoes()));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Lote de decisões inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+}
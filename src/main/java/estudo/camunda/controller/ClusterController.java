@@ -0,0 +1,27 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.InformacoesNoCluster;
+import estudo.camunda.services.NoClusterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pix/cluster")
+public class ClusterController {
+
+    private final NoClusterService noClusterService;
+
+    @Autowired
+    public ClusterController(NoClusterService noClusterService) {
+        this.noClusterService = noClusterService;
+    }
+
+    @GetMapping("/no")
+    public ResponseEntity<InformacoesNoCluster> consultarNo() {
+        return ResponseEntity.ok(noClusterService.consultarNo());
+    }
+
+}
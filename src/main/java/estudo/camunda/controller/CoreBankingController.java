@@ -0,0 +1,27 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.MetricasCoreBanking;
+import estudo.camunda.services.MetricasCoreBankingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pix/core-banking")
+public class CoreBankingController {
+
+    private final MetricasCoreBankingService metricasCoreBankingService;
+
+    @Autowired
+    public CoreBankingController(MetricasCoreBankingService metricasCoreBankingService) {
+        this.metricasCoreBankingService = metricasCoreBankingService;
+    }
+
+    @GetMapping("/metricas")
+    public ResponseEntity<MetricasCoreBanking> consultarMetricas() {
+        return ResponseEntity.ok(metricasCoreBankingService.metricas());
+    }
+
+}
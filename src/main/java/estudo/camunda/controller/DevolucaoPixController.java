@@ -1,21 +1,32 @@
 package estudo.camunda.controller;
 
+import estudo.camunda.config.ProcessoDevolucaoPix;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.rastreio.Span;
+import estudo.camunda.rastreio.SpanEmAndamento;
+import estudo.camunda.services.ControleAdmissaoService;
+import estudo.camunda.services.ExportacaoSpansService;
+import estudo.camunda.services.LimiteSolicitacoesPorCpfService;
+import estudo.camunda.services.StatusDevolucaoService;
 import jakarta.validation.Valid;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/v1/pix/devolucoes")
 public class DevolucaoPixController {
@@ -23,41 +34,98 @@ public class DevolucaoPixController {
     private static final Logger LOGGER = LoggerFactory.getLogger(DevolucaoPixController.class);
 
     private final RuntimeService runtimeService;
-
-    private static final String PROCESS_DEFINITION_KEY = "processo_devolucao_pix_med_simplificado";
+    private final StatusDevolucaoService statusDevolucaoService;
+    private final ControleAdmissaoService controleAdmissaoService;
+    private final LimiteSolicitacoesPorCpfService limiteSolicitacoesPorCpfService;
+    private final ExportacaoSpansService exportacaoSpansService;
 
     @Autowired
-    public DevolucaoPixController(RuntimeService runtimeService) {
+    public DevolucaoPixController(RuntimeService runtimeService, StatusDevolucaoService statusDevolucaoService,
+                                  ControleAdmissaoService controleAdmissaoService,
+                                  LimiteSolicitacoesPorCpfService limiteSolicitacoesPorCpfService,
+                                  ExportacaoSpansService exportacaoSpansService) {
         this.runtimeService = runtimeService;
+        this.statusDevolucaoService = statusDevolucaoService;
+        this.controleAdmissaoService = controleAdmissaoService;
+        this.limiteSolicitacoesPorCpfService = limiteSolicitacoesPorCpfService;
+        this.exportacaoSpansService = exportacaoSpansService;
     }
 
+    /**
+     * Abre o span raiz do rastreio (ou continua o do cabeçalho {@code traceparent}) e o grava na
+     * instância, de onde as atividades e os delegates o recuperam.
+     */
     @PostMapping("/solicitar")
-    public ResponseEntity<String> solicitarDevolucao(@Valid @RequestBody SolicitacaoDevolucaoRequest solicitacaoRequest) {
+    public ResponseEntity<String> solicitarDevolucao(@Valid @RequestBody SolicitacaoDevolucaoRequest solicitacaoRequest,
+                                                     @RequestHeader(value = "traceparent", required = false) String traceparent) {
+        SpanEmAndamento span = SpanEmAndamento.iniciarServidor("POST /api/v1/pix/devolucoes/solicitar", traceparent)
+                .atributo("pix.id_transacao_original", solicitacaoRequest.idTransacaoOriginal());
+        ResponseEntity<String> resposta = null;
         try {
-            Map<String, Object> variables = Map.of(
-                    "solicitacaoDevolucaoRequest", solicitacaoRequest,
-                    "idTransacaoOriginal", solicitacaoRequest.idTransacaoOriginal(),
-                    "cpfPagadorOriginal", solicitacaoRequest.cpfClienteSolicitante()
-            );
-
-            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, variables);
+            resposta = iniciarProcesso(solicitacaoRequest, span);
+            return resposta;
+        } finally {
+            int status = resposta == null ? HttpStatus.INTERNAL_SERVER_ERROR.value() : resposta.getStatusCode().value();
+            span.atributo("http.response.status_code", String.valueOf(status));
+            exportacaoSpansService.exportar(span.encerrar(status >= 500));
+        }
+    }
 
-            String responseMessage = String.format(
-                    "Solicitação de devolução para PIX ID '%s' recebida e processo iniciado. ID do Processo: %s",
-                    solicitacaoRequest.idTransacaoOriginal(), processInstance.getId()
-            );
+    /**
+     * A admissão vem antes do limite por CPF: uma solicitação rejeitada por sobrecarga não gasta o token
+     * do cliente, e a vaga de uma rejeitada pelo CPF é devolvida sem virar amostra de latência.
+     */
+    private ResponseEntity<String> iniciarProcesso(SolicitacaoDevolucaoRequest solicitacaoRequest, SpanEmAndamento span) {
+        if (!controleAdmissaoService.tentarAdmitir()) {
+            LOGGER.debug("Solicitação de devolução para PIX ID '{}' rejeitada: limite de processos em andamento atingido.",
+                    solicitacaoRequest.idTransacaoOriginal());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(controleAdmissaoService.retryAfterSegundos()))
+                    .body("Muitas solicitações em processamento. Tente novamente em instantes.");
+        }
+        long esperaCpfMillis = limiteSolicitacoesPorCpfService.tentarConsumir(solicitacaoRequest.cpfClienteSolicitante());
+        if (esperaCpfMillis > 0) {
+            controleAdmissaoService.desistir();
+            LOGGER.debug("Solicitação de devolução para PIX ID '{}' rejeitada: limite de solicitações do CPF atingido.",
+                    solicitacaoRequest.idTransacaoOriginal());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((esperaCpfMillis + 999) / 1000))
+                    .body("Limite de solicitações para este CPF atingido. Tente novamente mais tarde.");
+        }
+        long inicio = System.nanoTime();
+        boolean sobrecarga = false;
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
+                    ProcessoDevolucaoPix.PROCESS_DEFINITION_KEY, ProcessoDevolucaoPix.variaveisIniciais(solicitacaoRequest, span.contexto()));
+            span.atributo(Span.ATRIBUTO_INSTANCIA_PROCESSO, processInstance.getId());
 
-            LOGGER.info(responseMessage);
-            return ResponseEntity.status(HttpStatus.ACCEPTED).body(responseMessage);
+            LOGGER.info("Solicitação de devolução para PIX ID '{}' recebida e processo iniciado. ID do Processo: {}",
+                    solicitacaoRequest.idTransacaoOriginal(), processInstance.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body("Solicitação de devolução para PIX ID '"
+                    + solicitacaoRequest.idTransacaoOriginal() + "' recebida e processo iniciado. ID do Processo: "
+                    + processInstance.getId());
 
         } catch (IllegalArgumentException e) {
             LOGGER.warn("Dados inválidos na solicitação de devolução: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Dados inválidos na solicitação: " + e.getMessage());
         } catch (Exception e) {
+            sobrecarga = true;
             LOGGER.error("Erro ao iniciar o processo de devolução PIX.", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro interno ao processar a solicitação de devolução.");
+        } finally {
+            controleAdmissaoService.liberar(System.nanoTime() - inicio, sobrecarga);
         }
     }
 
+    @GetMapping("/{idProcesso}")
+    public ResponseEntity<StatusDevolucao> consultarStatus(@PathVariable String idProcesso) {
+        return ResponseEntity.of(statusDevolucaoService.buscarPorIdProcesso(idProcesso));
+    }
+
+    @GetMapping(params = "idTransacaoOriginal")
+    public ResponseEntity<StatusDevolucao> consultarStatusPorTransacaoOriginal(@RequestParam String idTransacaoOriginal) {
+        return ResponseEntity.of(statusDevolucaoService.buscarPorIdTransacaoOriginal(idTransacaoOriginal));
+    }
+
 }
\ No newline at end of file
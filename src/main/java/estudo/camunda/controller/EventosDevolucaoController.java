@@ -0,0 +1,84 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.services.EventosDevolucaoService;
+import estudo.camunda.services.EventosDevolucaoService.AssinaturaEventos;
+import estudo.camunda.services.EventosDevolucaoService.ConsumidorEventos;
+import estudo.camunda.services.EventosDevolucaoService.MotivoEncerramento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+@RestController
+@RequestMapping("/api/v1/pix/devolucoes")
+public class EventosDevolucaoController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventosDevolucaoController.class);
+
+    private static final String NOME_EVENTO = "transicao";
+
+    private final EventosDevolucaoService eventosDevolucaoService;
+    private final long timeoutMillis;
+
+    @Autowired
+    public EventosDevolucaoController(
+            EventosDevolucaoService eventosDevolucaoService,
+            @Value("${pix.eventos.timeout-sse:PT30M}") Duration timeout) {
+        this.eventosDevolucaoService = eventosDevolucaoService;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @GetMapping(path = "/{idProcesso}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharProcesso(@PathVariable String idProcesso) {
+        LOGGER.debug("Nova assinatura de eventos para o processo {}", idProcesso);
+        return assinar(idProcesso, true, eventosDevolucaoService::assinarPorProcesso);
+    }
+
+    @GetMapping(path = "/eventos", params = "cpf", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharCliente(@RequestParam("cpf") String cpfClienteSolicitante) {
+        return assinar(cpfClienteSolicitante, false, eventosDevolucaoService::assinarPorCpf);
+    }
+
+    private SseEmitter assinar(String chave, boolean encerrarAoFinalizar,
+                               BiFunction<String, ConsumidorEventos, AssinaturaEventos> assinatura) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        AssinaturaEventos assinaturaEventos = assinatura.apply(chave, new ConsumidorSse(emitter, encerrarAoFinalizar));
+        emitter.onCompletion(assinaturaEventos::close);
+        emitter.onTimeout(assinaturaEventos::close);
+        emitter.onError(erro -> assinaturaEventos.close());
+        return emitter;
+    }
+
+    private record ConsumidorSse(SseEmitter emitter, boolean encerrarAoFinalizar) implements ConsumidorEventos {
+
+        @Override
+        public boolean receber(StatusDevolucao status) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name(NOME_EVENTO)
+                    .id(status.idProcesso() + ":" + status.situacao())
+                    .data(status, MediaType.APPLICATION_JSON));
+            return !(encerrarAoFinalizar && status.finalizada());
+        }
+
+        @Override
+        public void encerrar(MotivoEncerramento motivo) {
+            if (motivo != MotivoEncerramento.CANCELADA) {
+                emitter.complete();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.ResultadoImportacao;
+import estudo.camunda.services.ImportacaoSolicitacoesService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/pix/importacoes")
+public class ImportacaoController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportacaoController.class);
+
+    private final ImportacaoSolicitacoesService importacaoService;
+
+    @Autowired
+    public ImportacaoController(ImportacaoSolicitacoesService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    /** Importa o corpo NDJSON lendo direto do stream da requisição, sem carregá-lo em memória. */
+    @PostMapping(path = "/{idImportacao}", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ResultadoImportacao> importar(@PathVariable String idImportacao, InputStream corpo) {
+        try {
+            return ResponseEntity.ok(importacaoService.importar(idImportacao, corpo));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Importação inválida: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Importação recusada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/{idImportacao}")
+    public ResponseEntity<ResultadoImportacao> consultarAndamento(@PathVariable String idImportacao) {
+        return ResponseEntity.of(importacaoService.consultarAndamento(idImportacao));
+    }
+
+}
@@ -0,0 +1,27 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.DiagnosticoCaches;
+import estudo.camunda.services.DiagnosticoCachesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pix/motor")
+public class MotorController {
+
+    private final DiagnosticoCachesService diagnosticoCachesService;
+
+    @Autowired
+    public MotorController(DiagnosticoCachesService diagnosticoCachesService) {
+        this.diagnosticoCachesService = diagnosticoCachesService;
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<DiagnosticoCaches> consultarCaches() {
+        return ResponseEntity.ok(diagnosticoCachesService.consultar());
+    }
+
+}
@@ -0,0 +1,63 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.GravacaoPerfil;
+import estudo.camunda.services.GravacaoPerfilService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/v1/pix/perfil/gravacoes")
+public class PerfilController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerfilController.class);
+
+    private final GravacaoPerfilService gravacaoPerfilService;
+
+    @Autowired
+    public PerfilController(GravacaoPerfilService gravacaoPerfilService) {
+        this.gravacaoPerfilService = gravacaoPerfilService;
+    }
+
+    @PostMapping
+    public ResponseEntity<GravacaoPerfil> iniciar(
+            @RequestParam(defaultValue = "devolucao") String nome,
+            @RequestParam(defaultValue = "profile") String configuracao,
+            @RequestParam(required = false) Long duracaoMaximaSegundos) {
+        try {
+            Duration duracaoMaxima = duracaoMaximaSegundos == null ? null : Duration.ofSeconds(duracaoMaximaSegundos);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(gravacaoPerfilService.iniciar(nome, configuracao, duracaoMaxima));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Parâmetros inválidos para a gravação JFR: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/parada")
+    public ResponseEntity<GravacaoPerfil> parar(@PathVariable long id) {
+        try {
+            return ResponseEntity.ok(gravacaoPerfilService.parar(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<GravacaoPerfil>> listar() {
+        return ResponseEntity.ok(gravacaoPerfilService.listar());
+    }
+
+}
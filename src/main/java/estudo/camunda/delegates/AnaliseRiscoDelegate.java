@@ -1,6 +1,7 @@
 package estudo.camunda.delegates;
 
 import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
 import estudo.camunda.dto.ResultadoAnaliseRisco;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
 import estudo.camunda.services.AnaliseRiscoService;
@@ -27,6 +28,11 @@ public class AnaliseRiscoDelegate implements JavaDelegate {
     public void execute(DelegateExecution execution) {
         LOGGER.info("Executando AnaliseRiscoDelegate para o process instance ID: {}", execution.getProcessInstanceId());
 
+        if (execution.hasVariable("nivelRisco")) {
+            LOGGER.info("Risco já analisado na pré-verificação: Nível='{}'.", execution.getVariable("nivelRisco"));
+            return;
+        }
+
         SolicitacaoDevolucaoRequest solicitacaoRequest =
                 (SolicitacaoDevolucaoRequest) execution.getVariable("solicitacaoDevolucaoRequest");
         DetalhesTransacaoPix detalhesTransacaoOriginal =
@@ -47,14 +53,19 @@ public class AnaliseRiscoDelegate implements JavaDelegate {
         LOGGER.debug("Dados para análise de risco: Solicitacao={}, TransacaoOriginal={}",
                 solicitacaoRequest, detalhesTransacaoOriginal);
 
+        MotivoDevolucao motivo = MotivoDevolucao.resolver(execution.getVariable("codigoMotivoDevolucao"), solicitacaoRequest.motivo());
         ResultadoAnaliseRisco resultadoAnalise =
-                analiseRiscoService.analisarRisco(solicitacaoRequest, detalhesTransacaoOriginal);
+                analiseRiscoService.analisarRisco(solicitacaoRequest, motivo, detalhesTransacaoOriginal);
 
         LOGGER.info("Resultado da análise de risco: Nível='{}', Sugestão Automática='{}', Justificativa='{}'",
                 resultadoAnalise.nivelRisco(),
                 resultadoAnalise.aprovacaoAutomaticaSugerida(),
                 resultadoAnalise.justificativa());
 
+        registrarResultado(execution, resultadoAnalise);
+    }
+
+    static void registrarResultado(DelegateExecution execution, ResultadoAnaliseRisco resultadoAnalise) {
         execution.setVariable("nivelRisco", resultadoAnalise.nivelRisco());
         execution.setVariable("aprovacaoAutomaticaSugerida", resultadoAnalise.aprovacaoAutomaticaSugerida());
         execution.setVariable("justificativaAnaliseRisco", resultadoAnalise.justificativa());
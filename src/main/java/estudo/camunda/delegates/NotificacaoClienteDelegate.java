@@ -1,7 +1,11 @@
 package estudo.camunda.delegates;
 
 import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.jfr.EnvioNotificacaoEvento;
+import estudo.camunda.listeners.TransacaoMotor;
 import estudo.camunda.services.NotificacaoService;
 import lombok.Setter;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
@@ -12,7 +16,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 @Component("notificacaoClienteDelegate")
@@ -23,6 +26,7 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
     public static final String TIPO_REJEICAO_INICIAL = "REJEICAO_INICIAL";
     public static final String TIPO_REJEICAO_ANALISE = "REJEICAO_ANALISE";
     public static final String TIPO_RESULTADO_PROCESSAMENTO = "RESULTADO_PROCESSAMENTO";
+    public static final String VARIAVEL_TIPO_NOTIFICACAO = "tipoNotificacao";
 
     private final NotificacaoService notificacaoService;
 
@@ -60,7 +64,9 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
         LOGGER.info("Executando NotificacaoClienteDelegate para a atividade '{}' (Process Instance ID: {})",
                 activityName, execution.getProcessInstanceId());
 
-        if (this.tipoNotificacao == null) {
+        // Com pix.delegates.por-expressao o tipo chega como parâmetro de entrada da tarefa, e não pelo campo
+        Object tipoLocal = execution.getVariableLocal(VARIAVEL_TIPO_NOTIFICACAO);
+        if (tipoLocal == null && this.tipoNotificacao == null) {
             LOGGER.error("Erro crítico: 'tipoNotificacao' não foi injetado para a atividade '{}' (Process Instance ID: {}). Verifique a configuração do Service Task no BPMN (Field Injection com name='tipoNotificacao').",
                     activityName, execution.getProcessInstanceId());
             return;
@@ -68,7 +74,7 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
 
         String tipoNotificacaoValor = "";
         try {
-            Object value = this.tipoNotificacao.getValue(execution);
+            Object value = tipoLocal != null ? tipoLocal : this.tipoNotificacao.getValue(execution);
             if (value instanceof String) {
                 tipoNotificacaoValor = ((String) value).trim();
             } else if (value != null) {
@@ -105,7 +111,7 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
             return;
         }
 
-        String mensagemNotificacao = gerarMensagemNotificacao(tipoNotificacaoValor, execution, idTransacaoOriginalParaLog, activityName);
+        String mensagemNotificacao = gerarMensagemNotificacao(tipoNotificacaoValor, execution, solicitacaoRequest, idTransacaoOriginalParaLog, activityName);
 
         if (mensagemNotificacao == null || mensagemNotificacao.isEmpty()) {
             LOGGER.warn("Tipo de notificação desconhecido ou não tratado: '{}' para a atividade '{}' (Process Instance ID: {}), ou falha ao gerar mensagem. Nenhuma notificação será enviada.",
@@ -113,12 +119,27 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
             return;
         }
 
-        notificacaoService.enviarNotificacao(identificadorCliente, mensagemNotificacao);
+        // Só após o commit: uma transação desfeita e refeita (ex.: bloco da importação) não notifica duas vezes
+        String processInstanceId = execution.getProcessInstanceId();
+        String tipo = tipoNotificacaoValor;
+        TransacaoMotor.aposCommit(() -> enviar(processInstanceId, tipo, activityName, identificadorCliente, mensagemNotificacao));
+    }
+
+    private void enviar(String processInstanceId, String tipo, String activityName, String identificadorCliente, String mensagem) {
+        EnvioNotificacaoEvento envio = new EnvioNotificacaoEvento();
+        boolean enviada = false;
+        envio.begin();
+        try {
+            notificacaoService.enviarNotificacao(identificadorCliente, mensagem);
+            enviada = true;
+        } finally {
+            envio.concluido(processInstanceId, tipo, enviada);
+        }
         LOGGER.info("Notificação (tipo: {}, atividade: '{}') enviada (simulada) para o cliente {}. Mensagem: {}",
-                tipoNotificacaoValor, activityName, identificadorCliente, mensagemNotificacao);
+                tipo, activityName, identificadorCliente, mensagem);
     }
 
-    private String gerarMensagemNotificacao(String tipoNotificacao, DelegateExecution execution, String idTransacaoOriginalParaLog, String activityName) {
+    private String gerarMensagemNotificacao(String tipoNotificacao, DelegateExecution execution, SolicitacaoDevolucaoRequest solicitacaoRequest, String idTransacaoOriginalParaLog, String activityName) {
         return switch (tipoNotificacao) {
             case TIPO_REJEICAO_INICIAL -> {
                 String motivo = Optional.ofNullable(getVariableAsString(execution, "motivoInvalidacao")).orElse("Motivo não especificado");
@@ -132,7 +153,7 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
                         idTransacaoOriginalParaLog, motivo);
             }
             case TIPO_RESULTADO_PROCESSAMENTO ->
-                    gerarMensagemResultadoProcessamento(execution, idTransacaoOriginalParaLog, activityName);
+                    gerarMensagemResultadoProcessamento(execution, solicitacaoRequest, idTransacaoOriginalParaLog, activityName);
             default -> {
                 LOGGER.warn("Tentativa de gerar mensagem para tipo de notificação desconhecido '{}' na atividade '{}'.", tipoNotificacao, activityName);
                 yield "";
@@ -140,7 +161,7 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
         };
     }
 
-    private String gerarMensagemResultadoProcessamento(DelegateExecution execution, String idTransacaoOriginalParaLog, String activityName) {
+    private String gerarMensagemResultadoProcessamento(DelegateExecution execution, SolicitacaoDevolucaoRequest solicitacaoRequest, String idTransacaoOriginalParaLog, String activityName) {
         DetalhesTransacaoPix transacaoOriginal = getVariableAsType(execution, "detalhesTransacaoOriginal", DetalhesTransacaoPix.class);
         Boolean devolucaoEfetuada = getVariableAsType(execution, "devolucaoFinanceiraEfetuada", Boolean.class);
 
@@ -148,17 +169,20 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
                 .map(DetalhesTransacaoPix::getIdTransacao)
                 .orElse(idTransacaoOriginalParaLog);
 
-        BigDecimal valorEfetivo = Optional.ofNullable(transacaoOriginal)
+        ValorMonetario valorEfetivo = Optional.ofNullable(transacaoOriginal)
                 .map(DetalhesTransacaoPix::getValor)
-                .orElse(BigDecimal.ZERO);
+                .orElse(ValorMonetario.ZERO);
 
 
         if (Boolean.TRUE.equals(devolucaoEfetuada)) {
              String idDevolucaoGerada = Optional.ofNullable(getVariableAsString(execution, "idTransacaoDevolucaoGerada")).orElse("N/A");
-            return formatarMensagem("Prezado(a) cliente, sua solicitação de devolução para o PIX (ID Original: %s) no valor de R$ %.2f foi PROCESSADA COM SUCESSO. ID da transação de devolução: %s.",
+            MotivoDevolucao motivoDevolucao = MotivoDevolucao.resolver(execution.getVariable("codigoMotivoDevolucao"),
+                    solicitacaoRequest != null ? solicitacaoRequest.motivo() : null);
+            return formatarMensagem("Prezado(a) cliente, sua solicitação de devolução para o PIX (ID Original: %s) no valor de R$ %s foi PROCESSADA COM SUCESSO. ID da transação de devolução: %s.%s",
                     idTransacaoEfetivo,
-                    valorEfetivo,
-                    idDevolucaoGerada);
+                    valorEfetivo.formatado(),
+                    idDevolucaoGerada,
+                    orientacaoPorMotivo(motivoDevolucao));
         } else {
             String detalheFalha = Optional.ofNullable(getVariableAsString(execution, "mensagemResultadoFinanceiro")).orElse("Detalhe não informado");
             return formatarMensagem("Prezado(a) cliente, houve um problema ao processar financeiramente sua solicitação de devolução para o PIX (ID Original: %s). Detalhe: %s.",
@@ -167,6 +191,17 @@ public class NotificacaoClienteDelegate implements JavaDelegate {
         }
     }
 
+    private static String orientacaoPorMotivo(MotivoDevolucao motivo) {
+        if (motivo == null) {
+            return "";
+        }
+        return switch (motivo) {
+            case FRAUDE_COMPROVADA -> " Recomendamos revisar a segurança dos seus acessos e registrar boletim de ocorrência, caso ainda não o tenha feito.";
+            case FALHA_OPERACIONAL_BANCO -> " Pedimos desculpas pela falha operacional que originou a cobrança.";
+            case COBRANCA_INDEVIDA -> " Se a cobrança se repetir, abra uma nova solicitação ou contate o recebedor.";
+        };
+    }
+
     private String formatarMensagem(String template, Object... args) {
         try {
             return String.format(template, args);
@@ -10,8 +10,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
 @Component("processamentoDevolucaoDelegate")
 public class ProcessamentoDevolucaoDelegate implements JavaDelegate {
 
@@ -36,7 +34,7 @@ public class ProcessamentoDevolucaoDelegate implements JavaDelegate {
             return;
         }
 
-        String idOperacaoDevolucao = gerarIdOperacaoDevolucao();
+        String idOperacaoDevolucao = gerarIdOperacaoDevolucao(execution);
         LOGGER.info("Preparando para efetuar devolução financeira: ID Operação '{}', Débito Conta '{}', Crédito Conta '{}', Valor R$ {}",
                 idOperacaoDevolucao, detalhesTransacaoOriginal.getCpfCnpjRecebedor(),
                 detalhesTransacaoOriginal.getCpfCnpjPagador(), detalhesTransacaoOriginal.getValor());
@@ -57,11 +55,26 @@ public class ProcessamentoDevolucaoDelegate implements JavaDelegate {
         execution.setVariable("mensagemResultadoFinanceiro", "Falha interna: Detalhes da transação original não encontrados para processamento financeiro.");
     }
 
-    private String gerarIdOperacaoDevolucao() {
-        return "DEV-" + UUID.randomUUID().toString().substring(0, 18).toUpperCase();
+    /**
+     * Um ID por instância de processo: a reexecução do serviço (retry do job depois de um conflito de
+     * lock otimista, por exemplo) repete o mesmo ID e o core banking devolve o resultado original.
+     */
+    private static String gerarIdOperacaoDevolucao(DelegateExecution execution) {
+        return "DEV-" + execution.getProcessInstanceId();
     }
 
+    /**
+     * Uma falha retentável (timeout, circuito aberto, bulkhead cheio) não é um resultado: o core banking pode ter
+     * lançado a devolução. A exceção faz o job da tarefa ({@code asyncBefore}) ser repetido com o mesmo ID de
+     * operação, e a idempotência do core banking decide; esgotadas as tentativas, a instância fica com um incidente.
+     */
     private void processarResultadoFinanceiro(DelegateExecution execution, String idOperacaoDevolucao, ResultadoOperacaoFinanceira resultadoFinanceiro) {
+        if (!resultadoFinanceiro.sucesso() && resultadoFinanceiro.retentavel()) {
+            LOGGER.warn("Devolução financeira para ID Operação {} sem resposta definitiva do core banking; o job será repetido: {}",
+                    idOperacaoDevolucao, resultadoFinanceiro.mensagem());
+            throw new IllegalStateException("Devolução " + idOperacaoDevolucao + " sem resposta definitiva do core banking: "
+                    + resultadoFinanceiro.mensagem());
+        }
         execution.setVariable("devolucaoFinanceiraEfetuada", resultadoFinanceiro.sucesso());
         execution.setVariable("mensagemResultadoFinanceiro", resultadoFinanceiro.mensagem());
 
@@ -1,7 +1,11 @@
 package estudo.camunda.delegates;
 
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.ResultadoAnaliseRisco;
+import estudo.camunda.dto.ResultadoPreVerificacao;
 import estudo.camunda.dto.ResultadoValidacao;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.services.PreVerificacaoService;
 import estudo.camunda.services.ValidacaoSolicitacaoService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
@@ -15,10 +19,12 @@ public class ValidacaoSolicitacaoDelegate implements JavaDelegate {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ValidacaoSolicitacaoDelegate.class);
     private final ValidacaoSolicitacaoService validacaoService;
+    private final PreVerificacaoService preVerificacaoService;
 
     @Autowired
-    public ValidacaoSolicitacaoDelegate(ValidacaoSolicitacaoService validacaoService) {
+    public ValidacaoSolicitacaoDelegate(ValidacaoSolicitacaoService validacaoService, PreVerificacaoService preVerificacaoService) {
         this.validacaoService = validacaoService;
+        this.preVerificacaoService = preVerificacaoService;
     }
 
     @Override
@@ -33,7 +39,17 @@ public class ValidacaoSolicitacaoDelegate implements JavaDelegate {
             return;
         }
 
-        ResultadoValidacao resultadoValidacao = validacaoService.validarSolicitacao(solicitacaoRequest);
+        MotivoDevolucao motivo = MotivoDevolucao.resolver(execution.getVariable("codigoMotivoDevolucao"), solicitacaoRequest.motivo());
+        ResultadoValidacao resultadoValidacao;
+        ResultadoAnaliseRisco resultadoAnaliseRisco = null;
+        if (preVerificacaoService.habilitada()) {
+            // Valida e já analisa o risco; o AnaliseRiscoDelegate reaproveita as variáveis de risco
+            ResultadoPreVerificacao preVerificacao = preVerificacaoService.preVerificar(solicitacaoRequest, motivo);
+            resultadoValidacao = preVerificacao.validacao();
+            resultadoAnaliseRisco = preVerificacao.analiseRisco();
+        } else {
+            resultadoValidacao = validacaoService.validarSolicitacao(solicitacaoRequest, motivo);
+        }
         LOGGER.info("Resultado da validação do serviço: {}", resultadoValidacao);
 
         execution.setVariable("solicitacaoValida", resultadoValidacao.isValida());
@@ -42,7 +58,12 @@ public class ValidacaoSolicitacaoDelegate implements JavaDelegate {
         if (resultadoValidacao.isValida()) {
             if (resultadoValidacao.detalhesTransacaoPix() != null) {
                 execution.setVariable("detalhesTransacaoOriginal", resultadoValidacao.detalhesTransacaoPix());
+                execution.setVariable("valorTransacaoCentavos", resultadoValidacao.detalhesTransacaoPix().getValor().centavos());
+                execution.setVariable("motivoDevolucao", motivo != null ? motivo.name() : solicitacaoRequest.motivo());
                 LOGGER.info("Variável de processo 'detalhesTransacaoOriginal' definida.");
+                if (resultadoAnaliseRisco != null) {
+                    AnaliseRiscoDelegate.registrarResultado(execution, resultadoAnaliseRisco);
+                }
             } else {
                 LOGGER.error("Validação bem-sucedida, mas detalhesTransacaoOriginal é nulo no ResultadoValidacao. Verifique ValidacaoSolicitacaoServiceImpl.");
                 handleInvalidRequest(execution, "Falha interna ao obter detalhes da transação após validação.");
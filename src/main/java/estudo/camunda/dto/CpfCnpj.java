@@ -0,0 +1,162 @@
+package estudo.camunda.dto;
+
+/**
+ * CPF e CNPJ numéricos empacotados em um {@code long}: os dígitos como número e o tipo nos bits
+ * altos, de modo que o mesmo documento com ou sem pontuação ({@code 111.222.333-96} e
+ * {@code 11122233396}) vira o mesmo valor. O parse e a conferência dos dígitos verificadores não
+ * alocam; o valor empacotado serve para comparar documentos e como chave de mapas e contas.
+ */
+public final class CpfCnpj {
+
+    /** Resultado do {@link #parse(CharSequence)} para textos que não são um CPF/CNPJ válido. */
+    public static final long INVALIDO = 0L;
+
+    private static final int DIGITOS_CPF = 11;
+    private static final int DIGITOS_CNPJ = 14;
+    private static final long TIPO_CPF = 1L << 56;
+    private static final long TIPO_CNPJ = 2L << 56;
+    private static final long MASCARA_NUMERO = TIPO_CPF - 1;
+
+    private static final int[] PESOS_CNPJ = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final long[] POTENCIAS_10 = new long[DIGITOS_CNPJ];
+
+    static {
+        POTENCIAS_10[0] = 1;
+        for (int i = 1; i < POTENCIAS_10.length; i++) {
+            POTENCIAS_10[i] = POTENCIAS_10[i - 1] * 10;
+        }
+    }
+
+    private CpfCnpj() {
+    }
+
+    /**
+     * Documento empacotado, ou {@link #INVALIDO} se o texto não tiver 11 ou 14 dígitos (ignorando
+     * {@code . - /} e espaços), se os dígitos verificadores não conferirem ou se todos os dígitos
+     * forem iguais.
+     */
+    public static long parse(CharSequence texto) {
+        if (texto == null) {
+            return INVALIDO;
+        }
+        long numero = 0;
+        int digitos = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > DIGITOS_CNPJ) {
+                    return INVALIDO;
+                }
+                numero = numero * 10 + (c - '0');
+            } else if (c != '.' && c != '-' && c != '/' && c != ' ') {
+                return INVALIDO;
+            }
+        }
+        if (digitos == DIGITOS_CPF) {
+            return cpfValido(numero) ? TIPO_CPF | numero : INVALIDO;
+        }
+        if (digitos == DIGITOS_CNPJ) {
+            return cnpjValido(numero) ? TIPO_CNPJ | numero : INVALIDO;
+        }
+        return INVALIDO;
+    }
+
+    /**
+     * Chave de 64 bits para mapas e contas: o documento empacotado ou, se o texto não for um CPF/CNPJ
+     * válido, um hash FNV-1a dos caracteres com o bit de sinal ligado, que nunca coincide com um
+     * documento empacotado.
+     */
+    public static long chave(CharSequence texto) {
+        long documento = parse(texto);
+        if (documento != INVALIDO || texto == null) {
+            return documento;
+        }
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            hash = (hash ^ texto.charAt(i)) * 0x100000001B3L;
+        }
+        return hash | Long.MIN_VALUE;
+    }
+
+    public static boolean isCpf(long documento) {
+        return (documento & ~MASCARA_NUMERO) == TIPO_CPF;
+    }
+
+    public static boolean isCnpj(long documento) {
+        return (documento & ~MASCARA_NUMERO) == TIPO_CNPJ;
+    }
+
+    /** Anexa só os dígitos do documento (com zeros à esquerda), sem alocar. */
+    public static StringBuilder anexarDigitos(StringBuilder destino, long documento) {
+        int digitos = isCnpj(documento) ? DIGITOS_CNPJ : DIGITOS_CPF;
+        long numero = documento & MASCARA_NUMERO;
+        for (int posicao = 0; posicao < digitos; posicao++) {
+            destino.append((char) ('0' + digito(numero, posicao, digitos)));
+        }
+        return destino;
+    }
+
+    /** Documento com a pontuação usual: {@code 111.222.333-96} ou {@code 12.345.678/0001-95}. */
+    public static String formatar(long documento) {
+        String digitos = anexarDigitos(new StringBuilder(DIGITOS_CNPJ), documento).toString();
+        if (isCnpj(documento)) {
+            return digitos.substring(0, 2) + '.' + digitos.substring(2, 5) + '.' + digitos.substring(5, 8) + '/'
+                    + digitos.substring(8, 12) + '-' + digitos.substring(12);
+        }
+        return digitos.substring(0, 3) + '.' + digitos.substring(3, 6) + '.' + digitos.substring(6, 9) + '-'
+                + digitos.substring(9);
+    }
+
+    private static boolean cpfValido(long numero) {
+        if (todosIguais(numero, DIGITOS_CPF)) {
+            return false;
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < 9; i++) {
+            int d = digito(numero, i, DIGITOS_CPF);
+            soma1 += d * (10 - i);
+            soma2 += d * (11 - i);
+        }
+        int dv1 = digitoVerificador(soma1);
+        int dv2 = digitoVerificador(soma2 + dv1 * 2);
+        return dv1 == digito(numero, 9, DIGITOS_CPF) && dv2 == digito(numero, 10, DIGITOS_CPF);
+    }
+
+    private static boolean cnpjValido(long numero) {
+        if (todosIguais(numero, DIGITOS_CNPJ)) {
+            return false;
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < 12; i++) {
+            int d = digito(numero, i, DIGITOS_CNPJ);
+            soma1 += d * PESOS_CNPJ[i + 1];
+            soma2 += d * PESOS_CNPJ[i];
+        }
+        int dv1 = digitoVerificador(soma1);
+        int dv2 = digitoVerificador(soma2 + dv1 * PESOS_CNPJ[12]);
+        return dv1 == digito(numero, 12, DIGITOS_CNPJ) && dv2 == digito(numero, 13, DIGITOS_CNPJ);
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static boolean todosIguais(long numero, int digitos) {
+        int primeiro = digito(numero, 0, digitos);
+        for (int i = 1; i < digitos; i++) {
+            if (digito(numero, i, digitos) != primeiro) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Dígito na posição {@code i}, contada da esquerda, de um número com {@code digitos} dígitos. */
+    private static int digito(long numero, int i, int digitos) {
+        return (int) (numero / POTENCIAS_10[digitos - 1 - i] % 10);
+    }
+
+}
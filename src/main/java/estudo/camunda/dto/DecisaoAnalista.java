@@ -0,0 +1,9 @@
+package estudo.camunda.dto;
+
+/**
+ * Valores aceitos na variável {@code decisaoAnalista} pelo gateway após a análise manual.
+ */
+public enum DecisaoAnalista {
+    APROVAR,
+    REJEITAR
+}
@@ -0,0 +1,16 @@
+package estudo.camunda.dto;
+
+public record DecisaoTarefaRequest(
+        String idTarefa,
+        DecisaoAnalista decisao
+) {
+    public DecisaoTarefaRequest {
+        if (idTarefa == null || idTarefa.isBlank()) {
+            throw new IllegalArgumentException("O ID da tarefa não pode ser nulo ou vazio.");
+        }
+        if (decisao == null) {
+            throw new IllegalArgumentException("A decisão deve ser APROVAR ou REJEITAR.");
+        }
+    }
+
+}
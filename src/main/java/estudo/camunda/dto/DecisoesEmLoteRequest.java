@@ -0,0 +1,15 @@
+package estudo.camunda.dto;
+
+import java.util.List;
+
+public record DecisoesEmLoteRequest(
+        List<DecisaoTarefaRequest> decisoes
+) {
+    public DecisoesEmLoteRequest {
+        if (decisoes == null || decisoes.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma decisão.");
+        }
+        decisoes = List.copyOf(decisoes);
+    }
+
+}
@@ -3,28 +3,26 @@ package estudo.camunda.dto;
 import lombok.Data;
 import java.io.Serial;
 import java.io.Serializable;
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 
 @Data
 public class DetalhesTransacaoPix implements Serializable {
     @Serial
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 3L;
 
     private String idTransacao;
-    private BigDecimal valor;
+    private ValorMonetario valor;
     private String cpfCnpjPagador;
     private String nomePagador;
     private String cpfCnpjRecebedor;
     private String nomeRecebedor;
-    private LocalDateTime dataHoraTransacao;
+    private long dataHoraTransacaoEpochMilli;
     private String status;
 
-    public DetalhesTransacaoPix(String idTransacao, BigDecimal valor, String cpfCnpjPagador, String nomePagador, String cpfCnpjRecebedor, String nomeRecebedor, LocalDateTime dataHoraTransacao, String status) {
+    public DetalhesTransacaoPix(String idTransacao, ValorMonetario valor, String cpfCnpjPagador, String nomePagador, String cpfCnpjRecebedor, String nomeRecebedor, long dataHoraTransacaoEpochMilli, String status) {
         if (idTransacao == null || idTransacao.isBlank()) {
             throw new IllegalArgumentException("ID da transação não pode ser nulo ou vazio.");
         }
-        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+        if (valor == null || !valor.isPositivo()) {
             throw new IllegalArgumentException("Valor da transação deve ser positivo.");
         }
         this.idTransacao = idTransacao;
@@ -33,7 +31,7 @@ public class DetalhesTransacaoPix implements Serializable {
         this.nomePagador = nomePagador;
         this.cpfCnpjRecebedor = cpfCnpjRecebedor;
         this.nomeRecebedor = nomeRecebedor;
-        this.dataHoraTransacao = dataHoraTransacao;
+        this.dataHoraTransacaoEpochMilli = dataHoraTransacaoEpochMilli;
         this.status = status;
     }
 
@@ -0,0 +1,10 @@
+package estudo.camunda.dto;
+
+/** Um lançamento de devolução enviado ao core banking. */
+public record DevolucaoFinanceira(
+        String idOperacaoDevolucao,
+        String identificadorContaDebito,
+        String identificadorContaCredito,
+        ValorMonetario valor
+) {
+}
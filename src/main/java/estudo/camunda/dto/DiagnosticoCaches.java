@@ -0,0 +1,16 @@
+package estudo.camunda.dto;
+
+/**
+ * Caches do motor: definições de processo já parseadas, modelos BPMN e árvores das expressões JUEL
+ * (uma falta no cache de expressões é uma compilação). {@code expressoes} é nulo sem a contagem.
+ */
+public record DiagnosticoCaches(
+        boolean contagemHabilitada,
+        EstatisticasCache definicoesProcesso,
+        EstatisticasCache modelosBpmn,
+        EstatisticasCache expressoes,
+        long parsesBpmn,
+        boolean condicoesJava,
+        long condicoesSubstituidas
+) {
+}
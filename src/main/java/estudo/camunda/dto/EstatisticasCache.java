@@ -0,0 +1,24 @@
+package estudo.camunda.dto;
+
+/**
+ * Ocupação e uso de um cache do motor. {@code capacidade} é -1 quando o cache não foi criado pela
+ * fábrica com contagem; nesse caso acertos e faltas ficam em zero.
+ */
+public record EstatisticasCache(
+        int tamanho,
+        int capacidade,
+        long acertos,
+        long faltas,
+        double taxaAcerto
+) {
+
+    public static EstatisticasCache de(int tamanho, int capacidade, long acertos, long faltas) {
+        long consultas = acertos + faltas;
+        return new EstatisticasCache(tamanho, capacidade, acertos, faltas, consultas == 0 ? 0 : (double) acertos / consultas);
+    }
+
+    public static EstatisticasCache semContagem(int tamanho) {
+        return new EstatisticasCache(tamanho, -1, 0, 0, 0);
+    }
+
+}
@@ -0,0 +1,17 @@
+package estudo.camunda.dto;
+
+import java.time.Instant;
+
+/**
+ * Gravação JFR iniciada pela aplicação. {@code estado} é o {@code RecordingState} do JFR
+ * ({@code RUNNING}, {@code STOPPED}, ...); {@code arquivo} recebe a gravação quando ela para.
+ */
+public record GravacaoPerfil(
+        long id,
+        String nome,
+        String configuracao,
+        String estado,
+        Instant inicio,
+        String arquivo
+) {
+}
@@ -0,0 +1,17 @@
+package estudo.camunda.dto;
+
+import java.util.Map;
+
+public record InformacoesNoCluster(
+        String noId,
+        boolean clusterHabilitado,
+        int particaoInicial,
+        int particaoFinal,
+        boolean assumindoParticoesOrfas,
+        Map<String, Long> metricasJobs
+) {
+    public InformacoesNoCluster {
+        metricasJobs = Map.copyOf(metricasJobs);
+    }
+
+}
@@ -0,0 +1,11 @@
+package estudo.camunda.dto;
+
+public record MetricasAdmissao(
+        boolean habilitada,
+        int limite,
+        int emVoo,
+        long admitidas,
+        long rejeitadas,
+        long latenciaBaseMicros
+) {
+}
@@ -0,0 +1,20 @@
+package estudo.camunda.dto;
+
+/**
+ * Contadores da camada de resiliência do core banking desde o início da aplicação. {@code estadoCircuito}
+ * é {@code FECHADO}, {@code ABERTO} ou {@code MEIO_ABERTO}.
+ */
+public record MetricasCoreBanking(
+        String estadoCircuito,
+        int emAndamento,
+        long chamadas,
+        long respondidas,
+        long timeouts,
+        long erros,
+        long rejeitadasBulkhead,
+        long rejeitadasCircuito,
+        long aberturasCircuito,
+        long meiasAberturasCircuito,
+        long fechamentosCircuito
+) {
+}
@@ -0,0 +1,107 @@
+package estudo.camunda.dto;
+
+import java.util.Arrays;
+
+/**
+ * Motivos de devolução cobertos pelo MED. O texto recebido na API é convertido uma única vez por
+ * {@link #parse(String)}, sem diferenciar maiúsculas de minúsculas e sem alocar: uma tabela de hash
+ * perfeito (calculada na carga da classe) aponta para o único candidato, confirmado com
+ * {@code regionMatches}. No processo o motivo trafega como o {@link #getCodigo() código} inteiro.
+ */
+public enum MotivoDevolucao {
+
+    FRAUDE_COMPROVADA(1),
+    FALHA_OPERACIONAL_BANCO(2),
+    COBRANCA_INDEVIDA(3);
+
+    public static final int CODIGO_NAO_RECONHECIDO = 0;
+
+    private static final MotivoDevolucao[] VALORES = values();
+    private static final int TAMANHO_TABELA = Integer.highestOneBit(VALORES.length * 2 - 1) * 2;
+    private static final int SEMENTE;
+    private static final MotivoDevolucao[] TABELA = new MotivoDevolucao[TAMANHO_TABELA];
+    private static final MotivoDevolucao[] POR_CODIGO;
+
+    static {
+        int semente = 0;
+        while (!preencherTabela(semente)) {
+            semente++;
+        }
+        SEMENTE = semente;
+
+        int maiorCodigo = 0;
+        for (MotivoDevolucao motivo : VALORES) {
+            maiorCodigo = Math.max(maiorCodigo, motivo.codigo);
+        }
+        POR_CODIGO = new MotivoDevolucao[maiorCodigo + 1];
+        for (MotivoDevolucao motivo : VALORES) {
+            POR_CODIGO[motivo.codigo] = motivo;
+        }
+    }
+
+    private final int codigo;
+
+    MotivoDevolucao(int codigo) {
+        this.codigo = codigo;
+    }
+
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /** Motivo correspondente ao texto (ex.: {@code "fraude_comprovada"}), ou {@code null} se não for um motivo do MED. */
+    public static MotivoDevolucao parse(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        MotivoDevolucao candidato = TABELA[indice(texto, SEMENTE)];
+        if (candidato == null || candidato.name().length() != texto.length()
+                || !candidato.name().regionMatches(true, 0, texto, 0, texto.length())) {
+            return null;
+        }
+        return candidato;
+    }
+
+    public static MotivoDevolucao doCodigo(int codigo) {
+        return codigo > 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+
+    public static int codigoDe(MotivoDevolucao motivo) {
+        return motivo == null ? CODIGO_NAO_RECONHECIDO : motivo.codigo;
+    }
+
+    /**
+     * Motivo a partir da variável de processo com o código; processos iniciados sem ela (ex.: direto pelo
+     * {@code RuntimeService}) caem no parse do texto da solicitação.
+     */
+    public static MotivoDevolucao resolver(Object codigoVariavel, String textoSolicitacao) {
+        if (codigoVariavel instanceof Number codigo) {
+            return doCodigo(codigo.intValue());
+        }
+        return parse(textoSolicitacao);
+    }
+
+    private static boolean preencherTabela(int semente) {
+        Arrays.fill(TABELA, null);
+        for (MotivoDevolucao motivo : VALORES) {
+            int indice = indice(motivo.name(), semente);
+            if (TABELA[indice] != null) {
+                return false;
+            }
+            TABELA[indice] = motivo;
+        }
+        return true;
+    }
+
+    private static int indice(String texto, int semente) {
+        int hash = 0x811C9DC5 ^ semente;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                c -= 'a' - 'A';
+            }
+            hash = (hash ^ c) * 0x01000193;
+        }
+        return (hash ^ (hash >>> 16)) & (TAMANHO_TABELA - 1);
+    }
+}
@@ -0,0 +1,13 @@
+package estudo.camunda.dto;
+
+import java.util.List;
+
+public record PaginaFilaAnalise(
+        List<TarefaAnaliseManual> tarefas,
+        String proximoCursor
+) {
+    public PaginaFilaAnalise {
+        tarefas = List.copyOf(tarefas);
+    }
+
+}
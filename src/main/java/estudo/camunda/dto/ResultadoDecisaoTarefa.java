@@ -0,0 +1,29 @@
+package estudo.camunda.dto;
+
+public record ResultadoDecisaoTarefa(
+        String idTarefa,
+        DecisaoAnalista decisao,
+        Situacao situacao,
+        String mensagem
+) {
+    public enum Situacao {
+        CONCLUIDA,
+        NAO_ENCONTRADA,
+        TAREFA_INVALIDA,
+        DUPLICADA,
+        FALHA
+    }
+
+    public static ResultadoDecisaoTarefa concluida(DecisaoTarefaRequest item) {
+        return new ResultadoDecisaoTarefa(item.idTarefa(), item.decisao(), Situacao.CONCLUIDA, null);
+    }
+
+    public static ResultadoDecisaoTarefa naoConcluida(DecisaoTarefaRequest item, Situacao situacao, String mensagem) {
+        return new ResultadoDecisaoTarefa(item.idTarefa(), item.decisao(), situacao, mensagem);
+    }
+
+    public boolean isConcluida() {
+        return situacao == Situacao.CONCLUIDA;
+    }
+
+}
@@ -0,0 +1,20 @@
+package estudo.camunda.dto;
+
+import java.util.List;
+
+public record ResultadoDecisoesEmLote(
+        int concluidas,
+        int naoConcluidas,
+        long duracaoMillis,
+        List<ResultadoDecisaoTarefa> resultados
+) {
+    public ResultadoDecisoesEmLote {
+        resultados = List.copyOf(resultados);
+    }
+
+    public static ResultadoDecisoesEmLote de(List<ResultadoDecisaoTarefa> resultados, long duracaoMillis) {
+        int concluidas = (int) resultados.stream().filter(ResultadoDecisaoTarefa::isConcluida).count();
+        return new ResultadoDecisoesEmLote(concluidas, resultados.size() - concluidas, duracaoMillis, resultados);
+    }
+
+}
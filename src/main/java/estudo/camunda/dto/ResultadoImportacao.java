@@ -0,0 +1,32 @@
+package estudo.camunda.dto;
+
+import java.util.List;
+
+public record ResultadoImportacao(
+        String idImportacao,
+        boolean concluida,
+        long lidas,
+        long puladasPorCheckpoint,
+        long iniciadas,
+        long errosLeitura,
+        long errosValidacao,
+        long errosInicio,
+        long duracaoMillis,
+        double registrosPorSegundo,
+        List<Erro> erros
+) {
+    public ResultadoImportacao {
+        erros = List.copyOf(erros);
+    }
+
+    public enum Etapa {
+        LEITURA,
+        VALIDACAO,
+        INICIO
+    }
+
+    /** Registro rejeitado, identificado pela linha (a partir de 1) no arquivo NDJSON. */
+    public record Erro(long linha, Etapa etapa, String mensagem) {
+    }
+
+}
@@ -1,18 +1,28 @@
 package estudo.camunda.dto;
 
+/**
+ * Resultado da devolução no core banking. {@code retentavel} marca falhas em que o core banking não
+ * chegou a decidir (timeout, circuito aberto, bulkhead cheio): o delegate falha o job para repeti-las com o mesmo ID.
+ */
 public record ResultadoOperacaoFinanceira(
         boolean sucesso,
         String mensagem,
-        String idTransacaoDevolucao
+        String idTransacaoDevolucao,
+        boolean retentavel
 ) {
     public static ResultadoOperacaoFinanceira sucesso(String idTransacaoDevolucao, String mensagem) {
         validateField(idTransacaoDevolucao, "ID da transação de devolução não pode ser nulo ou vazio para uma operação bem-sucedida.");
-        return new ResultadoOperacaoFinanceira(true, mensagem, idTransacaoDevolucao);
+        return new ResultadoOperacaoFinanceira(true, mensagem, idTransacaoDevolucao, false);
     }
 
     public static ResultadoOperacaoFinanceira falha(String mensagem) {
         validateField(mensagem, "Mensagem não pode ser nula ou vazia para uma operação de falha.");
-        return new ResultadoOperacaoFinanceira(false, mensagem, null);
+        return new ResultadoOperacaoFinanceira(false, mensagem, null, false);
+    }
+
+    public static ResultadoOperacaoFinanceira falhaRetentavel(String mensagem) {
+        validateField(mensagem, "Mensagem não pode ser nula ou vazia para uma operação de falha.");
+        return new ResultadoOperacaoFinanceira(false, mensagem, null, true);
     }
 
     private static void validateField(String field, String errorMessage) {
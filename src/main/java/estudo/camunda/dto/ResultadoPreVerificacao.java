@@ -0,0 +1,11 @@
+package estudo.camunda.dto;
+
+/**
+ * Resultado da pré-verificação: a validação e, quando a solicitação é válida, a análise de risco
+ * (nula se a validação falhou).
+ */
+public record ResultadoPreVerificacao(
+        ResultadoValidacao validacao,
+        ResultadoAnaliseRisco analiseRisco
+) {
+}
@@ -15,6 +15,10 @@ public record ResultadoValidacao(
         return new ResultadoValidacao(true, null, detalhes);
     }
 
+    public static ResultadoValidacao transacaoNaoEncontrada() {
+        return falha("Transação original não encontrada.");
+    }
+
     public static ResultadoValidacao falha(String mensagem) {
         return new ResultadoValidacao(false,
                 Objects.requireNonNull(mensagem, "Mensagem de erro não pode ser nula ou vazia para um resultado de falha."),
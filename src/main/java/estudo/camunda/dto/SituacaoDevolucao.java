@@ -0,0 +1,44 @@
+package estudo.camunda.dto;
+
+import java.util.Map;
+import java.util.Optional;
+
+public enum SituacaoDevolucao {
+
+    RECEBIDA(false),
+    EM_VALIDACAO(false),
+    EM_ANALISE_RISCO(false),
+    AGUARDANDO_ANALISE_MANUAL(false),
+    EM_PROCESSAMENTO(false),
+    CONCLUIDA(true),
+    FALHA_PROCESSAMENTO(true),
+    REJEITADA_VALIDACAO(true),
+    REJEITADA_ANALISE(true);
+
+    private static final Map<String, SituacaoDevolucao> SITUACAO_POR_ATIVIDADE = Map.of(
+            "start_event_solicitacao_recebida", RECEBIDA,
+            "service_task_validar_solicitacao", EM_VALIDACAO,
+            "service_task_analisar_risco", EM_ANALISE_RISCO,
+            "Event_0onr9u5", EM_ANALISE_RISCO,
+            "user_task_analise_manual", AGUARDANDO_ANALISE_MANUAL,
+            "service_task_processar_devolucao_efetiva", EM_PROCESSAMENTO,
+            "end_event_devolucao_sucesso", CONCLUIDA,
+            "end_event_solicitacao_invalida", REJEITADA_VALIDACAO,
+            "end_event_rejeitada_analise", REJEITADA_ANALISE
+    );
+
+    private final boolean finalizada;
+
+    SituacaoDevolucao(boolean finalizada) {
+        this.finalizada = finalizada;
+    }
+
+    public boolean isFinalizada() {
+        return finalizada;
+    }
+
+    public static Optional<SituacaoDevolucao> daAtividade(String idAtividade) {
+        return Optional.ofNullable(SITUACAO_POR_ATIVIDADE.get(idAtividade));
+    }
+
+}
@@ -1,7 +1,6 @@
 package estudo.camunda.dto;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 
 public record SolicitacaoDevolucaoRequest(
         String idTransacaoOriginal,
@@ -0,0 +1,28 @@
+package estudo.camunda.dto;
+
+import java.time.Instant;
+
+public record StatusDevolucao(
+        String idProcesso,
+        String idTransacaoOriginal,
+        String cpfClienteSolicitante,
+        SituacaoDevolucao situacao,
+        String atividadeAtual,
+        boolean finalizada,
+        Instant atualizadoEm
+) {
+    public StatusDevolucao {
+        if (idProcesso == null || idProcesso.isBlank()) {
+            throw new IllegalArgumentException("ID do processo não pode ser nulo ou vazio.");
+        }
+        if (situacao == null) {
+            throw new IllegalArgumentException("Situação da devolução não pode ser nula.");
+        }
+    }
+
+    public StatusDevolucao comTransicao(SituacaoDevolucao novaSituacao, String novaAtividade, Instant instante) {
+        return new StatusDevolucao(idProcesso, idTransacaoOriginal, cpfClienteSolicitante,
+                novaSituacao, novaAtividade, novaSituacao.isFinalizada(), instante);
+    }
+
+}
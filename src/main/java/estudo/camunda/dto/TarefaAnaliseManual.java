@@ -0,0 +1,15 @@
+package estudo.camunda.dto;
+
+import java.time.Instant;
+
+public record TarefaAnaliseManual(
+        String idTarefa,
+        String idProcesso,
+        String idTransacaoOriginal,
+        ValorMonetario valor,
+        String motivo,
+        String nivelRisco,
+        String justificativaAnaliseRisco,
+        Instant criadaEm
+) {
+}
@@ -0,0 +1,137 @@
+package estudo.camunda.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Valor em reais representado em centavos ({@code long}). Comparações, somas e subtrações não alocam;
+ * {@link BigDecimal} só aparece na borda REST (JSON) e em {@link #de(BigDecimal)}.
+ */
+@JsonSerialize(using = ValorMonetario.Serializador.class)
+@JsonDeserialize(using = ValorMonetario.Desserializador.class)
+public record ValorMonetario(long centavos) implements Comparable<ValorMonetario>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final ValorMonetario ZERO = new ValorMonetario(0L);
+
+    public static ValorMonetario deCentavos(long centavos) {
+        return centavos == 0L ? ZERO : new ValorMonetario(centavos);
+    }
+
+    public static ValorMonetario de(BigDecimal valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor monetário não pode ser nulo.");
+        }
+        try {
+            return deCentavos(valor.movePointRight(2).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor monetário deve ter no máximo duas casas decimais: " + valor, e);
+        }
+    }
+
+    public static ValorMonetario de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Valor monetário não pode ser nulo ou vazio.");
+        }
+        try {
+            return de(new BigDecimal(valor.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + valor, e);
+        }
+    }
+
+    public ValorMonetario somar(ValorMonetario outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public ValorMonetario subtrair(ValorMonetario outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public boolean isPositivo() {
+        return centavos > 0L;
+    }
+
+    public boolean maiorQue(ValorMonetario outro) {
+        return centavos > outro.centavos;
+    }
+
+    public boolean menorQue(ValorMonetario outro) {
+        return centavos < outro.centavos;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(ValorMonetario outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    /** Anexa o valor com duas casas e o separador informado (ex.: {@code 1500.00} ou {@code 1500,00}). */
+    public StringBuilder formatarEm(StringBuilder destino, char separadorDecimal) {
+        long reais = centavos / 100;
+        int resto = (int) Math.abs(centavos % 100);
+        if (centavos < 0 && reais == 0) {
+            destino.append('-');
+        }
+        destino.append(reais).append(separadorDecimal);
+        if (resto < 10) {
+            destino.append('0');
+        }
+        return destino.append(resto);
+    }
+
+    /** Formato pt-BR usado nas mensagens ao cliente, independente do locale da JVM (ex.: {@code 1500,00}). */
+    public String formatado() {
+        return formatarEm(new StringBuilder(24), ',').toString();
+    }
+
+    /** Mesmo texto de {@code BigDecimal.toString()} com escala 2 (ex.: {@code 1500.00}). */
+    @Override
+    public String toString() {
+        return formatarEm(new StringBuilder(24), '.').toString();
+    }
+
+    static final class Serializador extends JsonSerializer<ValorMonetario> {
+
+        @Override
+        public void serialize(ValorMonetario valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            gerador.writeNumber(valor.toString());
+        }
+    }
+
+    static final class Desserializador extends JsonDeserializer<ValorMonetario> {
+
+        @Override
+        public ValorMonetario deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+            JsonToken token = parser.currentToken();
+            try {
+                if (token.isNumeric()) {
+                    return de(parser.getDecimalValue());
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    return de(parser.getText());
+                }
+            } catch (IllegalArgumentException e) {
+                return (ValorMonetario) contexto.handleWeirdStringValue(ValorMonetario.class, parser.getText(), e.getMessage());
+            }
+            return (ValorMonetario) contexto.handleUnexpectedToken(ValorMonetario.class, parser);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.MetricasAdmissao;
+import estudo.camunda.services.ControleAdmissaoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite de concorrência adaptativo (AIMD) para o início de processos. A latência base é a menor
+ * latência vista nas duas últimas janelas de {@code janelaAmostras} inícios, o que deixa a base
+ * acompanhar uma mudança permanente do ambiente. Uma amostra acima de {@code toleranciaLatencia}
+ * vezes a base, ou uma falha de sobrecarga, reduz o limite multiplicando-o por {@code fatorReducao};
+ * uma amostra rápida com o limite em uso (pelo menos metade das vagas ocupadas) aumenta o limite em 1.
+ * <p>
+ * As solicitações que já estavam em andamento numa redução foram admitidas com o limite antigo, e a
+ * lentidão delas não diz nada sobre o novo: a próxima redução só vale depois que essa janela termina.
+ * Assim uma rajada de conclusões lentas reduz o limite uma vez, e não uma vez por conclusão. O ajuste
+ * não usa locks; amostras concorrentes na virada da janela de latência podem cair na janela seguinte.
+ */
+@Service
+public class AimdControleAdmissaoServiceImpl implements ControleAdmissaoService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AimdControleAdmissaoServiceImpl.class);
+
+    private final boolean habilitada;
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double toleranciaLatencia;
+    private final double fatorReducao;
+    private final int janelaAmostras;
+    private final long retryAfterSegundos;
+
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final LongAdder admitidas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private final AtomicInteger limite;
+    private final AtomicLong amostras = new AtomicLong();
+    private final AtomicLong minimoJanelaAtual = new AtomicLong(Long.MAX_VALUE);
+    private volatile long minimoJanelaAnterior = Long.MAX_VALUE;
+    private final AtomicLong conclusoes = new AtomicLong();
+    // Número da conclusão a partir da qual uma nova redução é permitida
+    private final AtomicLong proximaReducao = new AtomicLong();
+
+    @Autowired
+    public AimdControleAdmissaoServiceImpl(
+            @Value("${pix.admissao.habilitada:true}") boolean habilitada,
+            @Value("${pix.admissao.limite-inicial:20}") int limiteInicial,
+            @Value("${pix.admissao.limite-minimo:2}") int limiteMinimo,
+            @Value("${pix.admissao.limite-maximo:200}") int limiteMaximo,
+            @Value("${pix.admissao.tolerancia-latencia:2.0}") double toleranciaLatencia,
+            @Value("${pix.admissao.fator-reducao:0.9}") double fatorReducao,
+            @Value("${pix.admissao.janela-amostras:500}") int janelaAmostras,
+            @Value("${pix.admissao.retry-after:PT1S}") Duration retryAfter) {
+        if (limiteMinimo <= 0 || limiteInicial < limiteMinimo || limiteMaximo < limiteInicial) {
+            throw new IllegalArgumentException("Os limites devem respeitar 0 < mínimo <= inicial <= máximo.");
+        }
+        if (toleranciaLatencia < 1 || fatorReducao <= 0 || fatorReducao >= 1 || janelaAmostras <= 0) {
+            throw new IllegalArgumentException("Tolerância deve ser >= 1, fator de redução entre 0 e 1 e janela positiva.");
+        }
+        this.habilitada = habilitada;
+        this.limite = new AtomicInteger(limiteInicial);
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.toleranciaLatencia = toleranciaLatencia;
+        this.fatorReducao = fatorReducao;
+        this.janelaAmostras = janelaAmostras;
+        this.retryAfterSegundos = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    public boolean tentarAdmitir() {
+        if (!habilitada) {
+            emVoo.incrementAndGet();
+            admitidas.increment();
+            return true;
+        }
+        int atual;
+        do {
+            atual = emVoo.get();
+            if (atual >= limite.get()) {
+                rejeitadas.increment();
+                return false;
+            }
+        } while (!emVoo.compareAndSet(atual, atual + 1));
+        admitidas.increment();
+        return true;
+    }
+
+    @Override
+    public void liberar(long latenciaNanos, boolean sobrecarga) {
+        int emVooNaConclusao = emVoo.getAndDecrement();
+        if (habilitada) {
+            ajustarLimite(latenciaNanos, sobrecarga, emVooNaConclusao);
+        }
+    }
+
+    private void ajustarLimite(long latenciaNanos, boolean sobrecarga, int emVooNaConclusao) {
+        if (!sobrecarga) {
+            minimoJanelaAtual.accumulateAndGet(latenciaNanos, Math::min);
+            if (amostras.incrementAndGet() % janelaAmostras == 0) {
+                minimoJanelaAnterior = minimoJanelaAtual.getAndSet(Long.MAX_VALUE);
+            }
+        }
+        long conclusao = conclusoes.incrementAndGet();
+
+        long latenciaBase = latenciaBaseNanos();
+        int atual = limite.get();
+        if (sobrecarga || latenciaNanos > latenciaBase * toleranciaLatencia) {
+            long permitida = proximaReducao.get();
+            // As outras solicitações em andamento agora formam a janela em que não há nova redução
+            if (conclusao < permitida || !proximaReducao.compareAndSet(permitida, conclusao + emVooNaConclusao)) {
+                return;
+            }
+            int reduzido = Math.max(limiteMinimo, (int) (atual * fatorReducao));
+            if (reduzido < atual && limite.compareAndSet(atual, reduzido) && LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Limite de admissão reduzido de {} para {} (latência {} µs, base {} µs, sobrecarga={}).",
+                        atual, reduzido, TimeUnit.NANOSECONDS.toMicros(latenciaNanos),
+                        TimeUnit.NANOSECONDS.toMicros(latenciaBase), sobrecarga);
+            }
+        } else if (emVooNaConclusao * 2 >= atual && atual < limiteMaximo) {
+            limite.compareAndSet(atual, atual + 1);
+        }
+    }
+
+    private long latenciaBaseNanos() {
+        return Math.min(minimoJanelaAtual.get(), minimoJanelaAnterior);
+    }
+
+    @Override
+    public void desistir() {
+        emVoo.decrementAndGet();
+        admitidas.decrement();
+    }
+
+    @Override
+    public long retryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+
+    @Override
+    public MetricasAdmissao metricas() {
+        long base = latenciaBaseNanos();
+        return new MetricasAdmissao(habilitada, limite.get(), emVoo.get(), admitidas.sum(), rejeitadas.sum(),
+                base == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMicros(base));
+    }
+
+}
@@ -0,0 +1,48 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.config.CachesMotorPlugin;
+import estudo.camunda.dto.DiagnosticoCaches;
+import estudo.camunda.dto.EstatisticasCache;
+import estudo.camunda.motor.CacheComContagem;
+import estudo.camunda.services.DiagnosticoCachesService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.commons.utils.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CamundaDiagnosticoCachesServiceImpl implements DiagnosticoCachesService {
+
+    private final ProcessEngine processEngine;
+    private final CachesMotorPlugin cachesPlugin;
+
+    @Autowired
+    public CamundaDiagnosticoCachesServiceImpl(ProcessEngine processEngine, CachesMotorPlugin cachesPlugin) {
+        this.processEngine = processEngine;
+        this.cachesPlugin = cachesPlugin;
+    }
+
+    @Override
+    public DiagnosticoCaches consultar() {
+        DeploymentCache deploymentCache = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration())
+                .getDeploymentCache();
+        return new DiagnosticoCaches(
+                cachesPlugin.isContagem(),
+                estatisticas(deploymentCache.getProcessDefinitionCache()),
+                estatisticas(deploymentCache.getBpmnModelInstanceCache()),
+                cachesPlugin.isContagem() ? cachesPlugin.getArvoresExpressao().estatisticas() : null,
+                cachesPlugin.getParsesBpmn(),
+                cachesPlugin.isCondicoesJava(),
+                cachesPlugin.getCondicoesSubstituidas());
+    }
+
+    private static EstatisticasCache estatisticas(Cache<String, ?> cache) {
+        if (cache instanceof CacheComContagem<?> comContagem) {
+            return comContagem.estatisticas();
+        }
+        return EstatisticasCache.semContagem(cache.size());
+    }
+
+}
@@ -0,0 +1,59 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.config.ClusterProcessEnginePlugin;
+import estudo.camunda.dto.InformacoesNoCluster;
+import estudo.camunda.services.NoClusterService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class CamundaNoClusterServiceImpl implements NoClusterService {
+
+    private static final List<String> METRICAS_JOBS = List.of(
+            Metrics.JOB_ACQUISITION_ATTEMPT,
+            Metrics.JOB_ACQUIRED_SUCCESS,
+            Metrics.JOB_ACQUIRED_FAILURE,
+            Metrics.JOB_SUCCESSFUL,
+            Metrics.JOB_FAILED,
+            Metrics.JOB_LOCKED_EXCLUSIVE,
+            Metrics.JOB_EXECUTION_REJECTED);
+
+    private final ProcessEngine processEngine;
+    private final ClusterProcessEnginePlugin clusterPlugin;
+
+    @Autowired
+    public CamundaNoClusterServiceImpl(ProcessEngine processEngine, ClusterProcessEnginePlugin clusterPlugin) {
+        this.processEngine = processEngine;
+        this.clusterPlugin = clusterPlugin;
+    }
+
+    @Override
+    public InformacoesNoCluster consultarNo() {
+        // As métricas ficam em memória até o próximo ciclo do reporter; descarrega antes de consultar
+        DbMetricsReporter reporter = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration())
+                .getDbMetricsReporter();
+        if (reporter != null) {
+            reporter.reportNow();
+        }
+
+        Map<String, Long> metricas = new LinkedHashMap<>();
+        for (String metrica : METRICAS_JOBS) {
+            metricas.put(metrica, processEngine.getManagementService().createMetricsQuery()
+                    .name(metrica)
+                    .reporter(clusterPlugin.getNoId())
+                    .sum());
+        }
+        return new InformacoesNoCluster(clusterPlugin.getNoId(), clusterPlugin.isHabilitado(),
+                clusterPlugin.getParticaoInicial(), clusterPlugin.getParticaoFinal(),
+                clusterPlugin.isAssumindoParticoesOrfas(), metricas);
+    }
+
+}
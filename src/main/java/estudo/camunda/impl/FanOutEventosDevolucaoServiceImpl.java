@@ -0,0 +1,188 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.services.EventosDevolucaoService;
+import estudo.camunda.services.StatusDevolucaoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Distribui as transições de status para os assinantes sem bloquear a thread que publica
+ * (a thread do motor, no commit da transação). Cada assinante tem um buffer limitado e uma thread
+ * virtual própria que entrega os eventos; quem não consome a tempo e enche o buffer é despejado.
+ * O status atual entregue a quem assina um processo é descartado se uma transição publicada já
+ * chegou ao assinante, e a publicação igual ao status atual já entregue é ignorada: uma transição
+ * concorrente com a assinatura não chega duas vezes nem fora de ordem.
+ */
+@Service
+public class FanOutEventosDevolucaoServiceImpl implements EventosDevolucaoService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FanOutEventosDevolucaoServiceImpl.class);
+
+    private final Map<String, Set<Assinante>> assinantesPorProcesso = new ConcurrentHashMap<>();
+    private final Map<String, Set<Assinante>> assinantesPorCpf = new ConcurrentHashMap<>();
+    private final AtomicInteger quantidadeAssinantes = new AtomicInteger();
+
+    private final StatusDevolucaoService statusDevolucaoService;
+    private final int capacidadeBuffer;
+
+    @Autowired
+    public FanOutEventosDevolucaoServiceImpl(
+            StatusDevolucaoService statusDevolucaoService,
+            @Value("${pix.eventos.capacidade-buffer:32}") int capacidadeBuffer) {
+        if (capacidadeBuffer <= 0) {
+            throw new IllegalArgumentException("Capacidade do buffer de eventos deve ser positiva.");
+        }
+        this.statusDevolucaoService = statusDevolucaoService;
+        this.capacidadeBuffer = capacidadeBuffer;
+    }
+
+    @Override
+    public void publicar(StatusDevolucao status) {
+        entregar(assinantesPorProcesso.get(status.idProcesso()), status);
+        if (status.cpfClienteSolicitante() != null) {
+            entregar(assinantesPorCpf.get(status.cpfClienteSolicitante()), status);
+        }
+    }
+
+    @Override
+    public AssinaturaEventos assinarPorProcesso(String idProcesso, ConsumidorEventos consumidor) {
+        Assinante assinante = registrar(assinantesPorProcesso, idProcesso, consumidor);
+        statusDevolucaoService.buscarPorIdProcesso(idProcesso).ifPresent(assinante::oferecerStatusAtual);
+        return assinante;
+    }
+
+    @Override
+    public AssinaturaEventos assinarPorCpf(String cpfClienteSolicitante, ConsumidorEventos consumidor) {
+        return registrar(assinantesPorCpf, cpfClienteSolicitante, consumidor);
+    }
+
+    @Override
+    public int quantidadeAssinantes() {
+        return quantidadeAssinantes.get();
+    }
+
+    private void entregar(Set<Assinante> assinantes, StatusDevolucao status) {
+        if (assinantes == null) {
+            return;
+        }
+        for (Assinante assinante : assinantes) {
+            if (!assinante.oferecer(status)) {
+                LOGGER.warn("Assinante de eventos da chave '{}' não acompanhou o ritmo de publicação e foi despejado.",
+                        assinante.chave);
+                assinante.encerrar(MotivoEncerramento.DESPEJADA);
+            }
+        }
+    }
+
+    private Assinante registrar(Map<String, Set<Assinante>> indice, String chave, ConsumidorEventos consumidor) {
+        if (chave == null || chave.isBlank()) {
+            throw new IllegalArgumentException("Chave da assinatura de eventos não pode ser nula ou vazia.");
+        }
+        Assinante assinante = new Assinante(indice, chave, consumidor, new ArrayBlockingQueue<>(capacidadeBuffer));
+        indice.compute(chave, (k, assinantes) -> {
+            Set<Assinante> conjunto = assinantes != null ? assinantes : ConcurrentHashMap.newKeySet();
+            conjunto.add(assinante);
+            return conjunto;
+        });
+        quantidadeAssinantes.incrementAndGet();
+        assinante.iniciar();
+        return assinante;
+    }
+
+    private final class Assinante implements AssinaturaEventos, Runnable {
+
+        private final Map<String, Set<Assinante>> indice;
+        private final String chave;
+        private final ConsumidorEventos consumidor;
+        private final BlockingQueue<StatusDevolucao> buffer;
+        private final AtomicReference<MotivoEncerramento> motivoEncerramento = new AtomicReference<>();
+        private volatile Thread thread;
+        private StatusDevolucao statusAtual;
+        private boolean recebeuPublicacao;
+
+        private Assinante(Map<String, Set<Assinante>> indice, String chave,
+                          ConsumidorEventos consumidor, BlockingQueue<StatusDevolucao> buffer) {
+            this.indice = indice;
+            this.chave = chave;
+            this.consumidor = consumidor;
+            this.buffer = buffer;
+        }
+
+        private void iniciar() {
+            thread = Thread.ofVirtual().name("eventos-devolucao-" + chave).start(this);
+        }
+
+        private synchronized boolean oferecer(StatusDevolucao status) {
+            if (status.equals(statusAtual)) {
+                return true;
+            }
+            recebeuPublicacao = true;
+            return motivoEncerramento.get() != null || buffer.offer(status);
+        }
+
+        /** O status lido depois do registro; a publicação que já chegou é igual ou mais nova. */
+        private synchronized void oferecerStatusAtual(StatusDevolucao status) {
+            if (!recebeuPublicacao) {
+                statusAtual = status;
+                buffer.offer(status);
+            }
+        }
+
+        private void encerrar(MotivoEncerramento motivo) {
+            if (motivoEncerramento.compareAndSet(null, motivo)) {
+                remover();
+                Thread atual = thread;
+                if (atual != null && atual != Thread.currentThread()) {
+                    atual.interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            encerrar(MotivoEncerramento.CANCELADA);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (motivoEncerramento.get() == null) {
+                    if (!consumidor.receber(buffer.take())) {
+                        encerrar(MotivoEncerramento.CONCLUIDA);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("Falha ao entregar evento ao assinante da chave '{}': {}", chave, e.getMessage());
+                encerrar(MotivoEncerramento.FALHA_ENTREGA);
+            } finally {
+                encerrar(MotivoEncerramento.CANCELADA);
+                consumidor.encerrar(motivoEncerramento.get());
+            }
+        }
+
+        private void remover() {
+            indice.computeIfPresent(chave, (k, assinantes) -> {
+                assinantes.remove(this);
+                return assinantes.isEmpty() ? null : assinantes;
+            });
+            quantidadeAssinantes.decrementAndGet();
+        }
+
+    }
+
+}
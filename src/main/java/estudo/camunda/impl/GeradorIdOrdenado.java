@@ -0,0 +1,87 @@
+package estudo.camunda.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * IDs de 63 bits ordenados pelo tempo, no estilo Snowflake: 41 bits de milissegundos desde
+ * 2024-01-01 (até ~2093), 10 bits do nó e 12 bits de sequência dentro do milissegundo. O último ID
+ * fica em um {@link AtomicLong} e cada chamada o avança com CAS, sem locks: no mesmo milissegundo
+ * incrementa a sequência; esgotada a sequência, ou com o relógio voltando, segue de um milissegundo
+ * lógico à frente do último ID, então os IDs de um nó são sempre crescentes. Nós distintos nunca
+ * colidem, desde que cada um tenha o seu número.
+ * <p>
+ * Em texto, o ID vira 13 caracteres em base 32 (alfabeto de Crockford, sem I, L, O e U) com zeros
+ * à esquerda, de modo que a ordem lexicográfica é a mesma ordem numérica.
+ */
+public final class GeradorIdOrdenado {
+
+    /** 2024-01-01T00:00:00Z. */
+    public static final long EPOCA_MILLIS = 1_704_067_200_000L;
+    public static final int MAXIMO_NO = 1023;
+    public static final int TAMANHO_TEXTO = 13;
+
+    private static final int BITS_SEQUENCIA = 12;
+    private static final int BITS_NO = 10;
+    private static final int DESLOCAMENTO_TEMPO = BITS_SEQUENCIA + BITS_NO;
+    private static final long MASCARA_SEQUENCIA = (1L << BITS_SEQUENCIA) - 1;
+    private static final char[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long bitsNo;
+    private final LongSupplier relogioMillis;
+    private final AtomicLong ultimo = new AtomicLong();
+
+    public GeradorIdOrdenado(int no) {
+        this(no, System::currentTimeMillis);
+    }
+
+    public GeradorIdOrdenado(int no, LongSupplier relogioMillis) {
+        if (no < 0 || no > MAXIMO_NO) {
+            throw new IllegalArgumentException("O número do nó deve estar entre 0 e " + MAXIMO_NO + ": " + no);
+        }
+        this.bitsNo = (long) no << BITS_SEQUENCIA;
+        this.relogioMillis = relogioMillis;
+    }
+
+    public long proximoId() {
+        while (true) {
+            long atual = ultimo.get();
+            long agora = (relogioMillis.getAsLong() - EPOCA_MILLIS) << DESLOCAMENTO_TEMPO | bitsNo;
+            long proximo;
+            if (agora > atual) {
+                proximo = agora;
+            } else if ((atual & MASCARA_SEQUENCIA) < MASCARA_SEQUENCIA) {
+                proximo = atual + 1;
+            } else {
+                proximo = ((atual >>> DESLOCAMENTO_TEMPO) + 1) << DESLOCAMENTO_TEMPO | bitsNo;
+            }
+            if (ultimo.compareAndSet(atual, proximo)) {
+                return proximo;
+            }
+        }
+    }
+
+    public String proximoIdTexto() {
+        return paraTexto(proximoId());
+    }
+
+    public static String paraTexto(long id) {
+        char[] texto = new char[TAMANHO_TEXTO];
+        long restante = id;
+        for (int i = TAMANHO_TEXTO - 1; i >= 0; i--) {
+            texto[i] = ALFABETO[(int) (restante & 31)];
+            restante >>>= 5;
+        }
+        return new String(texto);
+    }
+
+    /** Instante, em milissegundos desde 1970, em que o ID foi gerado (ou o milissegundo lógico em que caiu). */
+    public static long instanteMillis(long id) {
+        return (id >>> DESLOCAMENTO_TEMPO) + EPOCA_MILLIS;
+    }
+
+    public static int no(long id) {
+        return (int) (id >>> BITS_SEQUENCIA) & MAXIMO_NO;
+    }
+
+}
@@ -0,0 +1,95 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.services.StatusDevolucaoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modelo de leitura desnormalizado do status das devoluções, alimentado pelos execution listeners do processo.
+ * Cada consulta é uma busca em mapa, sem nenhuma query ao motor do Camunda.
+ */
+@Service
+public class InMemoryStatusDevolucaoServiceImpl implements StatusDevolucaoService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryStatusDevolucaoServiceImpl.class);
+
+    private final Map<String, StatusDevolucao> statusPorProcesso = new ConcurrentHashMap<>();
+    private final Map<String, String> processoPorTransacaoOriginal = new ConcurrentHashMap<>();
+
+    private final Queue<String> processosFinalizados = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger quantidadeFinalizados = new AtomicInteger();
+    private final int maximoFinalizadosRetidos;
+
+    @Autowired
+    public InMemoryStatusDevolucaoServiceImpl(@Value("${pix.status.max-finalizados-retidos:100000}") int maximoFinalizadosRetidos) {
+        if (maximoFinalizadosRetidos <= 0) {
+            throw new IllegalArgumentException("Quantidade máxima de devoluções finalizadas retidas deve ser positiva.");
+        }
+        this.maximoFinalizadosRetidos = maximoFinalizadosRetidos;
+    }
+
+    @Override
+    public StatusDevolucao registrarTransicao(
+            String idProcesso,
+            String idTransacaoOriginal,
+            String cpfClienteSolicitante,
+            SituacaoDevolucao situacao,
+            String atividade) {
+
+        Instant agora = Instant.now();
+        StatusDevolucao novoStatus = statusPorProcesso.compute(idProcesso, (id, atual) -> atual == null
+                ? new StatusDevolucao(id, idTransacaoOriginal, cpfClienteSolicitante,
+                        situacao, atividade, situacao.isFinalizada(), agora)
+                : atual.comTransicao(situacao, atividade, agora));
+
+        if (novoStatus.idTransacaoOriginal() != null) {
+            processoPorTransacaoOriginal.put(novoStatus.idTransacaoOriginal(), idProcesso);
+        }
+        if (novoStatus.finalizada()) {
+            registrarFinalizado(idProcesso);
+        }
+
+        LOGGER.debug("Status da devolução atualizado: {}", novoStatus);
+        return novoStatus;
+    }
+
+    @Override
+    public Optional<StatusDevolucao> buscarPorIdProcesso(String idProcesso) {
+        return Optional.ofNullable(statusPorProcesso.get(idProcesso));
+    }
+
+    @Override
+    public Optional<StatusDevolucao> buscarPorIdTransacaoOriginal(String idTransacaoOriginal) {
+        return Optional.ofNullable(processoPorTransacaoOriginal.get(idTransacaoOriginal))
+                .map(statusPorProcesso::get);
+    }
+
+    private void registrarFinalizado(String idProcesso) {
+        processosFinalizados.add(idProcesso);
+        if (quantidadeFinalizados.incrementAndGet() <= maximoFinalizadosRetidos) {
+            return;
+        }
+        String maisAntigo = processosFinalizados.poll();
+        if (maisAntigo != null) {
+            quantidadeFinalizados.decrementAndGet();
+            StatusDevolucao removido = statusPorProcesso.remove(maisAntigo);
+            if (removido != null && removido.idTransacaoOriginal() != null) {
+                processoPorTransacaoOriginal.remove(removido.idTransacaoOriginal(), maisAntigo);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,290 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Resultados das últimas {@code capacidade} operações financeiras, por ID da operação, para que um
+ * lançamento repetido (retry de job, timeout seguido de nova tentativa) devolva o resultado original
+ * em vez de lançar de novo. As operações ficam em um anel de tamanho fixo, na ordem de registro, e
+ * uma tabela de endereçamento aberto com o hash do ID aponta para a posição no anel; ao encher, a
+ * operação mais antiga sai do anel e da tabela. A capacidade deve cobrir a janela de retries.
+ * <p>
+ * Com um arquivo, cada registro é acrescentado a um diário ({@code tamanho, CRC32, dados}) e o
+ * diário é relido na abertura, até o primeiro registro incompleto ou corrompido, que é descartado.
+ * Os registros ficam em memória até {@link #sincronizar()}, que grava e faz um único {@code force}
+ * para todos eles; quando o diário passa de duas vezes a capacidade, ele é reescrito só com o
+ * conteúdo do anel.
+ */
+public final class IndiceIdempotencia implements Closeable {
+
+    private static final int TAMANHO_MAXIMO_REGISTRO = 1 << 20;
+
+    private final String[] ids;
+    private final ResultadoOperacaoFinanceira[] resultados;
+    private final int[] hashes;
+    /** Posição no anel + 1 de cada operação, ou 0 para vazio. */
+    private final int[] tabela;
+    private final int mascara;
+    private int proximo;
+    private int tamanho;
+
+    private final Path arquivo;
+    private FileChannel diario;
+    private final ByteArrayOutputStream pendentes = new ByteArrayOutputStream();
+    private long registrosNoDiario;
+
+    /**
+     * @param capacidade número de operações lembradas
+     * @param arquivo    diário para sobreviver a reinícios, ou {@code null} para manter só em memória
+     */
+    public IndiceIdempotencia(int capacidade, Path arquivo) {
+        if (capacidade <= 0 || capacidade > 1 << 28) {
+            throw new IllegalArgumentException("A capacidade do índice de idempotência deve estar entre 1 e 2^28.");
+        }
+        this.ids = new String[capacidade];
+        this.resultados = new ResultadoOperacaoFinanceira[capacidade];
+        this.hashes = new int[capacidade];
+        this.tabela = new int[Integer.highestOneBit(capacidade) << 2];
+        this.mascara = tabela.length - 1;
+        this.arquivo = arquivo;
+        if (arquivo != null) {
+            try {
+                abrirDiario();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao abrir o diário de idempotência " + arquivo, e);
+            }
+        }
+    }
+
+    /** Resultado registrado para a operação, ou {@code null} se ela não foi vista (ou já saiu do anel). */
+    public synchronized ResultadoOperacaoFinanceira buscar(String idOperacao) {
+        int posicao = localizar(idOperacao, espalhar(idOperacao.hashCode()));
+        return posicao < 0 ? null : resultados[tabela[posicao] - 1];
+    }
+
+    /** Registra o resultado da operação; no diário, só depois de {@link #sincronizar()}. */
+    public synchronized void registrar(String idOperacao, ResultadoOperacaoFinanceira resultado) {
+        inserir(idOperacao, resultado);
+        if (diario != null) {
+            escreverRegistro(new DataOutputStream(pendentes), idOperacao, resultado);
+            registrosNoDiario++;
+        }
+    }
+
+    /** Grava no diário os registros pendentes com um único {@code force}. */
+    public synchronized void sincronizar() {
+        if (diario == null || pendentes.size() == 0) {
+            return;
+        }
+        try {
+            if (registrosNoDiario > 2L * ids.length) {
+                compactar();
+            } else {
+                diario.write(ByteBuffer.wrap(pendentes.toByteArray()));
+                diario.force(false);
+            }
+            pendentes.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o diário de idempotência " + arquivo, e);
+        }
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    public int capacidade() {
+        return ids.length;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (diario == null) {
+            return;
+        }
+        try {
+            sincronizar();
+            diario.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar o diário de idempotência " + arquivo, e);
+        } finally {
+            diario = null;
+        }
+    }
+
+    private void inserir(String idOperacao, ResultadoOperacaoFinanceira resultado) {
+        int hash = espalhar(idOperacao.hashCode());
+        int existente = localizar(idOperacao, hash);
+        if (existente >= 0) {
+            resultados[tabela[existente] - 1] = resultado;
+            return;
+        }
+        if (tamanho == ids.length) {
+            remover(proximo);
+        } else {
+            tamanho++;
+        }
+        ids[proximo] = idOperacao;
+        resultados[proximo] = resultado;
+        hashes[proximo] = hash;
+        int posicao = hash & mascara;
+        while (tabela[posicao] != 0) {
+            posicao = (posicao + 1) & mascara;
+        }
+        tabela[posicao] = proximo + 1;
+        proximo = proximo + 1 == ids.length ? 0 : proximo + 1;
+    }
+
+    private int localizar(String idOperacao, int hash) {
+        for (int posicao = hash & mascara; tabela[posicao] != 0; posicao = (posicao + 1) & mascara) {
+            int noAnel = tabela[posicao] - 1;
+            if (hashes[noAnel] == hash && ids[noAnel].equals(idOperacao)) {
+                return posicao;
+            }
+        }
+        return -1;
+    }
+
+    /** Tira a operação da posição do anel e recua as seguintes da sondagem para não deixar buracos. */
+    private void remover(int noAnel) {
+        int vaga = localizar(ids[noAnel], hashes[noAnel]);
+        ids[noAnel] = null;
+        resultados[noAnel] = null;
+        int posicao = vaga;
+        while (true) {
+            posicao = (posicao + 1) & mascara;
+            if (tabela[posicao] == 0) {
+                break;
+            }
+            int ideal = hashes[tabela[posicao] - 1] & mascara;
+            boolean idealEntreVagaEPosicao = vaga <= posicao
+                    ? vaga < ideal && ideal <= posicao
+                    : vaga < ideal || ideal <= posicao;
+            if (!idealEntreVagaEPosicao) {
+                tabela[vaga] = tabela[posicao];
+                vaga = posicao;
+            }
+        }
+        tabela[vaga] = 0;
+    }
+
+    private void abrirDiario() throws IOException {
+        long valido = 0;
+        if (Files.exists(arquivo)) {
+            try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+                while (true) {
+                    int lidos = lerRegistro(entrada);
+                    if (lidos < 0) {
+                        break;
+                    }
+                    valido += lidos;
+                    registrosNoDiario++;
+                }
+            }
+        }
+        diario = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // Descarta a cauda incompleta de uma gravação interrompida
+        diario.truncate(valido);
+        diario.position(valido);
+    }
+
+    /** Lê e aplica um registro; devolve os bytes consumidos, ou -1 no fim ou em um registro inválido. */
+    private int lerRegistro(DataInputStream entrada) throws IOException {
+        byte[] dados;
+        long crcEsperado;
+        try {
+            int tamanhoRegistro = entrada.readInt();
+            if (tamanhoRegistro <= 0 || tamanhoRegistro > TAMANHO_MAXIMO_REGISTRO) {
+                return -1;
+            }
+            crcEsperado = Integer.toUnsignedLong(entrada.readInt());
+            dados = new byte[tamanhoRegistro];
+            entrada.readFully(dados);
+        } catch (EOFException e) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        if (crc.getValue() != crcEsperado) {
+            return -1;
+        }
+        DataInputStream registro = new DataInputStream(new ByteArrayInputStream(dados));
+        boolean sucesso = registro.readBoolean();
+        String idOperacao = registro.readUTF();
+        String mensagem = registro.readUTF();
+        String idTransacaoDevolucao = registro.readUTF();
+        inserir(idOperacao, new ResultadoOperacaoFinanceira(sucesso, mensagem,
+                idTransacaoDevolucao.isEmpty() ? null : idTransacaoDevolucao, false));
+        return Integer.BYTES * 2 + dados.length;
+    }
+
+    private static void escreverRegistro(DataOutputStream saida, String idOperacao, ResultadoOperacaoFinanceira resultado) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + idOperacao.length() + resultado.mensagem().length());
+            DataOutputStream registro = new DataOutputStream(bytes);
+            registro.writeBoolean(resultado.sucesso());
+            registro.writeUTF(idOperacao);
+            registro.writeUTF(resultado.mensagem());
+            registro.writeUTF(resultado.idTransacaoDevolucao() == null ? "" : resultado.idTransacaoDevolucao());
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            saida.writeInt(bytes.size());
+            saida.writeInt((int) crc.getValue());
+            bytes.writeTo(saida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Reescreve o diário só com as operações do anel, da mais antiga para a mais nova, e o troca atomicamente. */
+    private void compactar() throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(novo)));
+            int inicio = tamanho == ids.length ? proximo : 0;
+            for (int i = 0; i < tamanho; i++) {
+                int noAnel = (inicio + i) % ids.length;
+                escreverRegistro(saida, ids[noAnel], resultados[noAnel]);
+            }
+            saida.flush();
+            novo.force(false);
+        }
+        diario.close();
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        diario = FileChannel.open(arquivo, StandardOpenOption.WRITE);
+        diario.position(diario.size());
+        registrosNoDiario = tamanho;
+    }
+
+    /** Finalizador do MurmurHash3 (32 bits): espalha IDs sequenciais por toda a tabela. */
+    private static int espalhar(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+}
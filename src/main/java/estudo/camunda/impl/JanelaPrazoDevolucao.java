@@ -0,0 +1,66 @@
+package estudo.camunda.impl;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Prazo em dias corridos no fuso do relógio: a transação está no prazo se o seu dia for no máximo
+ * {@code prazoDias} antes de hoje. Os limites do dia são recalculados só na virada, então cada
+ * verificação é uma comparação de epoch millis.
+ */
+public final class JanelaPrazoDevolucao {
+
+    private final Clock relogio;
+    private final int prazoDias;
+    private volatile Limites limites;
+
+    private record Limites(long hojeDiaEpoca, long inicioHojeEpochMilli, long proximaViradaEpochMilli, long inicioPrazoEpochMilli) {
+    }
+
+    public JanelaPrazoDevolucao(Clock relogio, int prazoDias) {
+        if (prazoDias < 0) {
+            throw new IllegalArgumentException("O prazo em dias não pode ser negativo.");
+        }
+        this.relogio = relogio;
+        this.prazoDias = prazoDias;
+    }
+
+    public boolean dentroDoPrazo(long dataHoraEpochMilli) {
+        return dataHoraEpochMilli >= limitesAtuais().inicioPrazoEpochMilli;
+    }
+
+    public long diasDesde(long dataHoraEpochMilli) {
+        long diaTransacao = LocalDate.ofInstant(Instant.ofEpochMilli(dataHoraEpochMilli), relogio.getZone()).toEpochDay();
+        return limitesAtuais().hojeDiaEpoca - diaTransacao;
+    }
+
+    public int getPrazoDias() {
+        return prazoDias;
+    }
+
+    private Limites limitesAtuais() {
+        long agora = relogio.millis();
+        Limites atuais = limites;
+        if (atuais == null || agora >= atuais.proximaViradaEpochMilli || agora < atuais.inicioHojeEpochMilli) {
+            atuais = calcularLimites(agora);
+            limites = atuais;
+        }
+        return atuais;
+    }
+
+    private Limites calcularLimites(long agora) {
+        ZoneId zona = relogio.getZone();
+        LocalDate hoje = LocalDate.ofInstant(Instant.ofEpochMilli(agora), zona);
+        return new Limites(
+                hoje.toEpochDay(),
+                inicioDoDia(hoje, zona),
+                inicioDoDia(hoje.plusDays(1), zona),
+                inicioDoDia(hoje.minusDays(prazoDias), zona));
+    }
+
+    private static long inicioDoDia(LocalDate dia, ZoneId zona) {
+        return dia.atStartOfDay(zona).toInstant().toEpochMilli();
+    }
+}
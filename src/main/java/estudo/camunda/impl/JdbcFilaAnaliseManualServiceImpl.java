@@ -0,0 +1,174 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.PaginaFilaAnalise;
+import estudo.camunda.dto.TarefaAnaliseManual;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.FilaAnaliseManualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fila de trabalho dos analistas lida em uma única query paginada por keyset sobre as tabelas
+ * de runtime do Camunda, já trazendo as variáveis necessárias para a decisão. As páginas ficam
+ * em um cache de vida curta, invalidado pelos task listeners de criação e conclusão da tarefa.
+ */
+@Service
+public class JdbcFilaAnaliseManualServiceImpl implements FilaAnaliseManualService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcFilaAnaliseManualServiceImpl.class);
+
+    public static final String TAREFA_ANALISE_MANUAL = "user_task_analise_manual";
+
+    private static final int LIMITE_MAXIMO = 500;
+    private static final int MAXIMO_PAGINAS_EM_CACHE = 1024;
+
+    // As tarefas da página são escolhidas primeiro (e ordenadas pelas colunas do índice da fila,
+    // para que o banco pare após o limite); só então as variáveis são juntadas às poucas linhas.
+    private static final String SQL_PAGINA = """
+            SELECT T.ID_, T.PROC_INST_ID_, T.CREATE_TIME_,
+                   V_TX.TEXT_ AS ID_TRANSACAO, V_VALOR.LONG_ AS VALOR_CENTAVOS, V_MOTIVO.TEXT_ AS MOTIVO,
+                   V_NIVEL.TEXT_ AS NIVEL_RISCO, V_JUST.TEXT_ AS JUSTIFICATIVA
+              FROM (SELECT ID_, PROC_INST_ID_, CREATE_TIME_
+                      FROM ACT_RU_TASK
+                     WHERE TASK_DEF_KEY_ = ? AND ASSIGNEE_ = ?
+                     %s
+                     ORDER BY TASK_DEF_KEY_, ASSIGNEE_, CREATE_TIME_, ID_
+                     FETCH FIRST ? ROWS ONLY) T
+              LEFT JOIN ACT_RU_VARIABLE V_TX ON V_TX.VAR_SCOPE_ = T.PROC_INST_ID_ AND V_TX.NAME_ = 'idTransacaoOriginal'
+              LEFT JOIN ACT_RU_VARIABLE V_VALOR ON V_VALOR.VAR_SCOPE_ = T.PROC_INST_ID_ AND V_VALOR.NAME_ = 'valorTransacaoCentavos'
+              LEFT JOIN ACT_RU_VARIABLE V_MOTIVO ON V_MOTIVO.VAR_SCOPE_ = T.PROC_INST_ID_ AND V_MOTIVO.NAME_ = 'motivoDevolucao'
+              LEFT JOIN ACT_RU_VARIABLE V_NIVEL ON V_NIVEL.VAR_SCOPE_ = T.PROC_INST_ID_ AND V_NIVEL.NAME_ = 'nivelRisco'
+              LEFT JOIN ACT_RU_VARIABLE V_JUST ON V_JUST.VAR_SCOPE_ = T.PROC_INST_ID_ AND V_JUST.NAME_ = 'justificativaAnaliseRisco'
+             ORDER BY T.CREATE_TIME_, T.ID_
+            """;
+    private static final String SQL_PRIMEIRA_PAGINA = SQL_PAGINA.formatted("");
+    private static final String SQL_PROXIMA_PAGINA = SQL_PAGINA.formatted(
+            "AND CREATE_TIME_ >= ? AND (CREATE_TIME_ > ? OR ID_ > ?)");
+
+    private static final RowMapper<TarefaAnaliseManual> TAREFA_ROW_MAPPER = (rs, rowNum) -> {
+        long valorCentavos = rs.getLong("VALOR_CENTAVOS");
+        ValorMonetario valor = rs.wasNull() ? null : ValorMonetario.deCentavos(valorCentavos);
+        return new TarefaAnaliseManual(
+                rs.getString("ID_"),
+                rs.getString("PROC_INST_ID_"),
+                rs.getString("ID_TRANSACAO"),
+                valor,
+                rs.getString("MOTIVO"),
+                rs.getString("NIVEL_RISCO"),
+                rs.getString("JUSTIFICATIVA"),
+                rs.getTimestamp("CREATE_TIME_").toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String responsavel;
+    private final long ttlCacheNanos;
+
+    private final Map<ChavePagina, PaginaEmCache> cache = new ConcurrentHashMap<>();
+    private final AtomicLong geracaoCache = new AtomicLong();
+
+    @Autowired
+    public JdbcFilaAnaliseManualServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${pix.analise-manual.responsavel:analista_fraude}") String responsavel,
+            @Value("${pix.analise-manual.cache-ttl:PT2S}") Duration ttlCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.responsavel = responsavel;
+        this.ttlCacheNanos = ttlCache.toNanos();
+    }
+
+    @Override
+    public PaginaFilaAnalise listarTarefas(String cursor, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite da página deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        ChavePagina chave = new ChavePagina(cursor, limite);
+        long agora = System.nanoTime();
+        PaginaEmCache emCache = cache.get(chave);
+        if (emCache != null && agora - emCache.carregadaEmNanos() < ttlCacheNanos) {
+            return emCache.pagina();
+        }
+
+        long geracao = geracaoCache.get();
+        PaginaFilaAnalise pagina = consultar(cursor, limite);
+        if (ttlCacheNanos > 0 && geracaoCache.get() == geracao) {
+            if (cache.size() >= MAXIMO_PAGINAS_EM_CACHE) {
+                cache.clear();
+            }
+            cache.put(chave, new PaginaEmCache(pagina, agora));
+        }
+        return pagina;
+    }
+
+    @Override
+    public void invalidarCache() {
+        geracaoCache.incrementAndGet();
+        cache.clear();
+    }
+
+    private PaginaFilaAnalise consultar(String cursor, int limite) {
+        Cursor posicao = Cursor.decodificar(cursor);
+        List<TarefaAnaliseManual> tarefas = jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(posicao == null ? SQL_PRIMEIRA_PAGINA : SQL_PROXIMA_PAGINA);
+            int parametro = 1;
+            ps.setString(parametro++, TAREFA_ANALISE_MANUAL);
+            ps.setString(parametro++, responsavel);
+            if (posicao != null) {
+                Timestamp criadaEm = new Timestamp(posicao.criadaEmMillis());
+                ps.setTimestamp(parametro++, criadaEm);
+                ps.setTimestamp(parametro++, criadaEm);
+                ps.setString(parametro++, posicao.idTarefa());
+            }
+            ps.setInt(parametro, limite);
+            return ps;
+        }, TAREFA_ROW_MAPPER);
+
+        LOGGER.debug("Fila de análise manual consultada: cursor={}, limite={}, tarefas={}", cursor, limite, tarefas.size());
+
+        String proximoCursor = tarefas.size() < limite
+                ? null
+                : Cursor.codificar(tarefas.get(tarefas.size() - 1));
+        return new PaginaFilaAnalise(tarefas, proximoCursor);
+    }
+
+    private record ChavePagina(String cursor, int limite) {
+    }
+
+    private record PaginaEmCache(PaginaFilaAnalise pagina, long carregadaEmNanos) {
+    }
+
+    private record Cursor(long criadaEmMillis, String idTarefa) {
+
+        private static String codificar(TarefaAnaliseManual ultima) {
+            return ultima.criadaEm().toEpochMilli() + "_" + ultima.idTarefa();
+        }
+
+        private static Cursor decodificar(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            int separador = cursor.indexOf('_');
+            if (separador <= 0 || separador == cursor.length() - 1) {
+                throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+            }
+            try {
+                return new Cursor(Long.parseLong(cursor, 0, separador, 10), cursor.substring(separador + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.GravacaoPerfil;
+import estudo.camunda.services.GravacaoPerfilService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gravações JFR sob demanda. O destino é definido no início, então a gravação vai para
+ * {@code pix.jfr.diretorio/<nome>-<id>.jfr} ao parar, seja pela API, pela duração máxima ou no
+ * desligamento da aplicação. A gravação fica listada até ser parada pela API.
+ * <p>
+ * A configuração é {@code default}, {@code profile} ou o nome de um arquivo {@code .jfc} que está em
+ * {@code pix.jfr.diretorio}; caminhos não são aceitos, porque o parâmetro vem de uma requisição.
+ */
+@Service
+public class JfrGravacaoPerfilServiceImpl implements GravacaoPerfilService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JfrGravacaoPerfilServiceImpl.class);
+
+    private final Path diretorio;
+    private final Map<Long, Gravacao> gravacoes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JfrGravacaoPerfilServiceImpl(@Value("${pix.jfr.diretorio:jfr}") String diretorio) {
+        this.diretorio = Path.of(diretorio).toAbsolutePath();
+    }
+
+    @Override
+    public GravacaoPerfil iniciar(String nome, String configuracao, Duration duracaoMaxima) {
+        if (nome == null || !nome.matches("[A-Za-z0-9_-]{1,64}")) {
+            throw new IllegalArgumentException("Nome de gravação inválido (letras, dígitos, '-' e '_'): " + nome);
+        }
+        if (duracaoMaxima != null && (duracaoMaxima.isNegative() || duracaoMaxima.isZero())) {
+            throw new IllegalArgumentException("A duração máxima deve ser positiva: " + duracaoMaxima);
+        }
+        Recording recording = new Recording(carregarConfiguracao(configuracao));
+        try {
+            Files.createDirectories(diretorio);
+            recording.setName(nome);
+            recording.setToDisk(true);
+            recording.setDestination(diretorio.resolve(nome + "-" + recording.getId() + ".jfr"));
+            if (duracaoMaxima != null) {
+                recording.setDuration(duracaoMaxima);
+            }
+            recording.start();
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException("Não foi possível iniciar a gravação JFR " + nome, e);
+        }
+        Gravacao gravacao = new Gravacao(recording, configuracao);
+        gravacoes.put(recording.getId(), gravacao);
+        LOGGER.info("Gravação JFR {} ({}) iniciada com a configuração {}; destino {}.",
+                recording.getId(), nome, configuracao, recording.getDestination());
+        return gravacao.resumo();
+    }
+
+    @Override
+    public GravacaoPerfil parar(long id) {
+        Gravacao gravacao = gravacoes.remove(id);
+        if (gravacao == null) {
+            throw new NoSuchElementException("Gravação JFR inexistente: " + id);
+        }
+        Recording recording = gravacao.recording();
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        GravacaoPerfil resumo = gravacao.resumo();
+        recording.close();
+        LOGGER.info("Gravação JFR {} parada; arquivo {}.", id, resumo.arquivo());
+        return resumo;
+    }
+
+    @Override
+    public List<GravacaoPerfil> listar() {
+        return gravacoes.values().stream()
+                .map(Gravacao::resumo)
+                .sorted(Comparator.comparingLong(GravacaoPerfil::id))
+                .toList();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        gravacoes.keySet().forEach(this::parar);
+    }
+
+    private Configuration carregarConfiguracao(String configuracao) {
+        if (configuracao == null || !configuracao.matches("default|profile|[A-Za-z0-9_-]{1,64}\\.jfc")) {
+            throw new IllegalArgumentException("Configuração JFR inválida (default, profile ou <nome>.jfc em "
+                    + diretorio + "): " + configuracao);
+        }
+        try {
+            return switch (configuracao) {
+                case "default", "profile" -> Configuration.getConfiguration(configuracao);
+                default -> Configuration.create(diretorio.resolve(configuracao));
+            };
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Configuração JFR inválida: " + configuracao, e);
+        }
+    }
+
+    private record Gravacao(Recording recording, String configuracao) {
+
+        GravacaoPerfil resumo() {
+            return new GravacaoPerfil(recording.getId(), recording.getName(), configuracao,
+                    recording.getState().name(), recording.getStartTime(), String.valueOf(recording.getDestination()));
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DecisaoTarefaRequest;
+import estudo.camunda.dto.ResultadoDecisaoTarefa;
+import estudo.camunda.dto.ResultadoDecisaoTarefa.Situacao;
+import estudo.camunda.dto.ResultadoDecisoesEmLote;
+import estudo.camunda.services.DecisaoAnaliseManualService;
+import jakarta.annotation.PreDestroy;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Conclui decisões de análise manual em lotes: os itens são divididos em blocos de
+ * {@code tamanhoTransacao} tarefas, cada bloco concluído em uma única transação, e no máximo
+ * {@code paralelismo} blocos rodam ao mesmo tempo (o limite vale para todas as requisições).
+ * Se a transação de um bloco falhar, as tarefas dele são refeitas uma a uma para isolar a falha. A tarefa
+ * de análise manual é {@code asyncAfter} no BPMN, então a transação só grava as decisões: notificações e
+ * lançamentos rodam nos jobs seguintes e não se repetem quando o bloco é desfeito e refeito.
+ */
+@Service
+public class LoteDecisaoAnaliseManualServiceImpl implements DecisaoAnaliseManualService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoteDecisaoAnaliseManualServiceImpl.class);
+
+    private static final String VARIAVEL_DECISAO = "decisaoAnalista";
+
+    private final TaskService taskService;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoTransacao;
+    private final int maximoItens;
+    private final ExecutorService executor;
+
+    @Autowired
+    public LoteDecisaoAnaliseManualServiceImpl(
+            TaskService taskService,
+            PlatformTransactionManager transactionManager,
+            @Value("${pix.analise-manual.lote.tamanho-transacao:25}") int tamanhoTransacao,
+            @Value("${pix.analise-manual.lote.paralelismo:4}") int paralelismo,
+            @Value("${pix.analise-manual.lote.maximo-itens:5000}") int maximoItens) {
+        if (tamanhoTransacao <= 0 || paralelismo <= 0 || maximoItens <= 0) {
+            throw new IllegalArgumentException("Tamanho da transação, paralelismo e máximo de itens devem ser positivos.");
+        }
+        this.taskService = taskService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoTransacao = tamanhoTransacao;
+        this.maximoItens = maximoItens;
+        this.executor = Executors.newFixedThreadPool(paralelismo, Thread.ofPlatform().name("decisao-lote-", 0).factory());
+    }
+
+    @Override
+    public ResultadoDecisoesEmLote decidirEmLote(List<DecisaoTarefaRequest> decisoes) {
+        if (decisoes.isEmpty() || decisoes.size() > maximoItens) {
+            throw new IllegalArgumentException("O lote deve ter entre 1 e " + maximoItens + " decisões.");
+        }
+        long inicio = System.nanoTime();
+
+        ResultadoDecisaoTarefa[] resultados = new ResultadoDecisaoTarefa[decisoes.size()];
+        List<Integer> pendentes = new ArrayList<>(decisoes.size());
+        Set<String> vistos = new HashSet<>();
+        for (int i = 0; i < decisoes.size(); i++) {
+            DecisaoTarefaRequest item = decisoes.get(i);
+            if (vistos.add(item.idTarefa())) {
+                pendentes.add(i);
+            } else {
+                resultados[i] = ResultadoDecisaoTarefa.naoConcluida(item, Situacao.DUPLICADA, "Tarefa repetida no lote.");
+            }
+        }
+
+        List<Future<?>> blocos = new ArrayList<>();
+        for (int inicioBloco = 0; inicioBloco < pendentes.size(); inicioBloco += tamanhoTransacao) {
+            List<Integer> bloco = pendentes.subList(inicioBloco, Math.min(inicioBloco + tamanhoTransacao, pendentes.size()));
+            blocos.add(executor.submit(() -> concluirBlocoRegistrandoFalha(decisoes, bloco, resultados)));
+        }
+        for (Future<?> bloco : blocos) {
+            aguardar(bloco);
+        }
+
+        ResultadoDecisoesEmLote resultado = ResultadoDecisoesEmLote.de(List.of(resultados),
+                (System.nanoTime() - inicio) / 1_000_000);
+        LOGGER.info("Lote de decisões da análise manual: {} itens, {} concluídas, {} não concluídas em {} ms.",
+                decisoes.size(), resultado.concluidas(), resultado.naoConcluidas(), resultado.duracaoMillis());
+        return resultado;
+    }
+
+    private void concluirBlocoRegistrandoFalha(List<DecisaoTarefaRequest> decisoes, List<Integer> bloco,
+                                               ResultadoDecisaoTarefa[] resultados) {
+        try {
+            concluirBloco(decisoes, bloco, resultados);
+        } catch (RuntimeException e) {
+            LOGGER.error("Falha ao processar bloco de {} decisões: {}", bloco.size(), e.getMessage(), e);
+            for (int i : bloco) {
+                if (resultados[i] == null) {
+                    resultados[i] = ResultadoDecisaoTarefa.naoConcluida(decisoes.get(i), Situacao.FALHA, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void concluirBloco(List<DecisaoTarefaRequest> decisoes, List<Integer> bloco, ResultadoDecisaoTarefa[] resultados) {
+        String[] idsTarefa = bloco.stream().map(i -> decisoes.get(i).idTarefa()).toArray(String[]::new);
+        Map<String, Task> tarefas = taskService.createTaskQuery().taskIdIn(idsTarefa).list().stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Integer> validas = new ArrayList<>(bloco.size());
+        for (int i : bloco) {
+            DecisaoTarefaRequest item = decisoes.get(i);
+            Task tarefa = tarefas.get(item.idTarefa());
+            if (tarefa == null) {
+                resultados[i] = ResultadoDecisaoTarefa.naoConcluida(item, Situacao.NAO_ENCONTRADA,
+                        "Tarefa não encontrada ou já concluída.");
+            } else if (!JdbcFilaAnaliseManualServiceImpl.TAREFA_ANALISE_MANUAL.equals(tarefa.getTaskDefinitionKey())) {
+                resultados[i] = ResultadoDecisaoTarefa.naoConcluida(item, Situacao.TAREFA_INVALIDA,
+                        "A tarefa não é de análise manual: " + tarefa.getTaskDefinitionKey());
+            } else {
+                validas.add(i);
+            }
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> validas.forEach(i -> concluir(decisoes.get(i))));
+            validas.forEach(i -> resultados[i] = ResultadoDecisaoTarefa.concluida(decisoes.get(i)));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Transação do bloco de {} decisões falhou ({}); concluindo as tarefas individualmente.",
+                    validas.size(), e.getMessage());
+            for (int i : validas) {
+                resultados[i] = concluirIndividualmente(decisoes.get(i));
+            }
+        }
+    }
+
+    private ResultadoDecisaoTarefa concluirIndividualmente(DecisaoTarefaRequest item) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> concluir(item));
+            return ResultadoDecisaoTarefa.concluida(item);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Falha ao concluir a tarefa {} com decisão {}: {}", item.idTarefa(), item.decisao(), e.getMessage());
+            return ResultadoDecisaoTarefa.naoConcluida(item, Situacao.FALHA, e.getMessage());
+        }
+    }
+
+    private void concluir(DecisaoTarefaRequest item) {
+        taskService.complete(item.idTarefa(), Map.of(VARIAVEL_DECISAO, item.decisao().name()));
+    }
+
+    private static void aguardar(Future<?> bloco) {
+        try {
+            bloco.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o lote de decisões.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha inesperada no lote de decisões.", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+}
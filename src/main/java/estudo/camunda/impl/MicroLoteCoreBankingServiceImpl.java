@@ -0,0 +1,172 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DevolucaoFinanceira;
+import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.CoreBankingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-lotes de devoluções: cada {@link #efetuarDevolucaoFinanceira} entra em uma fila e espera o
+ * seu resultado, enquanto uma thread despachante junta as devoluções que chegam ao mesmo tempo em
+ * lotes de até {@code tamanhoMaximo} itens, esperando no máximo {@code esperaMaxima} pelo lote encher,
+ * e os envia com {@link CoreBankingService#efetuarDevolucoesEmLote}. No máximo {@code lotesSimultaneos}
+ * lotes ficam em voo; enquanto estão todos ocupados, o próximo lote continua crescendo. Com
+ * {@code tamanhoMaximo} 1 as devoluções vão direto ao core banking, sem fila.
+ */
+@Primary
+@Service
+public class MicroLoteCoreBankingServiceImpl implements CoreBankingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MicroLoteCoreBankingServiceImpl.class);
+
+    private record Pendente(DevolucaoFinanceira devolucao, CompletableFuture<ResultadoOperacaoFinanceira> resultado) {
+    }
+
+    private final CoreBankingService coreBankingService;
+    private final int tamanhoMaximo;
+    private final long esperaMaximaNanos;
+    private final BlockingQueue<Pendente> fila = new LinkedBlockingQueue<>();
+    private final Semaphore lotesEmVoo;
+    private final ExecutorService envio;
+    private final Thread despachante;
+
+    @Autowired
+    public MicroLoteCoreBankingServiceImpl(
+            @Qualifier("resilienteCoreBankingServiceImpl") CoreBankingService coreBankingService,
+            @Value("${pix.core-banking.lote.tamanho-maximo:32}") int tamanhoMaximo,
+            @Value("${pix.core-banking.lote.espera-maxima:PT0.002S}") Duration esperaMaxima,
+            @Value("${pix.core-banking.lote.lotes-simultaneos:4}") int lotesSimultaneos) {
+        if (tamanhoMaximo <= 0 || lotesSimultaneos <= 0 || esperaMaxima.isNegative()) {
+            throw new IllegalArgumentException("Tamanho do lote e lotes simultâneos devem ser positivos e a espera não negativa.");
+        }
+        this.coreBankingService = coreBankingService;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.lotesEmVoo = new Semaphore(lotesSimultaneos);
+        this.envio = Executors.newFixedThreadPool(lotesSimultaneos, Thread.ofPlatform().name("core-banking-lote-", 0).daemon().factory());
+        this.despachante = tamanhoMaximo == 1 ? null
+                : Thread.ofPlatform().name("core-banking-despachante").daemon().start(this::despachar);
+    }
+
+    @Override
+    public ResultadoOperacaoFinanceira efetuarDevolucaoFinanceira(
+            String idOperacaoDevolucao,
+            String identificadorContaDebito,
+            String identificadorContaCredito,
+            ValorMonetario valor) {
+        if (despachante == null) {
+            return coreBankingService.efetuarDevolucaoFinanceira(idOperacaoDevolucao, identificadorContaDebito,
+                    identificadorContaCredito, valor);
+        }
+        Pendente pendente = new Pendente(
+                new DevolucaoFinanceira(idOperacaoDevolucao, identificadorContaDebito, identificadorContaCredito, valor),
+                new CompletableFuture<>());
+        fila.add(pendente);
+        if (!despachante.isAlive() && fila.remove(pendente)) {
+            throw new IllegalStateException("Despachante de lotes do core banking encerrado.");
+        }
+        try {
+            return pendente.resultado().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException falha) {
+                throw falha;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ResultadoOperacaoFinanceira> efetuarDevolucoesEmLote(List<DevolucaoFinanceira> devolucoes) {
+        return coreBankingService.efetuarDevolucoesEmLote(devolucoes);
+    }
+
+    private void despachar() {
+        List<Pendente> lote = new ArrayList<>(tamanhoMaximo);
+        try {
+            while (true) {
+                lote.add(fila.take());
+                long limite = System.nanoTime() + esperaMaximaNanos;
+                while (lote.size() < tamanhoMaximo) {
+                    if (fila.drainTo(lote, tamanhoMaximo - lote.size()) > 0) {
+                        continue;
+                    }
+                    long restante = limite - System.nanoTime();
+                    Pendente proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : null;
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+                lotesEmVoo.acquire();
+                // O que chegou enquanto esperava uma vaga vai no mesmo lote
+                fila.drainTo(lote, tamanhoMaximo - lote.size());
+                List<Pendente> enviar = List.copyOf(lote);
+                lote.clear();
+                try {
+                    envio.execute(() -> {
+                        try {
+                            enviar(enviar);
+                        } finally {
+                            lotesEmVoo.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    lote.addAll(enviar);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        IllegalStateException encerrado = new IllegalStateException("Despachante de lotes do core banking encerrado.");
+        lote.forEach(pendente -> pendente.resultado().completeExceptionally(encerrado));
+        fila.forEach(pendente -> pendente.resultado().completeExceptionally(encerrado));
+    }
+
+    private void enviar(List<Pendente> lote) {
+        try {
+            List<ResultadoOperacaoFinanceira> resultados = coreBankingService.efetuarDevolucoesEmLote(
+                    lote.stream().map(Pendente::devolucao).toList());
+            if (resultados.size() != lote.size()) {
+                throw new IllegalStateException("Core banking devolveu " + resultados.size()
+                        + " resultados para um lote de " + lote.size() + " devoluções.");
+            }
+            for (int i = 0; i < lote.size(); i++) {
+                lote.get(i).resultado().complete(resultados.get(i));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Falha ao enviar lote de {} devoluções ao core banking: {}", lote.size(), e.getMessage(), e);
+            lote.forEach(pendente -> pendente.resultado().completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (despachante != null) {
+            despachante.interrupt();
+        }
+        envio.shutdown();
+    }
+
+}
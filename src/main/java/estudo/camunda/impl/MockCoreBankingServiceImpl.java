@@ -1,57 +1,133 @@
 package estudo.camunda.impl;
 
+import estudo.camunda.dto.CpfCnpj;
+import estudo.camunda.dto.DevolucaoFinanceira;
 import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.jfr.EsperaLockRazaoEvento;
 import estudo.camunda.services.CoreBankingService;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class MockCoreBankingServiceImpl implements CoreBankingService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MockCoreBankingServiceImpl.class);
 
-    private static final Map<String, BigDecimal> saldosContasMock = new HashMap<>(Map.of(
-            "55566677788", new BigDecimal("1000.00"),
-            "88899900011", new BigDecimal("500.00"),
-            "11122233344", new BigDecimal("200.00"),
-            "22233344455", new BigDecimal("300.00"),
-            "CONTA_SEM_SALDO_MOCK", new BigDecimal("5.00")
+    /** Saldos indexados por {@link CpfCnpj#chave(CharSequence)}: documento com ou sem pontuação, mesma conta. */
+    private static final Map<Long, AtomicLong> saldosContasMock = new HashMap<>(Map.of(
+            CpfCnpj.chave("55566677720"), new AtomicLong(100_000L),
+            CpfCnpj.chave("88899900078"), new AtomicLong(50_000L),
+            CpfCnpj.chave("11122233396"), new AtomicLong(20_000L),
+            CpfCnpj.chave("22233344405"), new AtomicLong(30_000L),
+            CpfCnpj.chave("CONTA_SEM_SALDO_MOCK"), new AtomicLong(500L)
     ));
 
     private static final String CONTA_BLOQUEADA_MOCK = "CONTA_BLOQUEADA_MOCK";
+    private static final int CAPACIDADE_IDEMPOTENCIA_PADRAO = 65_536;
+
+    private final IndiceIdempotencia indiceIdempotencia;
+
+    public MockCoreBankingServiceImpl() {
+        this(new IndiceIdempotencia(CAPACIDADE_IDEMPOTENCIA_PADRAO, null));
+    }
+
+    @Autowired
+    public MockCoreBankingServiceImpl(
+            @Value("${pix.core-banking.idempotencia.capacidade:65536}") int capacidadeIdempotencia,
+            @Value("${pix.core-banking.idempotencia.arquivo:}") String arquivoIdempotencia) {
+        this(new IndiceIdempotencia(capacidadeIdempotencia,
+                arquivoIdempotencia.isBlank() ? null : Path.of(arquivoIdempotencia)));
+    }
+
+    MockCoreBankingServiceImpl(IndiceIdempotencia indiceIdempotencia) {
+        this.indiceIdempotencia = indiceIdempotencia;
+    }
 
     @Override
     public ResultadoOperacaoFinanceira efetuarDevolucaoFinanceira(
             String idOperacaoDevolucao,
             String identificadorContaDebito,
             String identificadorContaCredito,
-            BigDecimal valor) {
+            ValorMonetario valor) {
 
         LOGGER.info("Core Banking (Mock): Iniciando processamento financeiro para devolução ID {}", idOperacaoDevolucao);
+        EsperaLockRazaoEvento espera = new EsperaLockRazaoEvento();
+        espera.begin();
+        synchronized (saldosContasMock) {
+            espera.adquirido(1);
+            ResultadoOperacaoFinanceira resultado = lancar(idOperacaoDevolucao, identificadorContaDebito, identificadorContaCredito, valor);
+            indiceIdempotencia.sincronizar();
+            return resultado;
+        }
+    }
+
+    /** Lança o lote inteiro com uma única aquisição do lock da razão. */
+    @Override
+    public List<ResultadoOperacaoFinanceira> efetuarDevolucoesEmLote(List<DevolucaoFinanceira> devolucoes) {
+        LOGGER.info("Core Banking (Mock): Iniciando processamento financeiro de lote com {} devoluções", devolucoes.size());
+        List<ResultadoOperacaoFinanceira> resultados = new ArrayList<>(devolucoes.size());
+        EsperaLockRazaoEvento espera = new EsperaLockRazaoEvento();
+        espera.begin();
+        synchronized (saldosContasMock) {
+            espera.adquirido(devolucoes.size());
+            for (DevolucaoFinanceira devolucao : devolucoes) {
+                resultados.add(lancar(devolucao.idOperacaoDevolucao(), devolucao.identificadorContaDebito(),
+                        devolucao.identificadorContaCredito(), devolucao.valor()));
+            }
+            indiceIdempotencia.sincronizar();
+        }
+        return resultados;
+    }
 
+    @PreDestroy
+    public void encerrar() {
+        indiceIdempotencia.close();
+    }
+
+    /** Uma operação já vista devolve o resultado original, sem lançar de novo. */
+    private ResultadoOperacaoFinanceira lancar(String idOperacaoDevolucao, String identificadorContaDebito,
+                                               String identificadorContaCredito, ValorMonetario valor) {
+        ResultadoOperacaoFinanceira original = indiceIdempotencia.buscar(idOperacaoDevolucao);
+        if (original != null) {
+            LOGGER.info("Core Banking (Mock): Devolução {} já processada; devolvendo o resultado original.", idOperacaoDevolucao);
+            return original;
+        }
+        ResultadoOperacaoFinanceira resultado = lancarNaRazao(idOperacaoDevolucao, identificadorContaDebito, identificadorContaCredito, valor);
+        indiceIdempotencia.registrar(idOperacaoDevolucao, resultado);
+        return resultado;
+    }
+
+    private ResultadoOperacaoFinanceira lancarNaRazao(String idOperacaoDevolucao, String identificadorContaDebito,
+                                                      String identificadorContaCredito, ValorMonetario valor) {
         if (CONTA_BLOQUEADA_MOCK.equals(identificadorContaDebito)) {
             return logAndReturnFalha(idOperacaoDevolucao, "Conta de débito " + identificadorContaDebito + " está bloqueada.");
         }
 
-        synchronized (saldosContasMock) {
-            BigDecimal saldoContaDebito = saldosContasMock.getOrDefault(identificadorContaDebito, BigDecimal.ZERO);
-
-            if (saldoContaDebito.compareTo(valor) < 0) {
-                return logAndReturnFalha(idOperacaoDevolucao, String.format(
-                        "Saldo insuficiente (R$ %.2f) na conta de débito %s para devolver R$ %.2f.",
-                        saldoContaDebito, identificadorContaDebito, valor));
-            }
+        long valorCentavos = valor.centavos();
+        AtomicLong saldoContaDebito = saldosContasMock.get(CpfCnpj.chave(identificadorContaDebito));
+        long saldoDebitoCentavos = saldoContaDebito == null ? 0L : saldoContaDebito.get();
 
-            atualizarSaldo(identificadorContaDebito, saldoContaDebito.subtract(valor), "Débito");
-            atualizarSaldo(identificadorContaCredito, saldosContasMock.getOrDefault(identificadorContaCredito, BigDecimal.ZERO).add(valor), "Crédito");
+        if (saldoDebitoCentavos < valorCentavos) {
+            return logAndReturnFalha(idOperacaoDevolucao, "Saldo insuficiente (R$ " + ValorMonetario.deCentavos(saldoDebitoCentavos).formatado()
+                    + ") na conta de débito " + identificadorContaDebito + " para devolver R$ " + valor.formatado() + ".");
         }
 
-        String mensagemSucesso = String.format("Devolução financeira %s de R$ %.2f processada com sucesso.", idOperacaoDevolucao, valor);
+        atualizarSaldo(identificadorContaDebito, -valorCentavos, "Débito");
+        atualizarSaldo(identificadorContaCredito, valorCentavos, "Crédito");
+
+        String mensagemSucesso = "Devolução financeira " + idOperacaoDevolucao + " de R$ " + valor.formatado() + " processada com sucesso.";
         LOGGER.info("Core Banking (Mock): {}", mensagemSucesso);
         return ResultadoOperacaoFinanceira.sucesso(idOperacaoDevolucao, mensagemSucesso);
     }
@@ -61,12 +137,13 @@ public class MockCoreBankingServiceImpl implements CoreBankingService {
         return ResultadoOperacaoFinanceira.falha(mensagemFalha);
     }
 
-    private void atualizarSaldo(String identificadorConta, BigDecimal novoSaldo, String operacao) {
-        BigDecimal saldoAnterior = saldosContasMock.getOrDefault(identificadorConta, BigDecimal.ZERO);
-        BigDecimal valorOperacao = novoSaldo.subtract(saldoAnterior).abs();
-        saldosContasMock.put(identificadorConta, novoSaldo);
-        LOGGER.info("Core Banking (Mock): {} de R$ {} na conta {} realizado. Novo saldo: R$ {}",
-                operacao, valorOperacao, identificadorConta, novoSaldo);
+    private void atualizarSaldo(String identificadorConta, long deltaCentavos, String operacao) {
+        long novoSaldo = saldosContasMock.computeIfAbsent(CpfCnpj.chave(identificadorConta), conta -> new AtomicLong())
+                .addAndGet(deltaCentavos);
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Core Banking (Mock): {} de R$ {} na conta {} realizado. Novo saldo: R$ {}",
+                    operacao, ValorMonetario.deCentavos(Math.abs(deltaCentavos)), identificadorConta, ValorMonetario.deCentavos(novoSaldo));
+        }
     }
 
 }
@@ -0,0 +1,377 @@
+package estudo.camunda.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import estudo.camunda.config.ProcessoDevolucaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.ResultadoImportacao;
+import estudo.camunda.dto.ResultadoImportacao.Erro;
+import estudo.camunda.dto.ResultadoImportacao.Etapa;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.services.ImportacaoSolicitacoesService;
+import jakarta.annotation.PreDestroy;
+import org.camunda.bpm.engine.RuntimeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Importa solicitações em NDJSON por um pipeline limitado: a thread da requisição lê o arquivo e
+ * agrupa as linhas em blocos de {@code tamanhoTransacao}; no máximo {@code blocosEmVoo} blocos por
+ * importação ficam na fila ou em execução nas {@code paralelismo} threads de trabalho, que fazem o
+ * parse, a validação e o início dos processos de cada bloco em uma única transação. A mesma
+ * transação grava o intervalo de linhas em {@code PIX_IMPORTACAO_BLOCO} ({@code db/schema-pix.sql}), o checkpoint usado para
+ * retomar uma importação interrompida. Se a transação do bloco falhar, os registros são iniciados
+ * um a um; os que falharem de novo ficam sem checkpoint e são tentados na retomada. As notificações
+ * disparadas no início dos processos só saem após o commit, então um bloco desfeito não notifica.
+ */
+@Service
+public class NdjsonImportacaoSolicitacoesServiceImpl implements ImportacaoSolicitacoesService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NdjsonImportacaoSolicitacoesServiceImpl.class);
+
+    private static final int TAMANHO_MAXIMO_ID = 100;
+
+    private static final String SQL_CONFIRMAR_BLOCO =
+            "INSERT INTO PIX_IMPORTACAO_BLOCO (ID_IMPORTACAO, LINHA_INICIAL, LINHA_FINAL, INICIADAS) VALUES (?, ?, ?, ?)";
+    private static final String SQL_BLOCOS_CONFIRMADOS =
+            "SELECT LINHA_INICIAL, LINHA_FINAL FROM PIX_IMPORTACAO_BLOCO WHERE ID_IMPORTACAO = ? ORDER BY LINHA_INICIAL";
+
+    private final RuntimeService runtimeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int tamanhoTransacao;
+    private final int blocosEmVoo;
+    private final int maximoErrosDetalhados;
+    private final ExecutorService executor;
+
+    private final Map<String, Andamento> emAndamento = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NdjsonImportacaoSolicitacoesServiceImpl(
+            RuntimeService runtimeService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${pix.importacao.tamanho-transacao:200}") int tamanhoTransacao,
+            @Value("${pix.importacao.paralelismo:2}") int paralelismo,
+            @Value("${pix.importacao.blocos-em-voo:8}") int blocosEmVoo,
+            @Value("${pix.importacao.maximo-erros-detalhados:100}") int maximoErrosDetalhados) {
+        if (tamanhoTransacao <= 0 || paralelismo <= 0 || blocosEmVoo <= 0 || maximoErrosDetalhados < 0) {
+            throw new IllegalArgumentException("Tamanho da transação, paralelismo e blocos em voo devem ser positivos.");
+        }
+        this.runtimeService = runtimeService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.tamanhoTransacao = tamanhoTransacao;
+        this.blocosEmVoo = blocosEmVoo;
+        this.maximoErrosDetalhados = maximoErrosDetalhados;
+        this.executor = Executors.newFixedThreadPool(paralelismo, Thread.ofPlatform().name("importacao-", 0).factory());
+    }
+
+    @Override
+    public ResultadoImportacao importar(String idImportacao, InputStream ndjson) {
+        if (idImportacao == null || idImportacao.isBlank() || idImportacao.length() > TAMANHO_MAXIMO_ID) {
+            throw new IllegalArgumentException("O ID da importação deve ter entre 1 e " + TAMANHO_MAXIMO_ID + " caracteres.");
+        }
+        Andamento andamento = new Andamento(idImportacao, maximoErrosDetalhados);
+        if (emAndamento.putIfAbsent(idImportacao, andamento) != null) {
+            throw new IllegalStateException("A importação " + idImportacao + " já está em andamento.");
+        }
+        boolean concluida;
+        try {
+            concluida = ler(andamento, ndjson, LinhasConfirmadas.carregar(jdbcTemplate, idImportacao));
+        } finally {
+            emAndamento.remove(idImportacao);
+        }
+
+        ResultadoImportacao resultado = andamento.resultado(concluida);
+        LOGGER.info("Importação {} {}: {} lidas, {} já confirmadas, {} iniciadas, erros de leitura/validação/início {}/{}/{}, "
+                        + "{} ms ({} registros/s).",
+                idImportacao, concluida ? "concluída" : "interrompida", resultado.lidas(), resultado.puladasPorCheckpoint(),
+                resultado.iniciadas(), resultado.errosLeitura(), resultado.errosValidacao(), resultado.errosInicio(),
+                resultado.duracaoMillis(), Math.round(resultado.registrosPorSegundo()));
+        return resultado;
+    }
+
+    @Override
+    public Optional<ResultadoImportacao> consultarAndamento(String idImportacao) {
+        return Optional.ofNullable(emAndamento.get(idImportacao)).map(andamento -> andamento.resultado(false));
+    }
+
+    /** Lê o arquivo despachando os blocos; devolve {@code false} se a leitura foi interrompida. */
+    private boolean ler(Andamento andamento, InputStream ndjson, LinhasConfirmadas confirmadas) {
+        Semaphore vagas = new Semaphore(blocosEmVoo);
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            Bloco bloco = null;
+            long numero = 0;
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                andamento.lidas.increment();
+                if (confirmadas.contem(numero)) {
+                    andamento.puladas.increment();
+                    continue;
+                }
+                if (bloco == null) {
+                    bloco = new Bloco(tamanhoTransacao);
+                }
+                bloco.adicionar(numero, linha);
+                if (bloco.cheio()) {
+                    despachar(andamento, bloco, vagas);
+                    bloco = null;
+                }
+            }
+            if (bloco != null) {
+                despachar(andamento, bloco, vagas);
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Leitura da importação {} interrompida: {}", andamento.idImportacao, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Importação {} interrompida aguardando vaga no pipeline.", andamento.idImportacao);
+            return false;
+        } finally {
+            // Os blocos já despachados terminam (e gravam seus checkpoints) antes do resultado
+            vagas.acquireUninterruptibly(blocosEmVoo);
+        }
+    }
+
+    private void despachar(Andamento andamento, Bloco bloco, Semaphore vagas) throws InterruptedException {
+        vagas.acquire();
+        try {
+            executor.execute(() -> {
+                try {
+                    processarBloco(andamento, bloco);
+                } finally {
+                    vagas.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            vagas.release();
+            throw e;
+        }
+    }
+
+    private void processarBloco(Andamento andamento, Bloco bloco) {
+        List<Registro> validos = new ArrayList<>(bloco.tamanho);
+        for (int i = 0; i < bloco.tamanho; i++) {
+            Registro registro = interpretar(andamento, bloco.numeros[i], bloco.linhas[i]);
+            if (registro != null) {
+                validos.add(registro);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                validos.forEach(registro -> iniciar(registro.solicitacao()));
+                confirmar(andamento.idImportacao, bloco.linhaInicial(), bloco.linhaFinal(), validos.size());
+            });
+            andamento.iniciadas.add(validos.size());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Transação do bloco de linhas {}-{} da importação {} falhou ({}); iniciando os registros individualmente.",
+                    bloco.linhaInicial(), bloco.linhaFinal(), andamento.idImportacao, e.getMessage());
+            for (Registro registro : validos) {
+                iniciarIndividualmente(andamento, registro);
+            }
+        }
+    }
+
+    private Registro interpretar(Andamento andamento, long numero, String linha) {
+        SolicitacaoDevolucaoRequest solicitacao;
+        try {
+            solicitacao = objectMapper.readValue(linha, SolicitacaoDevolucaoRequest.class);
+        } catch (ValueInstantiationException e) {
+            // O construtor do record rejeitou os campos
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            andamento.registrarErro(numero, Etapa.VALIDACAO, causa.getMessage());
+            return null;
+        } catch (JsonProcessingException e) {
+            andamento.registrarErro(numero, Etapa.LEITURA, e.getOriginalMessage());
+            return null;
+        }
+        if (solicitacao == null) {
+            andamento.registrarErro(numero, Etapa.LEITURA, "Registro nulo.");
+            return null;
+        }
+        if (MotivoDevolucao.parse(solicitacao.motivo()) == null) {
+            andamento.registrarErro(numero, Etapa.VALIDACAO,
+                    "Motivo de devolução não aceito pelo MED: " + solicitacao.motivo());
+            return null;
+        }
+        return new Registro(numero, solicitacao);
+    }
+
+    private void iniciarIndividualmente(Andamento andamento, Registro registro) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                iniciar(registro.solicitacao());
+                confirmar(andamento.idImportacao, registro.linha(), registro.linha(), 1);
+            });
+            andamento.iniciadas.increment();
+        } catch (RuntimeException e) {
+            andamento.registrarErro(registro.linha(), Etapa.INICIO, e.getMessage());
+        }
+    }
+
+    private void iniciar(SolicitacaoDevolucaoRequest solicitacao) {
+        runtimeService.startProcessInstanceByKey(ProcessoDevolucaoPix.PROCESS_DEFINITION_KEY,
+                ProcessoDevolucaoPix.variaveisIniciais(solicitacao));
+    }
+
+    private void confirmar(String idImportacao, long linhaInicial, long linhaFinal, int iniciadas) {
+        jdbcTemplate.update(SQL_CONFIRMAR_BLOCO, idImportacao, linhaInicial, linhaFinal, iniciadas);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private record Registro(long linha, SolicitacaoDevolucaoRequest solicitacao) {
+    }
+
+    private static final class Bloco {
+
+        private final long[] numeros;
+        private final String[] linhas;
+        private int tamanho;
+
+        Bloco(int capacidade) {
+            this.numeros = new long[capacidade];
+            this.linhas = new String[capacidade];
+        }
+
+        void adicionar(long numero, String linha) {
+            numeros[tamanho] = numero;
+            linhas[tamanho++] = linha;
+        }
+
+        boolean cheio() {
+            return tamanho == linhas.length;
+        }
+
+        long linhaInicial() {
+            return numeros[0];
+        }
+
+        long linhaFinal() {
+            return numeros[tamanho - 1];
+        }
+    }
+
+    /**
+     * Intervalos de linhas já confirmados, unidos e ordenados. As consultas chegam em ordem
+     * crescente de linha, então um cursor sobre os intervalos basta.
+     */
+    private static final class LinhasConfirmadas {
+
+        private final long[] inicios;
+        private final long[] fins;
+        private int cursor;
+
+        private LinhasConfirmadas(long[] inicios, long[] fins) {
+            this.inicios = inicios;
+            this.fins = fins;
+        }
+
+        static LinhasConfirmadas carregar(JdbcTemplate jdbcTemplate, String idImportacao) {
+            List<long[]> intervalos = jdbcTemplate.query(SQL_BLOCOS_CONFIRMADOS,
+                    (rs, rowNum) -> new long[]{rs.getLong("LINHA_INICIAL"), rs.getLong("LINHA_FINAL")}, idImportacao);
+            long[] inicios = new long[intervalos.size()];
+            long[] fins = new long[intervalos.size()];
+            int quantidade = 0;
+            for (long[] intervalo : intervalos) {
+                if (quantidade > 0 && intervalo[0] <= fins[quantidade - 1] + 1) {
+                    fins[quantidade - 1] = Math.max(fins[quantidade - 1], intervalo[1]);
+                } else {
+                    inicios[quantidade] = intervalo[0];
+                    fins[quantidade++] = intervalo[1];
+                }
+            }
+            return new LinhasConfirmadas(Arrays.copyOf(inicios, quantidade), Arrays.copyOf(fins, quantidade));
+        }
+
+        boolean contem(long linha) {
+            while (cursor < fins.length && fins[cursor] < linha) {
+                cursor++;
+            }
+            return cursor < fins.length && inicios[cursor] <= linha;
+        }
+    }
+
+    private static final class Andamento {
+
+        private final String idImportacao;
+        private final int maximoErrosDetalhados;
+        private final long inicioNanos = System.nanoTime();
+        private final LongAdder lidas = new LongAdder();
+        private final LongAdder puladas = new LongAdder();
+        private final LongAdder iniciadas = new LongAdder();
+        private final LongAdder[] errosPorEtapa = new LongAdder[Etapa.values().length];
+        private final List<Erro> erros = new ArrayList<>();
+
+        Andamento(String idImportacao, int maximoErrosDetalhados) {
+            this.idImportacao = idImportacao;
+            this.maximoErrosDetalhados = maximoErrosDetalhados;
+            for (int i = 0; i < errosPorEtapa.length; i++) {
+                errosPorEtapa[i] = new LongAdder();
+            }
+        }
+
+        void registrarErro(long linha, Etapa etapa, String mensagem) {
+            errosPorEtapa[etapa.ordinal()].increment();
+            synchronized (erros) {
+                if (erros.size() < maximoErrosDetalhados) {
+                    erros.add(new Erro(linha, etapa, mensagem));
+                }
+            }
+        }
+
+        ResultadoImportacao resultado(boolean concluida) {
+            long decorridoNanos = System.nanoTime() - inicioNanos;
+            long lidasAgora = lidas.sum();
+            long puladasAgora = puladas.sum();
+            double registrosPorSegundo = decorridoNanos > 0 ? (lidasAgora - puladasAgora) * 1e9 / decorridoNanos : 0;
+            List<Erro> copiaErros;
+            synchronized (erros) {
+                copiaErros = List.copyOf(erros);
+            }
+            return new ResultadoImportacao(idImportacao, concluida, lidasAgora, puladasAgora, iniciadas.sum(),
+                    errosPorEtapa[Etapa.LEITURA.ordinal()].sum(), errosPorEtapa[Etapa.VALIDACAO.ordinal()].sum(),
+                    errosPorEtapa[Etapa.INICIO.ordinal()].sum(), decorridoNanos / 1_000_000, registrosPorSegundo,
+                    copiaErros);
+        }
+    }
+
+}
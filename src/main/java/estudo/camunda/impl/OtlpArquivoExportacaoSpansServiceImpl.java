@@ -0,0 +1,196 @@
+package estudo.camunda.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import estudo.camunda.rastreio.Span;
+import estudo.camunda.services.ExportacaoSpansService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exporta spans para {@code pix.rastreio.arquivo} no formato do file exporter do OpenTelemetry
+ * Collector: cada linha é um {@code ExportTraceServiceRequest} em OTLP/JSON com um lote de spans,
+ * que pode ser lido pelo receiver {@code otlpjsonfile} ou pelo {@code CascataSpans}. Os spans passam
+ * por uma fila de {@code pix.rastreio.fila} posições e uma thread própria grava os lotes; com a fila
+ * cheia, o span é descartado e contado. Sem arquivo configurado, nada é exportado.
+ */
+@Service
+public class OtlpArquivoExportacaoSpansServiceImpl implements ExportacaoSpansService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OtlpArquivoExportacaoSpansServiceImpl.class);
+
+    private static final int TAMANHO_LOTE = 512;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String servico;
+    private final String no;
+    private final BlockingQueue<Span> fila;
+    private final OutputStream saida;
+    private final Thread gravador;
+    private final AtomicLong descartados = new AtomicLong();
+    private volatile boolean encerrando;
+
+    @Autowired
+    public OtlpArquivoExportacaoSpansServiceImpl(
+            @Value("${pix.rastreio.arquivo:}") String arquivo,
+            @Value("${pix.rastreio.fila:8192}") int capacidadeFila,
+            @Value("${pix.rastreio.servico:pix-devolucao}") String servico,
+            @Value("${pix.cluster.no-id:}") String no) {
+        this.servico = servico;
+        this.no = no;
+        if (arquivo == null || arquivo.isBlank()) {
+            this.fila = null;
+            this.saida = null;
+            this.gravador = null;
+            return;
+        }
+        try {
+            Path caminho = Path.of(arquivo).toAbsolutePath();
+            Files.createDirectories(caminho.getParent());
+            this.saida = Files.newOutputStream(caminho, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o arquivo de spans " + arquivo, e);
+        }
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.gravador = Thread.ofPlatform().name("exportador-spans").daemon().start(this::gravarLotes);
+        LOGGER.info("Spans exportados em OTLP/JSON para {}.", Path.of(arquivo).toAbsolutePath());
+    }
+
+    @Override
+    public boolean ativo() {
+        return fila != null;
+    }
+
+    @Override
+    public void exportar(Span span) {
+        if (fila != null && !fila.offer(span)) {
+            descartados.incrementAndGet();
+        }
+    }
+
+    public long descartados() {
+        return descartados.get();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (gravador == null) {
+            return;
+        }
+        encerrando = true;
+        try {
+            gravador.join(TimeUnit.SECONDS.toMillis(5));
+            saida.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.warn("Falha ao fechar o arquivo de spans: {}", e.getMessage());
+        }
+        if (descartados.get() > 0) {
+            LOGGER.warn("{} spans descartados com a fila de exportação cheia.", descartados.get());
+        }
+    }
+
+    private void gravarLotes() {
+        List<Span> lote = new ArrayList<>(TAMANHO_LOTE);
+        while (!encerrando || !fila.isEmpty()) {
+            try {
+                Span primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, TAMANHO_LOTE - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Falha ao gravar {} spans: {}", lote.size(), e.getMessage());
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    /** Um {@code ExportTraceServiceRequest} por linha; IDs em hexadecimal e instantes como texto, como no OTLP/JSON. */
+    private void gravar(List<Span> lote) throws IOException {
+        try (JsonGenerator json = JSON.createGenerator(saida)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.writeStartObject();
+            json.writeArrayFieldStart("resourceSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("resource");
+            json.writeArrayFieldStart("attributes");
+            atributo(json, "service.name", servico);
+            if (no != null && !no.isBlank()) {
+                atributo(json, "service.instance.id", no);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeArrayFieldStart("scopeSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("scope");
+            json.writeStringField("name", "estudo.camunda");
+            json.writeEndObject();
+            json.writeArrayFieldStart("spans");
+            for (Span span : lote) {
+                json.writeStartObject();
+                json.writeStringField("traceId", span.traceId());
+                json.writeStringField("spanId", span.spanId());
+                if (span.parentSpanId() != null) {
+                    json.writeStringField("parentSpanId", span.parentSpanId());
+                }
+                json.writeStringField("name", span.nome());
+                json.writeNumberField("kind", span.tipo());
+                json.writeStringField("startTimeUnixNano", Long.toString(span.inicioEpochNanos()));
+                json.writeStringField("endTimeUnixNano", Long.toString(span.fimEpochNanos()));
+                json.writeArrayFieldStart("attributes");
+                for (Map.Entry<String, String> atributo : span.atributos().entrySet()) {
+                    atributo(json, atributo.getKey(), atributo.getValue());
+                }
+                json.writeEndArray();
+                json.writeObjectFieldStart("status");
+                json.writeNumberField("code", span.erro() ? 2 : 1);
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        saida.write('\n');
+        saida.flush();
+    }
+
+    private static void atributo(JsonGenerator json, String chave, String valor) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", chave);
+        json.writeObjectFieldStart("value");
+        json.writeStringField("stringValue", valor);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+}
@@ -0,0 +1,139 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.ResultadoAnaliseRisco;
+import estudo.camunda.dto.ResultadoPreVerificacao;
+import estudo.camunda.dto.ResultadoValidacao;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.services.AnaliseRiscoService;
+import estudo.camunda.services.PreVerificacaoService;
+import estudo.camunda.services.ValidacaoSolicitacaoService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pré-verificação que busca a transação original uma vez e, com ela em mãos, roda a análise de
+ * risco em um pool limitado enquanto a thread do chamador confere titularidade, prazo e motivo. Se a
+ * validação falhar, a análise em andamento é cancelada e a falha é devolvida sem esperar por ela.
+ * Com a fila do pool cheia, a análise roda na thread do chamador depois da validação, como na
+ * execução sequencial.
+ */
+@Service
+public class ParalelaPreVerificacaoServiceImpl implements PreVerificacaoService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParalelaPreVerificacaoServiceImpl.class);
+
+    private final ValidacaoSolicitacaoService validacaoService;
+    private final AnaliseRiscoService analiseRiscoService;
+    private final boolean habilitada;
+    private final long timeoutNanos;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public ParalelaPreVerificacaoServiceImpl(
+            ValidacaoSolicitacaoService validacaoService,
+            AnaliseRiscoService analiseRiscoService,
+            @Value("${pix.pre-verificacao.habilitada:false}") boolean habilitada,
+            @Value("${pix.pre-verificacao.paralelismo:4}") int paralelismo,
+            @Value("${pix.pre-verificacao.capacidade-fila:64}") int capacidadeFila,
+            @Value("${pix.pre-verificacao.timeout:PT5S}") Duration timeout) {
+        if (paralelismo <= 0 || capacidadeFila <= 0 || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Paralelismo, capacidade da fila e timeout da pré-verificação devem ser positivos.");
+        }
+        this.validacaoService = validacaoService;
+        this.analiseRiscoService = analiseRiscoService;
+        this.habilitada = habilitada;
+        this.timeoutNanos = timeout.toNanos();
+        this.executor = new ThreadPoolExecutor(paralelismo, paralelismo, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), Thread.ofPlatform().name("pre-verificacao-", 0).daemon().factory());
+    }
+
+    @Override
+    public boolean habilitada() {
+        return habilitada;
+    }
+
+    @Override
+    public ResultadoPreVerificacao preVerificar(SolicitacaoDevolucaoRequest solicitacao, MotivoDevolucao motivo) {
+        Optional<DetalhesTransacaoPix> encontrada = validacaoService.buscarTransacaoOriginal(solicitacao.idTransacaoOriginal());
+        if (encontrada.isEmpty()) {
+            LOGGER.warn("Pré-verificação falhou: Transação original ID {} não encontrada.", solicitacao.idTransacaoOriginal());
+            return new ResultadoPreVerificacao(ResultadoValidacao.transacaoNaoEncontrada(), null);
+        }
+        DetalhesTransacaoPix transacaoOriginal = encontrada.get();
+
+        Future<ResultadoAnaliseRisco> analise = submeterAnalise(solicitacao, motivo, transacaoOriginal);
+        ResultadoValidacao validacao;
+        try {
+            validacao = validacaoService.validarContraTransacao(solicitacao, motivo, transacaoOriginal);
+        } catch (RuntimeException e) {
+            cancelar(analise);
+            throw e;
+        }
+        if (!validacao.isValida()) {
+            cancelar(analise);
+            return new ResultadoPreVerificacao(validacao, null);
+        }
+
+        ResultadoAnaliseRisco analiseRisco = analise != null
+                ? aguardar(analise)
+                : analiseRiscoService.analisarRisco(solicitacao, motivo, transacaoOriginal);
+        return new ResultadoPreVerificacao(validacao, analiseRisco);
+    }
+
+    private Future<ResultadoAnaliseRisco> submeterAnalise(SolicitacaoDevolucaoRequest solicitacao, MotivoDevolucao motivo,
+                                                          DetalhesTransacaoPix transacaoOriginal) {
+        try {
+            return executor.submit(() -> analiseRiscoService.analisarRisco(solicitacao, motivo, transacaoOriginal));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Fila da pré-verificação cheia; a análise de risco da transação {} roda na thread do chamador.",
+                    transacaoOriginal.getIdTransacao());
+            return null;
+        }
+    }
+
+    private ResultadoAnaliseRisco aguardar(Future<ResultadoAnaliseRisco> analise) {
+        try {
+            return analise.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            analise.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a análise de risco da pré-verificação.", e);
+        } catch (TimeoutException e) {
+            analise.cancel(true);
+            throw new IllegalStateException("Análise de risco da pré-verificação excedeu o timeout.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException falha) {
+                throw falha;
+            }
+            throw new IllegalStateException("Falha inesperada na análise de risco da pré-verificação.", e.getCause());
+        }
+    }
+
+    private static void cancelar(Future<?> analise) {
+        if (analise != null) {
+            analise.cancel(true);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,231 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DevolucaoFinanceira;
+import estudo.camunda.dto.MetricasCoreBanking;
+import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.CoreBankingService;
+import estudo.camunda.services.MetricasCoreBankingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Camada de resiliência na frente do core banking. As chamadas rodam em um pool próprio (bulkhead)
+ * com fila limitada, e a thread do job executor espera no máximo {@code timeout}: um core banking
+ * travado ocupa só as threads do bulkhead. Timeouts e exceções contam para o circuito; com
+ * {@code falhasParaAbrir} seguidas ele abre e as chamadas falham na hora durante {@code esperaAberto}.
+ * Depois disso o circuito fica meio aberto e deixa passar uma chamada de teste, que o fecha se der
+ * certo ou o abre de novo se falhar.
+ * <p>
+ * Circuito aberto, bulkhead cheio, timeout e exceção viram {@link ResultadoOperacaoFinanceira#falhaRetentavel};
+ * uma recusa do core banking (saldo, conta bloqueada) é devolvida como veio e conta como sucesso
+ * para o circuito. No timeout a devolução pode ter sido efetivada mesmo assim.
+ */
+@Service
+public class ResilienteCoreBankingServiceImpl implements CoreBankingService, MetricasCoreBankingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResilienteCoreBankingServiceImpl.class);
+
+    private enum EstadoCircuito {FECHADO, ABERTO, MEIO_ABERTO}
+
+    private final CoreBankingService coreBankingService;
+    private final long timeoutNanos;
+    private final int falhasParaAbrir;
+    private final long esperaAbertoNanos;
+    private final LongSupplier relogioNanos;
+    private final ThreadPoolExecutor bulkhead;
+
+    private final LongAdder chamadas = new LongAdder();
+    private final LongAdder respondidas = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder rejeitadasBulkhead = new LongAdder();
+    private final LongAdder rejeitadasCircuito = new LongAdder();
+    private final LongAdder aberturas = new LongAdder();
+    private final LongAdder meiasAberturas = new LongAdder();
+    private final LongAdder fechamentos = new LongAdder();
+
+    // Protegidos por this
+    private EstadoCircuito estado = EstadoCircuito.FECHADO;
+    private int falhasSeguidas;
+    private long abertoDesdeNanos;
+    private boolean chamadaDeTesteEmAndamento;
+
+    @Autowired
+    public ResilienteCoreBankingServiceImpl(
+            @Qualifier("mockCoreBankingServiceImpl") CoreBankingService coreBankingService,
+            @Value("${pix.core-banking.chamadas-simultaneas:8}") int chamadasSimultaneas,
+            @Value("${pix.core-banking.fila-espera:16}") int filaEspera,
+            @Value("${pix.core-banking.timeout:PT2S}") Duration timeout,
+            @Value("${pix.core-banking.circuito.falhas-para-abrir:5}") int falhasParaAbrir,
+            @Value("${pix.core-banking.circuito.espera-aberto:PT30S}") Duration esperaAberto) {
+        this(coreBankingService, chamadasSimultaneas, filaEspera, timeout, falhasParaAbrir, esperaAberto, System::nanoTime);
+    }
+
+    ResilienteCoreBankingServiceImpl(CoreBankingService coreBankingService, int chamadasSimultaneas, int filaEspera,
+                                     Duration timeout, int falhasParaAbrir, Duration esperaAberto, LongSupplier relogioNanos) {
+        if (chamadasSimultaneas <= 0 || filaEspera <= 0 || falhasParaAbrir <= 0
+                || timeout.isNegative() || timeout.isZero() || esperaAberto.isNegative()) {
+            throw new IllegalArgumentException("Bulkhead, fila, timeout e falhas para abrir o circuito devem ser positivos.");
+        }
+        this.coreBankingService = coreBankingService;
+        this.timeoutNanos = timeout.toNanos();
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.esperaAbertoNanos = esperaAberto.toNanos();
+        this.relogioNanos = relogioNanos;
+        this.bulkhead = new ThreadPoolExecutor(chamadasSimultaneas, chamadasSimultaneas, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(filaEspera), Thread.ofPlatform().name("core-banking-", 0).daemon().factory());
+    }
+
+    @Override
+    public ResultadoOperacaoFinanceira efetuarDevolucaoFinanceira(
+            String idOperacaoDevolucao,
+            String identificadorContaDebito,
+            String identificadorContaCredito,
+            ValorMonetario valor) {
+        return executar(() -> coreBankingService.efetuarDevolucaoFinanceira(
+                        idOperacaoDevolucao, identificadorContaDebito, identificadorContaCredito, valor),
+                "Devolução " + idOperacaoDevolucao, ResultadoOperacaoFinanceira::falhaRetentavel);
+    }
+
+    /** O lote ocupa uma vaga do bulkhead e conta como uma chamada para o circuito. */
+    @Override
+    public List<ResultadoOperacaoFinanceira> efetuarDevolucoesEmLote(List<DevolucaoFinanceira> devolucoes) {
+        return executar(() -> coreBankingService.efetuarDevolucoesEmLote(devolucoes),
+                "Lote de " + devolucoes.size() + " devoluções",
+                mensagem -> Collections.nCopies(devolucoes.size(), ResultadoOperacaoFinanceira.falhaRetentavel(mensagem)));
+    }
+
+    private <T> T executar(Callable<T> operacao, String descricao, Function<String, T> falhaRetentavel) {
+        chamadas.increment();
+        if (!permitirChamada()) {
+            rejeitadasCircuito.increment();
+            return falhar(descricao, "Core banking indisponível (circuito aberto).", falhaRetentavel);
+        }
+
+        Future<T> chamada;
+        try {
+            chamada = bulkhead.submit(operacao);
+        } catch (RejectedExecutionException e) {
+            liberarChamadaDeTeste();
+            rejeitadasBulkhead.increment();
+            return falhar(descricao, "Core banking saturado (bulkhead cheio).", falhaRetentavel);
+        }
+
+        try {
+            T resultado = chamada.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            respondidas.increment();
+            registrarSucesso();
+            return resultado;
+        } catch (TimeoutException e) {
+            chamada.cancel(true);
+            timeouts.increment();
+            registrarFalha();
+            return falhar(descricao, "Core banking não respondeu em "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms; a devolução pode ter sido efetivada.", falhaRetentavel);
+        } catch (ExecutionException e) {
+            erros.increment();
+            registrarFalha();
+            LOGGER.error("Erro no core banking ({}): {}", descricao, e.getCause().getMessage(), e.getCause());
+            return falhar(descricao, "Erro no core banking: " + e.getCause().getMessage(), falhaRetentavel);
+        } catch (InterruptedException e) {
+            chamada.cancel(true);
+            liberarChamadaDeTeste();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o core banking.", e);
+        }
+    }
+
+    private synchronized boolean permitirChamada() {
+        if (estado == EstadoCircuito.ABERTO) {
+            if (relogioNanos.getAsLong() - abertoDesdeNanos < esperaAbertoNanos) {
+                return false;
+            }
+            mudarEstado(EstadoCircuito.MEIO_ABERTO);
+        }
+        if (estado == EstadoCircuito.MEIO_ABERTO) {
+            if (chamadaDeTesteEmAndamento) {
+                return false;
+            }
+            chamadaDeTesteEmAndamento = true;
+        }
+        return true;
+    }
+
+    private synchronized void registrarSucesso() {
+        falhasSeguidas = 0;
+        chamadaDeTesteEmAndamento = false;
+        if (estado != EstadoCircuito.FECHADO) {
+            mudarEstado(EstadoCircuito.FECHADO);
+        }
+    }
+
+    private synchronized void registrarFalha() {
+        chamadaDeTesteEmAndamento = false;
+        if (estado == EstadoCircuito.MEIO_ABERTO || ++falhasSeguidas >= falhasParaAbrir) {
+            abertoDesdeNanos = relogioNanos.getAsLong();
+            if (estado != EstadoCircuito.ABERTO) {
+                mudarEstado(EstadoCircuito.ABERTO);
+            }
+        }
+    }
+
+    private synchronized void liberarChamadaDeTeste() {
+        chamadaDeTesteEmAndamento = false;
+    }
+
+    private void mudarEstado(EstadoCircuito novo) {
+        LOGGER.warn("Circuito do core banking: {} -> {} ({} falhas seguidas).", estado, novo, falhasSeguidas);
+        estado = novo;
+        switch (novo) {
+            case ABERTO -> aberturas.increment();
+            case MEIO_ABERTO -> meiasAberturas.increment();
+            case FECHADO -> fechamentos.increment();
+        }
+        if (novo != EstadoCircuito.ABERTO) {
+            falhasSeguidas = 0;
+        }
+    }
+
+    private static <T> T falhar(String descricao, String mensagem, Function<String, T> falhaRetentavel) {
+        LOGGER.warn("{} não enviada ao core banking: {}", descricao, mensagem);
+        return falhaRetentavel.apply(mensagem);
+    }
+
+    @Override
+    public MetricasCoreBanking metricas() {
+        String estadoAtual;
+        synchronized (this) {
+            estadoAtual = estado.name();
+        }
+        return new MetricasCoreBanking(estadoAtual, bulkhead.getActiveCount(), chamadas.sum(), respondidas.sum(),
+                timeouts.sum(), erros.sum(), rejeitadasBulkhead.sum(), rejeitadasCircuito.sum(),
+                aberturas.sum(), meiasAberturas.sum(), fechamentos.sum());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        bulkhead.shutdownNow();
+    }
+
+}
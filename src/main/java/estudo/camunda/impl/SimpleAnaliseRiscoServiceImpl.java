@@ -1,26 +1,28 @@
 package estudo.camunda.impl;
 
+import estudo.camunda.dto.CpfCnpj;
 import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
 import estudo.camunda.dto.ResultadoAnaliseRisco;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
 import estudo.camunda.services.AnaliseRiscoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-
 @Service
 public class SimpleAnaliseRiscoServiceImpl implements AnaliseRiscoService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleAnaliseRiscoServiceImpl.class);
 
-    private static final BigDecimal VALOR_ALTO_RISCO = new BigDecimal("1000.00");
-    private static final BigDecimal VALOR_BAIXO_RISCO_PARA_FALHA_OPERACIONAL = new BigDecimal("50.00");
+    private static final ValorMonetario VALOR_ALTO_RISCO = ValorMonetario.deCentavos(100_000L);
+    private static final ValorMonetario VALOR_BAIXO_RISCO_PARA_FALHA_OPERACIONAL = ValorMonetario.deCentavos(5_000L);
 
     @Override
     public ResultadoAnaliseRisco analisarRisco(
             SolicitacaoDevolucaoRequest solicitacao,
+            MotivoDevolucao motivo,
             DetalhesTransacaoPix transacaoOriginal) {
 
         LOGGER.info("Iniciando análise de risco para transação ID: {} no valor de R$ {}",
@@ -30,28 +32,34 @@ public class SimpleAnaliseRiscoServiceImpl implements AnaliseRiscoService {
         boolean aprovacaoAutomaticaSugerida = false;
         StringBuilder justificativaBuilder = new StringBuilder("Análise de risco: ");
 
-        BigDecimal valorTransacao = transacaoOriginal.getValor();
-        String motivo = solicitacao.motivo();
+        ValorMonetario valorTransacao = transacaoOriginal.getValor();
 
-        if (valorTransacao.compareTo(VALOR_ALTO_RISCO) > 0) {
+        if (valorTransacao.maiorQue(VALOR_ALTO_RISCO)) {
             nivelRisco = "ALTO";
-            justificativaBuilder.append("Valor da transação (R$").append(valorTransacao)
-                    .append(") acima do limite de R$").append(VALOR_ALTO_RISCO).append(". ");
-        } else if ("FRAUDE_COMPROVADA".equalsIgnoreCase(motivo)) {
+            valorTransacao.formatarEm(justificativaBuilder.append("Valor da transação (R$"), '.');
+            VALOR_ALTO_RISCO.formatarEm(justificativaBuilder.append(") acima do limite de R$"), '.').append(". ");
+        } else if (motivo == MotivoDevolucao.FRAUDE_COMPROVADA) {
             justificativaBuilder.append("Motivo 'FRAUDE_COMPROVADA'. Requer atenção. ");
-        } else if ("FALHA_OPERACIONAL_BANCO".equalsIgnoreCase(motivo) &&
-                valorTransacao.compareTo(VALOR_BAIXO_RISCO_PARA_FALHA_OPERACIONAL) <= 0) {
+        } else if (motivo == MotivoDevolucao.FALHA_OPERACIONAL_BANCO &&
+                !valorTransacao.maiorQue(VALOR_BAIXO_RISCO_PARA_FALHA_OPERACIONAL)) {
             nivelRisco = "BAIXO";
             aprovacaoAutomaticaSugerida = true;
-            justificativaBuilder.append("Motivo 'FALHA_OPERACIONAL_BANCO' com valor baixo (R$")
-                    .append(valorTransacao).append("). ");
+            valorTransacao.formatarEm(justificativaBuilder.append("Motivo 'FALHA_OPERACIONAL_BANCO' com valor baixo (R$"), '.')
+                    .append("). ");
         } else {
             justificativaBuilder.append("Análise padrão. Sem regras específicas acionadas. ");
         }
 
-        justificativaBuilder.append("Solicitante: ").append(solicitacao.cpfClienteSolicitante())
-                .append(", Motivo: ").append(motivo)
-                .append(", Valor: R$").append(valorTransacao);
+        justificativaBuilder.append("Solicitante: ");
+        long solicitante = CpfCnpj.parse(solicitacao.cpfClienteSolicitante());
+        if (solicitante != CpfCnpj.INVALIDO) {
+            CpfCnpj.anexarDigitos(justificativaBuilder, solicitante);
+        } else {
+            justificativaBuilder.append(solicitacao.cpfClienteSolicitante());
+        }
+        justificativaBuilder.append(", Motivo: ").append(solicitacao.motivo())
+                .append(", Valor: R$");
+        valorTransacao.formatarEm(justificativaBuilder, '.');
 
         ResultadoAnaliseRisco resultado = new ResultadoAnaliseRisco(
                 nivelRisco,
@@ -0,0 +1,170 @@
+package estudo.camunda.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets por chave em uma tabela de endereçamento aberto de tamanho fixo, sem locks. Cada
+ * posição tem a chave (64 bits) e o estado do bucket empacotado em um {@code long}: 16 bits de tag
+ * da chave, 16 bits de tokens em ponto fixo (1/256 de token) e 32 bits com o instante, em ms, até
+ * onde a reposição já foi contada. A tag deixa o CAS do estado falhar quando a posição foi tomada
+ * por outra chave entre a leitura e a escrita.
+ * <p>
+ * Uma chave nova ocupa a primeira posição vazia nas {@code janelaSondagem} posições a partir do
+ * hash; sem vaga, despeja a posição com a reposição mais antiga (a menos usada, aproximadamente), que
+ * é também a que está mais perto de cheia e perde menos informação ao ser descartada. A memória fica
+ * em 16 bytes por posição, qualquer que seja o número de chaves distintas. Como o instante tem 32
+ * bits, um bucket parado por mais de ~49 dias pode ser reposto parcialmente em vez de por completo.
+ */
+public final class TabelaTokenBuckets {
+
+    private static final int UM_TOKEN = 256;
+    private static final int MAXIMO_DISPUTAS = 4;
+
+    private final AtomicLongArray chaves;
+    private final AtomicLongArray estados;
+    private final int mascara;
+    private final int janelaSondagem;
+    private final int rajadaFracoes;
+    private final long intervaloReposicaoMillis;
+    private final LongAdder despejos = new LongAdder();
+
+    /**
+     * @param capacidade               número de posições (potência de 2)
+     * @param rajada                   tokens de um bucket cheio (1 a 255)
+     * @param intervaloReposicaoMillis tempo para repor um token
+     * @param janelaSondagem           posições examinadas por chave antes de despejar
+     */
+    public TabelaTokenBuckets(int capacidade, int rajada, long intervaloReposicaoMillis, int janelaSondagem) {
+        if (capacidade <= 0 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("A capacidade da tabela deve ser uma potência de 2.");
+        }
+        if (rajada < 1 || rajada >= UM_TOKEN || intervaloReposicaoMillis <= 0
+                || janelaSondagem <= 0 || janelaSondagem > capacidade) {
+            throw new IllegalArgumentException("Rajada deve estar entre 1 e 255, reposição e janela de sondagem positivas.");
+        }
+        this.chaves = new AtomicLongArray(capacidade);
+        this.estados = new AtomicLongArray(capacidade);
+        this.mascara = capacidade - 1;
+        this.janelaSondagem = janelaSondagem;
+        this.rajadaFracoes = rajada * UM_TOKEN;
+        this.intervaloReposicaoMillis = intervaloReposicaoMillis;
+    }
+
+    /**
+     * Consome um token do bucket da chave. Devolve 0 se havia token, ou os milissegundos até o
+     * próximo token. Se a posição da chave trocar de dono repetidamente (despejos concorrentes), a
+     * solicitação é admitida.
+     */
+    public long tentarConsumir(long chave, long agoraMillis) {
+        long chaveInterna = chave == 0 ? 1 : chave;
+        long hash = espalhar(chaveInterna);
+        long tag = (hash >>> 48) | 1;
+        int agora = (int) agoraMillis;
+
+        int disputas = 0;
+        while (true) {
+            int posicao = localizar(chaveInterna, (int) hash, tag, agora);
+            long estado = estados.get(posicao);
+            if (tagDe(estado) != tag || chaves.get(posicao) != chaveInterna) {
+                // A posição trocou de dono entre a busca e a leitura do estado
+                if (++disputas == MAXIMO_DISPUTAS) {
+                    return 0;
+                }
+                continue;
+            }
+
+            int tokens = tokensDe(estado);
+            int instante = instanteDe(estado);
+            long decorrido = Integer.toUnsignedLong(agora - instante);
+            long repostos = decorrido * UM_TOKEN / intervaloReposicaoMillis;
+            if (tokens + repostos >= rajadaFracoes) {
+                tokens = rajadaFracoes;
+                instante = agora;
+            } else {
+                tokens += (int) repostos;
+                // Avança só o tempo convertido em tokens, para não perder a fração acumulada
+                instante += (int) (repostos * intervaloReposicaoMillis / UM_TOKEN);
+            }
+
+            if (tokens < UM_TOKEN) {
+                long proximoToken = ((long) (UM_TOKEN - tokens) * intervaloReposicaoMillis + UM_TOKEN - 1) / UM_TOKEN;
+                return Math.max(1, proximoToken - Integer.toUnsignedLong(agora - instante));
+            }
+            if (estados.compareAndSet(posicao, estado, empacotar(tag, tokens - UM_TOKEN, instante))) {
+                return 0;
+            }
+        }
+    }
+
+    public long despejos() {
+        return despejos.sum();
+    }
+
+    public int capacidade() {
+        return mascara + 1;
+    }
+
+    private int localizar(long chave, int hash, long tag, int agora) {
+        int inicio = hash & mascara;
+        int vitima = inicio;
+        long chaveVitima = chaves.get(inicio);
+        long maiorIdade = -1;
+        for (int i = 0; i < janelaSondagem; i++) {
+            int posicao = (inicio + i) & mascara;
+            long atual = chaves.get(posicao);
+            if (atual == chave) {
+                return posicao;
+            }
+            if (atual == 0) {
+                if (chaves.compareAndSet(posicao, 0, chave)) {
+                    estados.set(posicao, empacotar(tag, rajadaFracoes, agora));
+                    return posicao;
+                }
+                atual = chaves.get(posicao);
+                if (atual == chave) {
+                    return posicao;
+                }
+            }
+            long idade = Integer.toUnsignedLong(agora - instanteDe(estados.get(posicao)));
+            if (idade > maiorIdade) {
+                maiorIdade = idade;
+                vitima = posicao;
+                chaveVitima = atual;
+            }
+        }
+        if (chaves.compareAndSet(vitima, chaveVitima, chave)) {
+            estados.set(vitima, empacotar(tag, rajadaFracoes, agora));
+            despejos.increment();
+        }
+        return vitima;
+    }
+
+    private static long empacotar(long tag, int tokens, int instante) {
+        return tag << 48 | (long) tokens << 32 | Integer.toUnsignedLong(instante);
+    }
+
+    private static long tagDe(long estado) {
+        return estado >>> 48;
+    }
+
+    private static int tokensDe(long estado) {
+        return (int) (estado >>> 32) & 0xFFFF;
+    }
+
+    private static int instanteDe(long estado) {
+        return (int) estado;
+    }
+
+    /** Finalizador do MurmurHash3: espalha chaves sequenciais por toda a tabela. */
+    private static long espalhar(long chave) {
+        long h = chave;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
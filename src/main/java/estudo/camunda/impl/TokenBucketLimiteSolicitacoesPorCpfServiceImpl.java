@@ -0,0 +1,49 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.CpfCnpj;
+import estudo.camunda.services.LimiteSolicitacoesPorCpfService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de solicitações por CPF com um token bucket por cliente em uma {@link TabelaTokenBuckets}.
+ * O tempo vem de {@link System#nanoTime()}, e não do {@code Clock} das regras de negócio, para que
+ * um relógio congelado ({@code pix.relogio.instante-fixo}) não impeça a reposição dos tokens.
+ */
+@Service
+public class TokenBucketLimiteSolicitacoesPorCpfServiceImpl implements LimiteSolicitacoesPorCpfService {
+
+    private final boolean habilitado;
+    private final TabelaTokenBuckets tabela;
+    private final LongSupplier relogioMillis;
+
+    @Autowired
+    public TokenBucketLimiteSolicitacoesPorCpfServiceImpl(
+            @Value("${pix.limite-cpf.habilitado:true}") boolean habilitado,
+            @Value("${pix.limite-cpf.capacidade-tabela:1048576}") int capacidadeTabela,
+            @Value("${pix.limite-cpf.rajada:5}") int rajada,
+            @Value("${pix.limite-cpf.reposicao:PT1M}") Duration reposicao) {
+        this(habilitado, new TabelaTokenBuckets(capacidadeTabela, rajada, reposicao.toMillis(), 8),
+                () -> System.nanoTime() / 1_000_000);
+    }
+
+    TokenBucketLimiteSolicitacoesPorCpfServiceImpl(boolean habilitado, TabelaTokenBuckets tabela, LongSupplier relogioMillis) {
+        this.habilitado = habilitado;
+        this.tabela = tabela;
+        this.relogioMillis = relogioMillis;
+    }
+
+    @Override
+    public long tentarConsumir(String cpf) {
+        if (!habilitado) {
+            return 0;
+        }
+        // CPF empacotado: com ou sem pontuação, o cliente usa o mesmo bucket
+        return tabela.tentarConsumir(CpfCnpj.chave(cpf), relogioMillis.getAsLong());
+    }
+
+}
@@ -0,0 +1,158 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Resume um arquivo {@code .jfr} com os eventos de {@code estudo.camunda}: para cada tipo de
+ * evento, uma linha por chave (atividade, tipo de notificação, ...) com quantidade, falhas,
+ * percentis da duração e a fatia do tempo total. Uso: {@code ./gradlew analisarJfr -Parquivo=gravacao.jfr}.
+ */
+public final class AnalisadorJfr {
+
+    private static final List<TipoEvento> TIPOS = List.of(
+            new TipoEvento(InicioProcessoEvento.NOME, "Início de processo (por definição)",
+                    e -> chaveDefinicao(e.getString("processDefinitionId")), e -> !e.getBoolean("sucesso")),
+            new TipoEvento(ExecucaoDelegateEvento.NOME, "Execução de delegates (por atividade)",
+                    e -> e.getString("activityId"), e -> !ExecucaoDelegateEvento.SUCESSO.equals(e.getString("resultado"))),
+            new TipoEvento(EsperaLockRazaoEvento.NOME, "Espera pelo lock da razão",
+                    e -> e.getInt("operacoes") == 1 ? "unitária" : "lote", e -> false),
+            new TipoEvento(EnvioNotificacaoEvento.NOME, "Envio de notificação (por tipo)",
+                    e -> e.getString("tipoNotificacao"), e -> !e.getBoolean("sucesso")));
+
+    private AnalisadorJfr() {
+    }
+
+    public record Linha(String chave, int quantidade, int falhas, Duration p50, Duration p95, Duration p99,
+                        Duration maximo, Duration total, double fracaoDoTotal) {
+    }
+
+    public record Secao(String evento, String titulo, List<Linha> linhas) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 || args[0].isBlank()) {
+            System.err.println("Uso: AnalisadorJfr <arquivo.jfr>");
+            System.exit(2);
+        }
+        System.out.print(formatar(resumir(Path.of(args[0]))));
+    }
+
+    public static List<Secao> resumir(Path arquivo) throws IOException {
+        if (!Files.isRegularFile(arquivo)) {
+            throw new IllegalArgumentException("Arquivo JFR não encontrado: " + arquivo);
+        }
+        Map<String, Map<String, Amostras>> porEvento = new HashMap<>();
+        try (RecordingFile gravacao = new RecordingFile(arquivo)) {
+            while (gravacao.hasMoreEvents()) {
+                RecordedEvent evento = gravacao.readEvent();
+                String nome = evento.getEventType().getName();
+                for (TipoEvento tipo : TIPOS) {
+                    if (tipo.nome().equals(nome)) {
+                        String chave = tipo.chave().apply(evento);
+                        porEvento.computeIfAbsent(nome, n -> new TreeMap<>())
+                                .computeIfAbsent(chave == null ? "(sem chave)" : chave, c -> new Amostras())
+                                .adicionar(evento.getDuration().toNanos(), tipo.falha().test(evento));
+                    }
+                }
+            }
+        }
+        List<Secao> secoes = new ArrayList<>();
+        for (TipoEvento tipo : TIPOS) {
+            Map<String, Amostras> porChave = porEvento.get(tipo.nome());
+            if (porChave == null) {
+                continue;
+            }
+            long totalSecao = porChave.values().stream().mapToLong(Amostras::total).sum();
+            List<Linha> linhas = new ArrayList<>();
+            porChave.forEach((chave, amostras) -> linhas.add(amostras.resumir(chave, totalSecao)));
+            linhas.sort((a, b) -> b.total().compareTo(a.total()));
+            secoes.add(new Secao(tipo.nome(), tipo.titulo(), linhas));
+        }
+        return secoes;
+    }
+
+    public static String formatar(List<Secao> secoes) {
+        if (secoes.isEmpty()) {
+            return "Nenhum evento estudo.camunda na gravação.\n";
+        }
+        StringBuilder texto = new StringBuilder();
+        for (Secao secao : secoes) {
+            texto.append(String.format("%n%s [%s]%n", secao.titulo(), secao.evento()));
+            texto.append(String.format("  %-40s %8s %7s %10s %10s %10s %10s %12s %7s%n",
+                    "chave", "qtde", "falhas", "p50 ms", "p95 ms", "p99 ms", "máx ms", "total ms", "%"));
+            for (Linha linha : secao.linhas()) {
+                texto.append(String.format("  %-40s %8d %7d %10.3f %10.3f %10.3f %10.3f %12.1f %6.1f%%%n",
+                        linha.chave(), linha.quantidade(), linha.falhas(), millis(linha.p50()), millis(linha.p95()),
+                        millis(linha.p99()), millis(linha.maximo()), millis(linha.total()), linha.fracaoDoTotal() * 100));
+            }
+        }
+        return texto.toString();
+    }
+
+    private static String chaveDefinicao(String processDefinitionId) {
+        if (processDefinitionId == null) {
+            return null;
+        }
+        int separador = processDefinitionId.indexOf(':');
+        return separador < 0 ? processDefinitionId : processDefinitionId.substring(0, separador);
+    }
+
+    private static double millis(Duration duracao) {
+        return duracao.toNanos() / 1_000_000.0;
+    }
+
+    private record TipoEvento(String nome, String titulo, Function<RecordedEvent, String> chave,
+                              Predicate<RecordedEvent> falha) {
+    }
+
+    private static final class Amostras {
+
+        private long[] nanos = new long[64];
+        private int quantidade;
+        private int falhas;
+        private long total;
+
+        void adicionar(long duracaoNanos, boolean falha) {
+            if (quantidade == nanos.length) {
+                nanos = Arrays.copyOf(nanos, quantidade * 2);
+            }
+            nanos[quantidade++] = duracaoNanos;
+            total += duracaoNanos;
+            if (falha) {
+                falhas++;
+            }
+        }
+
+        long total() {
+            return total;
+        }
+
+        Linha resumir(String chave, long totalSecao) {
+            Arrays.sort(nanos, 0, quantidade);
+            return new Linha(chave, quantidade, falhas, percentil(0.50), percentil(0.95), percentil(0.99),
+                    Duration.ofNanos(nanos[quantidade - 1]), Duration.ofNanos(total),
+                    totalSecao == 0 ? 0 : (double) total / totalSecao);
+        }
+
+        /** Percentil pelo posto mais próximo. */
+        private Duration percentil(double p) {
+            int posicao = (int) Math.ceil(p * quantidade) - 1;
+            return Duration.ofNanos(nanos[Math.max(0, posicao)]);
+        }
+    }
+
+}
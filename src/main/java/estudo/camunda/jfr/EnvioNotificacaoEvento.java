@@ -0,0 +1,39 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(EnvioNotificacaoEvento.NOME)
+@Label("Envio de notificação")
+@Category({"PIX", "Devolução"})
+@Description("Chamada ao serviço de notificação do cliente.")
+@StackTrace(false)
+public final class EnvioNotificacaoEvento extends Event {
+
+    public static final String NOME = "estudo.camunda.EnvioNotificacao";
+
+    @Label("Instância de processo")
+    String processInstanceId;
+
+    @Label("Tipo de notificação")
+    String tipoNotificacao;
+
+    @Label("Sucesso")
+    boolean sucesso;
+
+    /** Chamado no fim do envio, a partir do {@link #begin()} feito antes dele. */
+    public void concluido(String processInstanceId, String tipoNotificacao, boolean sucesso) {
+        end();
+        if (shouldCommit()) {
+            this.processInstanceId = processInstanceId;
+            this.tipoNotificacao = tipoNotificacao;
+            this.sucesso = sucesso;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(EsperaLockRazaoEvento.NOME)
+@Label("Espera pelo lock da razão")
+@Category({"PIX", "Core Banking"})
+@Description("Tempo até adquirir o lock da razão do core banking (mock).")
+@StackTrace(false)
+public final class EsperaLockRazaoEvento extends Event {
+
+    public static final String NOME = "estudo.camunda.EsperaLockRazao";
+
+    @Label("Operações")
+    @Description("Lançamentos feitos com o lock: 1, ou o tamanho do lote.")
+    int operacoes;
+
+    /** Chamado logo depois de adquirir o lock, a partir do {@link #begin()} feito antes de pedi-lo. */
+    public void adquirido(int operacoes) {
+        end();
+        if (shouldCommit()) {
+            this.operacoes = operacoes;
+            commit();
+        }
+    }
+
+}
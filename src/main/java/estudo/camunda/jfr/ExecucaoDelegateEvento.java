@@ -0,0 +1,37 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(ExecucaoDelegateEvento.NOME)
+@Label("Execução de delegate")
+@Category({"PIX", "Devolução"})
+@Description("Execução de um JavaDelegate em uma atividade do processo.")
+@StackTrace(false)
+public final class ExecucaoDelegateEvento extends Event {
+
+    public static final String NOME = "estudo.camunda.ExecucaoDelegate";
+
+    public static final String SUCESSO = "SUCESSO";
+    public static final String ERRO_BPMN = "ERRO_BPMN";
+    public static final String FALHA = "FALHA";
+
+    @Label("Instância de processo")
+    String processInstanceId;
+
+    @Label("Atividade")
+    String activityId;
+
+    @Label("Resultado")
+    @Description("SUCESSO, ERRO_BPMN (BpmnError lançado pelo delegate) ou FALHA (exceção).")
+    String resultado;
+
+    @Label("Erro")
+    @Description("Código do BpmnError ou classe da exceção.")
+    String erro;
+
+}
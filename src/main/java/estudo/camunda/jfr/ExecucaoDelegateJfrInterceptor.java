@@ -0,0 +1,55 @@
+package estudo.camunda.jfr;
+
+import org.camunda.bpm.engine.delegate.BpmnError;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.bpmn.delegate.JavaDelegateInvocation;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
+
+/**
+ * Envolve o {@link DelegateInterceptor} do motor e registra um {@link ExecucaoDelegateEvento} por
+ * execução de {@code JavaDelegate}; as demais invocações (listeners, expressões) passam direto. Sem
+ * gravação JFR ativa, o custo é o de um {@code shouldCommit()} que devolve {@code false}.
+ */
+public class ExecucaoDelegateJfrInterceptor implements DelegateInterceptor {
+
+    private final DelegateInterceptor proximo;
+
+    public ExecucaoDelegateJfrInterceptor(DelegateInterceptor proximo) {
+        this.proximo = proximo;
+    }
+
+    @Override
+    public void handleInvocation(DelegateInvocation invocation) throws Exception {
+        if (!(invocation instanceof JavaDelegateInvocation)) {
+            proximo.handleInvocation(invocation);
+            return;
+        }
+        ExecucaoDelegateEvento evento = new ExecucaoDelegateEvento();
+        String resultado = ExecucaoDelegateEvento.FALHA;
+        String erro = null;
+        evento.begin();
+        try {
+            proximo.handleInvocation(invocation);
+            resultado = ExecucaoDelegateEvento.SUCESSO;
+        } catch (BpmnError e) {
+            resultado = ExecucaoDelegateEvento.ERRO_BPMN;
+            erro = e.getErrorCode();
+            throw e;
+        } catch (Exception e) {
+            erro = e.getClass().getName();
+            throw e;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                DelegateExecution execution = (DelegateExecution) invocation.getContextExecution();
+                evento.processInstanceId = execution.getProcessInstanceId();
+                evento.activityId = execution.getCurrentActivityId();
+                evento.resultado = resultado;
+                evento.erro = erro;
+                evento.commit();
+            }
+        }
+    }
+
+}
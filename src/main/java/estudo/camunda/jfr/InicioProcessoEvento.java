@@ -0,0 +1,28 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(InicioProcessoEvento.NOME)
+@Label("Início de processo")
+@Category({"PIX", "Devolução"})
+@Description("Comando de início de uma instância, até o commit: inclui as atividades executadas até o primeiro estado de espera.")
+@StackTrace(false)
+public final class InicioProcessoEvento extends Event {
+
+    public static final String NOME = "estudo.camunda.InicioProcesso";
+
+    @Label("Instância de processo")
+    String processInstanceId;
+
+    @Label("Definição de processo")
+    String processDefinitionId;
+
+    @Label("Sucesso")
+    boolean sucesso;
+
+}
@@ -0,0 +1,39 @@
+package estudo.camunda.jfr;
+
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+
+/**
+ * Registra um {@link InicioProcessoEvento} para cada {@link StartProcessInstanceCmd}, venha do
+ * controller, da importação ou de qualquer outro chamador do {@code RuntimeService}. Fica antes do
+ * interceptor de transação, então a duração inclui o commit.
+ */
+public class InicioProcessoJfrInterceptor extends CommandInterceptor {
+
+    @Override
+    public <T> T execute(Command<T> command) {
+        if (!(command instanceof StartProcessInstanceCmd)) {
+            return next.execute(command);
+        }
+        InicioProcessoEvento evento = new InicioProcessoEvento();
+        T resultado = null;
+        evento.begin();
+        try {
+            resultado = next.execute(command);
+            return resultado;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                if (resultado instanceof ProcessInstance processInstance) {
+                    evento.processInstanceId = processInstance.getId();
+                    evento.processDefinitionId = processInstance.getProcessDefinitionId();
+                    evento.sucesso = true;
+                }
+                evento.commit();
+            }
+        }
+    }
+
+}
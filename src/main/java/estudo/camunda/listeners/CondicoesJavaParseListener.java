@@ -0,0 +1,37 @@
+package estudo.camunda.listeners;
+
+import estudo.camunda.motor.CondicoesPrecompiladas;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.el.UelExpressionCondition;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.pvm.process.TransitionImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Troca no parse as condições JUEL dos sequence flows pelas de {@link CondicoesPrecompiladas}. O gateway lê a
+ * condição da propriedade da transição, então o BPMN não muda; condições em script ficam como estão.
+ */
+public class CondicoesJavaParseListener extends AbstractBpmnParseListener {
+
+    private final LongAdder substituidas = new LongAdder();
+
+    @Override
+    public void parseSequenceFlow(Element sequenceFlowElement, ScopeImpl scopeElement, TransitionImpl transition) {
+        if (transition.getProperty(BpmnParse.PROPERTYNAME_CONDITION) instanceof UelExpressionCondition
+                && transition.getProperty(BpmnParse.PROPERTYNAME_CONDITION_TEXT) instanceof String texto) {
+            CondicoesPrecompiladas.para(texto).ifPresent(condicao -> {
+                transition.setProperty(BpmnParse.PROPERTYNAME_CONDITION, condicao);
+                substituidas.increment();
+            });
+        }
+    }
+
+    /** Condições trocadas desde a subida, somando os parses repetidos da mesma definição. */
+    public long getSubstituidas() {
+        return substituidas.sum();
+    }
+
+}
@@ -0,0 +1,26 @@
+package estudo.camunda.listeners;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conta os processos parseados: na implantação e sempre que uma definição que saiu do cache do motor volta a ser
+ * usada.
+ */
+public class ContagemParseBpmnListener extends AbstractBpmnParseListener {
+
+    private final LongAdder parses = new LongAdder();
+
+    @Override
+    public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+        parses.increment();
+    }
+
+    public long getParses() {
+        return parses.sum();
+    }
+
+}
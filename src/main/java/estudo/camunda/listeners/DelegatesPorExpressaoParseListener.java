@@ -0,0 +1,108 @@
+package estudo.camunda.listeners;
+
+import org.camunda.bpm.engine.impl.bpmn.behavior.ClassDelegateActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.behavior.ServiceTaskDelegateExpressionActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.mapping.InputParameter;
+import org.camunda.bpm.engine.impl.core.variable.mapping.IoMapping;
+import org.camunda.bpm.engine.impl.core.variable.mapping.value.ConstantValueProvider;
+import org.camunda.bpm.engine.impl.core.variable.mapping.value.ParameterValueProvider;
+import org.camunda.bpm.engine.impl.el.ElValueProvider;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Troca no parse o {@code camunda:class} dos service tasks pelo equivalente a um {@code camunda:delegateExpression}
+ * com o bean Spring da classe. Os {@code camunda:field} viram parâmetros de entrada da tarefa: o delegate lê o valor
+ * da variável local, e o singleton não guarda estado de uma execução para outra. Com o parâmetro de entrada a tarefa
+ * passa a ser um escopo, como aconteceria com um {@code camunda:inputParameter} no BPMN.
+ * <p>
+ * Tarefas multi-instância e classes sem bean ficam como estão.
+ */
+public class DelegatesPorExpressaoParseListener extends AbstractBpmnParseListener {
+
+    private static final String PROPRIEDADE_PARAMETROS = "parametrosDelegatePorExpressao";
+
+    private final Map<String, String> beansPorClasse;
+    private final LongAdder substituidas = new LongAdder();
+
+    /** @param beansPorClasse nome do bean de cada classe de delegate */
+    public DelegatesPorExpressaoParseListener(Map<String, String> beansPorClasse) {
+        this.beansPorClasse = Map.copyOf(beansPorClasse);
+    }
+
+    @Override
+    public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+        if (!(activity.getActivityBehavior() instanceof ClassDelegateActivityBehavior)
+                || serviceTaskElement.element("multiInstanceLoopCharacteristics") != null) {
+            return;
+        }
+        String bean = beansPorClasse.get(serviceTaskElement.attributeNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "class"));
+        if (bean == null) {
+            return;
+        }
+        ExpressionManager expressionManager = Context.getProcessEngineConfiguration().getExpressionManager();
+        List<InputParameter> parametros = parametros(serviceTaskElement, expressionManager);
+        if (!parametros.isEmpty()) {
+            if (activity.getIoMapping() == null) {
+                activity.setIoMapping(new IoMapping());
+                activity.setScope(true);
+            }
+            parametros.forEach(activity.getIoMapping()::addInputParameter);
+            activity.setProperty(PROPRIEDADE_PARAMETROS, parametros);
+        }
+        activity.setActivityBehavior(new ServiceTaskDelegateExpressionActivityBehavior(
+                expressionManager.createExpression("${" + bean + "}"), List.of()));
+        substituidas.increment();
+    }
+
+    /** Um {@code camunda:inputOutput} da tarefa é parseado depois e troca o mapeamento criado acima. */
+    @Override
+    public void parseIoMapping(Element extensionElements, ActivityImpl activity, IoMapping inputOutput) {
+        if (activity.getProperty(PROPRIEDADE_PARAMETROS) instanceof List<?> parametros) {
+            parametros.forEach(parametro -> inputOutput.addInputParameter((InputParameter) parametro));
+        }
+    }
+
+    /** Service tasks trocados desde a subida, somando os parses repetidos da mesma definição. */
+    public long getSubstituidas() {
+        return substituidas.sum();
+    }
+
+    private static List<InputParameter> parametros(Element serviceTaskElement, ExpressionManager expressionManager) {
+        List<InputParameter> parametros = new ArrayList<>();
+        Element extensionElements = serviceTaskElement.element("extensionElements");
+        if (extensionElements == null) {
+            return parametros;
+        }
+        for (Element campo : extensionElements.elementsNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "field")) {
+            parametros.add(new InputParameter(campo.attribute("name"), valor(campo, expressionManager)));
+        }
+        return parametros;
+    }
+
+    private static ParameterValueProvider valor(Element campo, ExpressionManager expressionManager) {
+        String texto = campo.attribute("stringValue");
+        if (texto == null && campo.elementNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "string") != null) {
+            texto = campo.elementNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "string").getText();
+        }
+        if (texto != null) {
+            return new ConstantValueProvider(texto);
+        }
+        String expressao = campo.attribute("expression");
+        if (expressao == null && campo.elementNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "expression") != null) {
+            expressao = campo.elementNS(BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS, "expression").getText();
+        }
+        return new ElValueProvider(expressionManager.createExpression(expressao));
+    }
+
+}
@@ -0,0 +1,24 @@
+package estudo.camunda.listeners;
+
+import estudo.camunda.services.FilaAnaliseManualService;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FilaAnaliseManualTaskListener implements TaskListener {
+
+    private final FilaAnaliseManualService filaAnaliseManualService;
+
+    @Autowired
+    public FilaAnaliseManualTaskListener(FilaAnaliseManualService filaAnaliseManualService) {
+        this.filaAnaliseManualService = filaAnaliseManualService;
+    }
+
+    @Override
+    public void notify(DelegateTask delegateTask) {
+        TransacaoMotor.aposCommit(filaAnaliseManualService::invalidarCache);
+    }
+
+}
@@ -0,0 +1,67 @@
+package estudo.camunda.listeners;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.impl.JdbcFilaAnaliseManualServiceImpl;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.bpmn.behavior.UserTaskActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.task.TaskDefinition;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+/**
+ * Anexa os listeners de monitoramento às atividades do processo durante o parse do BPMN,
+ * sem exigir nenhuma configuração nos diagramas.
+ */
+public class MonitoramentoProcessoParseListener extends AbstractBpmnParseListener {
+
+    private final StatusDevolucaoExecutionListener statusListener;
+    private final FilaAnaliseManualTaskListener filaAnaliseManualListener;
+
+    public MonitoramentoProcessoParseListener(StatusDevolucaoExecutionListener statusListener,
+                                              FilaAnaliseManualTaskListener filaAnaliseManualListener) {
+        this.statusListener = statusListener;
+        this.filaAnaliseManualListener = filaAnaliseManualListener;
+    }
+
+    @Override
+    public void parseStartEvent(Element startEventElement, ScopeImpl scope, ActivityImpl startEventActivity) {
+        registrarListeners(startEventActivity);
+    }
+
+    @Override
+    public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+        registrarListeners(activity);
+    }
+
+    @Override
+    public void parseUserTask(Element userTaskElement, ScopeImpl scope, ActivityImpl activity) {
+        registrarListeners(activity);
+        if (JdbcFilaAnaliseManualServiceImpl.TAREFA_ANALISE_MANUAL.equals(activity.getId())
+                && activity.getActivityBehavior() instanceof UserTaskActivityBehavior userTask) {
+            TaskDefinition taskDefinition = userTask.getTaskDefinition();
+            taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_CREATE, filaAnaliseManualListener);
+            taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_COMPLETE, filaAnaliseManualListener);
+            taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_DELETE, filaAnaliseManualListener);
+        }
+    }
+
+    @Override
+    public void parseIntermediateCatchEvent(Element intermediateEventElement, ScopeImpl scope, ActivityImpl activity) {
+        registrarListeners(activity);
+    }
+
+    @Override
+    public void parseEndEvent(Element endEventElement, ScopeImpl scope, ActivityImpl activity) {
+        registrarListeners(activity);
+    }
+
+    private void registrarListeners(ActivityImpl activity) {
+        SituacaoDevolucao.daAtividade(activity.getId()).ifPresent(situacao ->
+                activity.addBuiltInListener(ExecutionListener.EVENTNAME_START,
+                        (ExecutionListener) execution -> statusListener.registrarTransicao(execution, situacao)));
+    }
+
+}
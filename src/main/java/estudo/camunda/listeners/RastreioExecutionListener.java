@@ -0,0 +1,89 @@
+package estudo.camunda.listeners;
+
+import estudo.camunda.rastreio.ContextoRastreio;
+import estudo.camunda.rastreio.Span;
+import estudo.camunda.services.ExportacaoSpansService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um span por instância de atividade, filho do span guardado na variável {@code traceparent}: o
+ * início fica em memória até o fim da atividade, que pode acontecer em outra transação e outra
+ * thread (tarefa de usuário, timer). Se o fim cai em outro nó ou depois de um restart, o início vem
+ * do histórico. O mapa de inícios é limitado; ao atingir o limite (atividades abortadas por
+ * rollback nunca terminam), é esvaziado e essas atividades também recorrem ao histórico. O span só
+ * é exportado após o commit da transação que encerrou a atividade.
+ */
+@Component
+public class RastreioExecutionListener {
+
+    static final int LIMITE_ATIVIDADES_ABERTAS = 100_000;
+
+    private final ExportacaoSpansService exportacaoSpansService;
+    private final Map<String, Long> inicios = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RastreioExecutionListener(ExportacaoSpansService exportacaoSpansService) {
+        this.exportacaoSpansService = exportacaoSpansService;
+    }
+
+    /** Instâncias iniciadas sem rastreio (importação, API do Camunda) ganham um rastreio novo. */
+    public void iniciarProcesso(DelegateExecution execution) {
+        if (execution.getVariable(ContextoRastreio.VARIAVEL) == null) {
+            execution.setVariable(ContextoRastreio.VARIAVEL, ContextoRastreio.novo().traceparent());
+        }
+    }
+
+    public void iniciarAtividade(DelegateExecution execution) {
+        if (!exportacaoSpansService.ativo()) {
+            return;
+        }
+        if (inicios.size() >= LIMITE_ATIVIDADES_ABERTAS) {
+            inicios.clear();
+        }
+        inicios.put(execution.getActivityInstanceId(), Span.epochNanosAgora());
+    }
+
+    public void encerrarAtividade(DelegateExecution execution) {
+        if (!exportacaoSpansService.ativo()) {
+            return;
+        }
+        long fim = Span.epochNanosAgora();
+        String activityInstanceId = execution.getActivityInstanceId();
+        Long inicio = inicios.remove(activityInstanceId);
+        Optional<ContextoRastreio> contexto = ContextoRastreio.deTraceparent(execution.getVariable(ContextoRastreio.VARIAVEL));
+        if (contexto.isEmpty()) {
+            return;
+        }
+        if (inicio == null) {
+            inicio = inicioNoHistorico(execution, activityInstanceId);
+            if (inicio == null) {
+                return;
+            }
+        }
+        String nome = execution.getCurrentActivityName() != null ? execution.getCurrentActivityName() : execution.getCurrentActivityId();
+        Span span = new Span(contexto.get().traceId(), ContextoRastreio.spanIdDe(activityInstanceId),
+                contexto.get().spanId(), nome, Span.TIPO_INTERNO, inicio, fim, false, Map.of(
+                Span.ATRIBUTO_INSTANCIA_PROCESSO, execution.getProcessInstanceId(),
+                Span.ATRIBUTO_ATIVIDADE, execution.getCurrentActivityId()));
+        // Uma conclusão desfeita não exporta; a nova tentativa reaproveita o mesmo spanId
+        TransacaoMotor.aposCommit(() -> exportacaoSpansService.exportar(span));
+    }
+
+    private static Long inicioNoHistorico(DelegateExecution execution, String activityInstanceId) {
+        HistoricActivityInstance historico = execution.getProcessEngineServices().getHistoryService()
+                .createHistoricActivityInstanceQuery()
+                .activityInstanceId(activityInstanceId)
+                .singleResult();
+        return historico == null || historico.getStartTime() == null
+                ? null
+                : historico.getStartTime().getTime() * 1_000_000L;
+    }
+
+}
@@ -0,0 +1,41 @@
+package estudo.camunda.listeners;
+
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+import java.util.List;
+
+/**
+ * Anexa o {@link RastreioExecutionListener} ao início do processo e ao início e fim de todas as
+ * atividades, inclusive as de subprocessos.
+ */
+public class RastreioProcessoParseListener extends AbstractBpmnParseListener {
+
+    private final ExecutionListener inicioProcesso;
+    private final ExecutionListener inicioAtividade;
+    private final ExecutionListener fimAtividade;
+
+    public RastreioProcessoParseListener(RastreioExecutionListener rastreioListener) {
+        this.inicioProcesso = rastreioListener::iniciarProcesso;
+        this.inicioAtividade = rastreioListener::iniciarAtividade;
+        this.fimAtividade = rastreioListener::encerrarAtividade;
+    }
+
+    @Override
+    public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+        processDefinition.addBuiltInListener(ExecutionListener.EVENTNAME_START, inicioProcesso);
+        registrarListeners(processDefinition.getActivities());
+    }
+
+    private void registrarListeners(List<ActivityImpl> atividades) {
+        for (ActivityImpl atividade : atividades) {
+            atividade.addBuiltInListener(ExecutionListener.EVENTNAME_START, inicioAtividade);
+            atividade.addBuiltInListener(ExecutionListener.EVENTNAME_END, fimAtividade);
+            registrarListeners(atividade.getActivities());
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package estudo.camunda.listeners;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.services.EventosDevolucaoService;
+import estudo.camunda.services.StatusDevolucaoService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém o modelo de leitura de status atualizado a cada atividade do processo e publica a transição
+ * para os assinantes de eventos. Ambos só acontecem após o commit da transação do motor, para que
+ * nenhum cliente veja uma transição que sofreu rollback.
+ */
+@Component
+public class StatusDevolucaoExecutionListener {
+
+    private final StatusDevolucaoService statusDevolucaoService;
+    private final EventosDevolucaoService eventosDevolucaoService;
+
+    @Autowired
+    public StatusDevolucaoExecutionListener(StatusDevolucaoService statusDevolucaoService,
+                                            EventosDevolucaoService eventosDevolucaoService) {
+        this.statusDevolucaoService = statusDevolucaoService;
+        this.eventosDevolucaoService = eventosDevolucaoService;
+    }
+
+    public void registrarTransicao(DelegateExecution execution, SituacaoDevolucao situacao) {
+        String idProcesso = execution.getProcessInstanceId();
+        String atividade = execution.getCurrentActivityId();
+        SituacaoDevolucao situacaoEfetiva = situacao == SituacaoDevolucao.CONCLUIDA
+                && Boolean.FALSE.equals(execution.getVariable("devolucaoFinanceiraEfetuada"))
+                ? SituacaoDevolucao.FALHA_PROCESSAMENTO
+                : situacao;
+
+        String idTransacaoOriginal = null;
+        String cpfClienteSolicitante = null;
+        if (situacao == SituacaoDevolucao.RECEBIDA) {
+            SolicitacaoDevolucaoRequest solicitacao = execution.getVariable("solicitacaoDevolucaoRequest")
+                    instanceof SolicitacaoDevolucaoRequest s ? s : null;
+            idTransacaoOriginal = execution.getVariable("idTransacaoOriginal") instanceof String id
+                    ? id
+                    : solicitacao != null ? solicitacao.idTransacaoOriginal() : null;
+            cpfClienteSolicitante = execution.getVariable("cpfPagadorOriginal") instanceof String cpf
+                    ? cpf
+                    : solicitacao != null ? solicitacao.cpfClienteSolicitante() : null;
+        }
+
+        String idTransacao = idTransacaoOriginal;
+        String cpf = cpfClienteSolicitante;
+        TransacaoMotor.aposCommit(() -> {
+            StatusDevolucao status = statusDevolucaoService.registrarTransicao(
+                    idProcesso, idTransacao, cpf, situacaoEfetiva, atividade);
+            eventosDevolucaoService.publicar(status);
+        });
+    }
+
+}
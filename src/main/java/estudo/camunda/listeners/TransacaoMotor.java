@@ -0,0 +1,26 @@
+package estudo.camunda.listeners;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+public final class TransacaoMotor {
+
+    private TransacaoMotor() {
+    }
+
+    /**
+     * Executa a ação após o commit da transação do comando atual do motor, ou imediatamente
+     * quando chamado fora de um comando (ex.: testes unitários).
+     */
+    public static void aposCommit(Runnable acao) {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext == null) {
+            acao.run();
+            return;
+        }
+        commandContext.getTransactionContext()
+                .addTransactionListener(TransactionState.COMMITTED, contexto -> acao.run());
+    }
+
+}
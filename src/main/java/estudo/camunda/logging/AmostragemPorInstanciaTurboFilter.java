@@ -0,0 +1,61 @@
+package estudo.camunda.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Amostragem de logs por instância de processo: uma fração {@code taxa} das instâncias, escolhida
+ * pelo hash do {@code processInstanceId} que o Camunda põe no MDC, mantém todos os logs; nas demais
+ * só passam os eventos a partir de {@code nivelForaDaAmostra}. A decisão depende só do ID, então
+ * todos os passos de uma instância amostrada aparecem, em qualquer thread ou nó. Eventos fora de uma
+ * instância (sem a chave no MDC) não são afetados.
+ * <p>
+ * Como turbo filter, roda antes de o evento existir: um log descartado não formata a mensagem nem
+ * aloca o evento.
+ */
+public class AmostragemPorInstanciaTurboFilter extends TurboFilter {
+
+    private static final int ESCALA = 10_000;
+
+    private String chaveMdc = "processInstanceId";
+    private int limiteAmostra = 100;
+    private Level nivelForaDaAmostra = Level.ERROR;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(nivelForaDaAmostra)) {
+            return FilterReply.NEUTRAL;
+        }
+        String idInstancia = MDC.get(chaveMdc);
+        if (idInstancia == null || amostrada(idInstancia)) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    public boolean amostrada(String idInstancia) {
+        int h = idInstancia.hashCode() * 0x9E3779B9;
+        return Integer.remainderUnsigned(h ^ (h >>> 16), ESCALA) < limiteAmostra;
+    }
+
+    /** Fração das instâncias com log completo, entre 0 e 1 (padrão 0.01). */
+    public void setTaxa(double taxa) {
+        if (taxa < 0 || taxa > 1) {
+            throw new IllegalArgumentException("A taxa de amostragem deve estar entre 0 e 1: " + taxa);
+        }
+        this.limiteAmostra = (int) Math.round(taxa * ESCALA);
+    }
+
+    public void setNivelForaDaAmostra(String nivel) {
+        this.nivelForaDaAmostra = Level.toLevel(nivel, Level.ERROR);
+    }
+
+    public void setChaveMdc(String chaveMdc) {
+        this.chaveMdc = chaveMdc;
+    }
+
+}
@@ -0,0 +1,111 @@
+package estudo.camunda.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Um objeto JSON por linha: {@code @timestamp}, {@code level}, {@code logger}, {@code thread},
+ * {@code message}, as chaves do MDC (entre elas as do Camunda, como {@code processInstanceId} e
+ * {@code activityId}) e, se houver, {@code exception} com o stack trace. Atrás de um
+ * {@code AsyncAppender}, a serialização e a escrita ficam na thread do appender.
+ */
+public class JsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] VAZIO = new byte[0];
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private String no;
+    private volatile Carimbo ultimoCarimbo = new Carimbo(Long.MIN_VALUE, "");
+
+    @Override
+    public byte[] headerBytes() {
+        return VAZIO;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent evento) {
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"@timestamp\":\"").append(carimbo(evento.getTimeStamp())).append('"');
+        campo(json, "level", evento.getLevel().toString());
+        campo(json, "logger", evento.getLoggerName());
+        campo(json, "thread", evento.getThreadName());
+        if (no != null) {
+            campo(json, "no", no);
+        }
+        campo(json, "message", evento.getFormattedMessage());
+        Map<String, String> mdc = evento.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entrada : mdc.entrySet()) {
+                campo(json, entrada.getKey(), entrada.getValue());
+            }
+        }
+        IThrowableProxy excecao = evento.getThrowableProxy();
+        if (excecao != null) {
+            campo(json, "exception", ThrowableProxyUtil.asString(excecao));
+        }
+        json.append("}\n");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return VAZIO;
+    }
+
+    /** Identidade do nó ({@code pix.cluster.no-id}), repetida em todos os eventos. */
+    public void setNo(String no) {
+        this.no = no == null || no.isBlank() ? null : no;
+    }
+
+    /** Vários eventos caem no mesmo milissegundo; o texto do último é reaproveitado. */
+    private String carimbo(long millis) {
+        Carimbo carimbo = ultimoCarimbo;
+        if (carimbo.millis != millis) {
+            carimbo = new Carimbo(millis, Instant.ofEpochMilli(millis).toString());
+            ultimoCarimbo = carimbo;
+        }
+        return carimbo.texto;
+    }
+
+    private static void campo(StringBuilder json, String nome, String valor) {
+        json.append(',');
+        texto(json, nome);
+        json.append(':');
+        if (valor == null) {
+            json.append("null");
+        } else {
+            texto(json, valor);
+        }
+    }
+
+    static void texto(StringBuilder json, String valor) {
+        json.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private record Carimbo(long millis, String texto) {
+    }
+}
@@ -0,0 +1,36 @@
+package estudo.camunda.motor;
+
+import estudo.camunda.dto.EstatisticasCache;
+import org.camunda.bpm.impl.juel.Tree;
+import org.camunda.bpm.impl.juel.TreeCache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * Cache das árvores JUEL por texto da expressão, no lugar do cache interno do {@code ExpressionFactoryImpl}
+ * (que não expõe o tamanho). Cada falta é uma compilação: o {@code TreeStore} compila e chama {@link #put}.
+ * <p>
+ * As expressões do BPMN são compiladas no parse; por instância, o motor só as avalia.
+ */
+public class CacheArvoresExpressao implements TreeCache {
+
+    private final CacheComContagem<Tree> arvores;
+
+    public CacheArvoresExpressao(int capacidade) {
+        this.arvores = new CacheComContagem<>(new ConcurrentLruCache<>(capacidade), capacidade);
+    }
+
+    @Override
+    public Tree get(String expressao) {
+        return arvores.get(expressao);
+    }
+
+    @Override
+    public void put(String expressao, Tree arvore) {
+        arvores.put(expressao, arvore);
+    }
+
+    public EstatisticasCache estatisticas() {
+        return arvores.estatisticas();
+    }
+
+}
@@ -0,0 +1,66 @@
+package estudo.camunda.motor;
+
+import estudo.camunda.dto.EstatisticasCache;
+import org.camunda.commons.utils.cache.Cache;
+
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conta acertos e faltas de {@link #get} sobre outro cache. As contagens ficam em {@link LongAdder}
+ * para não disputar a mesma linha de cache entre as threads do motor.
+ */
+public class CacheComContagem<T> implements Cache<String, T> {
+
+    private final Cache<String, T> cache;
+    private final int capacidade;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    public CacheComContagem(Cache<String, T> cache, int capacidade) {
+        this.cache = cache;
+        this.capacidade = capacidade;
+    }
+
+    @Override
+    public T get(String chave) {
+        T valor = cache.get(chave);
+        (valor == null ? faltas : acertos).increment();
+        return valor;
+    }
+
+    @Override
+    public void put(String chave, T valor) {
+        cache.put(chave, valor);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public void remove(String chave) {
+        cache.remove(chave);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return cache.keySet();
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return cache.isEmpty();
+    }
+
+    public EstatisticasCache estatisticas() {
+        return EstatisticasCache.de(cache.size(), capacidade, acertos.sum(), faltas.sum());
+    }
+
+}
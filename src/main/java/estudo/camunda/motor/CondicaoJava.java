@@ -0,0 +1,111 @@
+package estudo.camunda.motor;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.Condition;
+
+import java.util.function.Predicate;
+
+/**
+ * Condição de sequence flow em Java, equivalente a uma expressão JUEL do BPMN para os tipos que o processo
+ * grava (Boolean, String e enums). Segue a {@code UelExpressionCondition}: variável inexistente é erro na
+ * avaliação e {@code false} em {@link #tryEvaluate}; resultado nulo ou não booleano também é erro.
+ */
+public final class CondicaoJava implements Condition {
+
+    private final String expressao;
+    private final Predicate<VariableScope> avaliacao;
+
+    CondicaoJava(String expressao, Predicate<VariableScope> avaliacao) {
+        this.expressao = expressao;
+        this.avaliacao = avaliacao;
+    }
+
+    /** O texto JUEL que esta condição substitui. */
+    public String getExpressao() {
+        return expressao;
+    }
+
+    @Override
+    public boolean evaluate(DelegateExecution execution) {
+        return evaluate(execution, execution);
+    }
+
+    @Override
+    public boolean evaluate(VariableScope scope, DelegateExecution execution) {
+        return avaliacao.test(scope);
+    }
+
+    @Override
+    public boolean tryEvaluate(VariableScope scope, DelegateExecution execution) {
+        try {
+            return evaluate(scope, execution);
+        } catch (VariavelInexistenteException e) {
+            return false;
+        }
+    }
+
+    /** {@code ${nome}}: a variável precisa ser um {@link Boolean}. */
+    static boolean booleano(VariableScope escopo, String nome) {
+        Object valor = variavel(escopo, nome);
+        if (valor == null) {
+            throw new ProcessEngineException("condition expression returns null");
+        }
+        if (!(valor instanceof Boolean resultado)) {
+            throw new ProcessEngineException("condition expression returns non-Boolean: " + valor.getClass().getName());
+        }
+        return resultado;
+    }
+
+    /** {@code ${!nome}}: coerção do EL, com nulo e texto vazio como {@code false}. */
+    static boolean negacao(VariableScope escopo, String nome) {
+        return !comoBooleano(variavel(escopo, nome), nome);
+    }
+
+    /** {@code ${nome == 'literal'}}: nulo é diferente; enums pelo nome, o resto pelo texto. */
+    static boolean igual(VariableScope escopo, String nome, String literal) {
+        Object valor = variavel(escopo, nome);
+        if (valor == null) {
+            return false;
+        }
+        String texto = valor instanceof Enum<?> constante ? constante.name() : valor.toString();
+        return texto.equals(literal);
+    }
+
+    /** {@code ${nome == true}}: nulo é diferente; texto passa pela coerção do EL. */
+    static boolean igual(VariableScope escopo, String nome, boolean literal) {
+        Object valor = variavel(escopo, nome);
+        return valor != null && comoBooleano(valor, nome) == literal;
+    }
+
+    private static Object variavel(VariableScope escopo, String nome) {
+        if (!escopo.hasVariable(nome)) {
+            throw new VariavelInexistenteException(nome);
+        }
+        return escopo.getVariable(nome);
+    }
+
+    private static boolean comoBooleano(Object valor, String nome) {
+        if (valor == null) {
+            return false;
+        }
+        if (valor instanceof Boolean booleano) {
+            return booleano;
+        }
+        if (valor instanceof String texto) {
+            return Boolean.parseBoolean(texto);
+        }
+        throw new ProcessEngineException("Cannot coerce '" + nome + "' of " + valor.getClass().getName() + " to Boolean");
+    }
+
+    private static class VariavelInexistenteException extends ProcessEngineException {
+
+        private static final long serialVersionUID = 1L;
+
+        VariavelInexistenteException(String nome) {
+            super("Unknown property used in expression: cannot resolve identifier '" + nome + "'");
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package estudo.camunda.motor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static estudo.camunda.motor.CondicaoJava.booleano;
+import static estudo.camunda.motor.CondicaoJava.igual;
+import static estudo.camunda.motor.CondicaoJava.negacao;
+
+/**
+ * As condições dos gateways do processo de devolução escritas em Java, pelo texto da expressão JUEL.
+ * Expressões fora desta lista continuam com o JUEL.
+ */
+public final class CondicoesPrecompiladas {
+
+    private static final Map<String, CondicaoJava> CONDICOES = Stream.of(
+            new CondicaoJava("${solicitacaoValida}", escopo -> booleano(escopo, "solicitacaoValida")),
+            new CondicaoJava("${!solicitacaoValida}", escopo -> negacao(escopo, "solicitacaoValida")),
+            new CondicaoJava("${nivelRisco == 'BAIXO' && aprovacaoAutomaticaSugerida == true}",
+                    escopo -> igual(escopo, "nivelRisco", "BAIXO") && igual(escopo, "aprovacaoAutomaticaSugerida", true)),
+            new CondicaoJava("${decisaoAnalista == 'APROVAR'}", escopo -> igual(escopo, "decisaoAnalista", "APROVAR")),
+            new CondicaoJava("${decisaoAnalista == 'REJEITAR'}", escopo -> igual(escopo, "decisaoAnalista", "REJEITAR"))
+    ).collect(Collectors.toUnmodifiableMap(condicao -> normalizar(condicao.getExpressao()), Function.identity()));
+
+    private CondicoesPrecompiladas() {
+    }
+
+    public static Optional<CondicaoJava> para(String expressao) {
+        return expressao == null ? Optional.empty() : Optional.ofNullable(CONDICOES.get(normalizar(expressao)));
+    }
+
+    /** Ignora espaços nas pontas e a quantidade de espaços entre os termos. */
+    static String normalizar(String expressao) {
+        return expressao.strip().replaceAll("\\s+", " ");
+    }
+
+}
@@ -0,0 +1,17 @@
+package estudo.camunda.motor;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * Os mesmos caches LRU da {@code DefaultCacheFactory} do motor, com contagem de acertos e faltas.
+ */
+public class FabricaCachesComContagem implements CacheFactory {
+
+    @Override
+    public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+        return new CacheComContagem<>(new ConcurrentLruCache<>(maxNumberOfElementsInCache), maxNumberOfElementsInCache);
+    }
+
+}
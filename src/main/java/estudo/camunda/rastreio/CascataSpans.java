@@ -0,0 +1,133 @@
+package estudo.camunda.rastreio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cascata dos spans de uma instância de processo (ou de todas) a partir do arquivo OTLP/JSON do
+ * exportador: cada span com o deslocamento desde o início do rastreio, a duração e uma barra na
+ * escala do rastreio, indentado sob o pai. Uso:
+ * {@code ./gradlew cascataSpans -Parquivo=rastreio/spans.jsonl [-Pinstancia=<processInstanceId>]}.
+ */
+public final class CascataSpans {
+
+    private static final int LARGURA_BARRA = 40;
+
+    private CascataSpans() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args[0].isBlank()) {
+            System.err.println("Uso: CascataSpans <spans.jsonl> [processInstanceId]");
+            System.exit(2);
+        }
+        List<Span> spans = ler(Path.of(args[0]));
+        System.out.print(formatar(spans, args.length > 1 && !args[1].isBlank() ? args[1] : null));
+    }
+
+    public static List<Span> ler(Path arquivo) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Span> spans = new ArrayList<>();
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                for (JsonNode recurso : mapper.readTree(linha).path("resourceSpans")) {
+                    for (JsonNode escopo : recurso.path("scopeSpans")) {
+                        for (JsonNode span : escopo.path("spans")) {
+                            spans.add(span(span));
+                        }
+                    }
+                }
+            }
+        }
+        return spans;
+    }
+
+    /** Rastreios com algum span da instância {@code processInstanceId} ou, com {@code null}, todos. */
+    public static String formatar(List<Span> spans, String processInstanceId) {
+        Map<String, List<Span>> porRastreio = new LinkedHashMap<>();
+        spans.stream()
+                .sorted(Comparator.comparingLong(Span::inicioEpochNanos))
+                .forEach(span -> porRastreio.computeIfAbsent(span.traceId(), t -> new ArrayList<>()).add(span));
+        StringBuilder texto = new StringBuilder();
+        for (Map.Entry<String, List<Span>> rastreio : porRastreio.entrySet()) {
+            List<Span> doRastreio = rastreio.getValue();
+            if (processInstanceId != null && doRastreio.stream()
+                    .noneMatch(s -> processInstanceId.equals(s.atributos().get(Span.ATRIBUTO_INSTANCIA_PROCESSO)))) {
+                continue;
+            }
+            cascata(texto, rastreio.getKey(), doRastreio);
+        }
+        return texto.isEmpty() ? "Nenhum span encontrado.\n" : texto.toString();
+    }
+
+    private static void cascata(StringBuilder texto, String traceId, List<Span> spans) {
+        long inicio = spans.stream().mapToLong(Span::inicioEpochNanos).min().orElse(0);
+        long fim = spans.stream().mapToLong(Span::fimEpochNanos).max().orElse(inicio);
+        long total = Math.max(1, fim - inicio);
+        Set<String> ids = new HashSet<>();
+        Map<String, List<Span>> filhos = new HashMap<>();
+        spans.forEach(span -> ids.add(span.spanId()));
+        List<Span> raizes = new ArrayList<>();
+        for (Span span : spans) {
+            if (span.parentSpanId() != null && ids.contains(span.parentSpanId())) {
+                filhos.computeIfAbsent(span.parentSpanId(), p -> new ArrayList<>()).add(span);
+            } else {
+                raizes.add(span);
+            }
+        }
+        String instancia = spans.stream()
+                .map(s -> s.atributos().get(Span.ATRIBUTO_INSTANCIA_PROCESSO))
+                .filter(id -> id != null)
+                .findFirst().orElse("-");
+        texto.append(String.format("%nrastreio %s  instância %s  %.1f ms%n", traceId, instancia, total / 1e6));
+        for (Span raiz : raizes) {
+            linha(texto, raiz, 0, inicio, total, filhos);
+        }
+    }
+
+    private static void linha(StringBuilder texto, Span span, int nivel, long inicioRastreio, long total,
+                              Map<String, List<Span>> filhos) {
+        long deslocamento = span.inicioEpochNanos() - inicioRastreio;
+        long duracao = span.fimEpochNanos() - span.inicioEpochNanos();
+        int antes = Math.min(LARGURA_BARRA - 1, (int) (deslocamento * LARGURA_BARRA / total));
+        int barra = Math.max(1, Math.min(LARGURA_BARRA - antes, (int) (duracao * LARGURA_BARRA / total)));
+        String nome = "  ".repeat(nivel) + span.nome() + (span.erro() ? " [erro]" : "");
+        texto.append(String.format("  %12.3f ms %12.3f ms  |%-" + LARGURA_BARRA + "s|  %s%n",
+                deslocamento / 1e6, duracao / 1e6, " ".repeat(antes) + "#".repeat(barra), nome));
+        for (Span filho : filhos.getOrDefault(span.spanId(), List.of())) {
+            linha(texto, filho, nivel + 1, inicioRastreio, total, filhos);
+        }
+    }
+
+    private static Span span(JsonNode span) {
+        Map<String, String> atributos = new LinkedHashMap<>();
+        for (JsonNode atributo : span.path("attributes")) {
+            atributos.put(atributo.path("key").asText(), atributo.path("value").path("stringValue").asText());
+        }
+        String pai = span.path("parentSpanId").asText(null);
+        return new Span(span.path("traceId").asText(), span.path("spanId").asText(),
+                pai == null || pai.isEmpty() ? null : pai, span.path("name").asText(), span.path("kind").asInt(),
+                Long.parseLong(span.path("startTimeUnixNano").asText("0")),
+                Long.parseLong(span.path("endTimeUnixNano").asText("0")),
+                span.path("status").path("code").asInt() == 2, atributos);
+    }
+
+}
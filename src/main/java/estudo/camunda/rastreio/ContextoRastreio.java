@@ -0,0 +1,119 @@
+package estudo.camunda.rastreio;
+
+import org.slf4j.MDC;
+
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Contexto de rastreio no formato W3C Trace Context: {@code traceId} de 32 e {@code spanId} de 16
+ * dígitos hexadecimais. Na instância de processo fica como a variável {@link #VARIAVEL}, um
+ * {@code traceparent} de 55 caracteres cujo {@code spanId} é o do span pai das atividades.
+ */
+public record ContextoRastreio(String traceId, String spanId) {
+
+    public static final String VARIAVEL = "traceparent";
+    public static final String MDC_TRACE_ID = "traceId";
+    public static final String MDC_SPAN_ID = "spanId";
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String TRACE_ID_NULO = "0".repeat(32);
+    private static final String SPAN_ID_NULO = "0".repeat(16);
+
+    public static ContextoRastreio novo() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return new ContextoRastreio(HEX.toHexDigits(aleatorio.nextLong()) + HEX.toHexDigits(aleatorio.nextLong()),
+                novoSpanId());
+    }
+
+    /** Lê um {@code traceparent} (versão 00); vazio se ausente ou malformado. */
+    public static Optional<ContextoRastreio> deTraceparent(Object traceparent) {
+        if (!(traceparent instanceof String texto) || texto.length() != 55
+                || !texto.startsWith("00-") || texto.charAt(35) != '-' || texto.charAt(52) != '-') {
+            return Optional.empty();
+        }
+        String traceId = texto.substring(3, 35);
+        String spanId = texto.substring(36, 52);
+        if (!hexadecimal(traceId) || !hexadecimal(spanId) || !hexadecimal(texto.substring(53))
+                || traceId.equals(TRACE_ID_NULO) || spanId.equals(SPAN_ID_NULO)) {
+            return Optional.empty();
+        }
+        return Optional.of(new ContextoRastreio(traceId, spanId));
+    }
+
+    /** Continua o rastreio recebido, se válido, ou começa um novo. */
+    public static ContextoRastreio continuar(String traceparent) {
+        return deTraceparent(traceparent).map(ContextoRastreio::filho).orElseGet(ContextoRastreio::novo);
+    }
+
+    /**
+     * {@code spanId} derivado de uma chave estável (o ID da instância de atividade), para que o
+     * listener de fim e os delegates cheguem ao mesmo span sem guardar estado.
+     */
+    public static String spanIdDe(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < chave.length(); i++) {
+            h = (h ^ chave.charAt(i)) * 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return HEX.toHexDigits(h == 0 ? 1 : h);
+    }
+
+    public ContextoRastreio filho() {
+        return new ContextoRastreio(traceId, novoSpanId());
+    }
+
+    public ContextoRastreio filho(String chave) {
+        return new ContextoRastreio(traceId, spanIdDe(chave));
+    }
+
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    /** Põe o contexto no MDC até o {@link EscopoMdc#close()}, que devolve os valores anteriores. */
+    public EscopoMdc noMdc() {
+        EscopoMdc escopo = new EscopoMdc(MDC.get(MDC_TRACE_ID), MDC.get(MDC_SPAN_ID));
+        MDC.put(MDC_TRACE_ID, traceId);
+        MDC.put(MDC_SPAN_ID, spanId);
+        return escopo;
+    }
+
+    private static String novoSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return HEX.toHexDigits(id);
+    }
+
+    private static boolean hexadecimal(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record EscopoMdc(String traceIdAnterior, String spanIdAnterior) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            restaurar(MDC_TRACE_ID, traceIdAnterior);
+            restaurar(MDC_SPAN_ID, spanIdAnterior);
+        }
+
+        private static void restaurar(String chave, String valor) {
+            if (valor == null) {
+                MDC.remove(chave);
+            } else {
+                MDC.put(chave, valor);
+            }
+        }
+    }
+}
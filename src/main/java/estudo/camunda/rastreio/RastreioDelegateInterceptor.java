@@ -0,0 +1,43 @@
+package estudo.camunda.rastreio;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.bpmn.delegate.JavaDelegateInvocation;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
+
+import java.util.Optional;
+
+/**
+ * Restaura o rastreio da instância no MDC durante cada {@code JavaDelegate}, na thread da
+ * requisição ou do job executor: {@code traceId} da variável {@link ContextoRastreio#VARIAVEL} e
+ * {@code spanId} o da atividade em execução.
+ */
+public class RastreioDelegateInterceptor implements DelegateInterceptor {
+
+    private final DelegateInterceptor proximo;
+
+    public RastreioDelegateInterceptor(DelegateInterceptor proximo) {
+        this.proximo = proximo;
+    }
+
+    @Override
+    public void handleInvocation(DelegateInvocation invocation) throws Exception {
+        if (!(invocation instanceof JavaDelegateInvocation)) {
+            proximo.handleInvocation(invocation);
+            return;
+        }
+        DelegateExecution execution = (DelegateExecution) invocation.getContextExecution();
+        Optional<ContextoRastreio> contexto = ContextoRastreio.deTraceparent(execution.getVariable(ContextoRastreio.VARIAVEL));
+        if (contexto.isEmpty()) {
+            proximo.handleInvocation(invocation);
+            return;
+        }
+        ContextoRastreio.EscopoMdc escopo = contexto.get().filho(execution.getActivityInstanceId()).noMdc();
+        try {
+            proximo.handleInvocation(invocation);
+        } finally {
+            escopo.close();
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package estudo.camunda.rastreio;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Span concluído, com os campos do modelo OTLP. {@code parentSpanId} é {@code null} na raiz do
+ * rastreio; os instantes são nanossegundos desde 1970.
+ */
+public record Span(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String nome,
+        int tipo,
+        long inicioEpochNanos,
+        long fimEpochNanos,
+        boolean erro,
+        Map<String, String> atributos
+) {
+
+    /** {@code SPAN_KIND_INTERNAL} do OTLP. */
+    public static final int TIPO_INTERNO = 1;
+    /** {@code SPAN_KIND_SERVER} do OTLP. */
+    public static final int TIPO_SERVIDOR = 2;
+
+    public static final String ATRIBUTO_INSTANCIA_PROCESSO = "camunda.process_instance_id";
+    public static final String ATRIBUTO_ATIVIDADE = "camunda.activity_id";
+
+    public static long epochNanosAgora() {
+        Instant agora = Instant.now();
+        return agora.getEpochSecond() * 1_000_000_000L + agora.getNano();
+    }
+}
@@ -0,0 +1,51 @@
+package estudo.camunda.rastreio;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Span aberto na thread atual: o contexto fica no MDC da criação até o {@link #encerrar(boolean)}.
+ */
+public final class SpanEmAndamento {
+
+    private final ContextoRastreio contexto;
+    private final String parentSpanId;
+    private final String nome;
+    private final int tipo;
+    private final long inicioEpochNanos;
+    private final Map<String, String> atributos = new LinkedHashMap<>();
+    private final ContextoRastreio.EscopoMdc escopoMdc;
+
+    private SpanEmAndamento(ContextoRastreio contexto, String parentSpanId, String nome, int tipo) {
+        this.contexto = contexto;
+        this.parentSpanId = parentSpanId;
+        this.nome = nome;
+        this.tipo = tipo;
+        this.inicioEpochNanos = Span.epochNanosAgora();
+        this.escopoMdc = contexto.noMdc();
+    }
+
+    /** Span de entrada de uma requisição: filho do {@code traceparent} recebido ou raiz de um novo rastreio. */
+    public static SpanEmAndamento iniciarServidor(String nome, String traceparent) {
+        return ContextoRastreio.deTraceparent(traceparent)
+                .map(pai -> new SpanEmAndamento(pai.filho(), pai.spanId(), nome, Span.TIPO_SERVIDOR))
+                .orElseGet(() -> new SpanEmAndamento(ContextoRastreio.novo(), null, nome, Span.TIPO_SERVIDOR));
+    }
+
+    public ContextoRastreio contexto() {
+        return contexto;
+    }
+
+    public SpanEmAndamento atributo(String chave, String valor) {
+        if (valor != null) {
+            atributos.put(chave, valor);
+        }
+        return this;
+    }
+
+    public Span encerrar(boolean erro) {
+        escopoMdc.close();
+        return new Span(contexto.traceId(), contexto.spanId(), parentSpanId, nome, tipo,
+                inicioEpochNanos, Span.epochNanosAgora(), erro, Map.copyOf(atributos));
+    }
+}
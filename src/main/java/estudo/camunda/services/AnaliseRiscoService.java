@@ -1,6 +1,7 @@
 package estudo.camunda.services;
 
 import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
 import estudo.camunda.dto.ResultadoAnaliseRisco;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
 
@@ -8,7 +9,14 @@ public interface AnaliseRiscoService {
 
     ResultadoAnaliseRisco analisarRisco(
             SolicitacaoDevolucaoRequest solicitacao,
+            MotivoDevolucao motivo,
             DetalhesTransacaoPix transacaoOriginal
     );
 
+    default ResultadoAnaliseRisco analisarRisco(
+            SolicitacaoDevolucaoRequest solicitacao,
+            DetalhesTransacaoPix transacaoOriginal) {
+        return analisarRisco(solicitacao, MotivoDevolucao.parse(solicitacao.motivo()), transacaoOriginal);
+    }
+
 }
@@ -0,0 +1,30 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.MetricasAdmissao;
+
+public interface ControleAdmissaoService {
+
+    /**
+     * Reserva uma vaga para iniciar um processo. Quem recebe {@code true} deve chamar
+     * {@link #liberar(long, boolean)} ao terminar, com ou sem sucesso.
+     */
+    boolean tentarAdmitir();
+
+    /**
+     * Devolve a vaga informando a latência observada; {@code sobrecarga} indica que a falha foi do
+     * motor ou do banco (e não dos dados da solicitação).
+     */
+    void liberar(long latenciaNanos, boolean sobrecarga);
+
+    /**
+     * Devolve a vaga de uma solicitação admitida que foi rejeitada antes de iniciar o processo, sem
+     * contar como amostra de latência.
+     */
+    void desistir();
+
+    /** Segundos sugeridos no {@code Retry-After} das solicitações rejeitadas. */
+    long retryAfterSegundos();
+
+    MetricasAdmissao metricas();
+
+}
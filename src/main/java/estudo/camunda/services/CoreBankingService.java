@@ -1,8 +1,11 @@
 package estudo.camunda.services;
 
+import estudo.camunda.dto.DevolucaoFinanceira;
 import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 public interface CoreBankingService {
 
@@ -10,7 +13,20 @@ public interface CoreBankingService {
             String idOperacaoDevolucao,
             String identificadorContaDebito,
             String identificadorContaCredito,
-            BigDecimal valor
+            ValorMonetario valor
     );
 
+    /**
+     * Lança várias devoluções em uma única chamada; o resultado de índice {@code i} é o da devolução
+     * de índice {@code i}. A implementação padrão faz uma chamada por devolução.
+     */
+    default List<ResultadoOperacaoFinanceira> efetuarDevolucoesEmLote(List<DevolucaoFinanceira> devolucoes) {
+        List<ResultadoOperacaoFinanceira> resultados = new ArrayList<>(devolucoes.size());
+        for (DevolucaoFinanceira devolucao : devolucoes) {
+            resultados.add(efetuarDevolucaoFinanceira(devolucao.idOperacaoDevolucao(), devolucao.identificadorContaDebito(),
+                    devolucao.identificadorContaCredito(), devolucao.valor()));
+        }
+        return resultados;
+    }
+
 }
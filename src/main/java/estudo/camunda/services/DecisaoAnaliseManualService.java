@@ -0,0 +1,16 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.DecisaoTarefaRequest;
+import estudo.camunda.dto.ResultadoDecisoesEmLote;
+
+import java.util.List;
+
+public interface DecisaoAnaliseManualService {
+
+    /**
+     * Conclui as tarefas de análise manual com as decisões informadas. O resultado traz uma
+     * entrada por item, na mesma ordem do pedido.
+     */
+    ResultadoDecisoesEmLote decidirEmLote(List<DecisaoTarefaRequest> decisoes);
+
+}
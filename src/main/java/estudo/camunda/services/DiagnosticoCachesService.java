@@ -0,0 +1,9 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.DiagnosticoCaches;
+
+public interface DiagnosticoCachesService {
+
+    DiagnosticoCaches consultar();
+
+}
@@ -0,0 +1,42 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.StatusDevolucao;
+
+import java.io.IOException;
+
+public interface EventosDevolucaoService {
+
+    void publicar(StatusDevolucao status);
+
+    AssinaturaEventos assinarPorProcesso(String idProcesso, ConsumidorEventos consumidor);
+
+    AssinaturaEventos assinarPorCpf(String cpfClienteSolicitante, ConsumidorEventos consumidor);
+
+    int quantidadeAssinantes();
+
+    interface ConsumidorEventos {
+
+        /**
+         * Chamado na thread virtual do assinante. Retorna {@code false} para encerrar a assinatura.
+         */
+        boolean receber(StatusDevolucao status) throws IOException;
+
+        void encerrar(MotivoEncerramento motivo);
+
+    }
+
+    interface AssinaturaEventos extends AutoCloseable {
+
+        @Override
+        void close();
+
+    }
+
+    enum MotivoEncerramento {
+        CONCLUIDA,
+        CANCELADA,
+        DESPEJADA,
+        FALHA_ENTREGA
+    }
+
+}
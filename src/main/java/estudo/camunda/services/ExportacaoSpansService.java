@@ -0,0 +1,13 @@
+package estudo.camunda.services;
+
+import estudo.camunda.rastreio.Span;
+
+public interface ExportacaoSpansService {
+
+    /** {@code false} quando não há destino configurado: os spans nem precisam ser montados. */
+    boolean ativo();
+
+    /** Não bloqueia: com a fila cheia, o span é descartado. */
+    void exportar(Span span);
+
+}
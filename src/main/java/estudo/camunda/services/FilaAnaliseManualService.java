@@ -0,0 +1,15 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.PaginaFilaAnalise;
+
+public interface FilaAnaliseManualService {
+
+    /**
+     * Lista as tarefas de análise manual em aberto, ordenadas por criação.
+     * O cursor é o {@code proximoCursor} da página anterior, ou {@code null} para a primeira página.
+     */
+    PaginaFilaAnalise listarTarefas(String cursor, int limite);
+
+    void invalidarCache();
+
+}
@@ -0,0 +1,22 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.GravacaoPerfil;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface GravacaoPerfilService {
+
+    /**
+     * Inicia uma gravação JFR com a configuração {@code default} ou {@code profile} do JDK (ou o
+     * caminho de um {@code .jfc}), mais os eventos {@code estudo.camunda}. Com {@code duracaoMaxima},
+     * a gravação para sozinha e grava o arquivo.
+     */
+    GravacaoPerfil iniciar(String nome, String configuracao, Duration duracaoMaxima);
+
+    /** Para a gravação e grava o arquivo. {@link java.util.NoSuchElementException} se o id não existe. */
+    GravacaoPerfil parar(long id);
+
+    List<GravacaoPerfil> listar();
+
+}
@@ -0,0 +1,22 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.ResultadoImportacao;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface ImportacaoSolicitacoesService {
+
+    /**
+     * Importa solicitações de devolução em NDJSON (um {@code SolicitacaoDevolucaoRequest} por linha),
+     * iniciando um processo para cada registro válido. Repetir a chamada com o mesmo
+     * {@code idImportacao} retoma a importação, pulando as linhas já confirmadas.
+     *
+     * @throws IllegalStateException se a mesma importação já estiver em andamento
+     */
+    ResultadoImportacao importar(String idImportacao, InputStream ndjson);
+
+    /** Contadores parciais de uma importação em andamento. */
+    Optional<ResultadoImportacao> consultarAndamento(String idImportacao);
+
+}
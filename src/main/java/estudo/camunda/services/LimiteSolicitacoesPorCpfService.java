@@ -0,0 +1,11 @@
+package estudo.camunda.services;
+
+public interface LimiteSolicitacoesPorCpfService {
+
+    /**
+     * Registra uma solicitação do CPF. Devolve 0 se ela está dentro do limite, ou os milissegundos
+     * até o CPF poder solicitar de novo.
+     */
+    long tentarConsumir(String cpf);
+
+}
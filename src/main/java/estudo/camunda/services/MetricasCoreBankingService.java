@@ -0,0 +1,9 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.MetricasCoreBanking;
+
+public interface MetricasCoreBankingService {
+
+    MetricasCoreBanking metricas();
+
+}
@@ -0,0 +1,12 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.InformacoesNoCluster;
+
+public interface NoClusterService {
+
+    /**
+     * Identidade e partições deste nó, com as métricas de jobs do Camunda reportadas por ele.
+     */
+    InformacoesNoCluster consultarNo();
+
+}
@@ -0,0 +1,16 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.ResultadoPreVerificacao;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+
+/**
+ * Validação e análise de risco em uma única etapa, com as verificações independentes em paralelo.
+ */
+public interface PreVerificacaoService {
+
+    boolean habilitada();
+
+    ResultadoPreVerificacao preVerificar(SolicitacaoDevolucaoRequest solicitacao, MotivoDevolucao motivo);
+
+}
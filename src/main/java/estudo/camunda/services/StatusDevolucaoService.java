@@ -0,0 +1,22 @@
+package estudo.camunda.services;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.dto.StatusDevolucao;
+
+import java.util.Optional;
+
+public interface StatusDevolucaoService {
+
+    StatusDevolucao registrarTransicao(
+            String idProcesso,
+            String idTransacaoOriginal,
+            String cpfClienteSolicitante,
+            SituacaoDevolucao situacao,
+            String atividade
+    );
+
+    Optional<StatusDevolucao> buscarPorIdProcesso(String idProcesso);
+
+    Optional<StatusDevolucao> buscarPorIdTransacaoOriginal(String idTransacaoOriginal);
+
+}
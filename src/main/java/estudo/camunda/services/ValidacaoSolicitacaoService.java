@@ -1,10 +1,24 @@
 package estudo.camunda.services;
 
+import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
 import estudo.camunda.dto.ResultadoValidacao;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
 
+import java.util.Optional;
+
 public interface ValidacaoSolicitacaoService {
 
-    ResultadoValidacao validarSolicitacao(SolicitacaoDevolucaoRequest solicitacao);
+    ResultadoValidacao validarSolicitacao(SolicitacaoDevolucaoRequest solicitacao, MotivoDevolucao motivo);
+
+    Optional<DetalhesTransacaoPix> buscarTransacaoOriginal(String idTransacaoOriginal);
+
+    /** Titularidade, prazo e motivo da solicitação contra uma transação original já buscada. */
+    ResultadoValidacao validarContraTransacao(SolicitacaoDevolucaoRequest solicitacao, MotivoDevolucao motivo,
+                                              DetalhesTransacaoPix transacaoOriginal);
+
+    default ResultadoValidacao validarSolicitacao(SolicitacaoDevolucaoRequest solicitacao) {
+        return validarSolicitacao(solicitacao, MotivoDevolucao.parse(solicitacao.motivo()));
+    }
 
 }
@@ -0,0 +1,3 @@
+-- Paginação da fila de análise manual (JdbcFilaAnaliseManualServiceImpl); depende do schema do Camunda
+CREATE INDEX IF NOT EXISTS PIX_IDX_TASK_FILA_ANALISE
+    ON ACT_RU_TASK (TASK_DEF_KEY_, ASSIGNEE_, CREATE_TIME_, ID_);
@@ -0,0 +1,9 @@
+-- Checkpoints da importação NDJSON (NdjsonImportacaoSolicitacoesServiceImpl): um registro por bloco confirmado
+CREATE TABLE IF NOT EXISTS PIX_IMPORTACAO_BLOCO (
+    ID_IMPORTACAO VARCHAR(100) NOT NULL,
+    LINHA_INICIAL BIGINT NOT NULL,
+    LINHA_FINAL BIGINT NOT NULL,
+    INICIADAS INT NOT NULL,
+    CONFIRMADO_EM TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (ID_IMPORTACAO, LINHA_INICIAL)
+);
@@ -141,7 +141,7 @@ class CamundaProcessTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_INVALIDO",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         Map<String, Object> variables = new HashMap<>();
@@ -174,7 +174,7 @@ class CamundaProcessTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_VALIDA_001",
                 "FALHA_OPERACIONAL_BANCO",
-                "11122233344"
+                "11122233396"
         );
 
         // Não precisamos definir todas as variáveis manualmente, apenas as necessárias para iniciar o processo
@@ -249,7 +249,7 @@ class CamundaProcessTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_PARA_ANALISE_MANUAL_001",
                 "FRAUDE_COMPROVADA",
-                "77788899900"  // Usando o CPF correto do pagador original
+                "77788899941"  // Usando o CPF correto do pagador original
         );
 
         // Não precisamos definir todas as variáveis manualmente, apenas as necessárias para iniciar o processo
@@ -326,7 +326,7 @@ class CamundaProcessTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_PARA_ANALISE_MANUAL_001",
                 "FRAUDE_COMPROVADA",
-                "77788899900"  // Usando o CPF correto do pagador original
+                "77788899941"  // Usando o CPF correto do pagador original
         );
 
         // Não precisamos definir todas as variáveis manualmente, apenas as necessárias para iniciar o processo
@@ -0,0 +1,227 @@
+package estudo.camunda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import estudo.camunda.dto.DecisaoAnalista;
+import estudo.camunda.dto.DecisaoTarefaRequest;
+import estudo.camunda.dto.DevolucaoFinanceira;
+import estudo.camunda.dto.PaginaFilaAnalise;
+import estudo.camunda.dto.ResultadoDecisaoTarefa;
+import estudo.camunda.dto.ResultadoDecisoesEmLote;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.TarefaAnaliseManual;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.impl.LogNotificacaoServiceImpl;
+import estudo.camunda.impl.MockCoreBankingServiceImpl;
+import estudo.camunda.services.DecisaoAnaliseManualService;
+import estudo.camunda.services.FilaAnaliseManualService;
+
+@SpringBootTest
+class FilaAnaliseManualProcessTest {
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private FilaAnaliseManualService filaAnaliseManualService;
+
+    @Autowired
+    private DecisaoAnaliseManualService decisaoAnaliseManualService;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @SpyBean
+    private MockCoreBankingServiceImpl coreBanking;
+
+    @SpyBean
+    private LogNotificacaoServiceImpl notificacaoService;
+
+    private static final String PROCESS_KEY = "processo_devolucao_pix_med_simplificado";
+
+    /**
+     * Aguarda o processo chegar na tarefa de análise manual (após o timer de 1 segundo)
+     */
+    private Task aguardarTarefaAnaliseManual(String processInstanceId) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 30; tentativa++) {
+            Task task = taskService.createTaskQuery()
+                    .processInstanceId(processInstanceId)
+                    .taskDefinitionKey("user_task_analise_manual")
+                    .singleResult();
+            if (task != null) {
+                return task;
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new AssertionError("Processo " + processInstanceId + " não chegou na análise manual.");
+    }
+
+    private void aguardarFim(String processInstanceId) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 30; tentativa++) {
+            if (runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).count() == 0) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new AssertionError("Processo " + processInstanceId + " não terminou.");
+    }
+
+    /** Espera os jobs de instâncias de outros testes, para que não notifiquem nem lancem durante a verificação. */
+    private void aguardarSemJobs() throws InterruptedException {
+        for (int tentativa = 0; tentativa < 30; tentativa++) {
+            if (managementService.createJobQuery().count() == 0) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new AssertionError("Jobs pendentes no motor.");
+    }
+
+    /** Lançamentos enviados ao core banking com o id de operação, avulsos ou em lote. */
+    private long lancamentos(String idOperacao) {
+        return mockingDetails(coreBanking).getInvocations().stream()
+                .flatMap(invocacao -> invocacao.getMethod().getName().equals("efetuarDevolucoesEmLote")
+                        ? invocacao.<List<DevolucaoFinanceira>>getArgument(0).stream().map(DevolucaoFinanceira::idOperacaoDevolucao)
+                        : Stream.of(invocacao.getArgument(0)))
+                .filter(idOperacao::equals)
+                .count();
+    }
+
+    private ProcessInstance iniciarProcessoParaAnaliseManual() {
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_PARA_ANALISE_MANUAL_001",
+                "FRAUDE_COMPROVADA",
+                "77788899941"
+        );
+        return runtimeService.startProcessInstanceByKey(PROCESS_KEY, Map.of(
+                "solicitacaoDevolucaoRequest", solicitacao,
+                "idTransacaoOriginal", solicitacao.idTransacaoOriginal()));
+    }
+
+    private Optional<TarefaAnaliseManual> buscarNaFila(String processInstanceId) {
+        String cursor = null;
+        do {
+            PaginaFilaAnalise pagina = filaAnaliseManualService.listarTarefas(cursor, 2);
+            Optional<TarefaAnaliseManual> encontrada = pagina.tarefas().stream()
+                    .filter(tarefa -> tarefa.idProcesso().equals(processInstanceId))
+                    .findFirst();
+            if (encontrada.isPresent()) {
+                return encontrada;
+            }
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+        return Optional.empty();
+    }
+
+    @Test
+    @DisplayName("Deve listar a tarefa de análise manual com os dados da decisão e removê-la ao concluir")
+    void deveListarTarefaComDadosDaDecisaoERemoverAoConcluir() throws InterruptedException {
+        // Arrange
+        ProcessInstance processInstance = iniciarProcessoParaAnaliseManual();
+
+        // Act
+        Task task = aguardarTarefaAnaliseManual(processInstance.getId());
+        Optional<TarefaAnaliseManual> naFila = buscarNaFila(processInstance.getId());
+
+        // Assert
+        assertThat(naFila).hasValueSatisfying(tarefa -> {
+            assertThat(tarefa.idTarefa()).isEqualTo(task.getId());
+            assertThat(tarefa.idTransacaoOriginal()).isEqualTo("TXID_PARA_ANALISE_MANUAL_001");
+            assertThat(tarefa.valor()).isEqualTo(ValorMonetario.de("250.75"));
+            assertThat(tarefa.motivo()).isEqualTo("FRAUDE_COMPROVADA");
+            assertThat(tarefa.nivelRisco()).isEqualTo("MEDIO");
+            assertThat(tarefa.justificativaAnaliseRisco()).contains("FRAUDE_COMPROVADA");
+        });
+
+        // Concluir a tarefa invalida o cache e ela deixa de aparecer na fila
+        taskService.complete(task.getId(), Map.of("decisaoAnalista", "REJEITAR"));
+        assertThat(buscarNaFila(processInstance.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve concluir decisões em lote e reportar o resultado de cada tarefa")
+    void deveConcluirDecisoesEmLote() throws InterruptedException {
+        // Arrange
+        ProcessInstance aprovar = iniciarProcessoParaAnaliseManual();
+        ProcessInstance rejeitar = iniciarProcessoParaAnaliseManual();
+        Task tarefaAprovar = aguardarTarefaAnaliseManual(aprovar.getId());
+        Task tarefaRejeitar = aguardarTarefaAnaliseManual(rejeitar.getId());
+
+        // Act
+        ResultadoDecisoesEmLote resultado = decisaoAnaliseManualService.decidirEmLote(List.of(
+                new DecisaoTarefaRequest(tarefaAprovar.getId(), DecisaoAnalista.APROVAR),
+                new DecisaoTarefaRequest(tarefaRejeitar.getId(), DecisaoAnalista.REJEITAR),
+                new DecisaoTarefaRequest("TAREFA_INEXISTENTE", DecisaoAnalista.APROVAR)));
+
+        // Assert
+        assertThat(resultado.concluidas()).isEqualTo(2);
+        assertThat(resultado.resultados()).extracting(ResultadoDecisaoTarefa::situacao).containsExactly(
+                ResultadoDecisaoTarefa.Situacao.CONCLUIDA,
+                ResultadoDecisaoTarefa.Situacao.CONCLUIDA,
+                ResultadoDecisaoTarefa.Situacao.NAO_ENCONTRADA);
+        // A decisão só é gravada na transação do bloco; o restante do processo roda em jobs
+        aguardarFim(rejeitar.getId());
+        aguardarFim(aprovar.getId());
+    }
+
+    @Test
+    @DisplayName("Um bloco desfeito e refeito tarefa a tarefa deve lançar e notificar uma única vez")
+    void blocoDesfeitoNaoDeveRepetirLancamentoNemNotificacao() throws InterruptedException {
+        // Arrange
+        ProcessInstance aprovar = iniciarProcessoParaAnaliseManual();
+        ProcessInstance rejeitar = iniciarProcessoParaAnaliseManual();
+        ProcessInstance suspensa = iniciarProcessoParaAnaliseManual();
+        Task tarefaAprovar = aguardarTarefaAnaliseManual(aprovar.getId());
+        Task tarefaRejeitar = aguardarTarefaAnaliseManual(rejeitar.getId());
+        Task tarefaSuspensa = aguardarTarefaAnaliseManual(suspensa.getId());
+        // A instância suspensa faz a conclusão falhar no fim do bloco, depois das outras duas
+        runtimeService.suspendProcessInstanceById(suspensa.getId());
+        aguardarSemJobs();
+        clearInvocations(coreBanking, notificacaoService);
+
+        // Act
+        ResultadoDecisoesEmLote resultado = decisaoAnaliseManualService.decidirEmLote(List.of(
+                new DecisaoTarefaRequest(tarefaAprovar.getId(), DecisaoAnalista.APROVAR),
+                new DecisaoTarefaRequest(tarefaRejeitar.getId(), DecisaoAnalista.REJEITAR),
+                new DecisaoTarefaRequest(tarefaSuspensa.getId(), DecisaoAnalista.APROVAR)));
+        aguardarFim(aprovar.getId());
+        aguardarFim(rejeitar.getId());
+
+        // Assert
+        assertThat(resultado.resultados()).extracting(ResultadoDecisaoTarefa::situacao).containsExactly(
+                ResultadoDecisaoTarefa.Situacao.CONCLUIDA,
+                ResultadoDecisaoTarefa.Situacao.CONCLUIDA,
+                ResultadoDecisaoTarefa.Situacao.FALHA);
+        assertThat(lancamentos("DEV-" + aprovar.getId())).isEqualTo(1);
+        // A notificação sai após o commit do job, que pode terminar depois da instância ser vista encerrada
+        verify(notificacaoService, after(1000).times(1)).enviarNotificacao(anyString(), contains("não pôde ser aprovada"));
+        runtimeService.deleteProcessInstance(suspensa.getId(), "teste");
+    }
+}
@@ -0,0 +1,66 @@
+package estudo.camunda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import estudo.camunda.dto.ResultadoImportacao;
+import estudo.camunda.impl.LogNotificacaoServiceImpl;
+import estudo.camunda.services.ImportacaoSolicitacoesService;
+
+@SpringBootTest
+class ImportacaoSolicitacoesProcessTest {
+
+    @Autowired
+    private ImportacaoSolicitacoesService importacaoSolicitacoesService;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private LogNotificacaoServiceImpl notificacaoService;
+
+    /** Solicitação feita por quem não é o pagador: o processo termina na notificação de rejeição inicial. */
+    private static final String SOLICITACAO_REJEITADA =
+            "{\"idTransacaoOriginal\":\"TXID_INVALIDA_PAGADOR\",\"motivo\":\"FRAUDE_COMPROVADA\",\"cpfClienteSolicitante\":\"11122233396\"}";
+
+    @Test
+    @DisplayName("Um bloco desfeito e iniciado registro a registro deve notificar cada rejeição uma única vez")
+    void blocoDesfeitoNaoDeveRepetirNotificacao() {
+        // Arrange
+        String idImportacao = "IMP-" + UUID.randomUUID();
+        // O checkpoint do bloco falha depois que os dois processos já foram iniciados na transação
+        doThrow(new DataIntegrityViolationException("falha simulada"))
+                .when(jdbcTemplate).update(anyString(), eq(idImportacao), eq(1L), eq(2L), anyInt());
+        clearInvocations(notificacaoService);
+        byte[] arquivo = (SOLICITACAO_REJEITADA + "\n" + SOLICITACAO_REJEITADA).getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        ResultadoImportacao resultado = importacaoSolicitacoesService.importar(idImportacao, new ByteArrayInputStream(arquivo));
+
+        // Assert
+        assertThat(resultado.iniciadas()).isEqualTo(2);
+        assertThat(resultado.errosInicio()).isZero();
+        verify(jdbcTemplate).update(anyString(), eq(idImportacao), eq(1L), eq(1L), eq(1));
+        verify(jdbcTemplate).update(anyString(), eq(idImportacao), eq(2L), eq(2L), eq(1));
+        verify(notificacaoService, times(2)).enviarNotificacao(eq("11122233396"), contains("não pôde ser aceita"));
+    }
+}
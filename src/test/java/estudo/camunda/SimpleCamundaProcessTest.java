@@ -14,7 +14,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import estudo.camunda.dto.SituacaoDevolucao;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.services.StatusDevolucaoService;
 
 @SpringBootTest
 class SimpleCamundaProcessTest {
@@ -28,6 +30,9 @@ class SimpleCamundaProcessTest {
     @Autowired
     private HistoryService historyService;
 
+    @Autowired
+    private StatusDevolucaoService statusDevolucaoService;
+
     private static final String PROCESS_KEY = "processo_devolucao_pix_med_simplificado";
 
     @Test
@@ -37,7 +42,7 @@ class SimpleCamundaProcessTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_INVALIDO",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         Map<String, Object> variables = new HashMap<>();
@@ -75,5 +80,13 @@ class SimpleCamundaProcessTest {
                 .count();
 
         assertThat(count).isGreaterThan(0);
+
+        // Verificar que o modelo de leitura de status acompanhou o processo
+        assertThat(statusDevolucaoService.buscarPorIdProcesso(processInstance.getId()))
+                .hasValueSatisfying(status -> {
+                    assertThat(status.situacao()).isEqualTo(SituacaoDevolucao.REJEITADA_VALIDACAO);
+                    assertThat(status.idTransacaoOriginal()).isEqualTo("TXID_INVALIDO");
+                    assertThat(status.finalizada()).isTrue();
+                });
     }
 }
@@ -0,0 +1,141 @@
+package estudo.camunda.cluster;
+
+import estudo.camunda.config.ClusterProcessEnginePlugin;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe vários nós em JVMs separadas contra o mesmo banco H2 (AUTO_SERVER) e mede o tempo para
+ * esvaziar a mesma carga de jobs com 1 nó, com 4 nós disputando todos os jobs e com 4 nós
+ * particionados. Fica fora do {@code ./gradlew test}; rode com {@code ./gradlew testCluster}.
+ */
+@Tag("cluster")
+class EscalonamentoClusterTest {
+
+    private static final int JOBS = 1200;
+
+    @TempDir
+    static Path diretorio;
+
+    private static String jdbcUrl;
+    private static ProcessEngine coordenador;
+
+    @BeforeAll
+    static void iniciarCoordenador() {
+        jdbcUrl = "jdbc:h2:file:" + diretorio.resolve("cluster").toAbsolutePath() + ";AUTO_SERVER=TRUE;LOCK_TIMEOUT=10000";
+        // O coordenador não executa jobs, só os cria já com a prioridade da partição
+        coordenador = MotorClusterTeste.construir(jdbcUrl, true, false,
+                new ClusterProcessEnginePlugin(true, "coordenador", MotorClusterTeste.PARTICOES, 1, 0, Duration.ZERO));
+        coordenador.getRepositoryService().createDeployment()
+                .addModelInstance(MotorClusterTeste.PROCESSO + ".bpmn", MotorClusterTeste.modelo())
+                .deploy();
+    }
+
+    @AfterAll
+    static void encerrarCoordenador() {
+        coordenador.close();
+    }
+
+    private record ResultadoCenario(long duracaoMillis, long executados, long falhasAquisicao) {
+
+        double jobsPorSegundo() {
+            return executados * 1000.0 / duracaoMillis;
+        }
+    }
+
+    private ResultadoCenario executarCenario(String cenario, int nos, boolean particionado) throws Exception {
+        RuntimeService runtimeService = coordenador.getRuntimeService();
+        ManagementService managementService = coordenador.getManagementService();
+        for (int i = 0; i < JOBS; i++) {
+            runtimeService.startProcessInstanceByKey(MotorClusterTeste.PROCESSO, Map.of("idTransacaoOriginal", "TXID-" + cenario + "-" + i));
+        }
+        managementService.suspendJobDefinitionByProcessDefinitionKey(MotorClusterTeste.PROCESSO, true);
+
+        List<Process> processos = new ArrayList<>();
+        List<Path> resultados = new ArrayList<>();
+        for (int indice = 0; indice < nos; indice++) {
+            String noId = cenario + "-no-" + indice;
+            Path pronto = diretorio.resolve(noId + ".pronto");
+            Path resultado = diretorio.resolve(noId + ".resultado");
+            resultados.add(resultado);
+            processos.add(new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    NoDeCargaCluster.class.getName(),
+                    jdbcUrl, noId, Boolean.toString(particionado), Integer.toString(nos), Integer.toString(indice),
+                    pronto.toString(), resultado.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(diretorio.resolve(noId + ".log").toFile())
+                    .start());
+        }
+        aguardar(() -> processos.stream().allMatch(p -> Files.exists(diretorio.resolve(
+                cenario + "-no-" + processos.indexOf(p) + ".pronto"))), "nós prontos");
+
+        long inicio = System.nanoTime();
+        managementService.activateJobDefinitionByProcessDefinitionKey(MotorClusterTeste.PROCESSO, true);
+        aguardar(() -> managementService.createJobQuery().count() == 0, "fila de jobs vazia");
+        long duracaoMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        long executados = 0;
+        long falhasAquisicao = 0;
+        for (int indice = 0; indice < nos; indice++) {
+            assertThat(processos.get(indice).waitFor(2, TimeUnit.MINUTES)).isTrue();
+            String[] valores = Files.readString(resultados.get(indice)).split(" ");
+            executados += Long.parseLong(valores[0]);
+            falhasAquisicao += Long.parseLong(valores[1]);
+        }
+        ResultadoCenario resultado = new ResultadoCenario(duracaoMillis, executados, falhasAquisicao);
+        System.out.printf("%-22s nós=%d jobs=%d tempo=%dms vazão=%.1f jobs/s falhas de aquisição (optimistic locking)=%d%n",
+                cenario, nos, executados, duracaoMillis, resultado.jobsPorSegundo(), falhasAquisicao);
+        return resultado;
+    }
+
+    private static void aguardar(java.util.function.BooleanSupplier condicao, String descricao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("Tempo esgotado aguardando: " + descricao);
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    @Test
+    @DisplayName("Nós particionados devem escalar a vazão de jobs com menos conflitos de aquisição")
+    void nosParticionadosDevemEscalarComMenosConflitos() throws Exception {
+        ResultadoCenario umNo = executarCenario("um-no", 1, false);
+        ResultadoCenario disputando = executarCenario("quatro-nos-disputando", 4, false);
+        ResultadoCenario particionado = executarCenario("quatro-nos-particoes", 4, true);
+
+        System.out.printf("Escalonamento com 4 nós particionados: %.2fx (disputando: %.2fx)%n",
+                particionado.jobsPorSegundo() / umNo.jobsPorSegundo(), disputando.jobsPorSegundo() / umNo.jobsPorSegundo());
+
+        assertThat(umNo.executados()).isEqualTo(JOBS);
+        assertThat(disputando.executados()).isEqualTo(JOBS);
+        assertThat(particionado.executados()).isEqualTo(JOBS);
+        assertThat(particionado.falhasAquisicao()).isLessThan(Math.max(1, disputando.falhasAquisicao()));
+        // Os 4 nós só escalam se houver CPU para eles; em máquinas menores o teste apenas reporta a vazão
+        if (Runtime.getRuntime().availableProcessors() >= 4) {
+            assertThat(particionado.jobsPorSegundo()).isGreaterThan(2.5 * umNo.jobsPorSegundo());
+        }
+    }
+
+}
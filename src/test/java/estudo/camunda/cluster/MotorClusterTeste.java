@@ -0,0 +1,62 @@
+package estudo.camunda.cluster;
+
+import estudo.camunda.config.ClusterProcessEnginePlugin;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * Configuração de motor compartilhada pelo coordenador e pelos nós do teste de escalonamento.
+ */
+final class MotorClusterTeste {
+
+    static final String PROCESSO = "processo_carga_cluster";
+    static final int PARTICOES = 64;
+
+    private MotorClusterTeste() {
+    }
+
+    static ProcessEngine construir(String jdbcUrl, boolean criarSchema, boolean jobExecutor,
+                                   ClusterProcessEnginePlugin clusterPlugin) {
+        StandaloneProcessEngineConfiguration configuracao = new StandaloneProcessEngineConfiguration();
+        configuracao.setJdbcUrl(jdbcUrl);
+        configuracao.setJdbcUsername("sa");
+        configuracao.setJdbcPassword("");
+        configuracao.setJdbcMaxActiveConnections(20);
+        configuracao.setDatabaseSchemaUpdate(criarSchema
+                ? ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE
+                : ProcessEngineConfiguration.DB_SCHEMA_UPDATE_FALSE);
+        configuracao.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+        configuracao.setJobExecutorActivate(jobExecutor);
+        configuracao.getProcessEnginePlugins().add(clusterPlugin);
+        return configuracao.buildProcessEngine();
+    }
+
+    /**
+     * Início, service task assíncrona (um job por instância) e fim.
+     */
+    static BpmnModelInstance modelo() {
+        return Bpmn.createExecutableProcess(PROCESSO)
+                .startEvent()
+                .serviceTask("service_task_chamada_core_banking").camundaAsyncBefore()
+                .camundaClass(ChamadaCoreBankingSimulada.class.getName())
+                .endEvent()
+                .done();
+    }
+
+    /**
+     * Simula a latência de uma chamada ao core bancário.
+     */
+    public static class ChamadaCoreBankingSimulada implements JavaDelegate {
+
+        @Override
+        public void execute(DelegateExecution execution) throws Exception {
+            Thread.sleep(20);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package estudo.camunda.cluster;
+
+import estudo.camunda.config.ClusterProcessEnginePlugin;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.management.Metrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nó executado em uma JVM separada pelo {@link EscalonamentoClusterTest}: sobe o job executor no
+ * banco compartilhado, avisa que está pronto, espera a fila de jobs esvaziar e grava as métricas
+ * de jobs que reportou.
+ * <p>
+ * Argumentos: jdbcUrl noId particionado totalNos indiceNo arquivoPronto arquivoResultado
+ */
+public final class NoDeCargaCluster {
+
+    private NoDeCargaCluster() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jdbcUrl = args[0];
+        String noId = args[1];
+        boolean particionado = Boolean.parseBoolean(args[2]);
+        int totalNos = Integer.parseInt(args[3]);
+        int indiceNo = Integer.parseInt(args[4]);
+        Path arquivoPronto = Path.of(args[5]);
+        Path arquivoResultado = Path.of(args[6]);
+
+        ClusterProcessEnginePlugin clusterPlugin = new ClusterProcessEnginePlugin(
+                particionado, noId, MotorClusterTeste.PARTICOES, particionado ? totalNos : 1, particionado ? indiceNo : 0,
+                Duration.ZERO);
+        ProcessEngine processEngine = MotorClusterTeste.construir(jdbcUrl, false, true, clusterPlugin);
+        ManagementService managementService = processEngine.getManagementService();
+        // O deployment foi feito pelo coordenador; com aquisição deployment-aware o nó precisa registrá-lo
+        processEngine.getRepositoryService().createDeploymentQuery().list()
+                .forEach(deployment -> managementService.registerDeploymentForJobExecutor(deployment.getId()));
+        Files.writeString(arquivoPronto, noId);
+
+        // Espera os jobs serem ativados pelo coordenador e depois consumidos
+        long limite = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (managementService.createJobQuery().active().count() == 0 && System.nanoTime() < limite) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        while (managementService.createJobQuery().count() > 0 && System.nanoTime() < limite) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+
+        ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getDbMetricsReporter().reportNow();
+        long executados = managementService.createMetricsQuery().name(Metrics.JOB_SUCCESSFUL).reporter(noId).sum();
+        long falhasAquisicao = managementService.createMetricsQuery().name(Metrics.JOB_ACQUIRED_FAILURE).reporter(noId).sum();
+        Files.writeString(arquivoResultado, executados + " " + falhasAquisicao);
+        processEngine.close();
+    }
+
+}
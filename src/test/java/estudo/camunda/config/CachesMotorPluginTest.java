@@ -0,0 +1,168 @@
+package estudo.camunda.config;
+
+import estudo.camunda.dto.DiagnosticoCaches;
+import estudo.camunda.impl.CamundaDiagnosticoCachesServiceImpl;
+import estudo.camunda.motor.CondicaoJava;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.RepositoryServiceImpl;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.el.UelExpressionCondition;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.PvmTransition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachesMotorPluginTest {
+
+    private static final String PROCESSO = "decisao";
+    private static final String GATEWAY = "gateway_decisao_analista";
+
+    private ProcessEngine processEngine;
+    private ProcessEngineConfigurationImpl configuracao;
+    private CachesMotorPlugin plugin;
+    private CamundaDiagnosticoCachesServiceImpl diagnostico;
+
+    @AfterEach
+    void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    @DisplayName("Deve contar parses e compilações, e reaproveitar as árvores JUEL quando a definição é parseada de novo")
+    void deveContarParsesECompilacoes() {
+        // Arrange
+        iniciarMotor(true, false);
+        for (int i = 0; i < 3; i++) {
+            iniciar("APROVAR");
+        }
+        DiagnosticoCaches antes = diagnostico.consultar();
+
+        // Act
+        configuracao.getDeploymentCache().discardProcessDefinitionCache();
+        iniciar("REJEITAR");
+        DiagnosticoCaches depois = diagnostico.consultar();
+
+        // Assert
+        assertTrue(antes.contagemHabilitada());
+        assertEquals(1, antes.parsesBpmn());
+        assertEquals(1, antes.definicoesProcesso().tamanho());
+        assertEquals(1000, antes.definicoesProcesso().capacidade());
+        assertTrue(antes.definicoesProcesso().acertos() >= 3);
+        // Três condições e os nomes das três tarefas, compilados uma vez no parse
+        assertEquals(6, antes.expressoes().faltas());
+        assertEquals(0, antes.expressoes().acertos(), "as instâncias só avaliam as expressões já compiladas");
+
+        assertEquals(2, depois.parsesBpmn());
+        assertTrue(depois.definicoesProcesso().faltas() > antes.definicoesProcesso().faltas());
+        assertEquals(6, depois.expressoes().faltas());
+        assertEquals(6, depois.expressoes().acertos());
+        assertEquals(6, depois.expressoes().tamanho());
+        assertFalse(depois.condicoesJava());
+        assertEquals(0, depois.condicoesSubstituidas());
+    }
+
+    @Test
+    @DisplayName("Deve trocar só as condições conhecidas por Java, mantendo o caminho escolhido pelo gateway")
+    void deveTrocarCondicoesConhecidas() {
+        // Arrange
+        iniciarMotor(true, true);
+
+        // Act
+        String aprovada = iniciar("APROVAR");
+        String rejeitada = iniciar("REJEITAR");
+        String outra = iniciar("ADIAR");
+
+        // Assert
+        assertEquals("analise_aprovada", aprovada);
+        assertEquals("analise_rejeitada", rejeitada);
+        assertEquals("analise_outra", outra);
+        assertEquals(2, diagnostico.consultar().condicoesSubstituidas());
+        assertTrue(diagnostico.consultar().condicoesJava());
+        assertInstanceOf(CondicaoJava.class, condicao("fluxo_aprovar"));
+        assertInstanceOf(CondicaoJava.class, condicao("fluxo_rejeitar"));
+        assertInstanceOf(UelExpressionCondition.class, condicao("fluxo_outra"));
+    }
+
+    @Test
+    @DisplayName("Sem a contagem, os caches do motor ficam os padrões e o diagnóstico só mostra os tamanhos")
+    void semContagemDeveManterCachesPadrao() {
+        // Arrange
+        iniciarMotor(false, false);
+
+        // Act
+        iniciar("APROVAR");
+        DiagnosticoCaches caches = diagnostico.consultar();
+
+        // Assert
+        assertFalse(caches.contagemHabilitada());
+        assertEquals(1, caches.definicoesProcesso().tamanho());
+        assertEquals(-1, caches.definicoesProcesso().capacidade());
+        assertEquals(0, caches.definicoesProcesso().acertos());
+        assertNull(caches.expressoes());
+        assertEquals(0, caches.parsesBpmn());
+    }
+
+    private void iniciarMotor(boolean contagem, boolean condicoesJava) {
+        plugin = new CachesMotorPlugin(contagem, 1000, condicoesJava);
+        StandaloneInMemProcessEngineConfiguration standalone = new StandaloneInMemProcessEngineConfiguration();
+        standalone.setJdbcUrl("jdbc:h2:mem:caches-" + System.nanoTime());
+        standalone.setJobExecutorActivate(false);
+        standalone.setDmnEnabled(false);
+        standalone.setCmmnEnabled(false);
+        standalone.getProcessEnginePlugins().add(plugin);
+        processEngine = standalone.buildProcessEngine();
+        configuracao = standalone;
+        diagnostico = new CamundaDiagnosticoCachesServiceImpl(processEngine, plugin);
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance(PROCESSO + ".bpmn", processo())
+                .deploy();
+    }
+
+    /** Inicia uma instância e devolve a tarefa em que ela parou. */
+    private String iniciar(String decisao) {
+        Map<String, Object> variaveis = new HashMap<>();
+        variaveis.put("decisaoAnalista", decisao);
+        RuntimeService runtimeService = processEngine.getRuntimeService();
+        String instancia = runtimeService.startProcessInstanceByKey(PROCESSO, variaveis).getId();
+        TaskService taskService = processEngine.getTaskService();
+        return taskService.createTaskQuery().processInstanceId(instancia).singleResult().getTaskDefinitionKey();
+    }
+
+    private Object condicao(String fluxo) {
+        String id = processEngine.getRepositoryService().createProcessDefinitionQuery().processDefinitionKey(PROCESSO)
+                .singleResult().getId();
+        ProcessDefinitionEntity definicao = (ProcessDefinitionEntity) ((RepositoryServiceImpl) processEngine.getRepositoryService())
+                .getDeployedProcessDefinition(id);
+        PvmTransition transicao = definicao.findActivity(GATEWAY).getOutgoingTransitions().stream()
+                .filter(t -> t.getId().equals(fluxo))
+                .findFirst().orElseThrow();
+        return transicao.getProperty(BpmnParse.PROPERTYNAME_CONDITION);
+    }
+
+    private static BpmnModelInstance processo() {
+        return Bpmn.createExecutableProcess(PROCESSO)
+                .startEvent()
+                .exclusiveGateway(GATEWAY)
+                .sequenceFlowId("fluxo_aprovar").condition("aprovar", "${decisaoAnalista == 'APROVAR'}")
+                .userTask("analise_aprovada").endEvent()
+                .moveToNode(GATEWAY)
+                .sequenceFlowId("fluxo_rejeitar").condition("rejeitar", "${decisaoAnalista == 'REJEITAR'}")
+                .userTask("analise_rejeitada").endEvent()
+                .moveToNode(GATEWAY)
+                .sequenceFlowId("fluxo_outra").condition("outra", "${decisaoAnalista != 'APROVAR' && decisaoAnalista != 'REJEITAR'}")
+                .userTask("analise_outra").endEvent()
+                .done();
+    }
+}
@@ -0,0 +1,189 @@
+package estudo.camunda.config;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterProcessEnginePluginTest {
+
+    private ClusterProcessEnginePlugin plugin;
+    private ProcessEngine processEngine;
+
+    @AfterEach
+    void tearDown() {
+        ClockUtil.reset();
+        if (processEngine != null) {
+            plugin.encerrar();
+            processEngine.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve dividir as partições em faixas contíguas que cobrem todas as partições")
+    void deveDividirParticoesEmFaixasContiguas() {
+        // Arrange
+        int particoes = 64;
+        int totalNos = 3;
+
+        // Act & Assert
+        int proximaEsperada = 0;
+        for (int indice = 0; indice < totalNos; indice++) {
+            ClusterProcessEnginePlugin plugin = new ClusterProcessEnginePlugin(true, "no-" + indice, particoes, totalNos, indice, Duration.ZERO);
+            assertEquals(proximaEsperada, plugin.getParticaoInicial());
+            assertTrue(plugin.getParticaoFinal() >= plugin.getParticaoInicial());
+            proximaEsperada = plugin.getParticaoFinal() + 1;
+        }
+        assertEquals(particoes, proximaEsperada);
+    }
+
+    @Test
+    @DisplayName("Deve configurar prioridade por partição, faixa de aquisição e deployment-aware no modo cluster")
+    void deveConfigurarMotorNoModoCluster() {
+        // Arrange
+        ClusterProcessEnginePlugin plugin = new ClusterProcessEnginePlugin(true, "no-2", 64, 4, 2, Duration.ZERO);
+        ProcessEngineConfigurationImpl configuracao = new StandaloneInMemProcessEngineConfiguration();
+
+        // Act
+        plugin.preInit(configuracao);
+
+        // Assert
+        assertEquals("no-2", configuracao.getHostname());
+        assertInstanceOf(ParticaoJobPriorityProvider.class, configuracao.getJobPriorityProvider());
+        assertTrue(configuracao.isProducePrioritizedJobs());
+        assertTrue(configuracao.isJobExecutorAcquireByPriority());
+        assertEquals(32, configuracao.getJobExecutorPriorityRangeMin());
+        assertEquals(47, configuracao.getJobExecutorPriorityRangeMax());
+        assertTrue(configuracao.isJobExecutorDeploymentAware());
+    }
+
+    @Test
+    @DisplayName("Fora do modo cluster deve apenas identificar o nó")
+    void deveApenasIdentificarNoForaDoModoCluster() {
+        // Arrange
+        ClusterProcessEnginePlugin plugin = new ClusterProcessEnginePlugin(false, "no-local", 64, 1, 0, Duration.ZERO);
+        ProcessEngineConfigurationImpl configuracao = new StandaloneInMemProcessEngineConfiguration();
+
+        // Act
+        plugin.preInit(configuracao);
+
+        // Assert
+        assertEquals("no-local", configuracao.getHostname());
+        assertNull(configuracao.getJobPriorityProvider());
+        assertFalse(configuracao.isJobExecutorDeploymentAware());
+        assertEquals(0, plugin.getParticaoInicial());
+        assertEquals(63, plugin.getParticaoFinal());
+    }
+
+    @Test
+    @DisplayName("Deve usar o nome da JVM quando o id do nó não for informado")
+    void deveUsarNomeDaJvmSemIdDoNo() {
+        ClusterProcessEnginePlugin plugin = new ClusterProcessEnginePlugin(false, " ", 64, 1, 0, Duration.ZERO);
+
+        assertFalse(plugin.getNoId().isBlank());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar configuração de cluster inconsistente")
+    void deveRejeitarConfiguracaoInconsistente() {
+        assertThrows(IllegalArgumentException.class, () -> new ClusterProcessEnginePlugin(true, "no", 64, 2, 2, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new ClusterProcessEnginePlugin(true, "no", 2, 4, 0, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Deve assumir a faixa de um nó parado depois da carência e devolvê-la quando não houver mais órfãos")
+    void deveAssumirParticoesOrfasDepoisDaCarencia() {
+        // Arrange
+        iniciarMotor(new ClusterProcessEnginePlugin(true, "no-0", 64, 2, 0, Duration.ofMinutes(2)));
+        ProcessEngineConfigurationImpl configuracao = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        ManagementService managementService = processEngine.getManagementService();
+        String chaveOrfa = chaveNaParticao(40);
+        processEngine.getRuntimeService().startProcessInstanceByKey("processo_orfao",
+                Map.of(ParticaoJobPriorityProvider.VARIAVEL_CHAVE_PARTICAO, chaveOrfa));
+
+        // Act & Assert
+        avancarRelogio(Duration.ofMinutes(1));
+        plugin.verificarParticoesOrfas(managementService);
+        assertFalse(plugin.isAssumindoParticoesOrfas());
+        assertEquals(31, configuracao.getJobExecutorPriorityRangeMax());
+
+        avancarRelogio(Duration.ofMinutes(2));
+        plugin.verificarParticoesOrfas(managementService);
+        assertTrue(plugin.isAssumindoParticoesOrfas());
+        assertEquals(0, configuracao.getJobExecutorPriorityRangeMin());
+        assertEquals(40, configuracao.getJobExecutorPriorityRangeMax());
+
+        managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+        avancarRelogio(Duration.ofMinutes(1));
+        plugin.verificarParticoesOrfas(managementService);
+        assertTrue(plugin.isAssumindoParticoesOrfas());
+
+        avancarRelogio(Duration.ofMinutes(1));
+        plugin.verificarParticoesOrfas(managementService);
+        assertFalse(plugin.isAssumindoParticoesOrfas());
+        assertEquals(0, configuracao.getJobExecutorPriorityRangeMin());
+        assertEquals(31, configuracao.getJobExecutorPriorityRangeMax());
+    }
+
+    @Test
+    @DisplayName("Jobs da própria faixa atrasados não devem estender a faixa de aquisição")
+    void jobsDaPropriaFaixaNaoDevemEstenderFaixa() {
+        // Arrange
+        iniciarMotor(new ClusterProcessEnginePlugin(true, "no-1", 64, 2, 1, Duration.ofMinutes(2)));
+        ProcessEngineConfigurationImpl configuracao = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        processEngine.getRuntimeService().startProcessInstanceByKey("processo_orfao",
+                Map.of(ParticaoJobPriorityProvider.VARIAVEL_CHAVE_PARTICAO, chaveNaParticao(40)));
+        avancarRelogio(Duration.ofMinutes(10));
+
+        // Act
+        plugin.verificarParticoesOrfas(processEngine.getManagementService());
+
+        // Assert
+        assertFalse(plugin.isAssumindoParticoesOrfas());
+        assertEquals(32, configuracao.getJobExecutorPriorityRangeMin());
+        assertEquals(63, configuracao.getJobExecutorPriorityRangeMax());
+    }
+
+    private void iniciarMotor(ClusterProcessEnginePlugin clusterPlugin) {
+        plugin = clusterPlugin;
+        StandaloneInMemProcessEngineConfiguration configuracao = new StandaloneInMemProcessEngineConfiguration();
+        configuracao.setJdbcUrl("jdbc:h2:mem:cluster-" + System.nanoTime());
+        configuracao.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+        configuracao.setJobExecutorActivate(false);
+        configuracao.setDmnEnabled(false);
+        configuracao.setCmmnEnabled(false);
+        configuracao.getProcessEnginePlugins().add(plugin);
+        processEngine = configuracao.buildProcessEngine();
+        String deploymentId = processEngine.getRepositoryService().createDeployment()
+                .addModelInstance("processo_orfao.bpmn", Bpmn.createExecutableProcess("processo_orfao")
+                        .startEvent().camundaAsyncAfter()
+                        .endEvent()
+                        .done())
+                .deploy().getId();
+        processEngine.getManagementService().registerDeploymentForJobExecutor(deploymentId);
+    }
+
+    private static void avancarRelogio(Duration duracao) {
+        ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + duracao.toMillis()));
+    }
+
+    private static String chaveNaParticao(int particao) {
+        for (int i = 0; ; i++) {
+            if (ParticaoJobPriorityProvider.particao("E" + i, 64) == particao) {
+                return "E" + i;
+            }
+        }
+    }
+}
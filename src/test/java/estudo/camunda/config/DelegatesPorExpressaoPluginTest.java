@@ -0,0 +1,183 @@
+package estudo.camunda.config;
+
+import estudo.camunda.delegates.NotificacaoClienteDelegate;
+import estudo.camunda.services.NotificacaoService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.camunda.bpm.engine.spring.SpringArtifactFactory;
+import org.camunda.bpm.engine.spring.SpringExpressionManager;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaField;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelegatesPorExpressaoPluginTest {
+
+    private static final String PROCESSO = "notificacoes";
+    private static final String GATEWAY = "gateway_tipo";
+    private static final List<String> TIPOS = List.of(
+            NotificacaoClienteDelegate.TIPO_REJEICAO_INICIAL,
+            NotificacaoClienteDelegate.TIPO_REJEICAO_ANALISE,
+            NotificacaoClienteDelegate.TIPO_RESULTADO_PROCESSAMENTO);
+    private static final Map<String, String> TRECHO_POR_TIPO = Map.of(
+            NotificacaoClienteDelegate.TIPO_REJEICAO_INICIAL, "não pôde ser aceita",
+            NotificacaoClienteDelegate.TIPO_REJEICAO_ANALISE, "não pôde ser aprovada",
+            NotificacaoClienteDelegate.TIPO_RESULTADO_PROCESSAMENTO, "houve um problema");
+
+    private final Map<String, String> mensagensPorCpf = new ConcurrentHashMap<>();
+    private GenericApplicationContext contexto;
+    private ProcessEngine processEngine;
+    private DelegatesPorExpressaoPlugin plugin;
+
+    @AfterEach
+    void tearDown() {
+        processEngine.close();
+        contexto.close();
+    }
+
+    @Test
+    @DisplayName("Instâncias concorrentes devem receber cada uma a notificação do seu tipo, sem estado no singleton")
+    void instanciasConcorrentesNaoDevemCompartilharEstado() throws Exception {
+        // Arrange
+        iniciarMotor(true);
+        int porThread = 150;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            tarefas.add(executor.submit(() -> {
+                for (int i = 0; i < porThread; i++) {
+                    iniciar(cpf(thread, i), TIPOS.get((thread + i) % TIPOS.size()));
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(4 * porThread, mensagensPorCpf.size());
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < porThread; i++) {
+                String tipo = TIPOS.get((t + i) % TIPOS.size());
+                assertTrue(mensagensPorCpf.get(cpf(t, i)).contains(TRECHO_POR_TIPO.get(tipo)), cpf(t, i) + " deveria receber " + tipo);
+            }
+        }
+        assertEquals(3, plugin.getTarefasSubstituidas());
+        assertNull(ReflectionTestUtils.getField(contexto.getBean(NotificacaoClienteDelegate.class), "tipoNotificacao"));
+    }
+
+    @Test
+    @DisplayName("No modo padrão o motor injeta o campo no singleton a cada execução")
+    void modoPadraoDeveInjetarCampoNoSingleton() {
+        // Arrange
+        iniciarMotor(false);
+
+        // Act
+        iniciar("00000000001", NotificacaoClienteDelegate.TIPO_REJEICAO_ANALISE);
+
+        // Assert
+        assertTrue(mensagensPorCpf.get("00000000001").contains("não pôde ser aprovada"));
+        assertEquals(0, plugin.getTarefasSubstituidas());
+        assertNotNull(ReflectionTestUtils.getField(contexto.getBean(NotificacaoClienteDelegate.class), "tipoNotificacao"));
+    }
+
+    @Test
+    @DisplayName("Classes com mais de um bean devem ficar no camunda:class")
+    void classesComMaisDeUmBeanDevemFicarDeFora() {
+        // Arrange
+        iniciarMotor(true);
+        contexto.registerBean("outroNotificacaoClienteDelegate", NotificacaoClienteDelegate.class,
+                () -> new NotificacaoClienteDelegate(mensagensPorCpf::put));
+
+        // Act
+        Map<String, String> beans = plugin.beansPorClasse();
+
+        // Assert
+        assertFalse(beans.containsKey(NotificacaoClienteDelegate.class.getName()));
+    }
+
+    private void iniciarMotor(boolean porExpressao) {
+        NotificacaoService notificacaoService = mensagensPorCpf::put;
+        contexto = new GenericApplicationContext();
+        contexto.registerBean("notificacaoService", NotificacaoService.class, () -> notificacaoService);
+        contexto.registerBean("notificacaoClienteDelegate", NotificacaoClienteDelegate.class,
+                () -> new NotificacaoClienteDelegate(notificacaoService));
+        contexto.refresh();
+
+        plugin = new DelegatesPorExpressaoPlugin(porExpressao, contexto);
+        StandaloneInMemProcessEngineConfiguration configuracao = new StandaloneInMemProcessEngineConfiguration();
+        configuracao.setJdbcUrl("jdbc:h2:mem:delegates-" + System.nanoTime());
+        configuracao.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+        configuracao.setIdGenerator(new StrongUuidGenerator());
+        configuracao.setJobExecutorActivate(false);
+        configuracao.setDmnEnabled(false);
+        configuracao.setCmmnEnabled(false);
+        configuracao.setArtifactFactory(new SpringArtifactFactory(contexto));
+        configuracao.setExpressionManager(new SpringExpressionManager(contexto));
+        configuracao.getProcessEnginePlugins().add(plugin);
+        processEngine = configuracao.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment()
+                .addModelInstance(PROCESSO + ".bpmn", processo())
+                .deploy();
+    }
+
+    private void iniciar(String cpf, String tipo) {
+        processEngine.getRuntimeService().startProcessInstanceByKey(PROCESSO, Map.of("cpfPagadorOriginal", cpf, "tipo", tipo));
+    }
+
+    private static String cpf(int thread, int indice) {
+        return String.format("%02d%09d", thread, indice);
+    }
+
+    /** Um gateway que leva a três tarefas de notificação, como as do BPMN, com o tipo em {@code camunda:field}. */
+    private static BpmnModelInstance processo() {
+        BpmnModelInstance modelo = Bpmn.createExecutableProcess(PROCESSO)
+                .startEvent()
+                .exclusiveGateway(GATEWAY)
+                .condition("inicial", "${tipo == 'REJEICAO_INICIAL'}")
+                .serviceTask(TIPOS.get(0)).camundaClass(NotificacaoClienteDelegate.class).endEvent()
+                .moveToNode(GATEWAY)
+                .condition("analise", "${tipo == 'REJEICAO_ANALISE'}")
+                .serviceTask(TIPOS.get(1)).camundaClass(NotificacaoClienteDelegate.class).endEvent()
+                .moveToNode(GATEWAY)
+                .condition("resultado", "${tipo == 'RESULTADO_PROCESSAMENTO'}")
+                .serviceTask(TIPOS.get(2)).camundaClass(NotificacaoClienteDelegate.class).endEvent()
+                .done();
+        for (String tipo : TIPOS) {
+            CamundaField campo = modelo.newInstance(CamundaField.class);
+            campo.setCamundaName(NotificacaoClienteDelegate.VARIAVEL_TIPO_NOTIFICACAO);
+            if (tipo.equals(NotificacaoClienteDelegate.TIPO_RESULTADO_PROCESSAMENTO)) {
+                campo.setCamundaStringValue(tipo);
+            } else {
+                CamundaString valor = modelo.newInstance(CamundaString.class);
+                valor.setTextContent(tipo);
+                campo.setCamundaString(valor);
+            }
+            modelo.<ServiceTask>getModelElementById(tipo).builder().addExtensionElement(campo);
+        }
+        return modelo;
+    }
+}
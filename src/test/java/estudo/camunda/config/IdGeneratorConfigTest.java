@@ -0,0 +1,39 @@
+package estudo.camunda.config;
+
+import estudo.camunda.impl.GeradorIdOrdenado;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorConfigTest {
+
+    @Test
+    @DisplayName("Deve recusar IDs ordenados sem o número do nó informado")
+    void deveRecusarSemNumeroDoNo() {
+        // Arrange
+        IdGeneratorConfig config = new IdGeneratorConfig();
+
+        // Act
+        IllegalStateException erro = assertThrows(IllegalStateException.class, () -> config.idGeneratorOrdenado(-1));
+
+        // Assert
+        assertTrue(erro.getMessage().contains("pix.ids.no"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar IDs ordenados com o número do nó informado")
+    void deveGerarComNumeroDoNo() {
+        // Arrange
+        IdGenerator gerador = new IdGeneratorConfig().idGeneratorOrdenado(7);
+
+        // Act
+        String primeiro = gerador.getNextId();
+        String segundo = gerador.getNextId();
+
+        // Assert
+        assertEquals(GeradorIdOrdenado.TAMANHO_TEXTO, primeiro.length());
+        assertTrue(primeiro.compareTo(segundo) < 0);
+    }
+}
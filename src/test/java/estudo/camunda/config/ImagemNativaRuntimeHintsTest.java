@@ -0,0 +1,68 @@
+package estudo.camunda.config;
+
+import estudo.camunda.delegates.NotificacaoClienteDelegate;
+import estudo.camunda.delegates.ValidacaoSolicitacaoDelegate;
+import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.logging.JsonEncoder;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagemNativaRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new ImagemNativaRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Deve registrar os mapeamentos, os scripts e o BPMN como recursos")
+    void deveRegistrarRecursosDoMotor() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.resource().forResource("org/camunda/bpm/engine/impl/mapping/mappings.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("org/camunda/bpm/engine/impl/mapping/entity/Execution.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("org/camunda/bpm/engine/db/create/activiti.h2.create.engine.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("processo_devolucao_pix_med_simplificado.bpmn").test(hints));
+    }
+
+    @Test
+    @DisplayName("Deve registrar reflexão nas entidades citadas pelos mapeamentos e nas suas superclasses")
+    void deveRegistrarEntidadesDosMapeamentos() {
+        // Act
+        var tipos = ImagemNativaRuntimeHints.tiposMapeados(getClass().getClassLoader());
+
+        // Assert
+        assertTrue(tipos.contains(ExecutionEntity.class.getName()));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ExecutionEntity.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(VariableInstanceEntity.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ExecutionEntity.class.getSuperclass()).test(hints));
+    }
+
+    @Test
+    @DisplayName("Deve registrar os delegates do BPMN, a serialização das variáveis e o encoder de log")
+    void deveRegistrarClassesDaAplicacao() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ValidacaoSolicitacaoDelegate.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(NotificacaoClienteDelegate.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.serialization().onType(DetalhesTransacaoPix.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.serialization().onType(ValorMonetario.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SolicitacaoDevolucaoRequest.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(JsonEncoder.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
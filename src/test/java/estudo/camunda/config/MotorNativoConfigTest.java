@@ -0,0 +1,111 @@
+package estudo.camunda.config;
+
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.spring.boot.starter.CamundaBpmAutoConfiguration;
+import org.camunda.bpm.spring.boot.starter.CamundaBpmConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultProcessEngineConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:motornativo;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("nativo")
+class MotorNativoConfigTest {
+
+    /** Beans do starter só usados com {@code camunda.bpm.history-level=auto}, que o perfil nativo não suporta. */
+    private static final Set<String> BEANS_FORA_DO_PERFIL = Set.of(
+            "historyLevelAutoHandlingConfiguration", "historyLevelDeterminator", "historyLevelDeterminatorMultiDatabase");
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Test
+    @DisplayName("No perfil nativo o motor deve vir de MotorNativoConfig e executar o processo")
+    void deveSubirMotorSemAutoconfiguracaoDoStarter() {
+        // Arrange
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest("TXID_INVALIDO", "FRAUDE_COMPROVADA", "11122233396");
+
+        // Act
+        ProcessInstance instancia = runtimeService.startProcessInstanceByKey("processo_devolucao_pix_med_simplificado",
+                Map.of("solicitacaoDevolucaoRequest", solicitacao));
+
+        // Assert
+        assertEquals(0, contexto.getBeanNamesForType(CamundaBpmAutoConfiguration.class).length);
+        assertEquals(1, contexto.getBeanNamesForType(MotorNativoConfig.class).length);
+        assertNotNull(contexto.getBean(DefaultProcessEngineConfiguration.class));
+        assertNotNull(historyService.createHistoricProcessInstanceQuery()
+                .processInstanceId(instancia.getId()).finished().singleResult());
+    }
+
+    @Test
+    @DisplayName("Os beans, condições e imports devem ser os do CamundaBpmAutoConfiguration da versão do starter em uso")
+    void deveAcompanharBeansDoStarter() {
+        // Arrange
+        Map<String, Method> doStarter = metodosBean(CamundaBpmAutoConfiguration.class);
+        doStarter.putAll(metodosBean(CamundaBpmConfiguration.class));
+        for (Class<?> interna : CamundaBpmAutoConfiguration.class.getDeclaredClasses()) {
+            doStarter.putAll(metodosBean(interna));
+        }
+        doStarter.keySet().removeAll(BEANS_FORA_DO_PERFIL);
+        Set<Class<?>> importsDoStarter = new HashSet<>(List.of(CamundaBpmAutoConfiguration.class.getAnnotation(Import.class).value()));
+        importsDoStarter.remove(CamundaBpmConfiguration.class);
+        importsDoStarter.addAll(List.of(CamundaBpmConfiguration.class.getAnnotation(Import.class).value()));
+
+        // Act
+        Map<String, Method> nativos = metodosBean(MotorNativoConfig.class);
+
+        // Assert
+        assertEquals(doStarter.keySet(), nativos.keySet());
+        doStarter.forEach((nome, metodo) -> {
+            Method nativo = nativos.get(nome);
+            assertTrue(metodo.getReturnType().isAssignableFrom(nativo.getReturnType()), nome);
+            assertEquals(condicoes(metodo), condicoes(nativo), nome);
+        });
+        assertEquals(importsDoStarter, Set.of(MotorNativoConfig.class.getAnnotation(Import.class).value()));
+        assertArrayEquals(CamundaBpmAutoConfiguration.class.getAnnotation(EnableConfigurationProperties.class).value(),
+                MotorNativoConfig.class.getAnnotation(EnableConfigurationProperties.class).value());
+    }
+
+    private static Map<String, Method> metodosBean(Class<?> configuracao) {
+        Map<String, Method> metodos = new HashMap<>();
+        for (Method metodo : configuracao.getDeclaredMethods()) {
+            if (metodo.isAnnotationPresent(Bean.class)) {
+                metodos.put(metodo.getName(), metodo);
+            }
+        }
+        return metodos;
+    }
+
+    private static Set<Annotation> condicoes(Method metodo) {
+        return Arrays.stream(metodo.getAnnotations())
+                .filter(anotacao -> anotacao.annotationType().getPackageName().equals("org.springframework.boot.autoconfigure.condition"))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,56 @@
+package estudo.camunda.config;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ParticaoJobPriorityProviderTest {
+
+    private final ParticaoJobPriorityProvider provider = new ParticaoJobPriorityProvider(64);
+
+    @Test
+    @DisplayName("Deve gravar como prioridade a partição do idTransacaoOriginal")
+    void deveUsarParticaoDoIdTransacaoOriginal() {
+        // Arrange
+        ExecutionEntity execution = mock(ExecutionEntity.class);
+        when(execution.getVariable("idTransacaoOriginal")).thenReturn("TXID_VALIDA_001");
+
+        // Act
+        long prioridade = provider.determinePriority(execution, null, null);
+
+        // Assert
+        assertEquals(Math.floorMod("TXID_VALIDA_001".hashCode(), 64), prioridade);
+        assertTrue(prioridade >= 0 && prioridade < 64);
+    }
+
+    @Test
+    @DisplayName("Deve usar o id da instância quando não houver idTransacaoOriginal")
+    void deveUsarIdDaInstanciaSemIdTransacao() {
+        // Arrange
+        ExecutionEntity execution = mock(ExecutionEntity.class);
+        when(execution.getProcessInstanceId()).thenReturn("PROC-123");
+
+        // Act
+        long prioridade = provider.determinePriority(execution, null, null);
+
+        // Assert
+        assertEquals(ParticaoJobPriorityProvider.particao("PROC-123", 64), prioridade);
+    }
+
+    @Test
+    @DisplayName("Jobs sem execução devem ficar na partição 0")
+    void jobsSemExecucaoDevemFicarNaParticaoZero() {
+        assertEquals(0, provider.determinePriority(null, null, null));
+    }
+
+    @Test
+    @DisplayName("Deve manter a partição dentro do intervalo mesmo com hash negativo")
+    void deveManterParticaoNoIntervaloComHashNegativo() {
+        // "polygenelubricants" tem hashCode igual a Integer.MIN_VALUE
+        assertEquals(0, ParticaoJobPriorityProvider.particao("polygenelubricants", 64));
+        assertTrue(ParticaoJobPriorityProvider.particao("TXID-negativo-" + Integer.MAX_VALUE, 7) >= 0);
+    }
+}
@@ -0,0 +1,55 @@
+package estudo.camunda.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaPixInicializadorTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:schema-pix-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ACT_RU_TASK (ID_ VARCHAR(64), TASK_DEF_KEY_ VARCHAR(255), ASSIGNEE_ VARCHAR(255), CREATE_TIME_ TIMESTAMP)");
+    }
+
+    @Test
+    @DisplayName("Deve criar a tabela e o índice, e poder rodar de novo sem erro")
+    void deveCriarTabelaEIndice() {
+        // Arrange
+        SchemaPixInicializador inicializador = new SchemaPixInicializador(dataSource, true, true);
+
+        // Act
+        inicializador.aplicar();
+        inicializador.aplicar();
+
+        // Assert
+        assertEquals(1, contar("INFORMATION_SCHEMA.TABLES", "TABLE_NAME", "PIX_IMPORTACAO_BLOCO"));
+        assertEquals(1, contar("INFORMATION_SCHEMA.INDEXES", "INDEX_NAME", "PIX_IDX_TASK_FILA_ANALISE"));
+    }
+
+    @Test
+    @DisplayName("Com as propriedades desligadas, não deve rodar DDL")
+    void naoDeveRodarDdlQuandoDesligado() {
+        // Arrange
+        SchemaPixInicializador inicializador = new SchemaPixInicializador(dataSource, false, false);
+
+        // Act
+        inicializador.aplicar();
+
+        // Assert
+        assertEquals(0, contar("INFORMATION_SCHEMA.TABLES", "TABLE_NAME", "PIX_IMPORTACAO_BLOCO"));
+        assertEquals(0, contar("INFORMATION_SCHEMA.INDEXES", "INDEX_NAME", "PIX_IDX_TASK_FILA_ANALISE"));
+    }
+
+    private int contar(String tabela, String coluna, String nome) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela + " WHERE " + coluna + " = ?", Integer.class, nome);
+    }
+}
@@ -0,0 +1,97 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.DecisaoAnalista;
+import estudo.camunda.dto.DecisaoTarefaRequest;
+import estudo.camunda.dto.DecisoesEmLoteRequest;
+import estudo.camunda.dto.PaginaFilaAnalise;
+import estudo.camunda.dto.ResultadoDecisaoTarefa;
+import estudo.camunda.dto.ResultadoDecisoesEmLote;
+import estudo.camunda.services.DecisaoAnaliseManualService;
+import estudo.camunda.services.FilaAnaliseManualService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnaliseManualControllerTest {
+
+    @Mock
+    private FilaAnaliseManualService filaAnaliseManualService;
+
+    @Mock
+    private DecisaoAnaliseManualService decisaoAnaliseManualService;
+
+    @InjectMocks
+    private AnaliseManualController controller;
+
+    @Test
+    @DisplayName("Deve retornar a página da fila de análise manual")
+    void deveRetornarPaginaDaFila() {
+        // Arrange
+        PaginaFilaAnalise pagina = new PaginaFilaAnalise(List.of(), null);
+        when(filaAnaliseManualService.listarTarefas(null, 50)).thenReturn(pagina);
+
+        // Act
+        ResponseEntity<PaginaFilaAnalise> response = controller.listarTarefas(null, 50);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(pagina, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para cursor ou limite inválidos")
+    void deveRetornar400ParaParametrosInvalidos() {
+        // Arrange
+        when(filaAnaliseManualService.listarTarefas(anyString(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Cursor de paginação inválido"));
+
+        // Act
+        ResponseEntity<PaginaFilaAnalise> response = controller.listarTarefas("x", 50);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Deve retornar o resultado por tarefa do lote de decisões")
+    void deveRetornarResultadoDoLote() {
+        // Arrange
+        DecisaoTarefaRequest item = new DecisaoTarefaRequest("TASK-1", DecisaoAnalista.APROVAR);
+        ResultadoDecisoesEmLote resultado = ResultadoDecisoesEmLote.de(List.of(ResultadoDecisaoTarefa.concluida(item)), 3);
+        when(decisaoAnaliseManualService.decidirEmLote(List.of(item))).thenReturn(resultado);
+
+        // Act
+        ResponseEntity<ResultadoDecisoesEmLote> response = controller.decidirEmLote(new DecisoesEmLoteRequest(List.of(item)));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().concluidas());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o lote excede o máximo de itens")
+    void deveRetornar400QuandoLoteExcedeMaximo() {
+        // Arrange
+        when(decisaoAnaliseManualService.decidirEmLote(anyList()))
+                .thenThrow(new IllegalArgumentException("O lote deve ter entre 1 e 5000 decisões."));
+
+        // Act
+        ResponseEntity<ResultadoDecisoesEmLote> response = controller.decidirEmLote(
+                new DecisoesEmLoteRequest(List.of(new DecisaoTarefaRequest("TASK-1", DecisaoAnalista.REJEITAR))));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
@@ -1,6 +1,15 @@
 package estudo.camunda.controller;
 
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.SituacaoDevolucao;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.rastreio.ContextoRastreio;
+import estudo.camunda.rastreio.Span;
+import estudo.camunda.services.ControleAdmissaoService;
+import estudo.camunda.services.ExportacaoSpansService;
+import estudo.camunda.services.LimiteSolicitacoesPorCpfService;
+import estudo.camunda.services.StatusDevolucaoService;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +22,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,6 +39,18 @@ class DevolucaoPixControllerTest {
     @Mock
     private ProcessInstance processInstance;
 
+    @Mock
+    private StatusDevolucaoService statusDevolucaoService;
+
+    @Mock
+    private ControleAdmissaoService controleAdmissaoService;
+
+    @Mock
+    private LimiteSolicitacoesPorCpfService limiteSolicitacoesPorCpfService;
+
+    @Mock
+    private ExportacaoSpansService exportacaoSpansService;
+
     @InjectMocks
     private DevolucaoPixController controller;
 
@@ -38,15 +61,16 @@ class DevolucaoPixControllerTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
+        when(controleAdmissaoService.tentarAdmitir()).thenReturn(true);
         when(processInstance.getId()).thenReturn("PROCESS-ID-123");
         when(runtimeService.startProcessInstanceByKey(eq("processo_devolucao_pix_med_simplificado"), anyMap()))
                 .thenReturn(processInstance);
 
         // Act
-        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao);
+        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao, null);
 
         // Assert
         assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
@@ -60,48 +84,160 @@ class DevolucaoPixControllerTest {
         Map<String, Object> variables = variablesCaptor.getValue();
         assertEquals(solicitacao, variables.get("solicitacaoDevolucaoRequest"));
         assertEquals("TXID_TESTE", variables.get("idTransacaoOriginal"));
-        assertEquals("11122233344", variables.get("cpfPagadorOriginal"));
+        assertEquals("11122233396", variables.get("cpfPagadorOriginal"));
+        assertEquals(MotivoDevolucao.FRAUDE_COMPROVADA.getCodigo(), variables.get("codigoMotivoDevolucao"));
+    }
+
+    @Test
+    @DisplayName("Deve continuar o traceparent recebido, gravá-lo na instância e exportar o span da requisição")
+    void deveContinuarRastreioRecebidoEExportarSpan() {
+        // Arrange
+        String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        when(controleAdmissaoService.tentarAdmitir()).thenReturn(true);
+        when(processInstance.getId()).thenReturn("PROCESS-ID-123");
+        when(runtimeService.startProcessInstanceByKey(eq("processo_devolucao_pix_med_simplificado"), anyMap()))
+                .thenReturn(processInstance);
+
+        // Act
+        ResponseEntity<String> response = controller.solicitarDevolucao(
+                new SolicitacaoDevolucaoRequest("TXID_TESTE", "FRAUDE_COMPROVADA", "11122233396"), traceparent);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        ArgumentCaptor<Map<String, Object>> variablesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(runtimeService).startProcessInstanceByKey(anyString(), variablesCaptor.capture());
+        ArgumentCaptor<Span> spanCaptor = ArgumentCaptor.forClass(Span.class);
+        verify(exportacaoSpansService).exportar(spanCaptor.capture());
+        Span span = spanCaptor.getValue();
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.traceId());
+        assertEquals("00f067aa0ba902b7", span.parentSpanId());
+        assertEquals("PROCESS-ID-123", span.atributos().get(Span.ATRIBUTO_INSTANCIA_PROCESSO));
+        assertEquals("202", span.atributos().get("http.response.status_code"));
+        assertFalse(span.erro());
+        assertEquals(new ContextoRastreio(span.traceId(), span.spanId()).traceparent(),
+                variablesCaptor.getValue().get(ContextoRastreio.VARIAVEL));
     }
 
     @Test
     @DisplayName("Deve retornar erro 400 quando solicitação é inválida")
     void deveRetornarErro400QuandoSolicitacaoInvalida() {
         // Arrange
+        when(controleAdmissaoService.tentarAdmitir()).thenReturn(true);
         when(runtimeService.startProcessInstanceByKey(anyString(), anyMap()))
                 .thenThrow(new IllegalArgumentException("ID da transação original não pode ser nulo ou vazio."));
 
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         // Act
-        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao);
+        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao, null);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("Dados inválidos na solicitação"));
+        verify(controleAdmissaoService).liberar(anyLong(), eq(false));
     }
 
     @Test
     @DisplayName("Deve retornar erro 500 quando ocorre erro interno")
     void deveRetornarErro500QuandoOcorreErroInterno() {
         // Arrange
+        when(controleAdmissaoService.tentarAdmitir()).thenReturn(true);
         when(runtimeService.startProcessInstanceByKey(anyString(), anyMap()))
                 .thenThrow(new RuntimeException("Erro interno de teste"));
 
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         // Act
-        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao);
+        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao, null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertTrue(response.getBody().contains("Erro interno ao processar a solicitação de devolução"));
+        verify(controleAdmissaoService).liberar(anyLong(), eq(true));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 429 com Retry-After quando o limite de admissão é atingido")
+    void deveRetornar429QuandoLimiteDeAdmissaoAtingido() {
+        // Arrange
+        when(controleAdmissaoService.tentarAdmitir()).thenReturn(false);
+        when(controleAdmissaoService.retryAfterSegundos()).thenReturn(2L);
+
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_TESTE",
+                "FRAUDE_COMPROVADA",
+                "11122233396"
+        );
+
+        // Act
+        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao, null);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        verifyNoInteractions(runtimeService, limiteSolicitacoesPorCpfService);
+        verify(controleAdmissaoService, never()).liberar(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 429 e devolver a vaga de admissão quando o CPF excede o limite de solicitações")
+    void deveRetornar429QuandoCpfExcedeLimite() {
+        // Arrange
+        when(controleAdmissaoService.tentarAdmitir()).thenReturn(true);
+        when(limiteSolicitacoesPorCpfService.tentarConsumir("11122233396")).thenReturn(12_500L);
+
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_TESTE",
+                "FRAUDE_COMPROVADA",
+                "11122233396"
+        );
+
+        // Act
+        ResponseEntity<String> response = controller.solicitarDevolucao(solicitacao, null);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("13", response.getHeaders().getFirst("Retry-After"));
+        verifyNoInteractions(runtimeService);
+        verify(controleAdmissaoService).desistir();
+        verify(controleAdmissaoService, never()).liberar(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve retornar o status da devolução pelo ID do processo")
+    void deveRetornarStatusDaDevolucaoPeloIdDoProcesso() {
+        // Arrange
+        StatusDevolucao status = new StatusDevolucao("PROCESS-ID-123", "TXID_TESTE", "11122233396",
+                SituacaoDevolucao.AGUARDANDO_ANALISE_MANUAL, "user_task_analise_manual", false, Instant.now());
+        when(statusDevolucaoService.buscarPorIdProcesso("PROCESS-ID-123")).thenReturn(Optional.of(status));
+
+        // Act
+        ResponseEntity<StatusDevolucao> response = controller.consultarStatus("PROCESS-ID-123");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(status, response.getBody());
+        verifyNoInteractions(runtimeService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 quando não há status para a transação original")
+    void deveRetornar404QuandoNaoHaStatusParaTransacaoOriginal() {
+        // Arrange
+        when(statusDevolucaoService.buscarPorIdTransacaoOriginal("TXID_INEXISTENTE")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<StatusDevolucao> response = controller.consultarStatusPorTransacaoOriginal("TXID_INEXISTENTE");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 }
\ No newline at end of file
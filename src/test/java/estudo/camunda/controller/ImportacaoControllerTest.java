@@ -0,0 +1,74 @@
+package estudo.camunda.controller;
+
+import estudo.camunda.dto.ResultadoImportacao;
+import estudo.camunda.services.ImportacaoSolicitacoesService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoControllerTest {
+
+    @Mock
+    private ImportacaoSolicitacoesService importacaoService;
+
+    @InjectMocks
+    private ImportacaoController controller;
+
+    @Test
+    @DisplayName("Deve repassar o stream da requisição e devolver o resultado da importação")
+    void deveImportarStreamDaRequisicao() {
+        // Arrange
+        InputStream corpo = new ByteArrayInputStream(new byte[0]);
+        ResultadoImportacao resultado = new ResultadoImportacao("IMP-1", true, 10, 0, 9, 1, 0, 0, 5, 2000.0, List.of());
+        when(importacaoService.importar("IMP-1", corpo)).thenReturn(resultado);
+
+        // Act
+        ResponseEntity<ResultadoImportacao> response = controller.importar("IMP-1", corpo);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(resultado, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 quando a importação já está em andamento")
+    void deveRetornar409QuandoImportacaoEmAndamento() {
+        // Arrange
+        when(importacaoService.importar(eq("IMP-1"), any()))
+                .thenThrow(new IllegalStateException("A importação IMP-1 já está em andamento."));
+
+        // Act
+        ResponseEntity<ResultadoImportacao> response = controller.importar("IMP-1", new ByteArrayInputStream(new byte[0]));
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 para importação que não está em andamento")
+    void deveRetornar404ParaImportacaoSemAndamento() {
+        // Arrange
+        when(importacaoService.consultarAndamento("IMP-2")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<ResultadoImportacao> response = controller.consultarAndamento("IMP-2");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -1,8 +1,10 @@
 package estudo.camunda.delegates;
 
 import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
 import estudo.camunda.dto.ResultadoAnaliseRisco;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
 import estudo.camunda.services.AnaliseRiscoService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 import static org.mockito.Mockito.*;
 
@@ -40,17 +41,17 @@ class AnaliseRiscoDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("100.00"),
-                "11122233344",
+                ValorMonetario.de("100.00"),
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -62,7 +63,7 @@ class AnaliseRiscoDelegateTest {
 
         when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
         when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
-        when(analiseRiscoService.analisarRisco(solicitacao, detalhes)).thenReturn(resultadoAnalise);
+        when(analiseRiscoService.analisarRisco(solicitacao, MotivoDevolucao.FRAUDE_COMPROVADA, detalhes)).thenReturn(resultadoAnalise);
 
         // Act
         delegate.execute(execution);
@@ -81,17 +82,17 @@ class AnaliseRiscoDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FALHA_OPERACIONAL_BANCO",
-                "11122233344"
+                "11122233396"
         );
 
         DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("30.00"),
-                "11122233344",
+                ValorMonetario.de("30.00"),
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -103,7 +104,7 @@ class AnaliseRiscoDelegateTest {
 
         when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
         when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
-        when(analiseRiscoService.analisarRisco(solicitacao, detalhes)).thenReturn(resultadoAnalise);
+        when(analiseRiscoService.analisarRisco(solicitacao, MotivoDevolucao.FALHA_OPERACIONAL_BANCO, detalhes)).thenReturn(resultadoAnalise);
 
         // Act
         delegate.execute(execution);
@@ -130,7 +131,7 @@ class AnaliseRiscoDelegateTest {
         verify(execution).setVariable("aprovacaoAutomaticaSugerida", false);
         verify(execution).setVariable("justificativaAnaliseRisco", 
                 "Falha interna: Variável 'solicitacaoDevolucaoRequest' não encontrada.");
-        verify(analiseRiscoService, never()).analisarRisco(any(), any());
+        verify(analiseRiscoService, never()).analisarRisco(any(), any(), any());
     }
 
     @Test
@@ -148,6 +149,21 @@ class AnaliseRiscoDelegateTest {
         verify(execution).setVariable("aprovacaoAutomaticaSugerida", false);
         verify(execution).setVariable("justificativaAnaliseRisco", 
                 "Falha interna: Variável 'detalhesTransacaoOriginal' não encontrada.");
-        verify(analiseRiscoService, never()).analisarRisco(any(), any());
+        verify(analiseRiscoService, never()).analisarRisco(any(), any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve reaproveitar o risco já analisado na pré-verificação")
+    void deveReaproveitarRiscoAnalisadoNaPreVerificacao() {
+        // Arrange
+        when(execution.hasVariable("nivelRisco")).thenReturn(true);
+        when(execution.getVariable("nivelRisco")).thenReturn("BAIXO");
+
+        // Act
+        delegate.execute(execution);
+
+        // Assert
+        verify(execution, never()).setVariable(anyString(), any());
+        verifyNoInteractions(analiseRiscoService);
+    }
+}
@@ -1,7 +1,9 @@
 package estudo.camunda.delegates;
 
 import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
 import estudo.camunda.services.NotificacaoService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.Expression;
@@ -12,8 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 import static org.mockito.Mockito.*;
 
@@ -50,7 +51,7 @@ class NotificacaoClienteDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         when(tipoNotificacao.getValue(execution)).thenReturn(NotificacaoClienteDelegate.TIPO_REJEICAO_INICIAL);
@@ -62,7 +63,7 @@ class NotificacaoClienteDelegateTest {
 
         // Assert
         verify(notificacaoService).enviarNotificacao(
-                eq("11122233344"),
+                eq("11122233396"),
                 contains("sua solicitação de devolução para o PIX (ID Original: TXID_TESTE) não pôde ser aceita")
         );
     }
@@ -74,7 +75,7 @@ class NotificacaoClienteDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         when(tipoNotificacao.getValue(execution)).thenReturn(NotificacaoClienteDelegate.TIPO_REJEICAO_ANALISE);
@@ -86,7 +87,7 @@ class NotificacaoClienteDelegateTest {
 
         // Assert
         verify(notificacaoService).enviarNotificacao(
-                eq("11122233344"),
+                eq("11122233396"),
                 contains("após análise, sua solicitação de devolução para o PIX (ID Original: TXID_TESTE) não pôde ser aprovada")
         );
     }
@@ -98,17 +99,17 @@ class NotificacaoClienteDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("100.00"),
-                "11122233344",
+                ValorMonetario.de("100.00"),
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -117,17 +118,52 @@ class NotificacaoClienteDelegateTest {
         when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
         when(execution.getVariable("devolucaoFinanceiraEfetuada")).thenReturn(true);
         when(execution.getVariable("idTransacaoDevolucaoGerada")).thenReturn("DEV-123456789");
+        when(execution.getVariable("codigoMotivoDevolucao")).thenReturn(MotivoDevolucao.FRAUDE_COMPROVADA.getCodigo());
 
         // Act
         delegate.execute(execution);
 
         // Assert
         verify(notificacaoService).enviarNotificacao(
-                eq("11122233344"),
+                eq("11122233396"),
                 contains("sua solicitação de devolução para o PIX (ID Original: TXID_TESTE) no valor de R$ 100,00 foi PROCESSADA COM SUCESSO")
         );
     }
 
+    @Test
+    @DisplayName("Deve complementar a notificação de sucesso conforme o código do motivo da devolução")
+    void deveComplementarNotificacaoDeSucessoConformeMotivo() {
+        // Arrange
+        DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
+                "TXID_TESTE",
+                ValorMonetario.de("100.00"),
+                "11122233396",
+                "Cliente Teste",
+                "55566677720",
+                "Comercio Teste",
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
+                "CONCLUIDA"
+        );
+
+        when(tipoNotificacao.getValue(execution)).thenReturn(NotificacaoClienteDelegate.TIPO_RESULTADO_PROCESSAMENTO);
+        when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(null);
+        when(execution.getVariable("cpfPagadorOriginal")).thenReturn("11122233396");
+        when(execution.getVariable("idTransacaoOriginal")).thenReturn("TXID_TESTE");
+        when(execution.getVariable("codigoMotivoDevolucao")).thenReturn(MotivoDevolucao.COBRANCA_INDEVIDA.getCodigo());
+        when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
+        when(execution.getVariable("devolucaoFinanceiraEfetuada")).thenReturn(true);
+        when(execution.getVariable("idTransacaoDevolucaoGerada")).thenReturn("DEV-123456789");
+
+        // Act
+        delegate.execute(execution);
+
+        // Assert
+        verify(notificacaoService).enviarNotificacao(
+                eq("11122233396"),
+                contains("ID da transação de devolução: DEV-123456789. Se a cobrança se repetir")
+        );
+    }
+
     @Test
     @DisplayName("Deve enviar notificação de processamento com falha")
     void deveEnviarNotificacaoDeProcessamentoComFalha() {
@@ -135,17 +171,17 @@ class NotificacaoClienteDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("100.00"),
-                "11122233344",
+                ValorMonetario.de("100.00"),
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -160,7 +196,7 @@ class NotificacaoClienteDelegateTest {
 
         // Assert
         verify(notificacaoService).enviarNotificacao(
-                eq("11122233344"),
+                eq("11122233396"),
                 contains("houve um problema ao processar financeiramente sua solicitação de devolução para o PIX (ID Original: TXID_TESTE)")
         );
     }
@@ -172,7 +208,7 @@ class NotificacaoClienteDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         when(tipoNotificacao.getValue(execution)).thenReturn("TIPO_DESCONHECIDO");
@@ -212,4 +248,26 @@ class NotificacaoClienteDelegateTest {
         // Assert
         verify(notificacaoService, never()).enviarNotificacao(anyString(), anyString());
     }
+
+    @Test
+    @DisplayName("Deve usar o tipo do parâmetro de entrada da tarefa, sem avaliar o campo injetado")
+    void deveUsarTipoDoParametroDeEntrada() {
+        // Arrange
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_TESTE",
+                "FRAUDE_COMPROVADA",
+                "11122233396"
+        );
+
+        when(execution.getVariableLocal(NotificacaoClienteDelegate.VARIAVEL_TIPO_NOTIFICACAO))
+                .thenReturn(NotificacaoClienteDelegate.TIPO_REJEICAO_INICIAL);
+        when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
+
+        // Act
+        delegate.execute(execution);
+
+        // Assert
+        verify(tipoNotificacao, never()).getValue(any());
+        verify(notificacaoService).enviarNotificacao(eq("11122233396"), contains("não pôde ser aceita"));
+    }
 }
@@ -2,6 +2,7 @@ package estudo.camunda.delegates;
 
 import estudo.camunda.dto.DetalhesTransacaoPix;
 import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
 import estudo.camunda.services.CoreBankingService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +13,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,16 +41,17 @@ class ProcessamentoDevolucaoDelegateTest {
         // Arrange
         DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("100.00"),
-                "11122233344", // CPF do pagador
+                ValorMonetario.de("100.00"),
+                "11122233396", // CPF do pagador
                 "Cliente Teste",
-                "55566677788", // CPF do recebedor
+                "55566677720", // CPF do recebedor
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
         when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
+        when(execution.getProcessInstanceId()).thenReturn("PROC-1");
         
         // Capturar o ID da operação gerado
         ArgumentCaptor<String> idOperacaoCaptor = ArgumentCaptor.forClass(String.class);
@@ -62,9 +63,9 @@ class ProcessamentoDevolucaoDelegateTest {
         
         when(coreBankingService.efetuarDevolucaoFinanceira(
                 idOperacaoCaptor.capture(),
-                eq("55566677788"), // Conta débito (recebedor)
-                eq("11122233344"), // Conta crédito (pagador)
-                eq(new BigDecimal("100.00"))
+                eq("55566677720"), // Conta débito (recebedor)
+                eq("11122233396"), // Conta crédito (pagador)
+                eq(ValorMonetario.de("100.00"))
         )).thenReturn(resultadoFinanceiro);
 
         // Act
@@ -77,8 +78,36 @@ class ProcessamentoDevolucaoDelegateTest {
         
         // Verificar que o ID da operação foi gerado corretamente
         String idOperacaoGerado = idOperacaoCaptor.getValue();
-        assertNotNull(idOperacaoGerado);
-        assertTrue(idOperacaoGerado.startsWith("DEV-"));
+        assertEquals("DEV-PROC-1", idOperacaoGerado);
+    }
+
+    @Test
+    @DisplayName("Deve repetir o mesmo ID de operação ao reexecutar a mesma instância")
+    void deveRepetirMesmoIdDeOperacaoAoReexecutar() throws Exception {
+        // Arrange
+        DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
+                "TXID_TESTE",
+                ValorMonetario.de("100.00"),
+                "11122233396",
+                "Cliente Teste",
+                "55566677720",
+                "Comercio Teste",
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
+                "CONCLUIDA"
+        );
+
+        when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
+        when(execution.getProcessInstanceId()).thenReturn("PROC-2");
+        when(coreBankingService.efetuarDevolucaoFinanceira(anyString(), anyString(), anyString(), any(ValorMonetario.class)))
+                .thenReturn(ResultadoOperacaoFinanceira.sucesso("DEV-PROC-2", "Devolução financeira processada com sucesso."));
+
+        // Act
+        delegate.execute(execution);
+        delegate.execute(execution);
+
+        // Assert
+        verify(coreBankingService, times(2)).efetuarDevolucaoFinanceira(eq("DEV-PROC-2"), eq("55566677720"),
+                eq("11122233396"), eq(ValorMonetario.de("100.00")));
     }
 
     @Test
@@ -87,12 +116,12 @@ class ProcessamentoDevolucaoDelegateTest {
         // Arrange
         DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("100.00"),
-                "11122233344", // CPF do pagador
+                ValorMonetario.de("100.00"),
+                "11122233396", // CPF do pagador
                 "Cliente Teste",
                 "CONTA_SEM_SALDO_MOCK", // Conta sem saldo suficiente
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -105,8 +134,8 @@ class ProcessamentoDevolucaoDelegateTest {
         when(coreBankingService.efetuarDevolucaoFinanceira(
                 anyString(),
                 eq("CONTA_SEM_SALDO_MOCK"), // Conta débito (recebedor)
-                eq("11122233344"), // Conta crédito (pagador)
-                eq(new BigDecimal("100.00"))
+                eq("11122233396"), // Conta crédito (pagador)
+                eq(ValorMonetario.de("100.00"))
         )).thenReturn(resultadoFinanceiro);
 
         // Act
@@ -119,6 +148,65 @@ class ProcessamentoDevolucaoDelegateTest {
         verify(execution, never()).setVariable(eq("idTransacaoDevolucaoGerada"), anyString());
     }
 
+    @Test
+    @DisplayName("Deve falhar o job, sem gravar resultado, quando o core banking não decidiu")
+    void deveFalharJobNaFalhaRetentavel() throws Exception {
+        // Arrange
+        DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
+                "TXID_TESTE",
+                ValorMonetario.de("100.00"),
+                "11122233396",
+                "Cliente Teste",
+                "55566677720",
+                "Comercio Teste",
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
+                "CONCLUIDA"
+        );
+
+        when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
+        when(coreBankingService.efetuarDevolucaoFinanceira(anyString(), anyString(), anyString(), any(ValorMonetario.class)))
+                .thenReturn(ResultadoOperacaoFinanceira.falhaRetentavel("Core banking indisponível (circuito aberto)."));
+
+        // Act
+        IllegalStateException erro = assertThrows(IllegalStateException.class, () -> delegate.execute(execution));
+
+        // Assert
+        assertTrue(erro.getMessage().contains("Core banking indisponível (circuito aberto)."));
+        verify(execution, never()).setVariable(eq("devolucaoFinanceiraEfetuada"), any());
+        verify(execution, never()).setVariable(eq("mensagemResultadoFinanceiro"), any());
+    }
+
+    @Test
+    @DisplayName("A repetição do job deve usar o mesmo ID de operação")
+    void repeticaoDeveUsarMesmoIdOperacao() throws Exception {
+        // Arrange
+        DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
+                "TXID_TESTE",
+                ValorMonetario.de("100.00"),
+                "11122233396",
+                "Cliente Teste",
+                "55566677720",
+                "Comercio Teste",
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
+                "CONCLUIDA"
+        );
+
+        when(execution.getProcessInstanceId()).thenReturn("PI-123");
+        when(execution.getVariable("detalhesTransacaoOriginal")).thenReturn(detalhes);
+        when(coreBankingService.efetuarDevolucaoFinanceira(anyString(), anyString(), anyString(), any(ValorMonetario.class)))
+                .thenReturn(ResultadoOperacaoFinanceira.falhaRetentavel("Core banking não respondeu em 2000 ms; a devolução pode ter sido efetivada."))
+                .thenReturn(ResultadoOperacaoFinanceira.sucesso("DEV-PI-123", "Devolução já efetuada."));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> delegate.execute(execution));
+        delegate.execute(execution);
+
+        // Assert
+        verify(coreBankingService, times(2)).efetuarDevolucaoFinanceira(eq("DEV-PI-123"), anyString(), anyString(), any(ValorMonetario.class));
+        verify(execution).setVariable("devolucaoFinanceiraEfetuada", true);
+        verify(execution).setVariable("idTransacaoDevolucaoGerada", "DEV-PI-123");
+    }
+
     @Test
     @DisplayName("Deve tratar detalhes da transação nulos")
     void deveTratarDetalhesTransacaoNulos() throws Exception {
@@ -132,6 +220,6 @@ class ProcessamentoDevolucaoDelegateTest {
         verify(execution).setVariable("devolucaoFinanceiraEfetuada", false);
         verify(execution).setVariable("mensagemResultadoFinanceiro", 
                 "Falha interna: Detalhes da transação original não encontrados para processamento financeiro.");
-        verify(coreBankingService, never()).efetuarDevolucaoFinanceira(anyString(), anyString(), anyString(), any(BigDecimal.class));
+        verify(coreBankingService, never()).efetuarDevolucaoFinanceira(anyString(), anyString(), anyString(), any(ValorMonetario.class));
     }
 }
\ No newline at end of file
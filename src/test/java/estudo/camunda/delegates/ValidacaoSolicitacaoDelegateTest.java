@@ -1,8 +1,13 @@
 package estudo.camunda.delegates;
 
 import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.ResultadoAnaliseRisco;
+import estudo.camunda.dto.ResultadoPreVerificacao;
 import estudo.camunda.dto.ResultadoValidacao;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.PreVerificacaoService;
 import estudo.camunda.services.ValidacaoSolicitacaoService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 import static org.mockito.Mockito.*;
 
@@ -23,6 +27,9 @@ class ValidacaoSolicitacaoDelegateTest {
     @Mock
     private ValidacaoSolicitacaoService validacaoService;
 
+    @Mock
+    private PreVerificacaoService preVerificacaoService;
+
     @Mock
     private DelegateExecution execution;
 
@@ -30,7 +37,7 @@ class ValidacaoSolicitacaoDelegateTest {
 
     @BeforeEach
     void setUp() {
-        delegate = new ValidacaoSolicitacaoDelegate(validacaoService);
+        delegate = new ValidacaoSolicitacaoDelegate(validacaoService, preVerificacaoService);
     }
 
     @Test
@@ -40,24 +47,24 @@ class ValidacaoSolicitacaoDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("100.00"),
-                "11122233344",
+                ValorMonetario.de("100.00"),
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
         ResultadoValidacao resultadoValidacao = ResultadoValidacao.sucesso(detalhes);
 
         when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
-        when(validacaoService.validarSolicitacao(solicitacao)).thenReturn(resultadoValidacao);
+        when(validacaoService.validarSolicitacao(solicitacao, MotivoDevolucao.FRAUDE_COMPROVADA)).thenReturn(resultadoValidacao);
 
         // Act
         delegate.execute(execution);
@@ -66,6 +73,8 @@ class ValidacaoSolicitacaoDelegateTest {
         verify(execution).setVariable("solicitacaoValida", true);
         verify(execution).setVariable("motivoInvalidacao", null);
         verify(execution).setVariable("detalhesTransacaoOriginal", detalhes);
+        verify(execution).setVariable("valorTransacaoCentavos", 10000L);
+        verify(execution).setVariable("motivoDevolucao", "FRAUDE_COMPROVADA");
         verify(execution, never()).removeVariable("detalhesTransacaoOriginal");
     }
 
@@ -76,13 +85,13 @@ class ValidacaoSolicitacaoDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_INEXISTENTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         ResultadoValidacao resultadoValidacao = ResultadoValidacao.falha("Transação original não encontrada.");
 
         when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
-        when(validacaoService.validarSolicitacao(solicitacao)).thenReturn(resultadoValidacao);
+        when(validacaoService.validarSolicitacao(solicitacao, MotivoDevolucao.FRAUDE_COMPROVADA)).thenReturn(resultadoValidacao);
 
         // Act
         delegate.execute(execution);
@@ -108,7 +117,7 @@ class ValidacaoSolicitacaoDelegateTest {
         verify(execution).setVariable("motivoInvalidacao", "Dados da solicitação não fornecidos ao processo.");
         verify(execution, never()).setVariable(eq("detalhesTransacaoOriginal"), any());
         verify(execution).removeVariable("detalhesTransacaoOriginal");
-        verify(validacaoService, never()).validarSolicitacao(any());
+        verify(validacaoService, never()).validarSolicitacao(any(), any());
     }
 
     @Test
@@ -118,14 +127,14 @@ class ValidacaoSolicitacaoDelegateTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         // Resultado válido mas sem detalhes da transação (inconsistente)
         ResultadoValidacao resultadoValidacao = ResultadoValidacao.sucesso();
 
         when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
-        when(validacaoService.validarSolicitacao(solicitacao)).thenReturn(resultadoValidacao);
+        when(validacaoService.validarSolicitacao(solicitacao, MotivoDevolucao.FRAUDE_COMPROVADA)).thenReturn(resultadoValidacao);
 
         // Act
         delegate.execute(execution);
@@ -136,4 +145,44 @@ class ValidacaoSolicitacaoDelegateTest {
         verify(execution, never()).setVariable(eq("detalhesTransacaoOriginal"), any());
         verify(execution).removeVariable("detalhesTransacaoOriginal");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve definir as variáveis de validação e de risco quando a pré-verificação está habilitada")
+    void deveDefinirVariaveisDeValidacaoERiscoComPreVerificacao() {
+        // Arrange
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_TESTE",
+                "FALHA_OPERACIONAL_BANCO",
+                "11122233396"
+        );
+
+        DetalhesTransacaoPix detalhes = new DetalhesTransacaoPix(
+                "TXID_TESTE",
+                ValorMonetario.de("50.00"),
+                "11122233396",
+                "Cliente Teste",
+                "55566677720",
+                "Comercio Teste",
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
+                "CONCLUIDA"
+        );
+        ResultadoAnaliseRisco analiseRisco = new ResultadoAnaliseRisco("BAIXO", true, "Risco baixo.");
+
+        when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
+        when(preVerificacaoService.habilitada()).thenReturn(true);
+        when(preVerificacaoService.preVerificar(solicitacao, MotivoDevolucao.FALHA_OPERACIONAL_BANCO))
+                .thenReturn(new ResultadoPreVerificacao(ResultadoValidacao.sucesso(detalhes), analiseRisco));
+
+        // Act
+        delegate.execute(execution);
+
+        // Assert
+        verify(execution).setVariable("solicitacaoValida", true);
+        verify(execution).setVariable("detalhesTransacaoOriginal", detalhes);
+        verify(execution).setVariable("valorTransacaoCentavos", 5000L);
+        verify(execution).setVariable("nivelRisco", "BAIXO");
+        verify(execution).setVariable("aprovacaoAutomaticaSugerida", true);
+        verify(execution).setVariable("justificativaAnaliseRisco", "Risco baixo.");
+        verifyNoInteractions(validacaoService);
+    }
+}
@@ -0,0 +1,76 @@
+package estudo.camunda.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjTest {
+
+    @Test
+    @DisplayName("Deve empacotar o mesmo CPF com ou sem pontuação no mesmo valor")
+    void deveEmpacotarCpfComOuSemPontuacaoNoMesmoValor() {
+        // Act
+        long semPontuacao = CpfCnpj.parse("11122233396");
+        long comPontuacao = CpfCnpj.parse("111.222.333-96");
+
+        // Assert
+        assertNotEquals(CpfCnpj.INVALIDO, semPontuacao);
+        assertEquals(semPontuacao, comPontuacao);
+        assertTrue(CpfCnpj.isCpf(semPontuacao));
+        assertFalse(CpfCnpj.isCnpj(semPontuacao));
+        assertEquals("111.222.333-96", CpfCnpj.formatar(semPontuacao));
+    }
+
+    @Test
+    @DisplayName("Deve empacotar CNPJ distinguindo-o de um CPF")
+    void deveEmpacotarCnpj() {
+        // Act
+        long cnpj = CpfCnpj.parse("11.222.333/0001-81");
+
+        // Assert
+        assertEquals(cnpj, CpfCnpj.parse("11222333000181"));
+        assertTrue(CpfCnpj.isCnpj(cnpj));
+        assertEquals("11.222.333/0001-81", CpfCnpj.formatar(cnpj));
+        assertEquals("11222333000181", CpfCnpj.anexarDigitos(new StringBuilder(), cnpj).toString());
+    }
+
+    @Test
+    @DisplayName("Deve manter os zeros à esquerda do documento")
+    void deveManterZerosAEsquerda() {
+        // Act
+        long cpf = CpfCnpj.parse("000.000.001-91");
+
+        // Assert
+        assertEquals("00000000191", CpfCnpj.anexarDigitos(new StringBuilder(), cpf).toString());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar dígitos verificadores errados, dígitos repetidos e tamanhos inválidos")
+    void deveRejeitarDocumentosInvalidos() {
+        // Act & Assert
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse(null));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse(""));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse("11122233344"));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse("11.222.333/0001-82"));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse("11111111111"));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse("1112223339"));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse("111222333960"));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse("111222333961234"));
+        assertEquals(CpfCnpj.INVALIDO, CpfCnpj.parse("111a222333-96"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar chaves distintas de qualquer documento para identificadores que não são CPF/CNPJ")
+    void deveGerarChavesParaIdentificadoresNaoDocumento() {
+        // Act
+        long documento = CpfCnpj.chave("111.222.333-96");
+        long contaEspecial = CpfCnpj.chave("CONTA_SEM_SALDO_MOCK");
+
+        // Assert
+        assertEquals(CpfCnpj.parse("11122233396"), documento);
+        assertTrue(contaEspecial < 0);
+        assertEquals(contaEspecial, CpfCnpj.chave("CONTA_SEM_SALDO_MOCK"));
+        assertNotEquals(contaEspecial, CpfCnpj.chave("CONTA_BLOQUEADA_MOCK"));
+    }
+}
@@ -0,0 +1,47 @@
+package estudo.camunda.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotivoDevolucaoTest {
+
+    @Test
+    @DisplayName("Deve reconhecer todos os motivos sem diferenciar maiúsculas de minúsculas")
+    void deveReconhecerMotivosSemDiferenciarCaixa() {
+        // Act & Assert
+        for (MotivoDevolucao motivo : MotivoDevolucao.values()) {
+            assertSame(motivo, MotivoDevolucao.parse(motivo.name()));
+            assertSame(motivo, MotivoDevolucao.parse(motivo.name().toLowerCase()));
+        }
+        assertSame(MotivoDevolucao.FALHA_OPERACIONAL_BANCO, MotivoDevolucao.parse("Falha_Operacional_Banco"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar nulo para textos que não são motivos do MED")
+    void deveRetornarNuloParaMotivosDesconhecidos() {
+        // Act & Assert
+        assertNull(MotivoDevolucao.parse(null));
+        assertNull(MotivoDevolucao.parse(""));
+        assertNull(MotivoDevolucao.parse("MOTIVO_INVALIDO"));
+        assertNull(MotivoDevolucao.parse("FRAUDE_COMPROVADA "));
+        assertNull(MotivoDevolucao.parse("FRAUDE_COMPROVAD"));
+        assertNull(MotivoDevolucao.parse("COBRANCA-INDEVIDA"));
+    }
+
+    @Test
+    @DisplayName("Deve converter entre motivo e código da variável de processo")
+    void deveConverterEntreMotivoECodigo() {
+        // Act & Assert
+        for (MotivoDevolucao motivo : MotivoDevolucao.values()) {
+            assertSame(motivo, MotivoDevolucao.doCodigo(motivo.getCodigo()));
+            assertSame(motivo, MotivoDevolucao.resolver(motivo.getCodigo(), "ignorado"));
+        }
+        assertEquals(MotivoDevolucao.CODIGO_NAO_RECONHECIDO, MotivoDevolucao.codigoDe(null));
+        assertNull(MotivoDevolucao.doCodigo(MotivoDevolucao.CODIGO_NAO_RECONHECIDO));
+        assertNull(MotivoDevolucao.doCodigo(99));
+        assertNull(MotivoDevolucao.resolver(MotivoDevolucao.CODIGO_NAO_RECONHECIDO, "FRAUDE_COMPROVADA"));
+        assertSame(MotivoDevolucao.COBRANCA_INDEVIDA, MotivoDevolucao.resolver(null, "cobranca_indevida"));
+    }
+}
@@ -0,0 +1,80 @@
+package estudo.camunda.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValorMonetarioTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve converter de BigDecimal e texto para centavos sem perda")
+    void deveConverterDeBigDecimalETextoParaCentavos() {
+        // Act
+        ValorMonetario deBigDecimal = ValorMonetario.de(new BigDecimal("250.75"));
+        ValorMonetario deTexto = ValorMonetario.de("100");
+
+        // Assert
+        assertEquals(25_075L, deBigDecimal.centavos());
+        assertEquals(10_000L, deTexto.centavos());
+        assertEquals(0, new BigDecimal("250.75").compareTo(deBigDecimal.toBigDecimal()));
+        assertSame(ValorMonetario.ZERO, ValorMonetario.de("0.00"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valores com mais de duas casas decimais ou inválidos")
+    void deveRejeitarValoresComMaisDeDuasCasasOuInvalidos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ValorMonetario.de("10.005"));
+        assertThrows(IllegalArgumentException.class, () -> ValorMonetario.de("abc"));
+        assertThrows(IllegalArgumentException.class, () -> ValorMonetario.de((BigDecimal) null));
+    }
+
+    @Test
+    @DisplayName("Deve somar, subtrair e comparar em centavos, detectando overflow")
+    void deveSomarSubtrairECompararEmCentavos() {
+        // Arrange
+        ValorMonetario saldo = ValorMonetario.deCentavos(100_000L);
+        ValorMonetario valor = ValorMonetario.deCentavos(30_050L);
+
+        // Act & Assert
+        assertEquals(ValorMonetario.deCentavos(69_950L), saldo.subtrair(valor));
+        assertEquals(ValorMonetario.deCentavos(130_050L), saldo.somar(valor));
+        assertTrue(saldo.maiorQue(valor));
+        assertTrue(valor.menorQue(saldo));
+        assertTrue(saldo.compareTo(valor) > 0);
+        assertThrows(ArithmeticException.class, () -> ValorMonetario.deCentavos(Long.MAX_VALUE).somar(valor));
+    }
+
+    @Test
+    @DisplayName("Deve formatar com duas casas como BigDecimal e no padrão pt-BR")
+    void deveFormatarComDuasCasas() {
+        // Act & Assert
+        assertEquals("1500.00", ValorMonetario.deCentavos(150_000L).toString());
+        assertEquals("0.05", ValorMonetario.deCentavos(5L).toString());
+        assertEquals("-0.50", ValorMonetario.deCentavos(-50L).toString());
+        assertEquals("-12.34", ValorMonetario.deCentavos(-1_234L).toString());
+        assertEquals("250,75", ValorMonetario.deCentavos(25_075L).formatado());
+        assertEquals(new BigDecimal("30.00").toString(), ValorMonetario.de("30.00").toString());
+    }
+
+    @Test
+    @DisplayName("Deve serializar como número JSON e desserializar de número ou texto")
+    void deveSerializarEDesserializarJson() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(ValorMonetario.deCentavos(25_075L));
+        ValorMonetario deNumero = objectMapper.readValue("250.75", ValorMonetario.class);
+        ValorMonetario deTexto = objectMapper.readValue("\"10.5\"", ValorMonetario.class);
+
+        // Assert
+        assertEquals("250.75", json);
+        assertEquals(25_075L, deNumero.centavos());
+        assertEquals(1_050L, deTexto.centavos());
+        assertThrows(Exception.class, () -> objectMapper.readValue("1.001", ValorMonetario.class));
+    }
+}
@@ -0,0 +1,138 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.MetricasAdmissao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdControleAdmissaoServiceImplTest {
+
+    private static final long MILISSEGUNDO = 1_000_000L;
+
+    private static AimdControleAdmissaoServiceImpl controle(boolean habilitada, int limiteInicial) {
+        return new AimdControleAdmissaoServiceImpl(habilitada, limiteInicial, 2, 8, 2.0, 0.5, 100, Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar e contar as solicitações acima do limite")
+    void deveRejeitarSolicitacoesAcimaDoLimite() {
+        // Arrange
+        AimdControleAdmissaoServiceImpl controle = controle(true, 2);
+
+        // Act
+        boolean primeira = controle.tentarAdmitir();
+        boolean segunda = controle.tentarAdmitir();
+        boolean terceira = controle.tentarAdmitir();
+
+        // Assert
+        assertTrue(primeira);
+        assertTrue(segunda);
+        assertFalse(terceira);
+        assertEquals(new MetricasAdmissao(true, 2, 2, 2, 1, 0), controle.metricas());
+        assertEquals(3, controle.retryAfterSegundos());
+    }
+
+    @Test
+    @DisplayName("Deve aumentar o limite com latência estável e reduzir com latência alta ou sobrecarga")
+    void deveAjustarLimitePelaLatencia() {
+        // Arrange
+        AimdControleAdmissaoServiceImpl controle = controle(true, 4);
+        for (int i = 0; i < 4; i++) {
+            controle.tentarAdmitir();
+        }
+
+        // Act & Assert: amostras rápidas com o limite em uso aumentam o limite em 1
+        controle.liberar(10 * MILISSEGUNDO, false);
+        controle.liberar(10 * MILISSEGUNDO, false);
+        assertEquals(6, controle.metricas().limite());
+
+        // Latência acima de 2x a base reduz pela metade
+        controle.liberar(30 * MILISSEGUNDO, false);
+        assertEquals(3, controle.metricas().limite());
+
+        // A outra solicitação já estava em andamento na redução: a sobrecarga dela não reduz de novo
+        controle.liberar(5 * MILISSEGUNDO, true);
+        assertEquals(3, controle.metricas().limite());
+
+        // Sobrecarga de uma solicitação admitida depois da redução reduz até o mínimo
+        controle.tentarAdmitir();
+        controle.liberar(5 * MILISSEGUNDO, true);
+        MetricasAdmissao metricas = controle.metricas();
+        assertEquals(2, metricas.limite());
+        assertEquals(0, metricas.emVoo());
+        assertEquals(10_000, metricas.latenciaBaseMicros());
+    }
+
+    @Test
+    @DisplayName("Uma rajada de conclusões lentas deve reduzir o limite uma vez por janela")
+    void rajadaLentaDeveReduzirUmaVezPorJanela() {
+        // Arrange
+        AimdControleAdmissaoServiceImpl controle = controle(true, 8);
+        controle.tentarAdmitir();
+        controle.liberar(10 * MILISSEGUNDO, false);
+        for (int i = 0; i < 8; i++) {
+            controle.tentarAdmitir();
+        }
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            controle.liberar(30 * MILISSEGUNDO, false);
+        }
+        int limiteAposRajada = controle.metricas().limite();
+        controle.tentarAdmitir();
+        controle.liberar(30 * MILISSEGUNDO, false);
+
+        // Assert
+        assertEquals(4, limiteAposRajada);
+        assertEquals(2, controle.metricas().limite());
+    }
+
+    @Test
+    @DisplayName("Não deve aumentar o limite quando a maior parte das vagas está livre")
+    void naoDeveAumentarLimiteComVagasOciosas() {
+        // Arrange
+        AimdControleAdmissaoServiceImpl controle = controle(true, 6);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            controle.tentarAdmitir();
+            controle.liberar(10 * MILISSEGUNDO, false);
+        }
+
+        // Assert
+        assertEquals(6, controle.metricas().limite());
+    }
+
+    @Test
+    @DisplayName("Desistir deve devolver a vaga sem ajustar o limite nem a latência base")
+    void desistirDeveDevolverVagaSemAmostra() {
+        // Arrange
+        AimdControleAdmissaoServiceImpl controle = controle(true, 2);
+        controle.tentarAdmitir();
+        controle.tentarAdmitir();
+
+        // Act
+        controle.desistir();
+
+        // Assert
+        assertTrue(controle.tentarAdmitir());
+        assertEquals(new MetricasAdmissao(true, 2, 2, 2, 0, 0), controle.metricas());
+    }
+
+    @Test
+    @DisplayName("Deve admitir tudo quando o controle está desabilitado")
+    void deveAdmitirTudoQuandoDesabilitado() {
+        // Arrange
+        AimdControleAdmissaoServiceImpl controle = controle(false, 2);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertTrue(controle.tentarAdmitir());
+        }
+        controle.liberar(10 * MILISSEGUNDO, true);
+        assertEquals(new MetricasAdmissao(false, 2, 4, 5, 0, 0), controle.metricas());
+    }
+}
@@ -0,0 +1,66 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.config.ClusterProcessEnginePlugin;
+import estudo.camunda.dto.InformacoesNoCluster;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.management.MetricsQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CamundaNoClusterServiceImplTest {
+
+    @Mock
+    private ProcessEngine processEngine;
+
+    @Mock
+    private ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    @Mock
+    private DbMetricsReporter dbMetricsReporter;
+
+    @Mock
+    private ManagementService managementService;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private MetricsQuery metricsQuery;
+
+    @Test
+    @DisplayName("Deve descarregar as métricas e consultá-las filtrando pelo id do nó")
+    void deveConsultarMetricasDoNo() {
+        // Arrange
+        ClusterProcessEnginePlugin plugin = new ClusterProcessEnginePlugin(true, "no-1", 64, 2, 1, Duration.ZERO);
+        when(processEngine.getProcessEngineConfiguration()).thenReturn(processEngineConfiguration);
+        when(processEngineConfiguration.getDbMetricsReporter()).thenReturn(dbMetricsReporter);
+        when(processEngine.getManagementService()).thenReturn(managementService);
+        when(managementService.createMetricsQuery()).thenReturn(metricsQuery);
+        doReturn(7L).when(metricsQuery).sum();
+        CamundaNoClusterServiceImpl service = new CamundaNoClusterServiceImpl(processEngine, plugin);
+
+        // Act
+        InformacoesNoCluster informacoes = service.consultarNo();
+
+        // Assert
+        verify(dbMetricsReporter).reportNow();
+        verify(metricsQuery, atLeastOnce()).reporter("no-1");
+        assertEquals("no-1", informacoes.noId());
+        assertTrue(informacoes.clusterHabilitado());
+        assertEquals(32, informacoes.particaoInicial());
+        assertEquals(63, informacoes.particaoFinal());
+        assertFalse(informacoes.assumindoParticoesOrfas());
+        assertEquals(7L, informacoes.metricasJobs().get(Metrics.JOB_ACQUIRED_FAILURE));
+    }
+}
@@ -0,0 +1,199 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.services.EventosDevolucaoService.AssinaturaEventos;
+import estudo.camunda.services.EventosDevolucaoService.ConsumidorEventos;
+import estudo.camunda.services.EventosDevolucaoService.MotivoEncerramento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutEventosDevolucaoServiceImplTest {
+
+    private final InMemoryStatusDevolucaoServiceImpl statusService = new InMemoryStatusDevolucaoServiceImpl(100);
+    private final FanOutEventosDevolucaoServiceImpl eventosService = new FanOutEventosDevolucaoServiceImpl(statusService, 2);
+
+    @Test
+    @DisplayName("Deve entregar o status atual e as transições seguintes ao assinante do processo")
+    void deveEntregarStatusAtualETransicoesAoAssinanteDoProcesso() throws Exception {
+        // Arrange
+        statusService.registrarTransicao("PROC-1", "TXID_TESTE", "11122233396",
+                SituacaoDevolucao.RECEBIDA, "start_event_solicitacao_recebida");
+        ConsumidorColetor consumidor = new ConsumidorColetor(true);
+
+        // Act
+        eventosService.assinarPorProcesso("PROC-1", consumidor);
+        eventosService.publicar(status("PROC-1", SituacaoDevolucao.CONCLUIDA));
+
+        // Assert
+        assertEquals(MotivoEncerramento.CONCLUIDA, consumidor.encerramento.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(SituacaoDevolucao.RECEBIDA, SituacaoDevolucao.CONCLUIDA),
+                consumidor.recebidos.stream().map(StatusDevolucao::situacao).toList());
+        assertEquals(0, eventosService.quantidadeAssinantes());
+    }
+
+    @Test
+    @DisplayName("Uma transição publicada durante a assinatura deve chegar uma única vez e em ordem")
+    void transicaoPublicadaDuranteAssinaturaDeveChegarUmaVezEmOrdem() throws Exception {
+        for (boolean publicarAntesDaLeitura : new boolean[]{true, false}) {
+            // Arrange
+            AtomicReference<FanOutEventosDevolucaoServiceImpl> servico = new AtomicReference<>();
+            // Como o listener de status, em outra thread: grava no modelo de leitura e depois publica
+            Runnable publicacao = () -> servico.get().publicar(statusService.registrarTransicao("PROC-1", null, null,
+                    SituacaoDevolucao.EM_VALIDACAO, "service_task_validar_solicitacao"));
+            InMemoryStatusDevolucaoServiceImpl statusComCorrida = new InMemoryStatusDevolucaoServiceImpl(100) {
+                @Override
+                public Optional<StatusDevolucao> buscarPorIdProcesso(String idProcesso) {
+                    if (publicarAntesDaLeitura) {
+                        executarEmOutraThread(publicacao);
+                    }
+                    Optional<StatusDevolucao> atual = statusService.buscarPorIdProcesso(idProcesso);
+                    if (!publicarAntesDaLeitura) {
+                        executarEmOutraThread(publicacao);
+                    }
+                    return atual;
+                }
+            };
+            servico.set(new FanOutEventosDevolucaoServiceImpl(statusComCorrida, 8));
+            statusService.registrarTransicao("PROC-1", "TXID_TESTE", "11122233396",
+                    SituacaoDevolucao.RECEBIDA, "start_event_solicitacao_recebida");
+            ConsumidorColetor consumidor = new ConsumidorColetor(true);
+
+            // Act
+            servico.get().assinarPorProcesso("PROC-1", consumidor);
+            servico.get().publicar(statusService.registrarTransicao("PROC-1", null, null,
+                    SituacaoDevolucao.CONCLUIDA, "end_event"));
+
+            // Assert
+            assertEquals(MotivoEncerramento.CONCLUIDA, consumidor.encerramento.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(SituacaoDevolucao.EM_VALIDACAO, SituacaoDevolucao.CONCLUIDA),
+                    consumidor.recebidos.stream().map(StatusDevolucao::situacao).toList(),
+                    "Publicação " + (publicarAntesDaLeitura ? "antes" : "depois") + " da leitura do status atual");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar transições de qualquer processo do mesmo CPF")
+    void deveEntregarTransicoesDeQualquerProcessoDoMesmoCpf() throws Exception {
+        // Arrange
+        ConsumidorColetor consumidor = new ConsumidorColetor(false);
+        consumidor.esperados = new CountDownLatch(2);
+        AssinaturaEventos assinatura = eventosService.assinarPorCpf("11122233396", consumidor);
+
+        // Act
+        eventosService.publicar(status("PROC-1", SituacaoDevolucao.EM_VALIDACAO));
+        eventosService.publicar(status("PROC-2", SituacaoDevolucao.EM_VALIDACAO));
+        eventosService.publicar(new StatusDevolucao("PROC-3", "TXID_OUTRO", "99988877714",
+                SituacaoDevolucao.EM_VALIDACAO, "service_task_validar_solicitacao", false, Instant.now()));
+
+        // Assert
+        assertTrue(consumidor.esperados.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("PROC-1", "PROC-2"), consumidor.recebidos.stream().map(StatusDevolucao::idProcesso).toList());
+
+        assinatura.close();
+        assertEquals(MotivoEncerramento.CANCELADA, consumidor.encerramento.get(5, TimeUnit.SECONDS));
+        assertEquals(0, eventosService.quantidadeAssinantes());
+    }
+
+    @Test
+    @DisplayName("Deve despejar o assinante lento quando o buffer enche, sem bloquear a publicação")
+    void deveDespejarAssinanteLentoQuandoBufferEnche() throws Exception {
+        // Arrange
+        CountDownLatch liberarConsumidor = new CountDownLatch(1);
+        ConsumidorColetor lento = new ConsumidorColetor(false) {
+            @Override
+            public boolean receber(StatusDevolucao status) {
+                try {
+                    liberarConsumidor.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.receber(status);
+            }
+        };
+        eventosService.assinarPorCpf("11122233396", lento);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            eventosService.publicar(status("PROC-" + i, SituacaoDevolucao.EM_VALIDACAO));
+        }
+
+        // Assert
+        assertEquals(MotivoEncerramento.DESPEJADA, lento.encerramento.get(5, TimeUnit.SECONDS));
+        assertEquals(0, eventosService.quantidadeAssinantes());
+        liberarConsumidor.countDown();
+    }
+
+    @Test
+    @DisplayName("Deve manter milhares de assinantes ociosos em threads virtuais")
+    void deveManterMilharesDeAssinantesOciosos() throws Exception {
+        // Arrange
+        int quantidade = 5_000;
+        ConsumidorColetor consumidor = new ConsumidorColetor(false);
+        consumidor.esperados = new CountDownLatch(quantidade);
+        List<AssinaturaEventos> assinaturas = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            assinaturas.add(eventosService.assinarPorCpf(String.format("%011d", i), consumidor));
+        }
+        assertEquals(quantidade, eventosService.quantidadeAssinantes());
+
+        // Act
+        for (int i = 0; i < quantidade; i++) {
+            eventosService.publicar(new StatusDevolucao("PROC-" + i, "TXID_" + i, String.format("%011d", i),
+                    SituacaoDevolucao.EM_VALIDACAO, "service_task_validar_solicitacao", false, Instant.now()));
+        }
+
+        // Assert
+        assertTrue(consumidor.esperados.await(10, TimeUnit.SECONDS));
+        assinaturas.forEach(AssinaturaEventos::close);
+        assertEquals(0, eventosService.quantidadeAssinantes());
+    }
+
+    private static void executarEmOutraThread(Runnable acao) {
+        try {
+            Thread.ofVirtual().start(acao).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static StatusDevolucao status(String idProcesso, SituacaoDevolucao situacao) {
+        return new StatusDevolucao(idProcesso, "TXID_TESTE", "11122233396",
+                situacao, "atividade", situacao.isFinalizada(), Instant.now());
+    }
+
+    private static class ConsumidorColetor implements ConsumidorEventos {
+
+        private final boolean encerrarAoFinalizar;
+        private final List<StatusDevolucao> recebidos = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<MotivoEncerramento> encerramento = new CompletableFuture<>();
+        private CountDownLatch esperados = new CountDownLatch(0);
+
+        private ConsumidorColetor(boolean encerrarAoFinalizar) {
+            this.encerrarAoFinalizar = encerrarAoFinalizar;
+        }
+
+        @Override
+        public boolean receber(StatusDevolucao status) {
+            recebidos.add(status);
+            esperados.countDown();
+            return !(encerrarAoFinalizar && status.finalizada());
+        }
+
+        @Override
+        public void encerrar(MotivoEncerramento motivo) {
+            encerramento.complete(motivo);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package estudo.camunda.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeradorIdOrdenadoTest {
+
+    private static final long AGORA = 1_760_000_000_000L;
+
+    @Test
+    @DisplayName("Deve codificar tempo, nó e sequência, com o texto na mesma ordem dos números")
+    void deveCodificarTempoNoESequencia() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong(AGORA);
+        GeradorIdOrdenado gerador = new GeradorIdOrdenado(7, relogio::get);
+
+        // Act
+        long primeiro = gerador.proximoId();
+        long segundo = gerador.proximoId();
+        relogio.addAndGet(1);
+        long terceiro = gerador.proximoId();
+
+        // Assert
+        assertEquals(AGORA, GeradorIdOrdenado.instanteMillis(primeiro));
+        assertEquals(7, GeradorIdOrdenado.no(primeiro));
+        assertEquals(primeiro + 1, segundo);
+        assertEquals(AGORA + 1, GeradorIdOrdenado.instanteMillis(terceiro));
+        String textoSegundo = GeradorIdOrdenado.paraTexto(segundo);
+        String textoTerceiro = GeradorIdOrdenado.paraTexto(terceiro);
+        assertEquals(GeradorIdOrdenado.TAMANHO_TEXTO, textoSegundo.length());
+        assertTrue(textoSegundo.compareTo(textoTerceiro) < 0);
+        assertEquals("0000000000000", GeradorIdOrdenado.paraTexto(0));
+        assertEquals("7ZZZZZZZZZZZZ", GeradorIdOrdenado.paraTexto(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Deve continuar crescente com o relógio voltando e com a sequência esgotada")
+    void deveContinuarCrescenteComRelogioVoltandoESequenciaEsgotada() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong(AGORA);
+        GeradorIdOrdenado gerador = new GeradorIdOrdenado(1, relogio::get);
+        long anterior = gerador.proximoId();
+
+        // Act & Assert: 5000 IDs no mesmo milissegundo passam da sequência de 4096
+        for (int i = 0; i < 5_000; i++) {
+            long id = gerador.proximoId();
+            assertTrue(id > anterior);
+            anterior = id;
+        }
+        assertEquals(AGORA + 1, GeradorIdOrdenado.instanteMillis(anterior));
+
+        relogio.addAndGet(-10_000);
+        long depoisDeVoltar = gerador.proximoId();
+        assertTrue(depoisDeVoltar > anterior);
+        assertEquals(1, GeradorIdOrdenado.no(depoisDeVoltar));
+    }
+
+    @Test
+    @DisplayName("Deve gerar IDs únicos entre threads concorrentes")
+    void deveGerarIdsUnicosEntreThreads() throws Exception {
+        // Arrange
+        GeradorIdOrdenado gerador = new GeradorIdOrdenado(3);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<long[]>> futuros = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            futuros.add(executor.submit(() -> {
+                long[] ids = new long[50_000];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = gerador.proximoId();
+                }
+                return ids;
+            }));
+        }
+        Set<Long> unicos = new HashSet<>();
+        for (Future<long[]> futuro : futuros) {
+            long[] ids = futuro.get();
+            for (int i = 0; i < ids.length; i++) {
+                assertTrue(i == 0 || ids[i] > ids[i - 1], "Crescente em cada thread");
+                unicos.add(ids[i]);
+            }
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(200_000, unicos.size());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar número de nó fora da faixa")
+    void deveRejeitarNoForaDaFaixa() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new GeradorIdOrdenado(1024));
+        assertThrows(IllegalArgumentException.class, () -> new GeradorIdOrdenado(-1));
+    }
+}
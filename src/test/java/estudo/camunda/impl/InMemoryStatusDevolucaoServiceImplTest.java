@@ -0,0 +1,74 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.dto.StatusDevolucao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStatusDevolucaoServiceImplTest {
+
+    private final InMemoryStatusDevolucaoServiceImpl statusService = new InMemoryStatusDevolucaoServiceImpl(2);
+
+    @Test
+    @DisplayName("Deve registrar a primeira transição com os dados da solicitação")
+    void deveRegistrarPrimeiraTransicaoComDadosDaSolicitacao() {
+        // Act
+        statusService.registrarTransicao("PROC-1", "TXID_VALIDA_001", "11122233396",
+                SituacaoDevolucao.RECEBIDA, "start_event_solicitacao_recebida");
+
+        // Assert
+        StatusDevolucao status = statusService.buscarPorIdProcesso("PROC-1").orElseThrow();
+        assertEquals("TXID_VALIDA_001", status.idTransacaoOriginal());
+        assertEquals("11122233396", status.cpfClienteSolicitante());
+        assertEquals(SituacaoDevolucao.RECEBIDA, status.situacao());
+        assertFalse(status.finalizada());
+        assertNotNull(status.atualizadoEm());
+    }
+
+    @Test
+    @DisplayName("Deve preservar os dados da solicitação nas transições seguintes")
+    void devePreservarDadosDaSolicitacaoNasTransicoesSeguintes() {
+        // Arrange
+        statusService.registrarTransicao("PROC-1", "TXID_VALIDA_001", "11122233396",
+                SituacaoDevolucao.RECEBIDA, "start_event_solicitacao_recebida");
+
+        // Act
+        statusService.registrarTransicao("PROC-1", null, null,
+                SituacaoDevolucao.CONCLUIDA, "end_event_devolucao_sucesso");
+
+        // Assert
+        StatusDevolucao status = statusService.buscarPorIdTransacaoOriginal("TXID_VALIDA_001").orElseThrow();
+        assertEquals("PROC-1", status.idProcesso());
+        assertEquals("11122233396", status.cpfClienteSolicitante());
+        assertEquals(SituacaoDevolucao.CONCLUIDA, status.situacao());
+        assertEquals("end_event_devolucao_sucesso", status.atividadeAtual());
+        assertTrue(status.finalizada());
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio para processo ou transação desconhecidos")
+    void deveRetornarVazioParaProcessoOuTransacaoDesconhecidos() {
+        assertTrue(statusService.buscarPorIdProcesso("PROC-INEXISTENTE").isEmpty());
+        assertTrue(statusService.buscarPorIdTransacaoOriginal("TXID_INEXISTENTE").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve descartar as devoluções finalizadas mais antigas acima do limite de retenção")
+    void deveDescartarFinalizadasMaisAntigasAcimaDoLimite() {
+        // Act
+        for (int i = 1; i <= 3; i++) {
+            statusService.registrarTransicao("PROC-" + i, "TXID_" + i, "11122233396",
+                    SituacaoDevolucao.RECEBIDA, "start_event_solicitacao_recebida");
+            statusService.registrarTransicao("PROC-" + i, null, null,
+                    SituacaoDevolucao.REJEITADA_VALIDACAO, "end_event_solicitacao_invalida");
+        }
+
+        // Assert
+        assertTrue(statusService.buscarPorIdProcesso("PROC-1").isEmpty());
+        assertTrue(statusService.buscarPorIdTransacaoOriginal("TXID_1").isEmpty());
+        assertTrue(statusService.buscarPorIdProcesso("PROC-2").isPresent());
+        assertTrue(statusService.buscarPorIdProcesso("PROC-3").isPresent());
+    }
+}
@@ -0,0 +1,120 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceIdempotenciaTest {
+
+    @TempDir
+    Path diretorio;
+
+    private static ResultadoOperacaoFinanceira sucesso(String id) {
+        return ResultadoOperacaoFinanceira.sucesso(id, "Devolução financeira " + id + " processada com sucesso.");
+    }
+
+    @Test
+    @DisplayName("Deve lembrar só as últimas operações, na ordem de registro")
+    void deveLembrarSoAsUltimasOperacoes() {
+        // Arrange
+        IndiceIdempotencia indice = new IndiceIdempotencia(100, null);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            indice.registrar("DEV-" + i, sucesso("DEV-" + i));
+        }
+
+        // Assert
+        assertEquals(100, indice.tamanho());
+        for (int i = 0; i < 900; i++) {
+            assertNull(indice.buscar("DEV-" + i), "DEV-" + i);
+        }
+        for (int i = 900; i < 1_000; i++) {
+            assertEquals(sucesso("DEV-" + i), indice.buscar("DEV-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as operações e as falhas do diário depois de reabrir")
+    void deveRecuperarOperacoesDoDiario() {
+        // Arrange
+        Path arquivo = diretorio.resolve("idempotencia.bin");
+        ResultadoOperacaoFinanceira falha = ResultadoOperacaoFinanceira.falha("Conta de débito bloqueada.");
+        try (IndiceIdempotencia indice = new IndiceIdempotencia(8, arquivo)) {
+            indice.registrar("DEV-1", sucesso("DEV-1"));
+            indice.registrar("DEV-2", falha);
+            indice.sincronizar();
+        }
+
+        // Act
+        try (IndiceIdempotencia reaberto = new IndiceIdempotencia(8, arquivo)) {
+            // Assert
+            assertEquals(sucesso("DEV-1"), reaberto.buscar("DEV-1"));
+            assertEquals(falha, reaberto.buscar("DEV-2"));
+            assertNull(reaberto.buscar("DEV-3"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar a cauda incompleta do diário e continuar gravando depois dela")
+    void deveDescartarCaudaIncompleta() throws IOException {
+        // Arrange
+        Path arquivo = diretorio.resolve("idempotencia.bin");
+        try (IndiceIdempotencia indice = new IndiceIdempotencia(8, arquivo)) {
+            indice.registrar("DEV-1", sucesso("DEV-1"));
+        }
+        // Simula uma gravação interrompida no meio de um registro
+        Files.write(arquivo, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // Act
+        try (IndiceIdempotencia reaberto = new IndiceIdempotencia(8, arquivo)) {
+            reaberto.registrar("DEV-2", sucesso("DEV-2"));
+        }
+
+        // Assert
+        try (IndiceIdempotencia relido = new IndiceIdempotencia(8, arquivo)) {
+            assertEquals(2, relido.tamanho());
+            assertEquals(sucesso("DEV-1"), relido.buscar("DEV-1"));
+            assertEquals(sucesso("DEV-2"), relido.buscar("DEV-2"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compactar o diário mantendo só as operações do anel")
+    void deveCompactarDiario() throws IOException {
+        // Arrange
+        Path arquivo = diretorio.resolve("idempotencia.bin");
+        long tamanhoSemCompactar;
+        try (IndiceIdempotencia indice = new IndiceIdempotencia(4, arquivo)) {
+            for (int i = 0; i < 8; i++) {
+                indice.registrar("DEV-" + i, sucesso("DEV-" + i));
+                indice.sincronizar();
+            }
+            tamanhoSemCompactar = Files.size(arquivo);
+
+            // Act
+            for (int i = 8; i < 10; i++) {
+                indice.registrar("DEV-" + i, sucesso("DEV-" + i));
+                indice.sincronizar();
+            }
+        }
+
+        // Assert
+        assertTrue(Files.size(arquivo) < tamanhoSemCompactar, "O diário deveria ter sido reescrito");
+        try (IndiceIdempotencia relido = new IndiceIdempotencia(4, arquivo)) {
+            assertEquals(4, relido.tamanho());
+            assertNull(relido.buscar("DEV-5"));
+            for (int i = 6; i < 10; i++) {
+                assertEquals(sucesso("DEV-" + i), relido.buscar("DEV-" + i));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package estudo.camunda.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JanelaPrazoDevolucaoTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+    private static long epochMilli(String dataHoraLocal) {
+        return LocalDateTime.parse(dataHoraLocal).atZone(SAO_PAULO).toInstant().toEpochMilli();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o dia limite inteiro e rejeitar o dia anterior, no fuso do relógio")
+    void deveAceitarDiaLimiteERejeitarDiaAnterior() {
+        // Arrange
+        Clock relogio = Clock.fixed(Instant.ofEpochMilli(epochMilli("2026-03-15T08:00:00")), SAO_PAULO);
+        JanelaPrazoDevolucao janela = new JanelaPrazoDevolucao(relogio, 79);
+
+        // Act & Assert
+        assertTrue(janela.dentroDoPrazo(epochMilli("2025-12-26T00:00:00")));
+        assertTrue(janela.dentroDoPrazo(epochMilli("2026-03-15T23:59:59")));
+        assertFalse(janela.dentroDoPrazo(epochMilli("2025-12-25T23:59:59")));
+        assertEquals(80, janela.diasDesde(epochMilli("2025-12-25T23:59:59")));
+        assertEquals(79, janela.diasDesde(epochMilli("2025-12-26T00:00:00")));
+    }
+
+    @Test
+    @DisplayName("Deve recalcular o limite quando o relógio passa da meia-noite ou volta no tempo")
+    void deveRecalcularLimiteNaViradaDoDia() {
+        // Arrange
+        RelogioAjustavel relogio = new RelogioAjustavel(Instant.ofEpochMilli(epochMilli("2026-03-15T23:59:00")));
+        JanelaPrazoDevolucao janela = new JanelaPrazoDevolucao(relogio, 79);
+        long transacao = epochMilli("2025-12-26T10:00:00");
+
+        // Act & Assert
+        assertTrue(janela.dentroDoPrazo(transacao));
+
+        relogio.avancar(Duration.ofMinutes(2));
+        assertFalse(janela.dentroDoPrazo(transacao));
+        assertEquals(80, janela.diasDesde(transacao));
+
+        relogio.avancar(Duration.ofDays(-1));
+        assertTrue(janela.dentroDoPrazo(transacao));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prazo negativo")
+    void deveRejeitarPrazoNegativo() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new JanelaPrazoDevolucao(Clock.systemUTC(), -1));
+    }
+
+    private static final class RelogioAjustavel extends Clock {
+
+        private Instant agora;
+
+        private RelogioAjustavel(Instant agora) {
+            this.agora = agora;
+        }
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return SAO_PAULO;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
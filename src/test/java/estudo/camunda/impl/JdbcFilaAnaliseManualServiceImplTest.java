@@ -0,0 +1,97 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.PaginaFilaAnalise;
+import estudo.camunda.dto.TarefaAnaliseManual;
+import estudo.camunda.dto.ValorMonetario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcFilaAnaliseManualServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private static TarefaAnaliseManual tarefa(String idTarefa, long criadaEmMillis) {
+        return new TarefaAnaliseManual(idTarefa, "PROC-" + idTarefa, "TXID_PARA_ANALISE_MANUAL_001",
+                ValorMonetario.de("250.75"), "FRAUDE_COMPROVADA", "MEDIO", "Análise de risco: ...",
+                Instant.ofEpochMilli(criadaEmMillis));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void retornarTarefas(List<TarefaAnaliseManual> tarefas) {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(tarefas);
+    }
+
+    @Test
+    @DisplayName("Deve gerar cursor para a próxima página quando a página vem cheia")
+    void deveGerarCursorQuandoPaginaCheia() {
+        // Arrange
+        JdbcFilaAnaliseManualServiceImpl fila = new JdbcFilaAnaliseManualServiceImpl(jdbcTemplate, "analista_fraude", Duration.ZERO);
+        retornarTarefas(List.of(tarefa("T1", 1_000L), tarefa("T2", 2_000L)));
+
+        // Act
+        PaginaFilaAnalise pagina = fila.listarTarefas(null, 2);
+
+        // Assert
+        assertEquals(2, pagina.tarefas().size());
+        assertEquals("2000_T2", pagina.proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Não deve gerar cursor na última página")
+    void naoDeveGerarCursorNaUltimaPagina() {
+        // Arrange
+        JdbcFilaAnaliseManualServiceImpl fila = new JdbcFilaAnaliseManualServiceImpl(jdbcTemplate, "analista_fraude", Duration.ZERO);
+        retornarTarefas(List.of(tarefa("T3", 3_000L)));
+
+        // Act
+        PaginaFilaAnalise pagina = fila.listarTarefas("2000_T2", 2);
+
+        // Assert
+        assertEquals(1, pagina.tarefas().size());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Deve servir a página do cache até ser invalidado")
+    void deveServirPaginaDoCacheAteSerInvalidado() {
+        // Arrange
+        JdbcFilaAnaliseManualServiceImpl fila = new JdbcFilaAnaliseManualServiceImpl(jdbcTemplate, "analista_fraude", Duration.ofMinutes(1));
+        retornarTarefas(List.of(tarefa("T1", 1_000L)));
+
+        // Act
+        fila.listarTarefas(null, 50);
+        fila.listarTarefas(null, 50);
+        fila.invalidarCache();
+        fila.listarTarefas(null, 50);
+
+        // Assert
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limite ou cursor inválidos")
+    void deveRejeitarLimiteOuCursorInvalidos() {
+        JdbcFilaAnaliseManualServiceImpl fila = new JdbcFilaAnaliseManualServiceImpl(jdbcTemplate, "analista_fraude", Duration.ZERO);
+
+        assertThrows(IllegalArgumentException.class, () -> fila.listarTarefas(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> fila.listarTarefas(null, 501));
+        assertThrows(IllegalArgumentException.class, () -> fila.listarTarefas("cursor-invalido", 10));
+    }
+}
@@ -0,0 +1,93 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.GravacaoPerfil;
+import estudo.camunda.jfr.EnvioNotificacaoEvento;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrGravacaoPerfilServiceImplTest {
+
+    @TempDir
+    private Path diretorio;
+
+    private JfrGravacaoPerfilServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve iniciar uma gravação, listá-la e gravar o arquivo com os eventos ao parar")
+    void deveGravarArquivoAoParar() throws Exception {
+        // Arrange
+        service = new JfrGravacaoPerfilServiceImpl(diretorio.toString());
+
+        // Act
+        GravacaoPerfil iniciada = service.iniciar("teste", "default", null);
+        EnvioNotificacaoEvento envio = new EnvioNotificacaoEvento();
+        envio.begin();
+        envio.concluido("PROC-1", "REJEICAO_INICIAL", true);
+        assertEquals(1, service.listar().size());
+        GravacaoPerfil parada = service.parar(iniciada.id());
+
+        // Assert
+        assertEquals("RUNNING", iniciada.estado());
+        assertNotEquals("RUNNING", parada.estado());
+        assertTrue(service.listar().isEmpty());
+        Path arquivo = Path.of(parada.arquivo());
+        assertEquals(diretorio.resolve("teste-" + iniciada.id() + ".jfr"), arquivo);
+        assertTrue(Files.size(arquivo) > 0);
+        assertTrue(RecordingFile.readAllEvents(arquivo).stream()
+                .anyMatch(e -> e.getEventType().getName().equals(EnvioNotificacaoEvento.NOME)
+                        && "REJEICAO_INICIAL".equals(e.getString("tipoNotificacao"))));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar nome, configuração inválidos e gravação inexistente")
+    void deveRejeitarParametrosInvalidos() {
+        // Arrange
+        service = new JfrGravacaoPerfilServiceImpl(diretorio.toString());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.iniciar("../fora", "default", null));
+        assertThrows(IllegalArgumentException.class, () -> service.iniciar("teste", "inexistente.jfc", null));
+        assertThrows(NoSuchElementException.class, () -> service.parar(Long.MAX_VALUE));
+        assertTrue(service.listar().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas arquivos .jfc do diretório de gravações como configuração")
+    void deveAceitarApenasJfcDoDiretorio() throws Exception {
+        // Arrange
+        service = new JfrGravacaoPerfilServiceImpl(diretorio.toString());
+        Files.writeString(diretorio.resolve("pix.jfc"), Configuration.getConfiguration("default").getContents());
+        Path fora = Files.writeString(diretorio.getParent().resolve("fora-" + System.nanoTime() + ".jfc"),
+                Configuration.getConfiguration("default").getContents());
+
+        try {
+            // Act
+            GravacaoPerfil iniciada = service.iniciar("teste", "pix.jfc", null);
+
+            // Assert
+            assertEquals("RUNNING", iniciada.estado());
+            assertThrows(IllegalArgumentException.class, () -> service.iniciar("teste", "../" + fora.getFileName(), null));
+            assertThrows(IllegalArgumentException.class, () -> service.iniciar("teste", fora.toString(), null));
+            assertThrows(IllegalArgumentException.class, () -> service.iniciar("teste", "pix.xml", null));
+            assertThrows(IllegalArgumentException.class, () -> service.iniciar("teste", null, null));
+            assertEquals(1, service.listar().size());
+        } finally {
+            Files.deleteIfExists(fora);
+        }
+    }
+}
@@ -13,7 +13,7 @@ class LogNotificacaoServiceImplTest {
     @DisplayName("Deve enviar notificação sem lançar exceções")
     void deveEnviarNotificacaoSemLancarExcecoes() {
         // Arrange
-        String identificadorCliente = "11122233344";
+        String identificadorCliente = "11122233396";
         String mensagem = "Sua solicitação de devolução foi processada com sucesso.";
 
         // Act & Assert
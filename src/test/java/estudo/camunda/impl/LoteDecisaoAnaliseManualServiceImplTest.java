@@ -0,0 +1,144 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DecisaoAnalista;
+import estudo.camunda.dto.DecisaoTarefaRequest;
+import estudo.camunda.dto.ResultadoDecisaoTarefa.Situacao;
+import estudo.camunda.dto.ResultadoDecisoesEmLote;
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LoteDecisaoAnaliseManualServiceImplTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskQuery taskQuery;
+
+    private LoteDecisaoAnaliseManualServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LoteDecisaoAnaliseManualServiceImpl(taskService, transactionManager, 2, 2, 10);
+        when(taskService.createTaskQuery()).thenReturn(taskQuery);
+        // A consulta devolve as tarefas existentes; a implementação considera só as pedidas no bloco
+        List<Task> existentes = List.of(
+                tarefa("TASK-1", "user_task_analise_manual"),
+                tarefa("TASK-2", "user_task_analise_manual"),
+                tarefa("TASK-3", "user_task_analise_manual"),
+                tarefa("TASK-OUTRA-1", "user_task_outra"));
+        when(taskQuery.taskIdIn(any(String[].class))).thenReturn(taskQuery);
+        when(taskQuery.list()).thenReturn(existentes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    private static Task tarefa(String id, String definicao) {
+        Task task = mock(Task.class);
+        when(task.getId()).thenReturn(id);
+        when(task.getTaskDefinitionKey()).thenReturn(definicao);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Deve concluir todas as tarefas do lote em blocos transacionais")
+    void deveConcluirTodasAsTarefasDoLote() {
+        // Arrange
+        List<DecisaoTarefaRequest> decisoes = List.of(
+                new DecisaoTarefaRequest("TASK-1", DecisaoAnalista.APROVAR),
+                new DecisaoTarefaRequest("TASK-2", DecisaoAnalista.REJEITAR),
+                new DecisaoTarefaRequest("TASK-3", DecisaoAnalista.APROVAR));
+
+        // Act
+        ResultadoDecisoesEmLote resultado = service.decidirEmLote(decisoes);
+
+        // Assert
+        assertEquals(3, resultado.concluidas());
+        assertEquals(0, resultado.naoConcluidas());
+        assertEquals(List.of("TASK-1", "TASK-2", "TASK-3"),
+                resultado.resultados().stream().map(r -> r.idTarefa()).toList());
+        verify(taskService).complete("TASK-1", Map.of("decisaoAnalista", "APROVAR"));
+        verify(taskService).complete("TASK-2", Map.of("decisaoAnalista", "REJEITAR"));
+        verify(taskService).complete("TASK-3", Map.of("decisaoAnalista", "APROVAR"));
+        // 3 tarefas em blocos de 2: duas transações
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Deve reportar tarefas inexistentes, duplicadas e de outra atividade sem concluí-las")
+    void deveReportarTarefasNaoConcluidas() {
+        // Arrange
+        List<DecisaoTarefaRequest> decisoes = List.of(
+                new DecisaoTarefaRequest("TASK-1", DecisaoAnalista.APROVAR),
+                new DecisaoTarefaRequest("INEXISTENTE", DecisaoAnalista.APROVAR),
+                new DecisaoTarefaRequest("TASK-1", DecisaoAnalista.REJEITAR),
+                new DecisaoTarefaRequest("TASK-OUTRA-1", DecisaoAnalista.REJEITAR));
+
+        // Act
+        ResultadoDecisoesEmLote resultado = service.decidirEmLote(decisoes);
+
+        // Assert
+        assertEquals(1, resultado.concluidas());
+        assertEquals(List.of(Situacao.CONCLUIDA, Situacao.NAO_ENCONTRADA, Situacao.DUPLICADA, Situacao.TAREFA_INVALIDA),
+                resultado.resultados().stream().map(r -> r.situacao()).toList());
+        verify(taskService, times(1)).complete(anyString(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Deve concluir individualmente as tarefas de um bloco cuja transação falhou")
+    void deveIsolarFalhaDoBloco() {
+        // Arrange
+        doThrow(new OptimisticLockingException("tarefa concluída por outro analista"))
+                .when(taskService).complete(eq("TASK-2"), anyMap());
+        List<DecisaoTarefaRequest> decisoes = List.of(
+                new DecisaoTarefaRequest("TASK-1", DecisaoAnalista.APROVAR),
+                new DecisaoTarefaRequest("TASK-2", DecisaoAnalista.APROVAR));
+
+        // Act
+        ResultadoDecisoesEmLote resultado = service.decidirEmLote(decisoes);
+
+        // Assert
+        assertEquals(Situacao.CONCLUIDA, resultado.resultados().get(0).situacao());
+        assertEquals(Situacao.FALHA, resultado.resultados().get(1).situacao());
+        assertTrue(resultado.resultados().get(1).mensagem().contains("outro analista"));
+        verify(transactionManager, atLeastOnce()).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote acima do máximo de itens")
+    void deveRejeitarLoteAcimaDoMaximo() {
+        List<DecisaoTarefaRequest> decisoes = java.util.stream.IntStream.range(0, 11)
+                .mapToObj(i -> new DecisaoTarefaRequest("TASK-" + i, DecisaoAnalista.APROVAR))
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> service.decidirEmLote(decisoes));
+        verifyNoInteractions(taskService);
+    }
+}
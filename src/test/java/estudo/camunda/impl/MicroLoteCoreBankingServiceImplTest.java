@@ -0,0 +1,130 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DevolucaoFinanceira;
+import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.CoreBankingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroLoteCoreBankingServiceImplTest {
+
+    private static final ValorMonetario VALOR = ValorMonetario.de("10.00");
+
+    private final CoreBankingEmLote coreBanking = new CoreBankingEmLote();
+    private final ExecutorService chamadores = Executors.newFixedThreadPool(4);
+    private MicroLoteCoreBankingServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        chamadores.shutdownNow();
+        service.encerrar();
+    }
+
+    private Future<ResultadoOperacaoFinanceira> devolverEmParalelo(String idOperacao) {
+        return chamadores.submit(() -> service.efetuarDevolucaoFinanceira(idOperacao, "55566677720", "11122233396", VALOR));
+    }
+
+    @Test
+    @DisplayName("Deve juntar devoluções simultâneas em um lote e devolver a cada chamada o seu resultado")
+    void deveJuntarDevolucoesSimultaneasEmUmLote() throws Exception {
+        // Arrange
+        service = new MicroLoteCoreBankingServiceImpl(coreBanking, 4, Duration.ofSeconds(5), 1);
+
+        // Act
+        List<Future<ResultadoOperacaoFinanceira>> chamadas = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            chamadas.add(devolverEmParalelo("DEV-" + i));
+        }
+
+        // Assert
+        for (int i = 1; i <= 4; i++) {
+            ResultadoOperacaoFinanceira resultado = chamadas.get(i - 1).get(5, TimeUnit.SECONDS);
+            assertTrue(resultado.sucesso());
+            assertEquals("DEV-" + i, resultado.idTransacaoDevolucao());
+        }
+        assertEquals(List.of(4), coreBanking.tamanhosLote);
+        assertEquals(0, coreBanking.chamadasIndividuais.get());
+    }
+
+    @Test
+    @DisplayName("Deve enviar um lote incompleto depois da espera máxima")
+    void deveEnviarLoteIncompletoDepoisDaEsperaMaxima() throws Exception {
+        // Arrange
+        service = new MicroLoteCoreBankingServiceImpl(coreBanking, 32, Duration.ofMillis(20), 1);
+
+        // Act
+        ResultadoOperacaoFinanceira resultado = devolverEmParalelo("DEV-1").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(resultado.sucesso());
+        assertEquals(List.of(1), coreBanking.tamanhosLote);
+    }
+
+    @Test
+    @DisplayName("Deve repassar a falha do lote a todas as chamadas que esperam por ele")
+    void deveRepassarFalhaDoLote() {
+        // Arrange
+        service = new MicroLoteCoreBankingServiceImpl(coreBanking, 2, Duration.ofSeconds(5), 1);
+        coreBanking.falha = new IllegalStateException("lote recusado");
+
+        // Act & Assert
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> service.efetuarDevolucaoFinanceira("DEV-1", "55566677720", "11122233396", VALOR));
+        assertEquals("lote recusado", erro.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve chamar o core banking diretamente quando o lote tem tamanho 1")
+    void deveChamarDiretamenteComLoteDeTamanhoUm() {
+        // Arrange
+        service = new MicroLoteCoreBankingServiceImpl(coreBanking, 1, Duration.ofSeconds(5), 1);
+
+        // Act
+        ResultadoOperacaoFinanceira resultado = service.efetuarDevolucaoFinanceira("DEV-1", "55566677720", "11122233396", VALOR);
+
+        // Assert
+        assertTrue(resultado.sucesso());
+        assertEquals(1, coreBanking.chamadasIndividuais.get());
+        assertTrue(coreBanking.tamanhosLote.isEmpty());
+    }
+
+    /** Core banking de teste que registra o tamanho de cada lote recebido. */
+    private static final class CoreBankingEmLote implements CoreBankingService {
+
+        private final List<Integer> tamanhosLote = new CopyOnWriteArrayList<>();
+        private final AtomicInteger chamadasIndividuais = new AtomicInteger();
+        private volatile RuntimeException falha;
+
+        @Override
+        public ResultadoOperacaoFinanceira efetuarDevolucaoFinanceira(String idOperacaoDevolucao, String identificadorContaDebito,
+                                                                      String identificadorContaCredito, ValorMonetario valor) {
+            chamadasIndividuais.incrementAndGet();
+            return ResultadoOperacaoFinanceira.sucesso(idOperacaoDevolucao, "ok");
+        }
+
+        @Override
+        public List<ResultadoOperacaoFinanceira> efetuarDevolucoesEmLote(List<DevolucaoFinanceira> devolucoes) {
+            if (falha != null) {
+                throw falha;
+            }
+            tamanhosLote.add(devolucoes.size());
+            return devolucoes.stream()
+                    .map(devolucao -> ResultadoOperacaoFinanceira.sucesso(devolucao.idOperacaoDevolucao(), "ok"))
+                    .toList();
+        }
+    }
+}
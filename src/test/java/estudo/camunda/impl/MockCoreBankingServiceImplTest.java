@@ -1,10 +1,12 @@
 package estudo.camunda.impl;
 
+import estudo.camunda.dto.DevolucaoFinanceira;
 import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,9 +19,9 @@ class MockCoreBankingServiceImplTest {
     void deveEfetuarDevolucaoFinanceiraComSucessoQuandoHaSaldoSuficiente() {
         // Arrange
         String idOperacao = "OP_TESTE_001";
-        String contaDebito = "55566677788"; // Conta com saldo de R$1000.00
-        String contaCredito = "11122233344"; // Conta com saldo de R$200.00
-        BigDecimal valor = new BigDecimal("500.00");
+        String contaDebito = "55566677720"; // Conta com saldo de R$1000.00
+        String contaCredito = "11122233396"; // Conta com saldo de R$200.00
+        ValorMonetario valor = ValorMonetario.de("500.00");
 
         // Act
         ResultadoOperacaoFinanceira resultado = coreBankingService.efetuarDevolucaoFinanceira(
@@ -32,14 +34,76 @@ class MockCoreBankingServiceImplTest {
         assertTrue(resultado.mensagem().contains("processada com sucesso"));
     }
 
+    @Test
+    @DisplayName("Deve localizar a conta de débito pelo CPF com pontuação")
+    void deveLocalizarContaDeDebitoPeloCpfComPontuacao() {
+        // Arrange
+        String contaDebito = "222.333.444-05"; // Mesma conta de 22233344405, com saldo de R$300.00
+        ValorMonetario valor = ValorMonetario.de("1.00");
+
+        // Act
+        ResultadoOperacaoFinanceira resultado = coreBankingService.efetuarDevolucaoFinanceira(
+                "OP_TESTE_FORMATADO", contaDebito, "11122233396", valor);
+
+        // Assert
+        assertTrue(resultado.sucesso());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado original sem debitar de novo quando a operação se repete")
+    void deveDevolverResultadoOriginalQuandoOperacaoSeRepete() {
+        // Arrange
+        MockCoreBankingServiceImpl coreBanking = new MockCoreBankingServiceImpl(new IndiceIdempotencia(16, null));
+        ValorMonetario valor = ValorMonetario.de("2.00");
+
+        // Act
+        ResultadoOperacaoFinanceira primeiro = coreBanking.efetuarDevolucaoFinanceira(
+                "OP_TESTE_REPETIDA", "CONTA_SEM_SALDO_MOCK", "11122233396", valor);
+        ResultadoOperacaoFinanceira repetido = coreBanking.efetuarDevolucaoFinanceira(
+                "OP_TESTE_REPETIDA", "CONTA_SEM_SALDO_MOCK", "11122233396", valor);
+        List<ResultadoOperacaoFinanceira> emLote = coreBanking.efetuarDevolucoesEmLote(List.of(
+                new DevolucaoFinanceira("OP_TESTE_REPETIDA", "CONTA_SEM_SALDO_MOCK", "11122233396", valor)));
+        // Com um único débito de R$2.00, ainda restam R$3.00
+        ResultadoOperacaoFinanceira outra = coreBanking.efetuarDevolucaoFinanceira(
+                "OP_TESTE_OUTRA", "CONTA_SEM_SALDO_MOCK", "11122233396", ValorMonetario.de("3.00"));
+
+        // Assert
+        assertTrue(primeiro.sucesso());
+        assertSame(primeiro, repetido);
+        assertSame(primeiro, emLote.get(0));
+        assertTrue(outra.sucesso());
+    }
+
+    @Test
+    @DisplayName("Deve lançar um lote devolvendo o resultado de cada devolução na mesma ordem")
+    void deveLancarLoteNaMesmaOrdem() {
+        // Arrange
+        List<DevolucaoFinanceira> lote = List.of(
+                new DevolucaoFinanceira("OP_LOTE_001", "88899900078", "11122233396", ValorMonetario.de("1.00")),
+                new DevolucaoFinanceira("OP_LOTE_002", "CONTA_BLOQUEADA_MOCK", "11122233396", ValorMonetario.de("1.00")),
+                new DevolucaoFinanceira("OP_LOTE_003", "88899900078", "22233344405", ValorMonetario.de("2.00")));
+
+        // Act
+        List<ResultadoOperacaoFinanceira> resultados = coreBankingService.efetuarDevolucoesEmLote(lote);
+
+        // Assert
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.get(0).sucesso());
+        assertEquals("OP_LOTE_001", resultados.get(0).idTransacaoDevolucao());
+        assertFalse(resultados.get(1).sucesso());
+        assertTrue(resultados.get(1).mensagem().contains("bloqueada"));
+        assertTrue(resultados.get(2).sucesso());
+        assertEquals("OP_LOTE_003", resultados.get(2).idTransacaoDevolucao());
+    }
+
     @Test
     @DisplayName("Deve falhar quando a conta de débito não tem saldo suficiente")
     void deveFalharQuandoContaDebitoNaoTemSaldoSuficiente() {
         // Arrange
         String idOperacao = "OP_TESTE_002";
         String contaDebito = "CONTA_SEM_SALDO_MOCK"; // Conta com saldo de R$5.00
-        String contaCredito = "11122233344";
-        BigDecimal valor = new BigDecimal("10.00");
+        String contaCredito = "11122233396";
+        ValorMonetario valor = ValorMonetario.de("10.00");
 
         // Act
         ResultadoOperacaoFinanceira resultado = coreBankingService.efetuarDevolucaoFinanceira(
@@ -58,8 +122,8 @@ class MockCoreBankingServiceImplTest {
         // Arrange
         String idOperacao = "OP_TESTE_003";
         String contaDebito = "CONTA_BLOQUEADA_MOCK";
-        String contaCredito = "11122233344";
-        BigDecimal valor = new BigDecimal("50.00");
+        String contaCredito = "11122233396";
+        ValorMonetario valor = ValorMonetario.de("50.00");
 
         // Act
         ResultadoOperacaoFinanceira resultado = coreBankingService.efetuarDevolucaoFinanceira(
@@ -77,9 +141,9 @@ class MockCoreBankingServiceImplTest {
     void deveCriarContaCreditoAutomaticamenteSeNaoExistir() {
         // Arrange
         String idOperacao = "OP_TESTE_004";
-        String contaDebito = "55566677788"; // Conta com saldo de R$1000.00
+        String contaDebito = "55566677720"; // Conta com saldo de R$1000.00
         String contaCredito = "CONTA_NOVA_TESTE"; // Conta que não existe ainda
-        BigDecimal valor = new BigDecimal("100.00");
+        ValorMonetario valor = ValorMonetario.de("100.00");
 
         // Act
         ResultadoOperacaoFinanceira resultado = coreBankingService.efetuarDevolucaoFinanceira(
@@ -93,7 +157,7 @@ class MockCoreBankingServiceImplTest {
         // Verificar se a operação foi bem-sucedida fazendo uma nova operação
         // que usa a conta recém-criada como débito
         ResultadoOperacaoFinanceira segundaOperacao = coreBankingService.efetuarDevolucaoFinanceira(
-                "OP_TESTE_004_VERIFICACAO", contaCredito, contaDebito, new BigDecimal("50.00"));
+                "OP_TESTE_004_VERIFICACAO", contaCredito, contaDebito, ValorMonetario.de("50.00"));
         
         assertTrue(segundaOperacao.sucesso());
     }
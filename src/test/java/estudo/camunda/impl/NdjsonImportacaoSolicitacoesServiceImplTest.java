@@ -0,0 +1,165 @@
+package estudo.camunda.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import estudo.camunda.dto.ResultadoImportacao;
+import estudo.camunda.dto.ResultadoImportacao.Etapa;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NdjsonImportacaoSolicitacoesServiceImplTest {
+
+    private static final String PROCESSO = "processo_devolucao_pix_med_simplificado";
+
+    @Mock
+    private RuntimeService runtimeService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NdjsonImportacaoSolicitacoesServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NdjsonImportacaoSolicitacoesServiceImpl(runtimeService, jdbcTemplate, transactionManager,
+                new ObjectMapper(), 2, 2, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    private static String solicitacao(String idTransacao, String motivo) {
+        return "{\"idTransacaoOriginal\":\"" + idTransacao + "\",\"motivo\":\"" + motivo
+                + "\",\"cpfClienteSolicitante\":\"11122233396\"}";
+    }
+
+    private static InputStream ndjson(String... linhas) {
+        return new ByteArrayInputStream(String.join("\n", linhas).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve iniciar os registros válidos e contar os erros por etapa")
+    void deveIniciarRegistrosValidosEContarErrosPorEtapa() {
+        // Arrange
+        InputStream arquivo = ndjson(
+                solicitacao("TXID_1", "FRAUDE_COMPROVADA"),
+                "{ isto não é json",
+                "",
+                solicitacao("TXID_2", "motivo_invalido"),
+                "{\"idTransacaoOriginal\":\"TXID_3\",\"motivo\":\"COBRANCA_INDEVIDA\"}",
+                solicitacao("TXID_4", "cobranca_indevida"));
+
+        // Act
+        ResultadoImportacao resultado = service.importar("IMP-1", arquivo);
+
+        // Assert
+        assertTrue(resultado.concluida());
+        assertEquals(5, resultado.lidas());
+        assertEquals(0, resultado.puladasPorCheckpoint());
+        assertEquals(2, resultado.iniciadas());
+        assertEquals(1, resultado.errosLeitura());
+        assertEquals(2, resultado.errosValidacao());
+        assertEquals(0, resultado.errosInicio());
+        assertEquals(List.of(2L, 4L, 5L), resultado.erros().stream().map(ResultadoImportacao.Erro::linha).sorted().toList());
+        assertTrue(resultado.erros().stream().anyMatch(erro -> erro.linha() == 5 && erro.etapa() == Etapa.VALIDACAO
+                && erro.mensagem().contains("CPF")));
+
+        ArgumentCaptor<Map<String, Object>> variaveis = ArgumentCaptor.forClass(Map.class);
+        verify(runtimeService, times(2)).startProcessInstanceByKey(eq(PROCESSO), variaveis.capture());
+        assertEquals(List.of("TXID_1", "TXID_4"), variaveis.getAllValues().stream()
+                .map(v -> ((SolicitacaoDevolucaoRequest) v.get("solicitacaoDevolucaoRequest")).idTransacaoOriginal())
+                .sorted().toList());
+        // Blocos de duas linhas não vazias: 1-2, 4-5 e 6
+        verify(jdbcTemplate).update(anyString(), eq("IMP-1"), eq(1L), eq(2L), eq(1));
+        verify(jdbcTemplate).update(anyString(), eq("IMP-1"), eq(4L), eq(5L), eq(0));
+        verify(jdbcTemplate).update(anyString(), eq("IMP-1"), eq(6L), eq(6L), eq(1));
+    }
+
+    @Test
+    @DisplayName("Deve pular as linhas confirmadas ao retomar uma importação")
+    void devePularLinhasConfirmadasAoRetomar() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("IMP-2")))
+                .thenReturn(List.of(new long[]{1, 2}, new long[]{3, 3}));
+        InputStream arquivo = ndjson(
+                solicitacao("TXID_1", "FRAUDE_COMPROVADA"),
+                solicitacao("TXID_2", "FRAUDE_COMPROVADA"),
+                solicitacao("TXID_3", "FRAUDE_COMPROVADA"),
+                solicitacao("TXID_4", "FRAUDE_COMPROVADA"));
+
+        // Act
+        ResultadoImportacao resultado = service.importar("IMP-2", arquivo);
+
+        // Assert
+        assertEquals(4, resultado.lidas());
+        assertEquals(3, resultado.puladasPorCheckpoint());
+        assertEquals(1, resultado.iniciadas());
+        verify(runtimeService, times(1)).startProcessInstanceByKey(eq(PROCESSO), anyMap());
+        verify(jdbcTemplate).update(anyString(), eq("IMP-2"), eq(4L), eq(4L), eq(1));
+    }
+
+    @Test
+    @DisplayName("Deve iniciar individualmente os registros quando a transação do bloco falha")
+    void deveIniciarIndividualmenteQuandoTransacaoDoBlocoFalha() {
+        // Arrange
+        when(runtimeService.startProcessInstanceByKey(eq(PROCESSO), anyMap())).thenAnswer(invocacao -> {
+            Map<String, Object> variaveis = invocacao.getArgument(1);
+            if ("TXID_FALHA".equals(variaveis.get("idTransacaoOriginal"))) {
+                throw new ProcessEngineException("falha simulada");
+            }
+            return null;
+        });
+        InputStream arquivo = ndjson(
+                solicitacao("TXID_1", "FRAUDE_COMPROVADA"),
+                solicitacao("TXID_FALHA", "FRAUDE_COMPROVADA"));
+
+        // Act
+        ResultadoImportacao resultado = service.importar("IMP-3", arquivo);
+
+        // Assert
+        assertEquals(1, resultado.iniciadas());
+        assertEquals(1, resultado.errosInicio());
+        assertEquals(new ResultadoImportacao.Erro(2, Etapa.INICIO, "falha simulada"), resultado.erros().get(0));
+        verify(jdbcTemplate).update(anyString(), eq("IMP-3"), eq(1L), eq(1L), eq(1));
+        verify(jdbcTemplate, never()).update(anyString(), eq("IMP-3"), eq(2L), anyLong(), anyInt());
+        verify(jdbcTemplate, never()).update(anyString(), eq("IMP-3"), eq(1L), eq(2L), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ID de importação vazio")
+    void deveRejeitarIdDeImportacaoVazio() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.importar(" ", ndjson()));
+        verifyNoInteractions(runtimeService);
+    }
+}
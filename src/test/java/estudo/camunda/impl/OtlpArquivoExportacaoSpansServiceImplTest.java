@@ -0,0 +1,73 @@
+package estudo.camunda.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import estudo.camunda.rastreio.CascataSpans;
+import estudo.camunda.rastreio.Span;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtlpArquivoExportacaoSpansServiceImplTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    @DisplayName("Deve gravar os spans em OTLP/JSON, um ExportTraceServiceRequest por linha")
+    void deveGravarSpansEmOtlpJson() throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("rastreio").resolve("spans.jsonl");
+        OtlpArquivoExportacaoSpansServiceImpl service = new OtlpArquivoExportacaoSpansServiceImpl(
+                arquivo.toString(), 16, "pix-devolucao", "no-1");
+        Span raiz = new Span("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", null, "POST /solicitar",
+                Span.TIPO_SERVIDOR, 1_700_000_000_000_000_000L, 1_700_000_000_020_000_000L, false,
+                Map.of(Span.ATRIBUTO_INSTANCIA_PROCESSO, "PROC-1"));
+        Span atividade = new Span("4bf92f3577b34da6a3ce929d0e0e4736", "b7ad6b7169203331", "00f067aa0ba902b7", "Validar",
+                Span.TIPO_INTERNO, 1_700_000_000_002_000_000L, 1_700_000_000_012_000_000L, true, Map.of());
+
+        // Act
+        assertTrue(service.ativo());
+        service.exportar(raiz);
+        service.exportar(atividade);
+        service.encerrar();
+
+        // Assert
+        List<String> linhas = Files.readAllLines(arquivo);
+        JsonNode recurso = new ObjectMapper().readTree(linhas.get(0)).path("resourceSpans").get(0);
+        assertEquals("service.name", recurso.path("resource").path("attributes").get(0).path("key").asText());
+        assertEquals("pix-devolucao", recurso.path("resource").path("attributes").get(0).path("value").path("stringValue").asText());
+        JsonNode primeiro = recurso.path("scopeSpans").get(0).path("spans").get(0);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", primeiro.path("traceId").asText());
+        assertEquals("1700000000000000000", primeiro.path("startTimeUnixNano").asText());
+        assertTrue(primeiro.path("startTimeUnixNano").isTextual(), "uint64 vai como texto no OTLP/JSON");
+        assertEquals(2, primeiro.path("kind").asInt());
+        assertFalse(primeiro.has("parentSpanId"));
+        List<Span> lidos = CascataSpans.ler(arquivo);
+        assertEquals(List.of(raiz, atividade), lidos);
+        assertEquals(0, service.descartados());
+    }
+
+    @Test
+    @DisplayName("Não deve exportar nada sem arquivo configurado")
+    void naoDeveExportarSemArquivo() {
+        // Arrange
+        OtlpArquivoExportacaoSpansServiceImpl service = new OtlpArquivoExportacaoSpansServiceImpl("", 16, "pix-devolucao", "");
+
+        // Act
+        service.exportar(new Span("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", null, "x",
+                Span.TIPO_INTERNO, 0, 1, false, Map.of()));
+        service.encerrar();
+
+        // Assert
+        assertFalse(service.ativo());
+        assertEquals(0, service.descartados());
+    }
+}
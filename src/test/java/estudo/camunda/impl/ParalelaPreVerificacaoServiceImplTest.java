@@ -0,0 +1,128 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DetalhesTransacaoPix;
+import estudo.camunda.dto.MotivoDevolucao;
+import estudo.camunda.dto.ResultadoAnaliseRisco;
+import estudo.camunda.dto.ResultadoPreVerificacao;
+import estudo.camunda.dto.ResultadoValidacao;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.AnaliseRiscoService;
+import estudo.camunda.services.ValidacaoSolicitacaoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParalelaPreVerificacaoServiceImplTest {
+
+    private static final SolicitacaoDevolucaoRequest SOLICITACAO =
+            new SolicitacaoDevolucaoRequest("TXID_TESTE", "FRAUDE_COMPROVADA", "11122233396");
+    private static final DetalhesTransacaoPix TRANSACAO = new DetalhesTransacaoPix(
+            "TXID_TESTE", ValorMonetario.de("100.00"), "11122233396", "Cliente Teste",
+            "55566677720", "Comercio Teste", Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(), "CONCLUIDA");
+    private static final MotivoDevolucao MOTIVO = MotivoDevolucao.FRAUDE_COMPROVADA;
+
+    @Mock
+    private ValidacaoSolicitacaoService validacaoService;
+
+    @Mock
+    private AnaliseRiscoService analiseRiscoService;
+
+    private ParalelaPreVerificacaoServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ParalelaPreVerificacaoServiceImpl(validacaoService, analiseRiscoService, true, 2, 4, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve analisar o risco enquanto a validação ainda está em andamento")
+    void deveAnalisarRiscoEnquantoValidacaoEmAndamento() {
+        // Arrange
+        CountDownLatch analiseIniciada = new CountDownLatch(1);
+        ResultadoAnaliseRisco analiseRisco = new ResultadoAnaliseRisco("MEDIO", false, "Análise padrão.");
+        when(validacaoService.buscarTransacaoOriginal("TXID_TESTE")).thenReturn(Optional.of(TRANSACAO));
+        when(analiseRiscoService.analisarRisco(SOLICITACAO, MOTIVO, TRANSACAO)).thenAnswer(invocacao -> {
+            analiseIniciada.countDown();
+            return analiseRisco;
+        });
+        when(validacaoService.validarContraTransacao(SOLICITACAO, MOTIVO, TRANSACAO)).thenAnswer(invocacao -> {
+            // Só conclui se a análise de risco começou em paralelo
+            assertTrue(analiseIniciada.await(5, TimeUnit.SECONDS));
+            return ResultadoValidacao.sucesso(TRANSACAO);
+        });
+
+        // Act
+        ResultadoPreVerificacao resultado = service.preVerificar(SOLICITACAO, MOTIVO);
+
+        // Assert
+        assertTrue(resultado.validacao().isValida());
+        assertSame(TRANSACAO, resultado.validacao().detalhesTransacaoPix());
+        assertSame(analiseRisco, resultado.analiseRisco());
+    }
+
+    @Test
+    @DisplayName("Deve cancelar a análise de risco quando a validação falha")
+    void deveCancelarAnaliseDeRiscoQuandoValidacaoFalha() throws InterruptedException {
+        // Arrange
+        CountDownLatch analiseIniciada = new CountDownLatch(1);
+        CountDownLatch analiseInterrompida = new CountDownLatch(1);
+        when(validacaoService.buscarTransacaoOriginal("TXID_TESTE")).thenReturn(Optional.of(TRANSACAO));
+        when(analiseRiscoService.analisarRisco(SOLICITACAO, MOTIVO, TRANSACAO)).thenAnswer(invocacao -> {
+            analiseIniciada.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                analiseInterrompida.countDown();
+            }
+            return null;
+        });
+        when(validacaoService.validarContraTransacao(SOLICITACAO, MOTIVO, TRANSACAO)).thenAnswer(invocacao -> {
+            assertTrue(analiseIniciada.await(5, TimeUnit.SECONDS));
+            return ResultadoValidacao.falha("Solicitante não é o pagador original.");
+        });
+
+        // Act
+        ResultadoPreVerificacao resultado = service.preVerificar(SOLICITACAO, MOTIVO);
+
+        // Assert
+        assertFalse(resultado.validacao().isValida());
+        assertEquals("Solicitante não é o pagador original.", resultado.validacao().mensagemErro());
+        assertNull(resultado.analiseRisco());
+        assertTrue(analiseInterrompida.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve falhar sem analisar o risco quando a transação original não existe")
+    void deveFalharSemAnalisarRiscoQuandoTransacaoNaoExiste() {
+        // Arrange
+        when(validacaoService.buscarTransacaoOriginal("TXID_TESTE")).thenReturn(Optional.empty());
+
+        // Act
+        ResultadoPreVerificacao resultado = service.preVerificar(SOLICITACAO, MOTIVO);
+
+        // Assert
+        assertEquals(ResultadoValidacao.transacaoNaoEncontrada(), resultado.validacao());
+        assertNull(resultado.analiseRisco());
+        verifyNoInteractions(analiseRiscoService);
+    }
+}
@@ -0,0 +1,215 @@
+package estudo.camunda.impl;
+
+import estudo.camunda.dto.DevolucaoFinanceira;
+import estudo.camunda.dto.MetricasCoreBanking;
+import estudo.camunda.dto.ResultadoOperacaoFinanceira;
+import estudo.camunda.dto.ValorMonetario;
+import estudo.camunda.services.CoreBankingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienteCoreBankingServiceImplTest {
+
+    private static final ValorMonetario VALOR = ValorMonetario.de("10.00");
+
+    private final CoreBankingComLatencia coreBanking = new CoreBankingComLatencia();
+    private final AtomicLong relogioNanos = new AtomicLong();
+    private ResilienteCoreBankingServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        coreBanking.liberar.countDown();
+        service.encerrar();
+    }
+
+    private ResilienteCoreBankingServiceImpl criar(int chamadasSimultaneas, int filaEspera, Duration timeout, int falhasParaAbrir) {
+        return new ResilienteCoreBankingServiceImpl(coreBanking, chamadasSimultaneas, filaEspera, timeout,
+                falhasParaAbrir, Duration.ofSeconds(30), relogioNanos::get);
+    }
+
+    private ResultadoOperacaoFinanceira devolver() {
+        return service.efetuarDevolucaoFinanceira("DEV-1", "55566677720", "11122233396", VALOR);
+    }
+
+    @Test
+    @DisplayName("Deve devolver uma falha retentável quando o core banking passa do timeout")
+    void deveDevolverFalhaRetentavelNoTimeout() {
+        // Arrange
+        service = criar(2, 2, Duration.ofMillis(50), 5);
+        coreBanking.latenciaMillis = 5_000;
+
+        // Act
+        long inicio = System.nanoTime();
+        ResultadoOperacaoFinanceira resultado = devolver();
+        long duracaoMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        // Assert
+        assertFalse(resultado.sucesso());
+        assertTrue(resultado.retentavel());
+        assertTrue(resultado.mensagem().contains("não respondeu"));
+        assertTrue(duracaoMillis < 2_000, "A thread do chamador não deve esperar pelo core banking travado");
+        assertEquals(1, service.metricas().timeouts());
+        assertEquals("FECHADO", service.metricas().estadoCircuito());
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito após falhas seguidas, falhar na hora e fechá-lo com uma chamada de teste bem-sucedida")
+    void deveAbrirEFecharCircuito() {
+        // Arrange
+        service = criar(2, 2, Duration.ofSeconds(2), 2);
+        coreBanking.falha = new IllegalStateException("core banking fora do ar");
+
+        // Act & Assert: duas falhas abrem o circuito
+        assertTrue(devolver().retentavel());
+        assertTrue(devolver().retentavel());
+        assertEquals("ABERTO", service.metricas().estadoCircuito());
+
+        // Circuito aberto: falha sem chamar o core banking
+        ResultadoOperacaoFinanceira rejeitada = devolver();
+        assertTrue(rejeitada.retentavel());
+        assertTrue(rejeitada.mensagem().contains("circuito aberto"));
+        assertEquals(2, coreBanking.chamadas.get());
+
+        // Passada a espera, a chamada de teste bem-sucedida fecha o circuito
+        coreBanking.falha = null;
+        relogioNanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        ResultadoOperacaoFinanceira resultado = devolver();
+
+        assertTrue(resultado.sucesso());
+        MetricasCoreBanking metricas = service.metricas();
+        assertEquals("FECHADO", metricas.estadoCircuito());
+        assertEquals(2, metricas.erros());
+        assertEquals(1, metricas.rejeitadasCircuito());
+        assertEquals(1, metricas.aberturasCircuito());
+        assertEquals(1, metricas.meiasAberturasCircuito());
+        assertEquals(1, metricas.fechamentosCircuito());
+    }
+
+    @Test
+    @DisplayName("Deve reabrir o circuito quando a chamada de teste falha")
+    void deveReabrirCircuitoQuandoChamadaDeTesteFalha() {
+        // Arrange
+        service = criar(2, 2, Duration.ofSeconds(2), 1);
+        coreBanking.falha = new IllegalStateException("core banking fora do ar");
+        devolver();
+        relogioNanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // Act
+        devolver();
+
+        // Assert
+        MetricasCoreBanking metricas = service.metricas();
+        assertEquals("ABERTO", metricas.estadoCircuito());
+        assertEquals(2, metricas.aberturasCircuito());
+        assertEquals(1, metricas.meiasAberturasCircuito());
+        assertTrue(devolver().mensagem().contains("circuito aberto"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar na hora quando o bulkhead e sua fila estão ocupados")
+    void deveRecusarQuandoBulkheadCheio() throws Exception {
+        // Arrange
+        service = criar(1, 1, Duration.ofSeconds(10), 5);
+        coreBanking.bloquear = true;
+        CompletableFuture<ResultadoOperacaoFinanceira> emExecucao = CompletableFuture.supplyAsync(this::devolver);
+        assertTrue(coreBanking.entrou.await(5, TimeUnit.SECONDS));
+        Thread naFila = new Thread(this::devolver);
+        naFila.start();
+        while (naFila.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        ResultadoOperacaoFinanceira resultado = devolver();
+
+        // Assert
+        assertTrue(resultado.retentavel());
+        assertTrue(resultado.mensagem().contains("bulkhead"));
+        assertEquals(1, service.metricas().rejeitadasBulkhead());
+        coreBanking.liberar.countDown();
+        assertTrue(emExecucao.get(5, TimeUnit.SECONDS).sucesso());
+        naFila.join(5_000);
+        assertEquals(2, coreBanking.chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve repassar a recusa do core banking sem contá-la como falha do circuito")
+    void deveRepassarRecusaDoCoreBanking() {
+        // Arrange
+        service = criar(2, 2, Duration.ofSeconds(2), 1);
+        coreBanking.recusar = true;
+
+        // Act
+        ResultadoOperacaoFinanceira resultado = devolver();
+
+        // Assert
+        assertFalse(resultado.sucesso());
+        assertFalse(resultado.retentavel());
+        assertEquals("FECHADO", service.metricas().estadoCircuito());
+    }
+
+    @Test
+    @DisplayName("Deve devolver uma falha retentável para cada item de um lote que passa do timeout")
+    void deveDevolverFalhaRetentavelParaCadaItemDoLote() {
+        // Arrange
+        service = criar(2, 2, Duration.ofMillis(50), 5);
+        coreBanking.latenciaMillis = 5_000;
+        List<DevolucaoFinanceira> lote = List.of(
+                new DevolucaoFinanceira("DEV-1", "55566677720", "11122233396", VALOR),
+                new DevolucaoFinanceira("DEV-2", "55566677720", "22233344405", VALOR));
+
+        // Act
+        List<ResultadoOperacaoFinanceira> resultados = service.efetuarDevolucoesEmLote(lote);
+
+        // Assert
+        assertEquals(2, resultados.size());
+        assertTrue(resultados.stream().allMatch(ResultadoOperacaoFinanceira::retentavel));
+        assertEquals(1, service.metricas().chamadas());
+        assertEquals(1, service.metricas().timeouts());
+    }
+
+    /** Core banking de teste com latência, falha, recusa e bloqueio injetáveis. */
+    private static final class CoreBankingComLatencia implements CoreBankingService {
+
+        private final AtomicInteger chamadas = new AtomicInteger();
+        private final CountDownLatch entrou = new CountDownLatch(1);
+        private final CountDownLatch liberar = new CountDownLatch(1);
+        private volatile long latenciaMillis;
+        private volatile RuntimeException falha;
+        private volatile boolean recusar;
+        private volatile boolean bloquear;
+
+        @Override
+        public ResultadoOperacaoFinanceira efetuarDevolucaoFinanceira(String idOperacaoDevolucao, String identificadorContaDebito,
+                                                                      String identificadorContaCredito, ValorMonetario valor) {
+            chamadas.incrementAndGet();
+            entrou.countDown();
+            try {
+                if (bloquear) {
+                    liberar.await();
+                }
+                Thread.sleep(latenciaMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrompido", e);
+            }
+            if (falha != null) {
+                throw falha;
+            }
+            return recusar
+                    ? ResultadoOperacaoFinanceira.falha("Saldo insuficiente.")
+                    : ResultadoOperacaoFinanceira.sucesso(idOperacaoDevolucao, "ok");
+        }
+    }
+}
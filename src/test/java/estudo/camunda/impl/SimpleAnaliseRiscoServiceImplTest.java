@@ -3,11 +3,11 @@ package estudo.camunda.impl;
 import estudo.camunda.dto.DetalhesTransacaoPix;
 import estudo.camunda.dto.ResultadoAnaliseRisco;
 import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.ValorMonetario;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,17 +22,17 @@ class SimpleAnaliseRiscoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "COBRANCA_INDEVIDA",
-                "11122233344"
+                "11122233396"
         );
         
         DetalhesTransacaoPix transacao = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("1500.00"), // Valor acima do limite de R$1000.00
-                "11122233344",
+                ValorMonetario.de("1500.00"), // Valor acima do limite de R$1000.00
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -53,17 +53,17 @@ class SimpleAnaliseRiscoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
         
         DetalhesTransacaoPix transacao = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("500.00"), // Valor abaixo do limite de alto risco
-                "11122233344",
+                ValorMonetario.de("500.00"), // Valor abaixo do limite de alto risco
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -83,17 +83,17 @@ class SimpleAnaliseRiscoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "FALHA_OPERACIONAL_BANCO",
-                "11122233344"
+                "11122233396"
         );
         
         DetalhesTransacaoPix transacao = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("30.00"), // Valor abaixo do limite de R$50.00 para falha operacional
-                "11122233344",
+                ValorMonetario.de("30.00"), // Valor abaixo do limite de R$50.00 para falha operacional
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
@@ -114,17 +114,17 @@ class SimpleAnaliseRiscoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_TESTE",
                 "COBRANCA_INDEVIDA",
-                "11122233344"
+                "11122233396"
         );
         
         DetalhesTransacaoPix transacao = new DetalhesTransacaoPix(
                 "TXID_TESTE",
-                new BigDecimal("500.00"), // Valor médio
-                "11122233344",
+                ValorMonetario.de("500.00"), // Valor médio
+                "11122233396",
                 "Cliente Teste",
-                "55566677788",
+                "55566677720",
                 "Comercio Teste",
-                LocalDateTime.now().minusDays(5),
+                Instant.parse("2026-03-10T12:00:00Z").toEpochMilli(),
                 "CONCLUIDA"
         );
 
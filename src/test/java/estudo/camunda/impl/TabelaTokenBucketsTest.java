@@ -0,0 +1,104 @@
+package estudo.camunda.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabelaTokenBucketsTest {
+
+    @Test
+    @DisplayName("Deve permitir a rajada, rejeitar com a espera até o próximo token e repor com o tempo")
+    void devePermitirRajadaERepor() {
+        // Arrange
+        TabelaTokenBuckets tabela = new TabelaTokenBuckets(64, 3, 1000, 4);
+        long agora = 5_000_000_000L;
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, tabela.tentarConsumir(42L, agora));
+        }
+        assertEquals(1000, tabela.tentarConsumir(42L, agora));
+        assertEquals(400, tabela.tentarConsumir(42L, agora + 600));
+        assertEquals(0, tabela.tentarConsumir(42L, agora + 1000));
+        assertEquals(0, tabela.tentarConsumir(7L, agora + 1000), "Outra chave tem o próprio bucket");
+    }
+
+    @Test
+    @DisplayName("Deve acumular a reposição mesmo com consultas mais frequentes que a resolução do token")
+    void deveAcumularReposicaoComConsultasFrequentes() {
+        // Arrange
+        TabelaTokenBuckets tabela = new TabelaTokenBuckets(64, 1, 60_000, 4);
+        assertEquals(0, tabela.tentarConsumir(42L, 0));
+
+        // Act: tentativas a cada 100 ms, abaixo de 1/256 de token (234 ms)
+        long instante = 0;
+        long espera;
+        do {
+            instante += 100;
+            espera = tabela.tentarConsumir(42L, instante);
+        } while (espera > 0 && instante < 120_000);
+
+        // Assert
+        assertEquals(60_000, instante);
+    }
+
+    @Test
+    @DisplayName("Deve despejar a posição com a reposição mais antiga sem crescer a tabela")
+    void deveDespejarPosicaoMaisAntiga() {
+        // Arrange
+        TabelaTokenBuckets tabela = new TabelaTokenBuckets(8, 1, 1000, 8);
+        for (long chave = 1; chave <= 8; chave++) {
+            tabela.tentarConsumir(chave, chave * 10);
+        }
+
+        // Act: a nona chave ocupa a posição da chave 1, a mais antiga
+        long esperaNova = tabela.tentarConsumir(9L, 100);
+        long esperaChave2 = tabela.tentarConsumir(2L, 100);
+
+        // Assert
+        assertEquals(0, esperaNova);
+        assertTrue(esperaChave2 > 0, "A chave 2 continua na tabela com o bucket vazio");
+        assertEquals(1, tabela.despejos());
+        assertEquals(8, tabela.capacidade());
+    }
+
+    @Test
+    @DisplayName("Não deve conceder mais tokens que a rajada sob concorrência")
+    void naoDeveConcederMaisTokensQueARajadaSobConcorrencia() throws InterruptedException {
+        // Arrange
+        TabelaTokenBuckets tabela = new TabelaTokenBuckets(1024, 100, 3_600_000, 8);
+        AtomicInteger concedidos = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (tabela.tentarConsumir(42L, 1000) == 0) {
+                        concedidos.incrementAndGet();
+                    }
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(100, concedidos.get());
+    }
+}
@@ -0,0 +1,42 @@
+package estudo.camunda.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiteSolicitacoesPorCpfServiceImplTest {
+
+    @Test
+    @DisplayName("Deve limitar cada CPF separadamente")
+    void deveLimitarCadaCpfSeparadamente() {
+        // Arrange
+        AtomicLong agora = new AtomicLong(1_000);
+        TokenBucketLimiteSolicitacoesPorCpfServiceImpl limite = new TokenBucketLimiteSolicitacoesPorCpfServiceImpl(
+                true, new TabelaTokenBuckets(1024, 2, 60_000, 8), agora::get);
+
+        // Act & Assert
+        assertEquals(0, limite.tentarConsumir("11122233396"));
+        assertEquals(0, limite.tentarConsumir("11122233396"));
+        assertEquals(60_000, limite.tentarConsumir("11122233396"));
+        assertEquals(0, limite.tentarConsumir("55566677720"));
+
+        agora.addAndGet(30_000);
+        assertEquals(30_000, limite.tentarConsumir("11122233396"));
+    }
+
+    @Test
+    @DisplayName("Não deve limitar quando desabilitado")
+    void naoDeveLimitarQuandoDesabilitado() {
+        // Arrange
+        TokenBucketLimiteSolicitacoesPorCpfServiceImpl limite = new TokenBucketLimiteSolicitacoesPorCpfServiceImpl(
+                false, new TabelaTokenBuckets(1024, 1, 60_000, 8), () -> 0);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limite.tentarConsumir("11122233396"));
+        }
+    }
+}
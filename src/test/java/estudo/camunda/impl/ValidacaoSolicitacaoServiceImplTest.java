@@ -6,11 +6,16 @@ import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ValidacaoSolicitacaoServiceImplTest {
 
-    private final ValidacaoSolicitacaoServiceImpl validacaoService = new ValidacaoSolicitacaoServiceImpl();
+    private final ValidacaoSolicitacaoServiceImpl validacaoService = new ValidacaoSolicitacaoServiceImpl(
+            Clock.fixed(Instant.parse("2026-03-15T15:00:00Z"), ZoneId.of("America/Sao_Paulo")));
 
     @Test
     @DisplayName("Deve validar com sucesso uma solicitação válida")
@@ -19,7 +24,7 @@ class ValidacaoSolicitacaoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_VALIDA_001",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         // Act
@@ -30,7 +35,7 @@ class ValidacaoSolicitacaoServiceImplTest {
         assertNull(resultado.mensagemErro());
         assertNotNull(resultado.detalhesTransacaoPix());
         assertEquals("TXID_VALIDA_001", resultado.detalhesTransacaoPix().getIdTransacao());
-        assertEquals("11122233344", resultado.detalhesTransacaoPix().getCpfCnpjPagador());
+        assertEquals("11122233396", resultado.detalhesTransacaoPix().getCpfCnpjPagador());
     }
 
     @Test
@@ -40,7 +45,7 @@ class ValidacaoSolicitacaoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_INEXISTENTE",
                 "FRAUDE_COMPROVADA",
-                "11122233344"
+                "11122233396"
         );
 
         // Act
@@ -59,7 +64,7 @@ class ValidacaoSolicitacaoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_VALIDA_001",
                 "FRAUDE_COMPROVADA",
-                "99999999999" // CPF diferente do pagador original
+                "98765432100" // CPF diferente do pagador original
         );
 
         // Act
@@ -71,6 +76,42 @@ class ValidacaoSolicitacaoServiceImplTest {
         assertNull(resultado.detalhesTransacaoPix());
     }
 
+    @Test
+    @DisplayName("Deve aceitar o CPF do solicitante com pontuação")
+    void deveAceitarCpfDoSolicitanteComPontuacao() {
+        // Arrange
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_VALIDA_001",
+                "FRAUDE_COMPROVADA",
+                "111.222.333-96"
+        );
+
+        // Act
+        ResultadoValidacao resultado = validacaoService.validarSolicitacao(solicitacao);
+
+        // Assert
+        assertTrue(resultado.isValida());
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando o CPF do solicitante tem dígito verificador inválido")
+    void deveFalharQuandoCpfDoSolicitanteInvalido() {
+        // Arrange
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_VALIDA_001",
+                "FRAUDE_COMPROVADA",
+                "11122233344"
+        );
+
+        // Act
+        ResultadoValidacao resultado = validacaoService.validarSolicitacao(solicitacao);
+
+        // Assert
+        assertFalse(resultado.isValida());
+        assertTrue(resultado.mensagemErro().contains("inválido"));
+        assertNull(resultado.detalhesTransacaoPix());
+    }
+
     @Test
     @DisplayName("Deve falhar quando a transação está fora do prazo")
     void deveFalharQuandoTransacaoForaDoPrazo() {
@@ -78,7 +119,7 @@ class ValidacaoSolicitacaoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_VALIDA_002", // Transação com mais de 79 dias
                 "FRAUDE_COMPROVADA",
-                "22233344455"
+                "22233344405"
         );
 
         // Act
@@ -87,6 +128,7 @@ class ValidacaoSolicitacaoServiceImplTest {
         // Assert
         assertFalse(resultado.isValida());
         assertTrue(resultado.mensagemErro().contains("fora do prazo"));
+        assertTrue(resultado.mensagemErro().contains("(90 dias)"));
         assertNull(resultado.detalhesTransacaoPix());
     }
 
@@ -97,7 +139,7 @@ class ValidacaoSolicitacaoServiceImplTest {
         SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
                 "TXID_VALIDA_001",
                 "MOTIVO_INVALIDO",
-                "11122233344"
+                "11122233396"
         );
 
         // Act
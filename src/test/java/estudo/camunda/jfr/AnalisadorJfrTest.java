@@ -0,0 +1,74 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalisadorJfrTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    @DisplayName("Deve resumir a gravação por atividade, com falhas, percentis e fatia do tempo total")
+    void deveResumirGravacaoPorAtividade() throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("gravacao.jfr");
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(ExecucaoDelegateEvento.NOME);
+            gravacao.enable(EnvioNotificacaoEvento.NOME);
+            gravacao.start();
+            for (int i = 0; i < 10; i++) {
+                execucao("Task_ValidarSolicitacao", ExecucaoDelegateEvento.SUCESSO, 0);
+            }
+            execucao("Task_ProcessarDevolucao", ExecucaoDelegateEvento.SUCESSO, 20);
+            execucao("Task_ProcessarDevolucao", ExecucaoDelegateEvento.ERRO_BPMN, 20);
+            EnvioNotificacaoEvento envio = new EnvioNotificacaoEvento();
+            envio.begin();
+            envio.concluido("PROC-1", "RESULTADO_PROCESSAMENTO", true);
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+
+        // Act
+        List<AnalisadorJfr.Secao> secoes = AnalisadorJfr.resumir(arquivo);
+
+        // Assert
+        assertEquals(2, secoes.size());
+        AnalisadorJfr.Secao delegates = secoes.get(0);
+        assertEquals(ExecucaoDelegateEvento.NOME, delegates.evento());
+        assertEquals(2, delegates.linhas().size());
+        AnalisadorJfr.Linha processamento = delegates.linhas().get(0);
+        assertEquals("Task_ProcessarDevolucao", processamento.chave(), "Ordenado pelo tempo total");
+        assertEquals(2, processamento.quantidade());
+        assertEquals(1, processamento.falhas());
+        assertTrue(processamento.p50().toMillis() >= 20);
+        assertTrue(processamento.fracaoDoTotal() > 0.5);
+        AnalisadorJfr.Linha validacao = delegates.linhas().get(1);
+        assertEquals(10, validacao.quantidade());
+        assertEquals(0, validacao.falhas());
+        assertTrue(validacao.p50().compareTo(validacao.p99()) <= 0);
+        assertTrue(validacao.p99().compareTo(validacao.maximo()) <= 0);
+        assertEquals("RESULTADO_PROCESSAMENTO", secoes.get(1).linhas().get(0).chave());
+        String texto = AnalisadorJfr.formatar(secoes);
+        assertTrue(texto.contains("Task_ProcessarDevolucao"));
+        assertTrue(texto.contains("Envio de notificação"));
+    }
+
+    private static void execucao(String atividade, String resultado, long duracaoMillis) throws InterruptedException {
+        ExecucaoDelegateEvento evento = new ExecucaoDelegateEvento();
+        evento.begin();
+        Thread.sleep(duracaoMillis);
+        evento.end();
+        evento.activityId = atividade;
+        evento.processInstanceId = "PROC-1";
+        evento.resultado = resultado;
+        evento.commit();
+    }
+}
@@ -0,0 +1,100 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.camunda.bpm.engine.delegate.BpmnError;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.bpmn.delegate.JavaDelegateInvocation;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExecucaoDelegateJfrInterceptorTest {
+
+    @Mock
+    private DelegateExecution execution;
+
+    @TempDir
+    private Path diretorio;
+
+    private final ExecucaoDelegateJfrInterceptor interceptor = new ExecucaoDelegateJfrInterceptor(DelegateInvocation::proceed);
+
+    @Test
+    @DisplayName("Deve registrar atividade, instância e resultado de cada execução de delegate")
+    void deveRegistrarExecucaoDeDelegate() throws Exception {
+        // Arrange
+        when(execution.getProcessInstanceId()).thenReturn("PROC-1");
+        when(execution.getCurrentActivityId()).thenReturn("Task_ValidarSolicitacao", "Task_ProcessarDevolucao");
+        JavaDelegateInvocation sucesso = new JavaDelegateInvocation(e -> { }, execution);
+        JavaDelegateInvocation erroBpmn = new JavaDelegateInvocation(e -> {
+            throw new BpmnError("ERRO_CORE_BANKING");
+        }, execution);
+
+        // Act
+        List<RecordedEvent> eventos;
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(ExecucaoDelegateEvento.NOME);
+            gravacao.start();
+            interceptor.handleInvocation(sucesso);
+            assertThrows(BpmnError.class, () -> interceptor.handleInvocation(erroBpmn));
+            gravacao.stop();
+            eventos = lerEventos(gravacao);
+        }
+
+        // Assert
+        assertEquals(2, eventos.size());
+        assertEquals("Task_ValidarSolicitacao", eventos.get(0).getString("activityId"));
+        assertEquals("PROC-1", eventos.get(0).getString("processInstanceId"));
+        assertEquals(ExecucaoDelegateEvento.SUCESSO, eventos.get(0).getString("resultado"));
+        assertNull(eventos.get(0).getString("erro"));
+        assertEquals("Task_ProcessarDevolucao", eventos.get(1).getString("activityId"));
+        assertEquals(ExecucaoDelegateEvento.ERRO_BPMN, eventos.get(1).getString("resultado"));
+        assertEquals("ERRO_CORE_BANKING", eventos.get(1).getString("erro"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a classe da exceção e propagá-la")
+    void deveRegistrarFalhaEPropagarExcecao() throws Exception {
+        // Arrange
+        when(execution.getCurrentActivityId()).thenReturn("Task_NotificarCliente");
+        JavaDelegateInvocation falha = new JavaDelegateInvocation(e -> {
+            throw new IllegalStateException("indisponível");
+        }, execution);
+
+        // Act
+        List<RecordedEvent> eventos;
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(ExecucaoDelegateEvento.NOME);
+            gravacao.start();
+            IllegalStateException excecao = assertThrows(IllegalStateException.class, () -> interceptor.handleInvocation(falha));
+            assertEquals("indisponível", excecao.getMessage());
+            gravacao.stop();
+            eventos = lerEventos(gravacao);
+        }
+
+        // Assert
+        assertEquals(1, eventos.size());
+        assertEquals(ExecucaoDelegateEvento.FALHA, eventos.get(0).getString("resultado"));
+        assertEquals(IllegalStateException.class.getName(), eventos.get(0).getString("erro"));
+    }
+
+    private List<RecordedEvent> lerEventos(Recording gravacao) throws Exception {
+        Path arquivo = diretorio.resolve("gravacao.jfr");
+        gravacao.dump(arquivo);
+        return RecordingFile.readAllEvents(arquivo).stream()
+                .filter(e -> e.getEventType().getName().equals(ExecucaoDelegateEvento.NOME))
+                .toList();
+    }
+}
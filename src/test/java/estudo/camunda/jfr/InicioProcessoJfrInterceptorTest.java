@@ -0,0 +1,73 @@
+package estudo.camunda.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.runtime.ProcessInstanceWithVariables;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InicioProcessoJfrInterceptorTest {
+
+    @Mock
+    private CommandExecutor proximo;
+
+    @Mock
+    private StartProcessInstanceCmd inicio;
+
+    @Mock
+    private Command<String> outroComando;
+
+    @Mock
+    private ProcessInstanceWithVariables processInstance;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    @DisplayName("Deve registrar o início de instância e deixar passar os demais comandos sem evento")
+    void deveRegistrarSomenteInicioDeInstancia() throws Exception {
+        // Arrange
+        InicioProcessoJfrInterceptor interceptor = new InicioProcessoJfrInterceptor();
+        interceptor.setNext(proximo);
+        when(proximo.execute(inicio)).thenReturn(processInstance);
+        when(proximo.execute(outroComando)).thenReturn("ok");
+        when(processInstance.getId()).thenReturn("PROC-1");
+        when(processInstance.getProcessDefinitionId()).thenReturn("processo_devolucao_pix_med_simplificado:1:DEF-1");
+
+        // Act
+        List<RecordedEvent> eventos;
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(InicioProcessoEvento.NOME);
+            gravacao.start();
+            assertSame(processInstance, interceptor.execute(inicio));
+            assertEquals("ok", interceptor.execute(outroComando));
+            gravacao.stop();
+            Path arquivo = diretorio.resolve("gravacao.jfr");
+            gravacao.dump(arquivo);
+            eventos = RecordingFile.readAllEvents(arquivo).stream()
+                    .filter(e -> e.getEventType().getName().equals(InicioProcessoEvento.NOME))
+                    .toList();
+        }
+
+        // Assert
+        assertEquals(1, eventos.size());
+        assertEquals("PROC-1", eventos.get(0).getString("processInstanceId"));
+        assertEquals("processo_devolucao_pix_med_simplificado:1:DEF-1", eventos.get(0).getString("processDefinitionId"));
+        assertTrue(eventos.get(0).getBoolean("sucesso"));
+    }
+}
@@ -0,0 +1,144 @@
+package estudo.camunda.listeners;
+
+import estudo.camunda.rastreio.ContextoRastreio;
+import estudo.camunda.rastreio.Span;
+import estudo.camunda.services.ExportacaoSpansService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RastreioExecutionListenerTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Mock
+    private ExportacaoSpansService exportacaoSpansService;
+
+    @Mock
+    private DelegateExecution execution;
+
+    private RastreioExecutionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new RastreioExecutionListener(exportacaoSpansService);
+    }
+
+    @Test
+    @DisplayName("Deve exportar um span por atividade, filho do span gravado na instância")
+    void deveExportarSpanDaAtividade() {
+        // Arrange
+        when(exportacaoSpansService.ativo()).thenReturn(true);
+        when(execution.getActivityInstanceId()).thenReturn("service_task_analisar_risco:ATIV-1");
+        when(execution.getVariable(ContextoRastreio.VARIAVEL)).thenReturn(TRACEPARENT);
+        when(execution.getCurrentActivityName()).thenReturn("Analisar Risco da Devolução");
+        when(execution.getCurrentActivityId()).thenReturn("service_task_analisar_risco");
+        when(execution.getProcessInstanceId()).thenReturn("PROC-1");
+
+        // Act
+        listener.iniciarAtividade(execution);
+        listener.encerrarAtividade(execution);
+
+        // Assert
+        ArgumentCaptor<Span> captor = ArgumentCaptor.forClass(Span.class);
+        verify(exportacaoSpansService).exportar(captor.capture());
+        Span span = captor.getValue();
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.traceId());
+        assertEquals("00f067aa0ba902b7", span.parentSpanId());
+        assertEquals(ContextoRastreio.spanIdDe("service_task_analisar_risco:ATIV-1"), span.spanId());
+        assertEquals("Analisar Risco da Devolução", span.nome());
+        assertEquals("PROC-1", span.atributos().get(Span.ATRIBUTO_INSTANCIA_PROCESSO));
+        assertEquals("service_task_analisar_risco", span.atributos().get(Span.ATRIBUTO_ATIVIDADE));
+        assertTrue(span.fimEpochNanos() >= span.inicioEpochNanos());
+    }
+
+    @Test
+    @DisplayName("Deve exportar o span só após o commit e nunca quando a conclusão é desfeita")
+    void deveExportarSpanSomenteAposCommit() {
+        // Arrange
+        when(exportacaoSpansService.ativo()).thenReturn(true);
+        when(execution.getActivityInstanceId()).thenReturn("service_task_analisar_risco:ATIV-1");
+        when(execution.getVariable(ContextoRastreio.VARIAVEL)).thenReturn(TRACEPARENT);
+        when(execution.getCurrentActivityId()).thenReturn("service_task_analisar_risco");
+        when(execution.getProcessInstanceId()).thenReturn("PROC-1");
+        CommandContext desfeita = mock(CommandContext.class);
+        TransactionContext transacaoDesfeita = mock(TransactionContext.class);
+        when(desfeita.getTransactionContext()).thenReturn(transacaoDesfeita);
+        CommandContext confirmada = mock(CommandContext.class);
+        TransactionContext transacaoConfirmada = mock(TransactionContext.class);
+        when(confirmada.getTransactionContext()).thenReturn(transacaoConfirmada);
+
+        // Act
+        listener.iniciarAtividade(execution);
+        Context.setCommandContext(desfeita);
+        try {
+            listener.encerrarAtividade(execution);
+        } finally {
+            Context.removeCommandContext();
+        }
+        // A nova tentativa encerra a mesma instância de atividade e desta vez faz commit
+        listener.iniciarAtividade(execution);
+        Context.setCommandContext(confirmada);
+        try {
+            listener.encerrarAtividade(execution);
+        } finally {
+            Context.removeCommandContext();
+        }
+
+        // Assert
+        verify(exportacaoSpansService, never()).exportar(any());
+        verify(transacaoDesfeita).addTransactionListener(eq(TransactionState.COMMITTED), any());
+        ArgumentCaptor<TransactionListener> aposCommit = ArgumentCaptor.forClass(TransactionListener.class);
+        verify(transacaoConfirmada).addTransactionListener(eq(TransactionState.COMMITTED), aposCommit.capture());
+        aposCommit.getValue().execute(confirmada);
+        verify(exportacaoSpansService, times(1)).exportar(any());
+    }
+
+    @Test
+    @DisplayName("Não deve montar spans quando a exportação está desligada")
+    void naoDeveMontarSpansSemExportacao() {
+        // Arrange
+        when(exportacaoSpansService.ativo()).thenReturn(false);
+
+        // Act
+        listener.iniciarAtividade(execution);
+        listener.encerrarAtividade(execution);
+
+        // Assert
+        verify(exportacaoSpansService, never()).exportar(any());
+        verifyNoInteractions(execution);
+    }
+
+    @Test
+    @DisplayName("Deve criar rastreio para instâncias iniciadas sem traceparent e manter o existente")
+    void deveCriarRastreioQuandoInstanciaNaoTem() {
+        // Arrange
+        DelegateExecution comRastreio = mock(DelegateExecution.class);
+        when(comRastreio.getVariable(ContextoRastreio.VARIAVEL)).thenReturn(TRACEPARENT);
+
+        // Act
+        listener.iniciarProcesso(execution);
+        listener.iniciarProcesso(comRastreio);
+
+        // Assert
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(execution).setVariable(eq(ContextoRastreio.VARIAVEL), captor.capture());
+        assertTrue(ContextoRastreio.deTraceparent(captor.getValue()).isPresent());
+        verify(comRastreio, never()).setVariable(anyString(), any());
+    }
+}
@@ -0,0 +1,94 @@
+package estudo.camunda.listeners;
+
+import estudo.camunda.dto.SituacaoDevolucao;
+import estudo.camunda.dto.SolicitacaoDevolucaoRequest;
+import estudo.camunda.dto.StatusDevolucao;
+import estudo.camunda.services.EventosDevolucaoService;
+import estudo.camunda.services.StatusDevolucaoService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatusDevolucaoExecutionListenerTest {
+
+    @Mock
+    private StatusDevolucaoService statusDevolucaoService;
+
+    @Mock
+    private EventosDevolucaoService eventosDevolucaoService;
+
+    @Mock
+    private DelegateExecution execution;
+
+    private StatusDevolucaoExecutionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new StatusDevolucaoExecutionListener(statusDevolucaoService, eventosDevolucaoService);
+        when(execution.getProcessInstanceId()).thenReturn("PROC-1");
+    }
+
+    @Test
+    @DisplayName("Deve registrar a solicitação recebida com os dados da requisição")
+    void deveRegistrarSolicitacaoRecebidaComDadosDaRequisicao() {
+        // Arrange
+        SolicitacaoDevolucaoRequest solicitacao = new SolicitacaoDevolucaoRequest(
+                "TXID_TESTE",
+                "FRAUDE_COMPROVADA",
+                "11122233396"
+        );
+        when(execution.getCurrentActivityId()).thenReturn("start_event_solicitacao_recebida");
+        when(execution.getVariable("solicitacaoDevolucaoRequest")).thenReturn(solicitacao);
+
+        // Act
+        listener.registrarTransicao(execution, SituacaoDevolucao.RECEBIDA);
+
+        // Assert
+        verify(statusDevolucaoService).registrarTransicao("PROC-1", "TXID_TESTE", "11122233396",
+                SituacaoDevolucao.RECEBIDA, "start_event_solicitacao_recebida");
+    }
+
+    @Test
+    @DisplayName("Deve registrar falha de processamento quando a devolução financeira não foi efetuada")
+    void deveRegistrarFalhaDeProcessamentoQuandoDevolucaoNaoEfetuada() {
+        // Arrange
+        when(execution.getCurrentActivityId()).thenReturn("end_event_devolucao_sucesso");
+        when(execution.getVariable("devolucaoFinanceiraEfetuada")).thenReturn(false);
+
+        // Act
+        listener.registrarTransicao(execution, SituacaoDevolucao.CONCLUIDA);
+
+        // Assert
+        verify(statusDevolucaoService).registrarTransicao("PROC-1", null, null,
+                SituacaoDevolucao.FALHA_PROCESSAMENTO, "end_event_devolucao_sucesso");
+        verify(execution, never()).getVariable("solicitacaoDevolucaoRequest");
+    }
+
+    @Test
+    @DisplayName("Deve registrar conclusão quando a devolução financeira foi efetuada")
+    void deveRegistrarConclusaoQuandoDevolucaoEfetuada() {
+        // Arrange
+        when(execution.getCurrentActivityId()).thenReturn("end_event_devolucao_sucesso");
+        when(execution.getVariable("devolucaoFinanceiraEfetuada")).thenReturn(true);
+        StatusDevolucao status = new StatusDevolucao("PROC-1", "TXID_TESTE", "11122233396",
+                SituacaoDevolucao.CONCLUIDA, "end_event_devolucao_sucesso", true, Instant.now());
+        when(statusDevolucaoService.registrarTransicao(anyString(), isNull(), isNull(),
+                eq(SituacaoDevolucao.CONCLUIDA), eq("end_event_devolucao_sucesso"))).thenReturn(status);
+
+        // Act
+        listener.registrarTransicao(execution, SituacaoDevolucao.CONCLUIDA);
+
+        // Assert
+        verify(eventosDevolucaoService).publicar(status);
+    }
+}
@@ -0,0 +1,91 @@
+package estudo.camunda.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmostragemPorInstanciaTurboFilterTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+    private AmostragemPorInstanciaTurboFilter filtro;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        // O filtro e os eventos leem o MDC do SLF4J
+        contexto.setMDCAdapter(MDC.getMDCAdapter());
+        filtro = new AmostragemPorInstanciaTurboFilter();
+        filtro.setContext(contexto);
+        filtro.setTaxa(0.01);
+        filtro.start();
+        contexto.addTurboFilter(filtro);
+        eventos.setContext(contexto);
+        eventos.start();
+        logger = contexto.getLogger("estudo.camunda.Teste");
+        logger.addAppender(eventos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Deve manter todos os logs de cerca de 1% das instâncias e só os erros das demais")
+    void deveManterLogsDasInstanciasAmostradasEErrosDasDemais() {
+        // Act
+        int amostradas = 0;
+        int infosDasAmostradas = 0;
+        int infosDasDemais = 0;
+        for (int i = 0; i < 20_000; i++) {
+            String idInstancia = "PROC-" + i;
+            MDC.put("processInstanceId", idInstancia);
+            int antes = eventos.list.size();
+            logger.info("passo 1");
+            logger.info("passo 2");
+            int infos = eventos.list.size() - antes;
+            logger.error("falha");
+            if (filtro.amostrada(idInstancia)) {
+                amostradas++;
+                infosDasAmostradas += infos;
+            } else {
+                infosDasDemais += infos;
+            }
+        }
+
+        // Assert
+        assertTrue(amostradas > 140 && amostradas < 260, "Amostradas: " + amostradas);
+        assertEquals(2 * amostradas, infosDasAmostradas);
+        assertEquals(0, infosDasDemais);
+        assertEquals(20_000, eventos.list.stream().filter(e -> e.getLevel() == Level.ERROR).count());
+    }
+
+    @Test
+    @DisplayName("Não deve filtrar logs fora de uma instância de processo")
+    void naoDeveFiltrarLogsForaDeInstancia() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            logger.info("requisição {}", i);
+        }
+
+        // Assert
+        assertEquals(100, eventos.list.size());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar taxa fora de 0 a 1")
+    void deveRejeitarTaxaInvalida() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> filtro.setTaxa(1.5));
+    }
+}
@@ -0,0 +1,63 @@
+package estudo.camunda.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonEncoderTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+
+    @Test
+    @DisplayName("Deve gerar uma linha JSON com mensagem formatada, MDC, nó e exceção")
+    void deveGerarLinhaJsonComMensagemMdcEExcecao() throws Exception {
+        // Arrange
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(contexto);
+        encoder.setNo("no-1");
+        encoder.start();
+        LoggingEvent evento = new LoggingEvent(JsonEncoderTest.class.getName(), contexto.getLogger("estudo.camunda.Teste"),
+                Level.WARN, "Falha na devolução {}: \"{}\"", new IllegalStateException("linha 1\nlinha 2"),
+                new Object[]{"DEV-1", "saldo\tinsuficiente"});
+        evento.setMDCPropertyMap(Map.of("processInstanceId", "0A91XWVPM0000", "activityId", "Task_Processamento"));
+
+        // Act
+        byte[] bytes = encoder.encode(evento);
+
+        // Assert
+        String linha = new String(bytes, StandardCharsets.UTF_8);
+        assertTrue(linha.endsWith("}\n"));
+        assertEquals(1, linha.split("\n").length, "Um evento por linha, com as quebras escapadas");
+        JsonNode json = new ObjectMapper().readTree(linha);
+        assertEquals("WARN", json.get("level").asText());
+        assertEquals("estudo.camunda.Teste", json.get("logger").asText());
+        assertEquals("Falha na devolução DEV-1: \"saldo\tinsuficiente\"", json.get("message").asText());
+        assertEquals("0A91XWVPM0000", json.get("processInstanceId").asText());
+        assertEquals("Task_Processamento", json.get("activityId").asText());
+        assertEquals("no-1", json.get("no").asText());
+        assertTrue(json.get("exception").asText().contains("linha 1\nlinha 2"));
+        assertNotNull(json.get("@timestamp").asText());
+    }
+
+    @Test
+    @DisplayName("Deve escapar caracteres de controle como \\u00XX")
+    void deveEscaparCaracteresDeControle() {
+        // Arrange
+        StringBuilder json = new StringBuilder();
+
+        // Act
+        JsonEncoder.texto(json, "a\u0001b\\c");
+
+        // Assert
+        assertEquals("\"a\\u0001b\\\\c\"", json.toString());
+    }
+}
@@ -0,0 +1,131 @@
+package estudo.camunda.motor;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.Condition;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.el.UelExpressionCondition;
+import org.camunda.bpm.engine.impl.pvm.runtime.ExecutionImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CondicoesPrecompiladasTest {
+
+    private static final List<String> EXPRESSOES = List.of(
+            "${solicitacaoValida}",
+            "${!solicitacaoValida}",
+            "${nivelRisco == 'BAIXO' && aprovacaoAutomaticaSugerida == true}",
+            "${decisaoAnalista == 'APROVAR'}",
+            "${decisaoAnalista == 'REJEITAR'}");
+
+    private static ProcessEngine processEngine;
+    private static ProcessEngineConfigurationImpl configuracao;
+
+    @BeforeAll
+    static void setUp() {
+        StandaloneInMemProcessEngineConfiguration standalone = new StandaloneInMemProcessEngineConfiguration();
+        standalone.setJdbcUrl("jdbc:h2:mem:condicoes-" + System.nanoTime());
+        standalone.setJobExecutorActivate(false);
+        standalone.setDmnEnabled(false);
+        standalone.setCmmnEnabled(false);
+        processEngine = standalone.buildProcessEngine();
+        configuracao = standalone;
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    @DisplayName("Deve ter uma condição Java para cada expressão dos gateways, ignorando espaços a mais")
+    void deveEncontrarCondicoesDosGateways() {
+        // Act & Assert
+        for (String expressao : EXPRESSOES) {
+            assertEquals(expressao, CondicoesPrecompiladas.para(expressao).orElseThrow().getExpressao());
+        }
+        assertTrue(CondicoesPrecompiladas.para("  ${decisaoAnalista  ==   'APROVAR'} ").isPresent());
+        assertTrue(CondicoesPrecompiladas.para("${decisaoAnalista == 'ADIAR'}").isEmpty());
+        assertTrue(CondicoesPrecompiladas.para(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve dar o mesmo resultado do JUEL, inclusive os erros, para os valores que o processo grava")
+    void deveSeguirSemanticaDoJuel() {
+        // Arrange
+        List<Map<String, Object>> cenarios = List.of(
+                variaveis("solicitacaoValida", true),
+                variaveis("solicitacaoValida", false),
+                variaveis("solicitacaoValida", null),
+                variaveis("solicitacaoValida", "true"),
+                variaveis("solicitacaoValida", ""),
+                variaveis("solicitacaoValida", 1),
+                variaveis("nivelRisco", "BAIXO", "aprovacaoAutomaticaSugerida", true),
+                variaveis("nivelRisco", "BAIXO", "aprovacaoAutomaticaSugerida", false),
+                variaveis("nivelRisco", "BAIXO", "aprovacaoAutomaticaSugerida", "true"),
+                variaveis("nivelRisco", "BAIXO", "aprovacaoAutomaticaSugerida", null),
+                variaveis("nivelRisco", "ALTO", "aprovacaoAutomaticaSugerida", true),
+                variaveis("nivelRisco", null, "aprovacaoAutomaticaSugerida", true),
+                variaveis("nivelRisco", "ALTO"),
+                variaveis("nivelRisco", "BAIXO"),
+                variaveis("decisaoAnalista", "APROVAR"),
+                variaveis("decisaoAnalista", "REJEITAR"),
+                variaveis("decisaoAnalista", null),
+                variaveis());
+
+        // Act
+        List<String> divergencias = configuracao.getCommandExecutorTxRequired().execute(commandContext -> {
+            List<String> encontradas = new ArrayList<>();
+            for (String expressao : EXPRESSOES) {
+                Condition juel = new UelExpressionCondition(configuracao.getExpressionManager().createExpression(expressao));
+                Condition java = CondicoesPrecompiladas.para(expressao).orElseThrow();
+                for (Map<String, Object> cenario : cenarios) {
+                    ExecutionImpl execucao = new ExecutionImpl();
+                    execucao.setVariables(cenario);
+                    String esperado = avaliar(juel, execucao);
+                    String obtido = avaliar(java, execucao);
+                    if (!esperado.equals(obtido)) {
+                        encontradas.add(expressao + " " + cenario + ": JUEL " + esperado + ", Java " + obtido);
+                    }
+                }
+            }
+            return encontradas;
+        });
+
+        // Assert
+        assertEquals(List.of(), divergencias);
+    }
+
+    /** Resultado de evaluate e de tryEvaluate, ou "erro". */
+    private static String avaliar(Condition condicao, ExecutionImpl execucao) {
+        // Sem a execução: o interceptor de delegates do motor espera uma ExecutionEntity
+        return resultado(() -> condicao.evaluate(execucao, null)) + "/" + resultado(() -> condicao.tryEvaluate(execucao, null));
+    }
+
+    private static String resultado(BooleanSupplier avaliacao) {
+        try {
+            return Boolean.toString(avaliacao.getAsBoolean());
+        } catch (ProcessEngineException e) {
+            return "erro";
+        }
+    }
+
+    private static Map<String, Object> variaveis(Object... nomesEValores) {
+        Map<String, Object> variaveis = new HashMap<>();
+        for (int i = 0; i < nomesEValores.length; i += 2) {
+            variaveis.put((String) nomesEValores[i], nomesEValores[i + 1]);
+        }
+        return variaveis;
+    }
+}
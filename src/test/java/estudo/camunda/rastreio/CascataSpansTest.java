@@ -0,0 +1,44 @@
+package estudo.camunda.rastreio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CascataSpansTest {
+
+    private static final String TRACE = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("Deve montar a cascata da instância com os filhos indentados sob o span da requisição")
+    void deveMontarCascataDaInstancia() {
+        // Arrange
+        List<Span> spans = List.of(
+                new Span(TRACE, "bbbbbbbbbbbbbbbb", "aaaaaaaaaaaaaaaa", "Validar Solicitação de Devolução", Span.TIPO_INTERNO,
+                        2 * MS, 12 * MS, false, Map.of(Span.ATRIBUTO_INSTANCIA_PROCESSO, "PROC-1")),
+                new Span(TRACE, "aaaaaaaaaaaaaaaa", null, "POST /api/v1/pix/devolucoes/solicitar", Span.TIPO_SERVIDOR,
+                        0, 20 * MS, false, Map.of(Span.ATRIBUTO_INSTANCIA_PROCESSO, "PROC-1")),
+                new Span(TRACE, "cccccccccccccccc", "aaaaaaaaaaaaaaaa", "Processar Devolução Efetiva", Span.TIPO_INTERNO,
+                        60_000 * MS, 60_010 * MS, true, Map.of(Span.ATRIBUTO_INSTANCIA_PROCESSO, "PROC-1")),
+                new Span("0af7651916cd43dd8448eb211c80319c", "dddddddddddddddd", null, "outra", Span.TIPO_SERVIDOR,
+                        0, MS, false, Map.of(Span.ATRIBUTO_INSTANCIA_PROCESSO, "PROC-2")));
+
+        // Act
+        String cascata = CascataSpans.formatar(spans, "PROC-1");
+
+        // Assert
+        String[] linhas = cascata.strip().split("\n");
+        assertEquals(4, linhas.length, cascata);
+        assertTrue(linhas[0].contains("rastreio " + TRACE) && linhas[0].contains("instância PROC-1"));
+        assertTrue(linhas[1].endsWith("|  POST /api/v1/pix/devolucoes/solicitar"));
+        assertTrue(linhas[2].endsWith("|    Validar Solicitação de Devolução"));
+        assertTrue(linhas[3].endsWith("|    Processar Devolução Efetiva [erro]"));
+        assertTrue(linhas[3].contains("#|"), "O último span chega ao fim da escala");
+        assertFalse(cascata.contains("outra"));
+        assertEquals("Nenhum span encontrado.\n", CascataSpans.formatar(spans, "PROC-3"));
+    }
+}
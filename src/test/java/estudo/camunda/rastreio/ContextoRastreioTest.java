@@ -0,0 +1,73 @@
+package estudo.camunda.rastreio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextoRastreioTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Deve ler e gerar traceparent no formato W3C, rejeitando valores malformados")
+    void deveLerEGerarTraceparent() {
+        // Act
+        ContextoRastreio contexto = ContextoRastreio.deTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01").orElseThrow();
+        ContextoRastreio novo = ContextoRastreio.novo();
+
+        // Assert
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", contexto.traceId());
+        assertEquals("00f067aa0ba902b7", contexto.spanId());
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", contexto.traceparent());
+        assertEquals(55, novo.traceparent().length());
+        assertEquals(novo, ContextoRastreio.deTraceparent(novo.traceparent()).orElseThrow());
+        assertTrue(ContextoRastreio.deTraceparent(null).isEmpty());
+        assertTrue(ContextoRastreio.deTraceparent("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01").isEmpty());
+        assertTrue(ContextoRastreio.deTraceparent("00-00000000000000000000000000000000-00f067aa0ba902b7-01").isEmpty());
+        assertTrue(ContextoRastreio.deTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01").isEmpty());
+        assertTrue(ContextoRastreio.deTraceparent(42L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve continuar o rastreio recebido com um novo span e derivar spans estáveis de uma chave")
+    void deveContinuarRastreioEDerivarSpanDeChave() {
+        // Act
+        ContextoRastreio filho = ContextoRastreio.continuar("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        ContextoRastreio semPai = ContextoRastreio.continuar("invalido");
+
+        // Assert
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", filho.traceId());
+        assertNotEquals("00f067aa0ba902b7", filho.spanId());
+        assertNotEquals(filho.traceId(), semPai.traceId());
+        assertEquals(ContextoRastreio.spanIdDe("ATIVIDADE-1"), ContextoRastreio.spanIdDe("ATIVIDADE-1"));
+        assertNotEquals(ContextoRastreio.spanIdDe("ATIVIDADE-1"), ContextoRastreio.spanIdDe("ATIVIDADE-2"));
+        assertTrue(ContextoRastreio.spanIdDe("").matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    @DisplayName("Deve pôr o contexto no MDC e restaurar os valores anteriores ao fechar o escopo")
+    void devePorNoMdcERestaurar() {
+        // Arrange
+        MDC.put(ContextoRastreio.MDC_TRACE_ID, "externo");
+        ContextoRastreio contexto = ContextoRastreio.novo();
+
+        // Act
+        ContextoRastreio.EscopoMdc escopo = contexto.noMdc();
+        try {
+            assertEquals(contexto.traceId(), MDC.get(ContextoRastreio.MDC_TRACE_ID));
+            assertEquals(contexto.spanId(), MDC.get(ContextoRastreio.MDC_SPAN_ID));
+        } finally {
+            escopo.close();
+        }
+
+        // Assert
+        assertEquals("externo", MDC.get(ContextoRastreio.MDC_TRACE_ID));
+        assertNull(MDC.get(ContextoRastreio.MDC_SPAN_ID));
+    }
+}
@@ -0,0 +1,64 @@
+package estudo.camunda.rastreio;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.bpmn.delegate.JavaDelegateInvocation;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RastreioDelegateInterceptorTest {
+
+    @Mock
+    private DelegateExecution execution;
+
+    private final RastreioDelegateInterceptor interceptor = new RastreioDelegateInterceptor(DelegateInvocation::proceed);
+
+    @Test
+    @DisplayName("Deve expor traceId da instância e spanId da atividade no MDC só durante o delegate")
+    void deveExporRastreioNoMdcDuranteODelegate() throws Exception {
+        // Arrange
+        when(execution.getVariable(ContextoRastreio.VARIAVEL)).thenReturn("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        when(execution.getActivityInstanceId()).thenReturn("service_task_validar_solicitacao:ATIV-1");
+        List<String> vistos = new ArrayList<>();
+        JavaDelegateInvocation invocacao = new JavaDelegateInvocation(e -> {
+            vistos.add(MDC.get(ContextoRastreio.MDC_TRACE_ID));
+            vistos.add(MDC.get(ContextoRastreio.MDC_SPAN_ID));
+        }, execution);
+
+        // Act
+        interceptor.handleInvocation(invocacao);
+
+        // Assert
+        assertEquals(List.of("4bf92f3577b34da6a3ce929d0e0e4736",
+                ContextoRastreio.spanIdDe("service_task_validar_solicitacao:ATIV-1")), vistos);
+        assertNull(MDC.get(ContextoRastreio.MDC_TRACE_ID));
+        assertNull(MDC.get(ContextoRastreio.MDC_SPAN_ID));
+    }
+
+    @Test
+    @DisplayName("Deve executar o delegate sem MDC quando a instância não tem rastreio")
+    void deveExecutarSemMdcQuandoNaoHaRastreio() throws Exception {
+        // Arrange
+        List<String> vistos = new ArrayList<>();
+        JavaDelegateInvocation invocacao = new JavaDelegateInvocation(e -> vistos.add(MDC.get(ContextoRastreio.MDC_TRACE_ID)), execution);
+
+        // Act
+        interceptor.handleInvocation(invocacao);
+
+        // Assert
+        assertEquals(1, vistos.size());
+        assertNull(vistos.get(0));
+        verify(execution, never()).getActivityInstanceId();
+    }
+}